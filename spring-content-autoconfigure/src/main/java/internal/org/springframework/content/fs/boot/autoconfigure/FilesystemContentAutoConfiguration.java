@@ -45,6 +45,12 @@ public class FilesystemContentAutoConfiguration {
 		 */
 		String filesystemRoot;
 
+		/**
+		 * Whether file system stores store content under the hash of its bytes, holding
+		 * identical content once
+		 */
+		boolean contentAddressed = false;
+
 		public String getFilesystemRoot() {
 			if (filesystemRoot == null) {
 				try {
@@ -63,5 +69,13 @@ public class FilesystemContentAutoConfiguration {
 		public void setFilesystemRoot(String filesystemRoot) {
 			this.filesystemRoot = filesystemRoot;
 		}
+
+		public boolean isContentAddressed() {
+			return contentAddressed;
+		}
+
+		public void setContentAddressed(boolean contentAddressed) {
+			this.contentAddressed = contentAddressed;
+		}
 	}
 }
@@ -11,6 +11,8 @@ import org.hamcrest.MatcherAssert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.util.TestPropertyValues;
 import org.springframework.content.commons.repository.StoreExtension;
 import org.springframework.content.commons.utils.ReflectionServiceImpl;
 import org.springframework.content.solr.SolrIndexer;
@@ -54,6 +56,23 @@ public class SolrAutoConfigurationTest {
 													.not(CoreMatchers.nullValue())));
 								});
 					});
+			Context("given solr properties", () -> {
+				BeforeEach(() -> {
+					context = new AnnotationConfigApplicationContext();
+					TestPropertyValues.of("solr.url=http://some/url", "solr.indexing-workers=4",
+							"solr.indexing-batch-size=20").applyTo(context);
+					context.register(PropertiesTestConfig.class);
+					context.register(StarterTestConfig.class);
+					context.register(TestConfig.class);
+					context.refresh();
+				});
+				It("should bind them to the autoconfigured SolrProperties", () -> {
+					SolrProperties props = context.getBean(SolrProperties.class);
+					MatcherAssert.assertThat(props.getUrl(), CoreMatchers.is("http://some/url"));
+					MatcherAssert.assertThat(props.getIndexingWorkers(), CoreMatchers.is(4));
+					MatcherAssert.assertThat(props.getIndexingBatchSize(), CoreMatchers.is(20));
+				});
+			});
 		});
 	}
 
@@ -61,6 +80,11 @@ public class SolrAutoConfigurationTest {
 	public void test() {
 	}
 
+	@Configuration
+	@EnableConfigurationProperties
+	public static class PropertiesTestConfig {
+	}
+
 	@Configuration
 	public static class StarterTestConfig extends SolrAutoConfiguration {
 	}
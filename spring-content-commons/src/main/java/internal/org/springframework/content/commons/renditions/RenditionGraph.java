@@ -0,0 +1,225 @@
+package internal.org.springframework.content.commons.renditions;
+
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.content.commons.renditions.RenditionProvider;
+import org.springframework.util.MimeType;
+
+/**
+ * Routes conversions through the rendition providers.
+ *
+ * The providers' mime types are parsed once, when the graph is built, and the route
+ * between each pair of mime types is found once, the first time it is asked for.  A route
+ * may chain several providers, each converting the previous provider's output, when no
+ * single provider can convert between the mime types.  The shortest route is preferred
+ * and, of routes of the same length, the one using the earliest providers.
+ */
+public class RenditionGraph {
+
+	// bounds the memory used to remember routes between arbitrary requested mime types
+	private static final int MAX_ROUTES = 1024;
+
+	private final List<Node> nodes = new ArrayList<>();
+	private final ConcurrentMap<String, List<Hop>> routes = new ConcurrentHashMap<>();
+
+	public RenditionGraph(List<RenditionProvider> providers) {
+		for (RenditionProvider provider : providers) {
+			nodes.add(new Node(provider));
+		}
+		for (Node node : nodes) {
+			for (int i = 0; i < node.produces.length; i++) {
+				for (Node next : nodes) {
+					if (next != node && next.consumes.includes(node.produces[i])) {
+						node.next.add(new Edge(node.produces[i], next));
+					}
+				}
+			}
+		}
+	}
+
+	public boolean canConvert(String fromMimeType, String toMimeType) {
+		return !route(fromMimeType, toMimeType).isEmpty();
+	}
+
+	/**
+	 * Returns the mime types that content of the given mime type can be converted to.
+	 */
+	public String[] conversions(String fromMimeType) {
+		if (nodes.isEmpty()) {
+			return new String[] {};
+		}
+
+		MimeType from = MimeType.valueOf(fromMimeType);
+
+		Set<String> conversions = new LinkedHashSet<>();
+		Set<Node> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+		Deque<Node> queue = new ArrayDeque<>();
+		for (Node node : nodes) {
+			if (from.includes(node.consumes) && visited.add(node)) {
+				queue.add(node);
+			}
+		}
+		while (!queue.isEmpty()) {
+			Node node = queue.remove();
+			Collections.addAll(conversions, node.provider.produces());
+			for (Edge edge : node.next) {
+				if (visited.add(edge.node)) {
+					queue.add(edge.node);
+				}
+			}
+		}
+		return conversions.toArray(new String[] {});
+	}
+
+	/**
+	 * Converts the content, streaming it through each provider on the route between the
+	 * mime types.
+	 *
+	 * @return the converted content, or null if it cannot be converted
+	 */
+	public InputStream convert(String fromMimeType, InputStream fromInputSource, String toMimeType) {
+		List<Hop> route = route(fromMimeType, toMimeType);
+		if (route.isEmpty()) {
+			return null;
+		}
+
+		InputStream content = fromInputSource;
+		for (int i = 0; i < route.size(); i++) {
+			Hop hop = route.get(i);
+			// the last provider renders the requested mime type itself
+			content = hop.node.provider.convert(content,
+					i == route.size() - 1 ? toMimeType : hop.produces.toString());
+			if (content == null) {
+				break;
+			}
+		}
+		return content;
+	}
+
+	/* package */ List<Hop> route(String fromMimeType, String toMimeType) {
+		if (nodes.isEmpty()) {
+			return Collections.emptyList();
+		}
+
+		String key = fromMimeType + "\n" + toMimeType;
+		List<Hop> route = routes.get(key);
+		if (route == null) {
+			route = findRoute(MimeType.valueOf(fromMimeType), MimeType.valueOf(toMimeType));
+			if (routes.size() < MAX_ROUTES) {
+				routes.putIfAbsent(key, route);
+			}
+		}
+		return route;
+	}
+
+	private List<Hop> findRoute(MimeType from, MimeType to) {
+		Set<Node> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+		Deque<Path> queue = new ArrayDeque<>();
+		for (Node node : nodes) {
+			if (from.includes(node.consumes) && visited.add(node)) {
+				queue.add(new Path(node, null));
+			}
+		}
+
+		// breadth first, so the first route found is a shortest one
+		while (!queue.isEmpty()) {
+			Path path = queue.remove();
+			for (MimeType produce : path.node.produces) {
+				if (to.includes(produce)) {
+					return path.toRoute(produce);
+				}
+			}
+			for (Edge edge : path.node.next) {
+				if (visited.add(edge.node)) {
+					queue.add(new Path(edge.node, new Path(path.node, path.previous, edge.produces)));
+				}
+			}
+		}
+		return Collections.emptyList();
+	}
+
+	private static class Node {
+
+		private final RenditionProvider provider;
+		private final MimeType consumes;
+		private final MimeType[] produces;
+
+		// the providers that consume what this provider produces
+		private final List<Edge> next = new ArrayList<>();
+
+		Node(RenditionProvider provider) {
+			this.provider = provider;
+			this.consumes = MimeType.valueOf(provider.consumes());
+			String[] produces = provider.produces();
+			this.produces = new MimeType[produces.length];
+			for (int i = 0; i < produces.length; i++) {
+				this.produces[i] = MimeType.valueOf(produces[i]);
+			}
+		}
+	}
+
+	private static class Edge {
+
+		private final MimeType produces;
+		private final Node node;
+
+		Edge(MimeType produces, Node node) {
+			this.produces = produces;
+			this.node = node;
+		}
+	}
+
+	/**
+	 * A step on a route: the provider to convert with, and the mime type to convert to.
+	 */
+	/* package */ static class Hop {
+
+		private final Node node;
+		private final MimeType produces;
+
+		Hop(Node node, MimeType produces) {
+			this.node = node;
+			this.produces = produces;
+		}
+
+		/* package */ RenditionProvider getProvider() {
+			return node.provider;
+		}
+	}
+
+	private static class Path {
+
+		private final Node node;
+		private final Path previous;
+		private final MimeType produces;
+
+		Path(Node node, Path previous) {
+			this(node, previous, null);
+		}
+
+		Path(Node node, Path previous, MimeType produces) {
+			this.node = node;
+			this.previous = previous;
+			this.produces = produces;
+		}
+
+		List<Hop> toRoute(MimeType last) {
+			List<Hop> route = new ArrayList<>();
+			route.add(new Hop(node, last));
+			for (Path p = previous; p != null; p = p.previous) {
+				route.add(0, new Hop(p.node, p.produces));
+			}
+			return Collections.unmodifiableList(route);
+		}
+	}
+}
@@ -3,29 +3,33 @@ package internal.org.springframework.content.commons.renditions;
 import java.io.InputStream;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
 
 import org.aopalliance.intercept.MethodInvocation;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.content.commons.renditions.Renderable;
+import org.springframework.content.commons.renditions.RenditionCache;
+import org.springframework.content.commons.renditions.RenditionExecutor;
+import org.springframework.content.commons.renditions.RenditionKey;
 import org.springframework.content.commons.renditions.RenditionProvider;
 import org.springframework.content.commons.renditions.RenditionService;
 import org.springframework.content.commons.repository.StoreExtension;
 import org.springframework.content.commons.repository.StoreInvoker;
 import org.springframework.content.commons.utils.BeanUtils;
-import org.springframework.util.MimeType;
 
 public class RenditionServiceImpl implements RenditionService, StoreExtension {
 
 	private static final Log LOGGER = LogFactory.getLog(RenditionServiceImpl.class);
 
 	private List<RenditionProvider> providers = new ArrayList<RenditionProvider>();
+	private volatile RenditionGraph graph = new RenditionGraph(Collections.emptyList());
+	private RenditionCache renditionCache;
+	private RenditionExecutor renditionExecutor = new RenditionExecutor();
 
 	public RenditionServiceImpl() {
 	}
@@ -35,49 +39,32 @@ public class RenditionServiceImpl implements RenditionService, StoreExtension {
 		for (RenditionProvider provider : providers) {
 			this.providers.add(provider);
 		}
+		this.graph = new RenditionGraph(this.providers);
+	}
+
+	@Autowired(required = false)
+	public void setRenditionCache(RenditionCache renditionCache) {
+		this.renditionCache = renditionCache;
+	}
+
+	@Autowired(required = false)
+	public void setRenditionExecutor(RenditionExecutor renditionExecutor) {
+		this.renditionExecutor = renditionExecutor;
 	}
 
 	@Override
 	public boolean canConvert(String fromMimeType, String toMimeType) {
-		for (RenditionProvider provider : providers) {
-			if (MimeType.valueOf(fromMimeType)
-					.includes(MimeType.valueOf(provider.consumes()))) {
-				for (String produce : provider.produces()) {
-					if (MimeType.valueOf(toMimeType)
-							.includes(MimeType.valueOf(produce))) {
-						return true;
-					}
-				}
-			}
-		}
-		return false;
+		return graph.canConvert(fromMimeType, toMimeType);
 	}
 
 	@Override
 	public String[] conversions(String fromMimeType) {
-		Set<String> conversions = new HashSet<>();
-		for (RenditionProvider provider : providers) {
-			if (provider.consumes().equals(fromMimeType)) {
-				conversions.addAll(Arrays.asList(provider.produces()));
-			}
-		}
-		return conversions.toArray(new String[] {});
+		return graph.conversions(fromMimeType);
 	}
 
 	@Override
 	public InputStream convert(String fromMimeType, InputStream fromInputSource, String toMimeType) {
-		for (RenditionProvider provider : providers) {
-			if (MimeType.valueOf(fromMimeType)
-					.includes(MimeType.valueOf(provider.consumes()))) {
-				for (String produce : provider.produces()) {
-					if (MimeType.valueOf(toMimeType)
-							.includes(MimeType.valueOf(produce))) {
-						return provider.convert(fromInputSource, toMimeType);
-					}
-				}
-			}
-		}
-		return null;
+		return graph.convert(fromMimeType, fromInputSource, toMimeType);
 	}
 
 	@Override
@@ -108,10 +95,31 @@ public class RenditionServiceImpl implements RenditionService, StoreExtension {
 		String toMimeType = (String) invocation.getArguments()[1];
 
 		if (this.canConvert(fromMimeType, toMimeType)) {
-			InputStream content = null;
+			RenditionKey key = RenditionKey.of(invocation.getArguments()[0], toMimeType);
+			if (key != null && renditionCache != null) {
+				InputStream rendition = renditionCache.get(key);
+				if (rendition != null) {
+					return rendition;
+				}
+			}
+
+			final String from = fromMimeType;
+			Callable<InputStream> renderer = () -> {
+				InputStream content = invoker.invokeGetContent();
+				InputStream rendition = this.convert(from, content, toMimeType);
+				if (key != null && rendition != null && renditionCache != null) {
+					return renditionCache.put(key, rendition);
+				}
+				return rendition;
+			};
+
+			// requests joining a cached rendering re-read it from the cache
+			Callable<InputStream> reader = renditionCache != null ? () -> renditionCache.get(key) : null;
+
 			try {
-				content = invoker.invokeGetContent();
-				return (InputStream) this.convert(fromMimeType, content, toMimeType);
+				// concurrent requests for the same rendition share one rendering, whatever
+				// version of the entity they were made with, as they render the same content
+				return key != null ? renditionExecutor.execute(key.withoutVersion(), renderer, reader) : renderer.call();
 			}
 			catch (Exception e) {
 				LOGGER.error(String.format("Failed to get rendition from %s to %s",
@@ -1,14 +1,28 @@
 package internal.org.springframework.content.commons.repository;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.content.commons.annotations.HandleAfterAssociate;
 import org.springframework.content.commons.annotations.HandleAfterGetContent;
@@ -37,36 +51,76 @@ import org.springframework.content.commons.repository.events.BeforeSetContentEve
 import org.springframework.content.commons.repository.events.BeforeUnassociateEvent;
 import org.springframework.content.commons.repository.events.BeforeUnsetContentEvent;
 import org.springframework.content.commons.utils.ReflectionService;
-import org.springframework.content.commons.utils.ReflectionServiceImpl;
 import org.springframework.context.ApplicationListener;
 import org.springframework.core.annotation.AnnotationAwareOrderComparator;
 import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.util.ReflectionUtils;
 
+/**
+ * Invokes the methods of {@link StoreEventHandler} beans annotated to handle store events.
+ *
+ * The handler methods for each event type and source type are resolved the first time
+ * such an event is published and are then invoked through bound method handles.  After
+ * handlers annotated with {@code async = true} are invoked on the store event executor,
+ * a bean named {@code storeEventExecutor} if there is one, so that they do not add to
+ * the time taken by the store call.
+ */
 public class AnnotatedStoreEventInvoker
-		implements ApplicationListener<StoreEvent>, BeanPostProcessor {
+		implements ApplicationListener<StoreEvent>, BeanPostProcessor, DisposableBean {
 
 	private static final Log logger = LogFactory.getLog(AnnotatedStoreEventInvoker.class);
 
+	private static final int EVENT_QUEUE_CAPACITY = 1000;
+
 	private final MultiValueMap<Class<? extends StoreEvent>, EventHandlerMethod> handlerMethods = new LinkedMultiValueMap<Class<? extends StoreEvent>, EventHandlerMethod>();
 
+	// the handler methods to invoke, by event type and then by source type
+	private final ConcurrentMap<Class<?>, ConcurrentMap<Class<?>, EventHandlerMethod[]>> dispatch = new ConcurrentHashMap<>();
+
 	private ReflectionService reflectionService;
 
+	private Executor eventExecutor;
+	private ExecutorService defaultEventExecutor;
+
 	public AnnotatedStoreEventInvoker() {
-		reflectionService = new ReflectionServiceImpl();
 	}
 
+	/**
+	 * Invokes handler methods through the given reflection service rather than through
+	 * method handles.
+	 */
 	public AnnotatedStoreEventInvoker(ReflectionService reflectionService) {
 		this.reflectionService = reflectionService;
 	}
 
+	@Autowired(required = false)
+	@Qualifier("storeEventExecutor")
+	public void setEventExecutor(Executor eventExecutor) {
+		this.eventExecutor = eventExecutor;
+	}
+
+	@Override
+	public synchronized void destroy() {
+		if (defaultEventExecutor != null) {
+			defaultEventExecutor.shutdown();
+		}
+	}
+
 	MultiValueMap<Class<? extends StoreEvent>, EventHandlerMethod> getHandlers() {
 		return handlerMethods;
 	}
 
+	/**
+	 * Returns true if any handler method handles events of the given type.
+	 */
+	public boolean handles(Class<? extends StoreEvent> eventType) {
+		return handlerMethods.containsKey(eventType);
+	}
+
 	@Override
 	public Object postProcessBeforeInitialization(Object bean, String beanName)
 			throws BeansException {
@@ -129,34 +183,92 @@ public class AnnotatedStoreEventInvoker
 			return;
 		}
 
-		for (EventHandlerMethod handlerMethod : handlerMethods.get(eventType)) {
+		Object src = event.getSource();
+
+		for (EventHandlerMethod handlerMethod : handlerMethods(eventType, src.getClass())) {
 
-			Object src = event.getSource();
+			Object parameter = handlerMethod.acceptsEvent ? event : src;
 
-			if ((ClassUtils.isAssignable(StoreEvent.class, handlerMethod.targetType) &&
-					ClassUtils.isAssignable(handlerMethod.targetType, event.getClass()) == false) ||
-					(ClassUtils.isAssignable(StoreEvent.class, handlerMethod.targetType) == false &&
-							ClassUtils.isAssignable(handlerMethod.targetType, src.getClass()) == false)) {
-				continue;
+			if (logger.isDebugEnabled()) {
+				logger.debug(String.format("Invoking %s handler for %s.",
+						event.getClass().getSimpleName(), event.getSource()));
 			}
 
-			List<Object> parameters = new ArrayList<Object>();
-			if (ClassUtils.isAssignable(StoreEvent.class, handlerMethod.targetType)) {
-				parameters.add(event);
-			} else {
-				parameters.add(src);
+			if (handlerMethod.async) {
+				// the content copy is discarded once the event has been handled
+				Object asyncParameter = parameter instanceof AfterSetContentEvent ?
+						((AfterSetContentEvent) parameter).withoutContentCopy() : parameter;
+				getEventExecutor().execute(() -> {
+					try {
+						invoke(handlerMethod, asyncParameter);
+					}
+					catch (Throwable t) {
+						logger.error(String.format("Error invoking %s handler %s",
+								eventType.getSimpleName(), handlerMethod.method), t);
+					}
+				});
+			}
+			else {
+				invoke(handlerMethod, parameter);
 			}
+		}
+	}
 
-			if (logger.isDebugEnabled()) {
-				logger.debug(String.format("Invoking {} handler for {}.",
-						event.getClass().getSimpleName(), event.getSource()));
+	private EventHandlerMethod[] handlerMethods(Class<? extends StoreEvent> eventType, Class<?> srcType) {
+		ConcurrentMap<Class<?>, EventHandlerMethod[]> bySource = dispatch.get(eventType);
+		if (bySource == null) {
+			bySource = dispatch.computeIfAbsent(eventType, type -> new ConcurrentHashMap<>());
+		}
+
+		EventHandlerMethod[] methods = bySource.get(srcType);
+		if (methods == null) {
+			List<EventHandlerMethod> applicable = new ArrayList<>();
+			for (EventHandlerMethod handlerMethod : handlerMethods.getOrDefault(eventType, Collections.emptyList())) {
+				if (handlerMethod.acceptsEvent ?
+						ClassUtils.isAssignable(handlerMethod.targetType, eventType) :
+						ClassUtils.isAssignable(handlerMethod.targetType, srcType)) {
+					applicable.add(handlerMethod);
+				}
 			}
+			methods = applicable.toArray(new EventHandlerMethod[applicable.size()]);
+			bySource.putIfAbsent(srcType, methods);
+		}
+		return methods;
+	}
+
+	private void invoke(EventHandlerMethod handlerMethod, Object parameter) {
+		if (reflectionService != null) {
+			reflectionService.invokeMethod(handlerMethod.method, handlerMethod.handler, parameter);
+			return;
+		}
 
-			reflectionService.invokeMethod(handlerMethod.method, handlerMethod.handler,
-					parameters.toArray());
+		try {
+			handlerMethod.handle.invokeExact(parameter);
+		}
+		catch (RuntimeException | Error e) {
+			throw e;
+		}
+		catch (Throwable t) {
+			throw new UndeclaredThrowableException(t);
 		}
 	}
 
+	private synchronized Executor getEventExecutor() {
+		if (eventExecutor == null) {
+			CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("store-event-");
+			threadFactory.setDaemon(true);
+
+			int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+			// when the queue is full the store call handles the event itself, rather than
+			// losing it
+			defaultEventExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+					new ArrayBlockingQueue<>(EVENT_QUEUE_CAPACITY), threadFactory,
+					new ThreadPoolExecutor.CallerRunsPolicy());
+			eventExecutor = defaultEventExecutor;
+		}
+		return eventExecutor;
+	}
+
 	<H extends Annotation, E> void findHandler(Object bean, Method method,
 			Class<H> handler, Class<? extends StoreEvent> eventType) {
 		H annotation = AnnotationUtils.findAnnotation(method, handler);
@@ -173,12 +285,16 @@ public class AnnotatedStoreEventInvoker
 					method.getName()));
 		}
 
+		Object async = AnnotationUtils.getValue(annotation, "async");
+
 		EventHandlerMethod handlerMethod = new EventHandlerMethod(parameterTypes[0], bean,
-				method);
+				method, Boolean.TRUE.equals(async));
 
 		logger.debug(
 				String.format("Annotated handler method found: {%s}", handlerMethod));
 
+		dispatch.remove(eventType);
+
 		List<EventHandlerMethod> events = handlerMethods.get(eventType);
 
 		if (events == null) {
@@ -200,14 +316,33 @@ public class AnnotatedStoreEventInvoker
 		final Class<?> targetType;
 		final Method method;
 		final Object handler;
+		final boolean async;
+
+		// whether the handler method accepts the event, rather than its source
+		final boolean acceptsEvent;
 
-		private EventHandlerMethod(Class<?> targetType, Object handler, Method method) {
+		// the method bound to the handler, taking the parameter as an Object
+		final MethodHandle handle;
+
+		private EventHandlerMethod(Class<?> targetType, Object handler, Method method, boolean async) {
 
 			this.targetType = targetType;
 			this.method = method;
 			this.handler = handler;
+			this.async = async;
+			this.acceptsEvent = ClassUtils.isAssignable(StoreEvent.class, targetType);
 
 			ReflectionUtils.makeAccessible(this.method);
+
+			try {
+				this.handle = MethodHandles.lookup().unreflect(method)
+						.bindTo(handler)
+						.asType(MethodType.methodType(void.class, Object.class));
+			}
+			catch (IllegalAccessException e) {
+				throw new IllegalStateException(String.format(
+						"Event handler method %s is not accessible", method), e);
+			}
 		}
 
 		/*
@@ -0,0 +1,154 @@
+package internal.org.springframework.content.commons.repository.factory;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import internal.org.springframework.content.commons.repository.AnnotatedStoreEventInvoker;
+
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.content.commons.repository.StoreEvent;
+import org.springframework.content.commons.repository.events.AfterAssociateEvent;
+import org.springframework.content.commons.repository.events.AfterGetContentEvent;
+import org.springframework.content.commons.repository.events.AfterGetResourceEvent;
+import org.springframework.content.commons.repository.events.AfterSetContentEvent;
+import org.springframework.content.commons.repository.events.AfterUnassociateEvent;
+import org.springframework.content.commons.repository.events.AfterUnsetContentEvent;
+import org.springframework.content.commons.repository.events.BeforeAssociateEvent;
+import org.springframework.content.commons.repository.events.BeforeGetContentEvent;
+import org.springframework.content.commons.repository.events.BeforeGetResourceEvent;
+import org.springframework.content.commons.repository.events.BeforeSetContentEvent;
+import org.springframework.content.commons.repository.events.BeforeUnassociateEvent;
+import org.springframework.content.commons.repository.events.BeforeUnsetContentEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.GenericApplicationListener;
+import org.springframework.context.event.GenericApplicationListenerAdapter;
+import org.springframework.context.event.SmartApplicationListener;
+import org.springframework.context.support.AbstractApplicationContext;
+import org.springframework.core.ResolvableType;
+
+/**
+ * Finds the store events that an application context's listeners listen to, finding
+ * them again whenever listeners are added to the context, such as those registered for
+ * {@code @EventListener} methods or by {@code addApplicationListener}.
+ */
+public final class ListenedStoreEvents implements Supplier<Set<Class<? extends StoreEvent>>> {
+
+	private static final List<Class<? extends StoreEvent>> EVENT_TYPES = Arrays.asList(
+			BeforeGetContentEvent.class, AfterGetContentEvent.class,
+			BeforeSetContentEvent.class, AfterSetContentEvent.class,
+			BeforeUnsetContentEvent.class, AfterUnsetContentEvent.class,
+			BeforeGetResourceEvent.class, AfterGetResourceEvent.class,
+			BeforeAssociateEvent.class, AfterAssociateEvent.class,
+			BeforeUnassociateEvent.class, AfterUnassociateEvent.class);
+
+	private final ApplicationContext context;
+	private volatile Snapshot snapshot;
+
+	public ListenedStoreEvents(ApplicationContext context) {
+		this.context = context;
+	}
+
+	/**
+	 * Returns the store events that the context's listeners listen to, or null if they
+	 * cannot be determined.
+	 */
+	@Override
+	public Set<Class<? extends StoreEvent>> get() {
+		long listeners = countListeners(context);
+		Snapshot snapshot = this.snapshot;
+		if (snapshot == null || snapshot.listeners != listeners) {
+			snapshot = new Snapshot(listeners, find(context));
+			this.snapshot = snapshot;
+		}
+		return snapshot.events;
+	}
+
+	/**
+	 * Returns the store events that the context's listeners, or its ancestors' listeners,
+	 * listen to, or null if they cannot be determined.
+	 */
+	public static Set<Class<? extends StoreEvent>> find(ApplicationContext context) {
+		Set<Class<? extends StoreEvent>> listened = new HashSet<>();
+		for (ApplicationContext ctx = context; ctx != null; ctx = ctx.getParent()) {
+			if (!(ctx instanceof AbstractApplicationContext)) {
+				return null;
+			}
+			AbstractApplicationContext applicationContext = (AbstractApplicationContext) ctx;
+			for (ApplicationListener<?> listener : applicationContext.getApplicationListeners()) {
+				addListened(listener, listened);
+			}
+
+			ConfigurableListableBeanFactory beanFactory = applicationContext.getBeanFactory();
+			for (String name : beanFactory.getBeanNamesForType(ApplicationListener.class, true, false)) {
+				if (beanFactory.containsSingleton(name)) {
+					addListened(beanFactory.getBean(name, ApplicationListener.class), listened);
+					continue;
+				}
+
+				// a listener not yet created, so only its declared type is known
+				Class<?> type = beanFactory.getType(name);
+				if (type == null || SmartApplicationListener.class.isAssignableFrom(type)
+						|| GenericApplicationListener.class.isAssignableFrom(type)) {
+					return null;
+				}
+				ResolvableType eventType = ResolvableType.forClass(type).as(ApplicationListener.class).getGeneric();
+				for (Class<? extends StoreEvent> storeEventType : EVENT_TYPES) {
+					if (eventType.resolve() == null || eventType.isAssignableFrom(storeEventType)) {
+						listened.add(storeEventType);
+					}
+				}
+			}
+		}
+		return Collections.unmodifiableSet(listened);
+	}
+
+	private static long countListeners(ApplicationContext context) {
+		long count = 0;
+		for (ApplicationContext ctx = context; ctx != null; ctx = ctx.getParent()) {
+			if (!(ctx instanceof AbstractApplicationContext)) {
+				return -1;
+			}
+			AbstractApplicationContext applicationContext = (AbstractApplicationContext) ctx;
+			count += applicationContext.getApplicationListeners().size();
+			count += applicationContext.getBeanFactory().getBeanNamesForType(ApplicationListener.class, true, false).length;
+		}
+		return count;
+	}
+
+	private static void addListened(ApplicationListener<?> listener, Set<Class<? extends StoreEvent>> listened) {
+		if (listener instanceof AnnotatedStoreEventInvoker) {
+			// dispatches only the events it has handler methods for
+			for (Class<? extends StoreEvent> eventType : EVENT_TYPES) {
+				if (((AnnotatedStoreEventInvoker) listener).handles(eventType)) {
+					listened.add(eventType);
+				}
+			}
+			return;
+		}
+
+		GenericApplicationListener adapter = listener instanceof GenericApplicationListener
+				? (GenericApplicationListener) listener
+				: new GenericApplicationListenerAdapter(listener);
+		for (Class<? extends StoreEvent> eventType : EVENT_TYPES) {
+			if (adapter.supportsEventType(ResolvableType.forClass(eventType))) {
+				listened.add(eventType);
+			}
+		}
+	}
+
+	private static class Snapshot {
+
+		private final long listeners;
+		private final Set<Class<? extends StoreEvent>> events;
+
+		Snapshot(long listeners, Set<Class<? extends StoreEvent>> events) {
+			this.listeners = listeners;
+			this.events = events;
+		}
+	}
+}
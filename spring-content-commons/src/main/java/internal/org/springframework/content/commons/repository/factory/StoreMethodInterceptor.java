@@ -1,21 +1,33 @@
 package internal.org.springframework.content.commons.repository.factory;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 import internal.org.springframework.content.commons.config.StoreFragment;
 import internal.org.springframework.content.commons.config.StoreFragments;
 import internal.org.springframework.content.commons.repository.StoreInvokerImpl;
 import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 
 import org.springframework.content.commons.fragments.ContentStoreAware;
+import org.springframework.content.commons.io.FileBackedOutputStream;
+import org.springframework.content.commons.io.TeeInputStream;
 import org.springframework.content.commons.repository.AfterStoreEvent;
 import org.springframework.content.commons.repository.AssociativeStore;
+import org.springframework.content.commons.repository.ContentConsumer;
 import org.springframework.content.commons.repository.ContentStore;
 import org.springframework.content.commons.repository.Store;
 import org.springframework.content.commons.repository.StoreAccessException;
@@ -41,10 +53,16 @@ import static java.lang.String.format;
 
 public class StoreMethodInterceptor implements MethodInterceptor {
 
+	private static Log logger = LogFactory.getLog(StoreMethodInterceptor.class);
+
+	// content set on a store is buffered in memory up to this size for consumers
+	private static final int CONTENT_COPY_THRESHOLD = 1024 * 1024;
+
 	private Map<Method, StoreExtension> extensions;
 	private ContentStore<Object, Serializable> store = null;
 	private ApplicationEventPublisher publisher;
 	private StoreFragments storeFragments;
+	private Set<ContentConsumer> contentConsumers = Collections.emptySet();
 
 	// Store methods
 	private static Method getContentMethod;
@@ -62,6 +80,13 @@ public class StoreMethodInterceptor implements MethodInterceptor {
 	private Class<?> domainClass = null;
 	private Class<? extends Serializable> contentIdClass = null;
 
+	// the store methods and the events published around them
+	private static final Map<Method, StoreMethod> storeMethods;
+
+	// each method invoked through the proxy bound to its handler
+	private volatile Map<Method, Handler> dispatch;
+	private volatile Supplier<Set<Class<? extends StoreEvent>>> listenedEvents = () -> null;
+
 	static {
 		getContentMethod = ReflectionUtils.findMethod(ContentStore.class, "getContent",
 				Object.class);
@@ -89,6 +114,31 @@ public class StoreMethodInterceptor implements MethodInterceptor {
 
 		setContentStoreMethod = ReflectionUtils.findMethod(ContentStoreAware.class, "setContentStore", ContentStore.class);
 		Assert.notNull(setContentStoreMethod);
+
+		Map<Method, StoreMethod> methods = new HashMap<>();
+		methods.put(getContentMethod, new StoreMethod(getContentMethod,
+				BeforeGetContentEvent.class, BeforeGetContentEvent::new,
+				AfterGetContentEvent.class, AfterGetContentEvent::new, false));
+		methods.put(setContentMethod, new StoreMethod(setContentMethod,
+				BeforeSetContentEvent.class, BeforeSetContentEvent::new,
+				null, null, false));
+		methods.put(unsetContentMethod, new StoreMethod(unsetContentMethod,
+				BeforeUnsetContentEvent.class, BeforeUnsetContentEvent::new,
+				AfterUnsetContentEvent.class, AfterUnsetContentEvent::new, true));
+		methods.put(getResourceMethod, new StoreMethod(getResourceMethod,
+				BeforeGetResourceEvent.class, BeforeGetResourceEvent::new,
+				AfterGetResourceEvent.class, AfterGetResourceEvent::new, true));
+		methods.put(associativeGetResourceMethod, new StoreMethod(associativeGetResourceMethod,
+				BeforeGetResourceEvent.class, BeforeGetResourceEvent::new,
+				AfterGetResourceEvent.class, AfterGetResourceEvent::new, true));
+		methods.put(associateResourceMethod, new StoreMethod(associateResourceMethod,
+				BeforeAssociateEvent.class, BeforeAssociateEvent::new,
+				AfterAssociateEvent.class, AfterAssociateEvent::new, true));
+		methods.put(unassociateResourceMethod, new StoreMethod(unassociateResourceMethod,
+				BeforeUnassociateEvent.class, BeforeUnassociateEvent::new,
+				AfterUnassociateEvent.class, AfterUnassociateEvent::new, true));
+		methods.put(toStringMethod, new StoreMethod(toStringMethod, null, null, null, null, true));
+		storeMethods = Collections.unmodifiableMap(methods);
 	}
 
 	public StoreMethodInterceptor(ContentStore<Object, Serializable> store,
@@ -102,122 +152,246 @@ public class StoreMethodInterceptor implements MethodInterceptor {
 		this.contentIdClass = contentIdClass;
 		this.extensions = extensions;
 		this.publisher = publisher;
+		buildDispatchTable();
 	}
 
 	public void setStoreFragments(StoreFragments storeFragments) {
 		this.storeFragments = storeFragments;
+		buildDispatchTable();
 	}
 
-	@Override
-	public Object invoke(MethodInvocation invocation) throws Throwable {
+	public void setContentConsumers(Set<ContentConsumer> contentConsumers) {
+		this.contentConsumers = contentConsumers != null ? contentConsumers : Collections.emptySet();
+	}
 
-		if (!isStoreMethod(invocation) && storeFragments != null) {
-			Optional<StoreFragment> fragment = storeFragments.stream()
-					.filter(it -> it.hasMethod(invocation.getMethod()))
-					.findFirst();
+	/**
+	 * Sets the store events that have listeners, so that events nobody listens to are not
+	 * published.  Null, the default, publishes every event.
+	 */
+	public void setListenedEvents(Set<Class<? extends StoreEvent>> listenedEvents) {
+		this.listenedEvents = () -> listenedEvents;
+	}
 
-			fragment.orElseThrow(() -> new IllegalStateException(format("No fragment found for method %s", invocation.getMethod())));
+	/**
+	 * Sets where to find the store events that have listeners, for listeners that may
+	 * be added after the store is created.  A null set publishes every event.
+	 */
+	public void setListenedEvents(Supplier<Set<Class<? extends StoreEvent>>> listenedEvents) {
+		this.listenedEvents = listenedEvents;
+	}
+
+	@Override
+	public Object invoke(MethodInvocation invocation) throws Throwable {
+		Handler handler = dispatch.get(invocation.getMethod());
+		if (handler == null) {
+			handler = dispatch.computeIfAbsent(invocation.getMethod(), this::resolve);
+		}
+		return handler.handle(invocation);
+	}
 
-			StoreFragment f = fragment.get();
-			if (f.hasImplementationMethod(setContentStoreMethod)) {
-				ReflectionUtils.invokeMethod(setContentStoreMethod, f.getImplementation(), invocation.getThis());
+	// binds each method known when the proxy is created to its handler
+	private void buildDispatchTable() {
+		Map<Method, Handler> table = new ConcurrentHashMap<>();
+		for (Method method : storeMethods.keySet()) {
+			table.put(method, resolve(method));
+		}
+		for (Method method : extensions.keySet()) {
+			table.putIfAbsent(method, resolve(method));
+		}
+		if (storeFragments != null) {
+			for (StoreFragment<?> fragment : storeFragments) {
+				for (Method method : fragment.getIface().getMethods()) {
+					table.putIfAbsent(method, resolve(method));
+				}
 			}
+		}
+		this.dispatch = table;
+	}
 
-			return invocation.getMethod().invoke(fragment.get().getImplementation(), invocation.getArguments());
-		} else {
-			Method method = invocation.getMethod();
-			StoreExtension extension = extensions.get(method);
-			if (extension != null) {
-				return extension.invoke(invocation,
-						new StoreInvokerImpl(domainClass, contentIdClass, invocation));
+	private Handler resolve(Method method) {
+		if (!isStoreMethod(method) && storeFragments != null) {
+			StoreFragment<?> fragment = storeFragments.stream()
+					.filter(it -> it.hasMethod(method))
+					.findFirst()
+					.orElse(null);
+			if (fragment == null) {
+				return invocation -> {
+					throw new IllegalStateException(format("No fragment found for method %s", method));
+				};
 			}
-			else {
-				if (!isStoreMethod(invocation)) {
-					throw new StoreAccessException(format("No implementation found for %s", method.getName()));
-				}
+			if (!fragment.getIface().isInstance(fragment.getImplementation())) {
+				// fails as reflection does
+				return invocation -> method.invoke(fragment.getImplementation(), invocation.getArguments());
 			}
+			return new FragmentHandler(fragment, method);
+		}
+
+		StoreExtension extension = extensions.get(method);
+		if (extension != null) {
+			return invocation -> extension.invoke(invocation,
+					new StoreInvokerImpl(domainClass, contentIdClass, invocation));
+		}
+
+		StoreMethod storeMethod = storeMethods.get(method);
+		if (storeMethod == null) {
+			return invocation -> {
+				throw new StoreAccessException(format("No implementation found for %s", method.getName()));
+			};
 		}
+		return invocation -> invokeStoreMethod(storeMethod, invocation);
+	}
+
+	private Object invokeStoreMethod(StoreMethod storeMethod, MethodInvocation invocation) throws Throwable {
+		Object[] arguments = invocation.getArguments() != null ? invocation.getArguments() : new Object[0];
+		Object entity = arguments.length > 0 ? arguments[0] : null;
+		boolean hasEntity = arguments.length > 0 && (entity != null || !storeMethod.requiresEntity);
 
 		StoreEvent before = null;
 		AfterStoreEvent after = null;
+		FileBackedOutputStream contentCopy = null;
+		TeeInputStream tee = null;
 
-		if (getContentMethod.equals(invocation.getMethod())) {
-			if (invocation.getArguments().length > 0) {
-				before = new BeforeGetContentEvent(invocation.getArguments()[0], store);
-				after = new AfterGetContentEvent(invocation.getArguments()[0], store);
+		if (hasEntity) {
+			if (storeMethod.before != null && isListened(storeMethod.beforeType)) {
+				before = storeMethod.before.create(entity, store);
 			}
-		}
-		else if (setContentMethod.equals(invocation.getMethod())) {
-			if (invocation.getArguments().length > 0) {
-				before = new BeforeSetContentEvent(invocation.getArguments()[0], store);
-				after = new AfterSetContentEvent(invocation.getArguments()[0], store);
+			if (storeMethod.after != null && isListened(storeMethod.afterType)) {
+				after = (AfterStoreEvent) storeMethod.after.create(entity, store);
 			}
-		}
-		else if (unsetContentMethod.equals(invocation.getMethod())) {
-			if (invocation.getArguments().length > 0
-					&& invocation.getArguments()[0] != null) {
-				before = new BeforeUnsetContentEvent(invocation.getArguments()[0], store);
-				after = new AfterUnsetContentEvent(invocation.getArguments()[0], store);
+
+			// copy the content as it is written so consumers need not read it back
+			if (storeMethod.method == setContentMethod && arguments.length > 1 && arguments[1] != null
+					&& isListened(AfterSetContentEvent.class) && isConsumed(entity)) {
+				contentCopy = new FileBackedOutputStream(CONTENT_COPY_THRESHOLD);
+				tee = new TeeInputStream((InputStream) arguments[1], contentCopy);
+				arguments[1] = tee;
 			}
 		}
-		else if (getResourceMethod.equals(invocation.getMethod())) {
-			if (invocation.getArguments().length > 0
-					&& invocation.getArguments()[0] != null) {
-				before = new BeforeGetResourceEvent(invocation.getArguments()[0], store);
-				after = new AfterGetResourceEvent(invocation.getArguments()[0], store);
+
+		try {
+			if (before != null) {
+				publisher.publishEvent(before);
 			}
-		}
-		else if (associativeGetResourceMethod.equals(invocation.getMethod())) {
-			if (invocation.getArguments().length > 0
-					&& invocation.getArguments()[0] != null) {
-				before = new BeforeGetResourceEvent(invocation.getArguments()[0], store);
-				after = new AfterGetResourceEvent(invocation.getArguments()[0], store);
+			Object result = invocation.proceed();
+
+			if (storeMethod.method == setContentMethod && hasEntity && isListened(AfterSetContentEvent.class)) {
+				// only offer the copy when the store read all of the content
+				after = new AfterSetContentEvent(entity, store,
+						tee != null && tee.isComplete() ? contentCopy : null);
 			}
-		}
-		else if (associateResourceMethod.equals(invocation.getMethod())) {
-			if (invocation.getArguments().length > 0
-					&& invocation.getArguments()[0] != null) {
-				before = new BeforeAssociateEvent(invocation.getArguments()[0], store);
-				after = new AfterAssociateEvent(invocation.getArguments()[0], store);
+
+			if (after != null) {
+				after.setResult(result);
+				publisher.publishEvent(after);
 			}
+			return result;
 		}
-		else if (unassociateResourceMethod.equals(invocation.getMethod())) {
-			if (invocation.getArguments().length > 0
-					&& invocation.getArguments()[0] != null) {
-				before = new BeforeUnassociateEvent(invocation.getArguments()[0], store);
-				after = new AfterUnassociateEvent(invocation.getArguments()[0], store);
+		finally {
+			if (contentCopy != null) {
+				try {
+					contentCopy.reset();
+				}
+				catch (IOException e) {
+					logger.warn(format("Unable to discard content copy for %s", entity), e);
+				}
 			}
 		}
+	}
 
-		if (before != null) {
-			publisher.publishEvent(before);
-		}
-		Object result;
-		try {
-			result = invocation.proceed();
+	private boolean isListened(Class<? extends StoreEvent> eventType) {
+		Set<Class<? extends StoreEvent>> listened = this.listenedEvents.get();
+		return listened == null || listened.contains(eventType);
+	}
+
+	private boolean isConsumed(Object entity) {
+		for (ContentConsumer consumer : contentConsumers) {
+			if (consumer.consumes(entity)) {
+				return true;
+			}
 		}
-		catch (Exception e) {
-			throw e;
+		return false;
+	}
+
+	private boolean isStoreMethod(Method method) {
+		return storeMethods.containsKey(method);
+	}
+
+	/**
+	 * Handles a store method: the events published around it.
+	 */
+	private static class StoreMethod {
+
+		private final Method method;
+		private final Class<? extends StoreEvent> beforeType;
+		private final EventFactory before;
+		private final Class<? extends StoreEvent> afterType;
+		private final EventFactory after;
+		// whether events are published when the entity argument is null
+		private final boolean requiresEntity;
+
+		StoreMethod(Method method, Class<? extends StoreEvent> beforeType, EventFactory before,
+				Class<? extends StoreEvent> afterType, EventFactory after, boolean requiresEntity) {
+			this.method = method;
+			this.beforeType = beforeType;
+			this.before = before;
+			this.afterType = afterType;
+			this.after = after;
+			this.requiresEntity = requiresEntity;
 		}
+	}
+
+	private interface EventFactory {
+		StoreEvent create(Object entity, ContentStore<Object, Serializable> store);
+	}
+
+	private interface Handler {
+		Object handle(MethodInvocation invocation) throws Throwable;
+	}
+
+	/**
+	 * Invokes a fragment's implementation of a method through a method handle bound to the
+	 * implementation.
+	 */
+	private static class FragmentHandler implements Handler {
+
+		private final Object implementation;
+		private final MethodHandle handle;
+		private final MethodHandle setContentStore;
 
-		if (after != null) {
-			after.setResult(result);
-			publisher.publishEvent(after);
+		FragmentHandler(StoreFragment<?> fragment, Method method) {
+			this.implementation = fragment.getImplementation();
+			try {
+				Method ifaceMethod = ReflectionUtils.findMethod(fragment.getIface(), method.getName(), method.getParameterTypes());
+				ReflectionUtils.makeAccessible(ifaceMethod);
+				this.handle = MethodHandles.lookup().unreflect(ifaceMethod)
+						.bindTo(implementation)
+						.asSpreader(Object[].class, ifaceMethod.getParameterCount())
+						.asType(MethodType.methodType(Object.class, Object[].class));
+
+				if (fragment.hasImplementationMethod(setContentStoreMethod)) {
+					Method implMethod = ReflectionUtils.findMethod(implementation.getClass(),
+							setContentStoreMethod.getName(), setContentStoreMethod.getParameterTypes());
+					ReflectionUtils.makeAccessible(implMethod);
+					this.setContentStore = MethodHandles.lookup().unreflect(implMethod)
+							.bindTo(implementation)
+							.asType(MethodType.methodType(void.class, Object.class));
+				}
+				else {
+					this.setContentStore = null;
+				}
+			}
+			catch (IllegalAccessException e) {
+				throw new IllegalStateException(format("Unable to bind fragment method %s", method), e);
+			}
 		}
-		return result;
-	}
-
-	private boolean isStoreMethod(MethodInvocation invocation) {
-		if (getContentMethod.equals(invocation.getMethod())
-		 || setContentMethod.equals(invocation.getMethod())
-		 || unsetContentMethod.equals(invocation.getMethod())
-		 || getResourceMethod.equals(invocation.getMethod())
-		 || associativeGetResourceMethod.equals(invocation.getMethod())
-		 || associateResourceMethod.equals(invocation.getMethod())
-		 || unassociateResourceMethod.equals(invocation.getMethod())
-		 || toStringMethod.equals(invocation.getMethod())) {
-			return true;
+
+		@Override
+		public Object handle(MethodInvocation invocation) throws Throwable {
+			if (setContentStore != null) {
+				setContentStore.invokeExact(invocation.getThis());
+			}
+			Object[] arguments = invocation.getArguments();
+			return (Object) handle.invokeExact(arguments != null ? arguments : new Object[0]);
 		}
-		return false;
 	}
 }
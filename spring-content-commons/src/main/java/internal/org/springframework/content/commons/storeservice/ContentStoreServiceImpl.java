@@ -3,9 +3,15 @@ package internal.org.springframework.content.commons.storeservice;
 import java.io.Serializable;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.content.commons.repository.ContentStore;
@@ -15,10 +21,21 @@ import org.springframework.content.commons.storeservice.ContentStoreInfo;
 import org.springframework.content.commons.storeservice.ContentStoreService;
 import org.springframework.content.commons.storeservice.StoreFilter;
 
+/**
+ * Indexes the stores by store type, and by the keys stores are looked up by, the first
+ * time they are looked up so that each later lookup is a single map lookup.  The indexes
+ * are dropped when the stores change.
+ */
 public class ContentStoreServiceImpl implements ContentStoreService {
 
+	// bounds the memory used by callers that do not look stores up by constant key functions
+	private static final int MAX_INDEXES = 64;
+
 	private Set<ContentStoreInfo> contentStoreInfos = new HashSet<>();
 
+	private final ConcurrentMap<Class<?>, ContentStoreInfo[]> storesByType = new ConcurrentHashMap<>();
+	private final ConcurrentMap<IndexKey, Map<Object, ContentStoreInfo>> storesByKey = new ConcurrentHashMap<>();
+
 	public ContentStoreServiceImpl() {
 	}
 
@@ -41,6 +58,7 @@ public class ContentStoreServiceImpl implements ContentStoreService {
 				contentStoreInfos.add(info);
 			}
 		}
+		clearIndexes();
 	}
 
 	private Class<?> getDomainObjectClass(Class<?> contentStoreInterface) {
@@ -64,6 +82,12 @@ public class ContentStoreServiceImpl implements ContentStoreService {
 
 	public void setContentStoreInfos(Set<ContentStoreInfo> contentStoreInfos) {
 		this.contentStoreInfos = contentStoreInfos;
+		clearIndexes();
+	}
+
+	private void clearIndexes() {
+		storesByType.clear();
+		storesByKey.clear();
 	}
 
 	public ContentStoreInfo[] getContentStores() {
@@ -77,12 +101,80 @@ public class ContentStoreServiceImpl implements ContentStoreService {
 
 	@Override
 	public ContentStoreInfo[] getStores(Class<?> storeType, StoreFilter filter) {
+		ContentStoreInfo[] stores = storesOfType(storeType);
+		if (filter == MATCH_ALL) {
+			return stores.clone();
+		}
+
 		Set<ContentStoreInfo> storeInfos = new HashSet<>();
-		for (ContentStoreInfo info : contentStoreInfos) {
-			if (info.getImplementation(storeType) != null && filter.matches(info)) {
+		for (ContentStoreInfo info : stores) {
+			if (filter.matches(info)) {
 				storeInfos.add(info);
 			}
 		}
 		return storeInfos.toArray(new ContentStoreInfo[] {});
 	}
+
+	@Override
+	public ContentStoreInfo getStore(Class<?> storeType, Function<ContentStoreInfo, ?> keyFunction, Object key) {
+		IndexKey indexKey = new IndexKey(storeType, keyFunction);
+		Map<Object, ContentStoreInfo> index = storesByKey.get(indexKey);
+		if (index == null) {
+			Map<Object, ContentStoreInfo> stores = new HashMap<>();
+			for (ContentStoreInfo info : storesOfType(storeType)) {
+				Object infoKey = keyFunction.apply(info);
+				if (infoKey != null) {
+					stores.putIfAbsent(infoKey, info);
+				}
+			}
+			index = Collections.unmodifiableMap(stores);
+			if (storesByKey.size() < MAX_INDEXES) {
+				storesByKey.putIfAbsent(indexKey, index);
+			}
+		}
+		return key != null ? index.get(key) : null;
+	}
+
+	private ContentStoreInfo[] storesOfType(Class<?> storeType) {
+		ContentStoreInfo[] stores = storesByType.get(storeType);
+		if (stores == null) {
+			Set<ContentStoreInfo> storeInfos = new HashSet<>();
+			for (ContentStoreInfo info : contentStoreInfos) {
+				if (info.getImplementation(storeType) != null) {
+					storeInfos.add(info);
+				}
+			}
+			stores = storeInfos.toArray(new ContentStoreInfo[] {});
+			storesByType.putIfAbsent(storeType, stores);
+		}
+		return stores;
+	}
+
+	private static class IndexKey {
+
+		private final Class<?> storeType;
+		private final Function<ContentStoreInfo, ?> keyFunction;
+
+		IndexKey(Class<?> storeType, Function<ContentStoreInfo, ?> keyFunction) {
+			this.storeType = storeType;
+			this.keyFunction = keyFunction;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof IndexKey)) {
+				return false;
+			}
+			IndexKey other = (IndexKey) o;
+			return storeType.equals(other.storeType) && keyFunction.equals(other.keyFunction);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * storeType.hashCode() + keyFunction.hashCode();
+		}
+	}
 }
@@ -2,10 +2,11 @@ package internal.org.springframework.content.fragments;
 
 import java.io.InputStream;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.HashSet;
+import java.util.Collections;
 import java.util.List;
-import java.util.Set;
+import java.util.concurrent.Callable;
+
+import internal.org.springframework.content.commons.renditions.RenditionGraph;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -13,22 +14,27 @@ import org.apache.commons.logging.LogFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.content.commons.fragments.ContentStoreAware;
 import org.springframework.content.commons.renditions.Renderable;
+import org.springframework.content.commons.renditions.RenditionCache;
+import org.springframework.content.commons.renditions.RenditionExecutor;
+import org.springframework.content.commons.renditions.RenditionKey;
 import org.springframework.content.commons.renditions.RenditionProvider;
 import org.springframework.content.commons.renditions.RenditionService;
 import org.springframework.content.commons.repository.ContentStore;
 import org.springframework.content.commons.repository.StoreInvoker;
 import org.springframework.content.commons.utils.BeanUtils;
-import org.springframework.util.MimeType;
 
 public class RenderableImpl implements Renderable, RenditionService, ContentStoreAware {
 
 	private static final Log LOGGER = LogFactory.getLog(RenderableImpl.class);
 
 	private List<RenditionProvider> providers = new ArrayList<RenditionProvider>();
+	private volatile RenditionGraph graph = new RenditionGraph(Collections.emptyList());
 	private ContentStore contentStore;
 	private Class<?> domainClass;
 	private Class<?> idClass;
 	private StoreInvoker storeInvoker;
+	private RenditionCache renditionCache;
+	private RenditionExecutor renditionExecutor = new RenditionExecutor();
 
 	public RenderableImpl() {
 	}
@@ -52,50 +58,32 @@ public class RenderableImpl implements Renderable, RenditionService, ContentStor
 		for (RenditionProvider provider : providers) {
 			this.providers.add(provider);
 		}
+		this.graph = new RenditionGraph(this.providers);
+	}
+
+	@Autowired(required = false)
+	public void setRenditionCache(RenditionCache renditionCache) {
+		this.renditionCache = renditionCache;
+	}
+
+	@Autowired(required = false)
+	public void setRenditionExecutor(RenditionExecutor renditionExecutor) {
+		this.renditionExecutor = renditionExecutor;
 	}
 
 	@Override
 	public boolean canConvert(String fromMimeType, String toMimeType) {
-		for (RenditionProvider provider : providers) {
-			if (MimeType.valueOf(fromMimeType)
-					.includes(MimeType.valueOf(provider.consumes()))) {
-				for (String produce : provider.produces()) {
-					if (MimeType.valueOf(toMimeType)
-							.includes(MimeType.valueOf(produce))) {
-						return true;
-					}
-				}
-			}
-		}
-		return false;
+		return graph.canConvert(fromMimeType, toMimeType);
 	}
 
 	@Override
 	public String[] conversions(String fromMimeType) {
-		Set<String> conversions = new HashSet<>();
-		for (RenditionProvider provider : providers) {
-			if (provider.consumes().equals(fromMimeType)) {
-				conversions.addAll(Arrays.asList(provider.produces()));
-			}
-		}
-		return conversions.toArray(new String[] {});
+		return graph.conversions(fromMimeType);
 	}
 
 	@Override
-	public InputStream convert(String fromMimeType, InputStream fromInputSource,
-			String toMimeType) {
-		for (RenditionProvider provider : providers) {
-			if (MimeType.valueOf(fromMimeType)
-					.includes(MimeType.valueOf(provider.consumes()))) {
-				for (String produce : provider.produces()) {
-					if (MimeType.valueOf(toMimeType)
-							.includes(MimeType.valueOf(produce))) {
-						return provider.convert(fromInputSource, toMimeType);
-					}
-				}
-			}
-		}
-		return null;
+	public InputStream convert(String fromMimeType, InputStream fromInputSource, String toMimeType) {
+		return graph.convert(fromMimeType, fromInputSource, toMimeType);
 	}
 
 	@Override
@@ -107,10 +95,31 @@ public class RenderableImpl implements Renderable, RenditionService, ContentStor
 		}
 
 		if (this.canConvert(fromMimeType, mimeType)) {
-			InputStream content = null;
+			RenditionKey key = RenditionKey.of(entity, mimeType);
+			if (key != null && renditionCache != null) {
+				InputStream rendition = renditionCache.get(key);
+				if (rendition != null) {
+					return rendition;
+				}
+			}
+
+			final String from = fromMimeType;
+			Callable<InputStream> renderer = () -> {
+				InputStream content = contentStore.getContent(entity);
+				InputStream rendition = this.convert(from, content, mimeType);
+				if (key != null && rendition != null && renditionCache != null) {
+					return renditionCache.put(key, rendition);
+				}
+				return rendition;
+			};
+
+			// requests joining a cached rendering re-read it from the cache
+			Callable<InputStream> reader = renditionCache != null ? () -> renditionCache.get(key) : null;
+
 			try {
-				content = contentStore.getContent(entity);
-				return this.convert(fromMimeType, content, mimeType);
+				// concurrent requests for the same rendition share one rendering, whatever
+				// version of the entity they were made with, as they render the same content
+				return key != null ? renditionExecutor.execute(key.withoutVersion(), renderer, reader) : renderer.call();
 			}
 			catch (Exception e) {
 				LOGGER.error(String.format("Failed to get rendition from %s to %s", fromMimeType, mimeType), e);
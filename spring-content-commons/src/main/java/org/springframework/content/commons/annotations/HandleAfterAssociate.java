@@ -11,4 +11,9 @@ import java.lang.annotation.Target;
 @Inherited
 public @interface HandleAfterAssociate {
 
+	/**
+	 * Whether the handler is invoked on the store event executor rather than within
+	 * the store call.
+	 */
+	boolean async() default false;
 }
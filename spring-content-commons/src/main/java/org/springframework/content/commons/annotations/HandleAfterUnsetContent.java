@@ -11,4 +11,9 @@ import java.lang.annotation.Target;
 @Target({ TYPE, METHOD })
 public @interface HandleAfterUnsetContent {
 
+	/**
+	 * Whether the handler is invoked on the store event executor rather than within
+	 * the store call.
+	 */
+	boolean async() default false;
 }
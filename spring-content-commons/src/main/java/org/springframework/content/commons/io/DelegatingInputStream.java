@@ -0,0 +1,62 @@
+package org.springframework.content.commons.io;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Base class for input streams that wrap another input stream.
+ *
+ * Every read, including bulk reads, skips and {@link #available()}, is delegated to the
+ * wrapped stream so that wrapping a stream never degrades reads to a byte at a time.
+ * Subclasses that observe the content read should override both {@link #read()} and
+ * {@link #read(byte[], int, int)}.
+ */
+public class DelegatingInputStream extends FilterInputStream {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    public DelegatingInputStream(InputStream in) {
+        super(in);
+    }
+
+    @Override
+    public int read(byte[] b) throws IOException {
+        return read(b, 0, b.length);
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        return in.read(b, off, len);
+    }
+
+    /**
+     * Reads the rest of this stream into the given output stream.
+     *
+     * @return the number of bytes transferred
+     */
+    public long transferTo(OutputStream out) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long transferred = 0;
+        int n;
+        while ((n = read(buffer, 0, buffer.length)) != -1) {
+            out.write(buffer, 0, n);
+            transferred += n;
+        }
+        return transferred;
+    }
+
+    /**
+     * Returns a channel that reads from this stream.
+     */
+    public ReadableByteChannel getChannel() {
+        return Channels.newChannel(this);
+    }
+
+    protected InputStream getDelegate() {
+        return in;
+    }
+}
@@ -0,0 +1,60 @@
+package org.springframework.content.commons.io;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Base class for output streams that wrap another output stream.
+ *
+ * Unlike {@link FilterOutputStream}, bulk writes are delegated to the wrapped stream in
+ * bulk rather than a byte at a time.
+ */
+public class DelegatingOutputStream extends FilterOutputStream {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    public DelegatingOutputStream(OutputStream out) {
+        super(out);
+    }
+
+    @Override
+    public void write(byte[] b) throws IOException {
+        write(b, 0, b.length);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len);
+    }
+
+    /**
+     * Writes the rest of the given input stream to this stream.
+     *
+     * @return the number of bytes transferred
+     */
+    public long transferFrom(InputStream in) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long transferred = 0;
+        int n;
+        while ((n = in.read(buffer, 0, buffer.length)) != -1) {
+            write(buffer, 0, n);
+            transferred += n;
+        }
+        return transferred;
+    }
+
+    /**
+     * Returns a channel that writes to this stream.
+     */
+    public WritableByteChannel getChannel() {
+        return Channels.newChannel(this);
+    }
+
+    protected OutputStream getDelegate() {
+        return out;
+    }
+}
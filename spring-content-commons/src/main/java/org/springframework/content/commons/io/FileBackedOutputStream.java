@@ -0,0 +1,112 @@
+package org.springframework.content.commons.io;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * An output stream that buffers what is written to it in memory until it exceeds a
+ * threshold and then spills it to a temporary file, so that it can be read back any
+ * number of times without holding large content in memory.
+ *
+ * {@link #reset()} must be called to delete the temporary file once the content is no
+ * longer needed.
+ */
+public class FileBackedOutputStream extends OutputStream {
+
+    private final int threshold;
+
+    private MemoryOutputStream memory = new MemoryOutputStream();
+    private File file;
+    private OutputStream out = memory;
+
+    /**
+     * @param threshold the number of bytes to buffer in memory before spilling to disk
+     */
+    public FileBackedOutputStream(int threshold) {
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        update(1);
+        out.write(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        update(len);
+        out.write(b, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    /**
+     * Returns a new stream of everything written so far.
+     */
+    public InputStream getInputStream() throws IOException {
+        out.flush();
+        if (file != null) {
+            return new FileInputStream(file);
+        }
+        return memory.getInputStream();
+    }
+
+    /**
+     * Discards everything written so far, deleting the temporary file if there is one.
+     */
+    public void reset() throws IOException {
+        try {
+            out.close();
+        } finally {
+            if (file != null) {
+                file.delete();
+                file = null;
+            }
+            memory = new MemoryOutputStream();
+            out = memory;
+        }
+    }
+
+    /* package */ File getFile() {
+        return file;
+    }
+
+    private void update(int len) throws IOException {
+        if (file == null && memory.size() + len > threshold) {
+            File temp = File.createTempFile("spring-content-", ".tmp");
+            OutputStream fos = new BufferedOutputStream(new FileOutputStream(temp));
+            try {
+                memory.writeTo(fos);
+            } catch (IOException e) {
+                fos.close();
+                temp.delete();
+                throw e;
+            }
+            file = temp;
+            out = fos;
+            memory = null;
+        }
+    }
+
+    private static class MemoryOutputStream extends ByteArrayOutputStream {
+
+        InputStream getInputStream() {
+            return new ByteArrayInputStream(buf, 0, count);
+        }
+    }
+}
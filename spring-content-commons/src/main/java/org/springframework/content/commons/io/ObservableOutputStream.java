@@ -7,25 +7,19 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
-public class ObservableOutputStream extends OutputStream {
+public class ObservableOutputStream extends DelegatingOutputStream {
 
-    private final OutputStream delegate;
     private List<CloseableObserver> observers;
 
     public ObservableOutputStream(OutputStream delegate) {
-        this.delegate = delegate;
+        super(delegate);
         this.observers = new ArrayList<>();
     }
 
-    @Override
-    public void write(int b) throws IOException {
-        this.delegate.write(b);
-    }
-
     @Override
     public void close() throws IOException {
         try {
-            this.delegate.close();
+            this.out.close();
         } finally {
             for (CloseableObserver observer : this.observers) {
                 observer.closed();
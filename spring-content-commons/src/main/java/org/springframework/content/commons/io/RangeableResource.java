@@ -0,0 +1,21 @@
+package org.springframework.content.commons.io;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface RangeableResource extends Resource {
+
+	/**
+	 * Returns an input stream over a byte range of the resource's content. <br>
+	 * <br>
+	 * Implementations should read only the requested range from the underlying storage
+	 * rather than skipping over the content preceding it.
+	 *
+	 * @param start the position of the first byte to read
+	 * @param end the position of the last byte to read (inclusive)
+	 */
+	InputStream getInputStream(long start, long end) throws IOException;
+
+}
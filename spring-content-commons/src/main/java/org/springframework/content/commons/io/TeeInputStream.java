@@ -0,0 +1,81 @@
+package org.springframework.content.commons.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Copies everything read from an input stream to an output stream, so that a single
+ * read of the input stream can feed several readers.
+ *
+ * Closing the tee closes the input stream but not the output stream.
+ */
+public class TeeInputStream extends DelegatingInputStream {
+
+    private final OutputStream branch;
+    private boolean complete = false;
+
+    public TeeInputStream(InputStream is, OutputStream branch) {
+        super(is);
+        this.branch = branch;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = in.read();
+        if (b == -1) {
+            complete = true;
+        } else {
+            branch.write(b);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = in.read(b, off, len);
+        if (n == -1) {
+            complete = true;
+        } else if (n > 0) {
+            branch.write(b, off, n);
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        // skipped content is read, so that it is still copied
+        byte[] buffer = new byte[(int) Math.min(n, 8192)];
+        long skipped = 0;
+        while (skipped < n) {
+            int read = read(buffer, 0, (int) Math.min(n - skipped, buffer.length));
+            if (read == -1) {
+                break;
+            }
+            skipped += read;
+        }
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public synchronized void mark(int readlimit) {
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("mark/reset not supported");
+    }
+
+    /**
+     * Returns true once the input stream has been read to its end, and so has been copied
+     * to the output stream in full.
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+}
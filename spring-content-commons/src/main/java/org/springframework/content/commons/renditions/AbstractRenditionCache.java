@@ -0,0 +1,82 @@
+package org.springframework.content.commons.renditions;
+
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.content.commons.annotations.ContentId;
+import org.springframework.content.commons.repository.events.AbstractStoreEventListener;
+import org.springframework.content.commons.utils.BeanUtils;
+import org.springframework.core.Ordered;
+
+/**
+ * Base class for rendition caches that counts hits and misses and evicts the renditions
+ * of content that is set or unset.
+ *
+ * Renditions cached without a version, such as pre-generated renditions that are
+ * rendered before the entity is saved, are returned for any version of the content.
+ * They are evicted with the content's other renditions when it is set or unset.
+ */
+public abstract class AbstractRenditionCache extends AbstractStoreEventListener<Object> implements RenditionCache, Ordered {
+
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+
+	@Override
+	public final InputStream get(RenditionKey key) {
+		InputStream rendition = doGet(key);
+		if (rendition == null && key.getVersion() != null) {
+			rendition = doGet(key.withoutVersion());
+		}
+		if (rendition != null) {
+			hits.incrementAndGet();
+		}
+		else {
+			misses.incrementAndGet();
+		}
+		return rendition;
+	}
+
+	@Override
+	public long getHits() {
+		return hits.get();
+	}
+
+	@Override
+	public long getMisses() {
+		return misses.get();
+	}
+
+	/**
+	 * Evicts ahead of other store event listeners, so that renditions they render of the
+	 * new content, such as pre-generated renditions, are not evicted.
+	 */
+	@Override
+	public int getOrder() {
+		return Ordered.HIGHEST_PRECEDENCE;
+	}
+
+	protected abstract InputStream doGet(RenditionKey key);
+
+	@Override
+	protected void onBeforeSetContent(Object entity) {
+		evictEntity(entity);
+	}
+
+	@Override
+	protected void onAfterSetContent(Object entity) {
+		evictEntity(entity);
+	}
+
+	@Override
+	protected void onBeforeUnsetContent(Object entity) {
+		// the content id is cleared when content is unset
+		evictEntity(entity);
+	}
+
+	private void evictEntity(Object entity) {
+		Object contentId = BeanUtils.getFieldWithAnnotation(entity, ContentId.class);
+		if (contentId != null) {
+			evict(contentId.toString());
+		}
+	}
+}
@@ -0,0 +1,246 @@
+package org.springframework.content.commons.renditions;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.content.commons.repository.StoreAccessException;
+import org.springframework.util.Assert;
+import org.springframework.util.FileSystemUtils;
+
+import static java.lang.String.format;
+
+/**
+ * A rendition cache on local disk that evicts the least recently used renditions once
+ * the cached renditions exceed a maximum size.
+ *
+ * Renditions are kept in a directory per content id and survive restarts.
+ */
+public class FileSystemRenditionCache extends AbstractRenditionCache {
+
+	private static Log logger = LogFactory.getLog(FileSystemRenditionCache.class);
+
+	private static final String TEMP_SUFFIX = ".tmp";
+
+	private final File directory;
+	private final long maxSize;
+
+	// access ordered, so iteration starts with the least recently used rendition
+	private final LinkedHashMap<RenditionKey, File> entries = new LinkedHashMap<>(16, 0.75f, true);
+	private long size = 0;
+
+	/**
+	 * @param directory the directory to cache renditions in
+	 * @param maxSize the maximum total size, in bytes, of the cached renditions
+	 */
+	public FileSystemRenditionCache(File directory, long maxSize) {
+		Assert.notNull(directory, "directory must not be null");
+		Assert.isTrue(maxSize > 0, "maxSize must be greater than zero");
+
+		this.directory = directory;
+		this.maxSize = maxSize;
+
+		if (!directory.exists() && !directory.mkdirs()) {
+			throw new IllegalStateException(format("Unable to create rendition cache directory %s", directory));
+		}
+		load();
+	}
+
+	public long getSize() {
+		synchronized (entries) {
+			return size;
+		}
+	}
+
+	@Override
+	protected InputStream doGet(RenditionKey key) {
+		synchronized (entries) {
+			File file = entries.get(key);
+			if (file == null) {
+				return null;
+			}
+			try {
+				return new FileInputStream(file);
+			}
+			catch (FileNotFoundException e) {
+				// deleted from under the cache
+				remove(key);
+				return null;
+			}
+		}
+	}
+
+	@Override
+	public InputStream put(RenditionKey key, InputStream rendition) {
+		File contentDirectory = new File(directory, encode(key.getContentId()));
+		File temp = null;
+		try {
+			try {
+				// render into the cache outside the lock
+				temp = File.createTempFile("rendition", TEMP_SUFFIX, directory);
+				Files.copy(rendition, temp.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+			finally {
+				rendition.close();
+			}
+
+			synchronized (entries) {
+				remove(key);
+
+				contentDirectory.mkdirs();
+				File file = new File(contentDirectory, fileName(key));
+				Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+				temp = null;
+
+				entries.put(key, file);
+				size += file.length();
+
+				// open the rendition before it can be evicted
+				InputStream cached = new FileInputStream(file);
+				evictLeastRecentlyUsed();
+				return cached;
+			}
+		}
+		catch (IOException e) {
+			throw new StoreAccessException(format("Error caching rendition %s", key), e);
+		}
+		finally {
+			if (temp != null) {
+				temp.delete();
+			}
+		}
+	}
+
+	@Override
+	public void evict(String contentId) {
+		synchronized (entries) {
+			Iterator<Map.Entry<RenditionKey, File>> it = entries.entrySet().iterator();
+			while (it.hasNext()) {
+				Map.Entry<RenditionKey, File> entry = it.next();
+				if (entry.getKey().getContentId().equals(contentId)) {
+					size -= entry.getValue().length();
+					it.remove();
+				}
+			}
+			FileSystemUtils.deleteRecursively(new File(directory, encode(contentId)));
+		}
+	}
+
+	private void evictLeastRecentlyUsed() {
+		Iterator<Map.Entry<RenditionKey, File>> it = entries.entrySet().iterator();
+		while (size > maxSize && it.hasNext()) {
+			File file = it.next().getValue();
+			size -= file.length();
+			it.remove();
+			delete(file);
+		}
+	}
+
+	private void remove(RenditionKey key) {
+		File file = entries.remove(key);
+		if (file != null) {
+			size -= file.length();
+			delete(file);
+		}
+	}
+
+	private void delete(File file) {
+		file.delete();
+		File parent = file.getParentFile();
+		String[] siblings = parent.list();
+		if (siblings != null && siblings.length == 0) {
+			parent.delete();
+		}
+	}
+
+	private void load() {
+		// discard renditions that were being cached when last shut down
+		File[] temps = directory.listFiles(File::isFile);
+		if (temps != null) {
+			for (File temp : temps) {
+				temp.delete();
+			}
+		}
+
+		List<File> files = new ArrayList<>();
+		File[] contentDirectories = directory.listFiles(File::isDirectory);
+		if (contentDirectories != null) {
+			for (File contentDirectory : contentDirectories) {
+				File[] renditions = contentDirectory.listFiles(File::isFile);
+				if (renditions != null) {
+					for (File rendition : renditions) {
+						files.add(rendition);
+					}
+				}
+			}
+		}
+		files.sort(Comparator.comparingLong(File::lastModified));
+
+		for (File file : files) {
+			RenditionKey key = key(file);
+			if (key == null) {
+				delete(file);
+				continue;
+			}
+			entries.put(key, file);
+			size += file.length();
+		}
+		evictLeastRecentlyUsed();
+	}
+
+	private static String fileName(RenditionKey key) {
+		return encode(key.getVersion() != null ? key.getVersion() : "") + "-" + encode(key.getMimeType());
+	}
+
+	private static RenditionKey key(File file) {
+		String name = file.getName();
+		int separator = name.indexOf('-');
+		if (name.endsWith(TEMP_SUFFIX) || separator == -1) {
+			return null;
+		}
+		try {
+			String version = decode(name.substring(0, separator));
+			return new RenditionKey(decode(file.getParentFile().getName()),
+					version.isEmpty() ? null : version,
+					decode(name.substring(separator + 1)));
+		}
+		catch (IllegalArgumentException e) {
+			logger.warn(format("Ignoring unrecognized rendition cache file %s", file));
+			return null;
+		}
+	}
+
+	// hex encoding keeps any id, version or mime type a safe file name
+	private static String encode(String value) {
+		StringBuilder builder = new StringBuilder();
+		for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+			builder.append(String.format("%02x", b));
+		}
+		return builder.toString();
+	}
+
+	private static String decode(String value) {
+		if (value.length() % 2 != 0) {
+			throw new IllegalArgumentException(value);
+		}
+		byte[] bytes = new byte[value.length() / 2];
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = (byte) Integer.parseInt(value.substring(i * 2, i * 2 + 2), 16);
+		}
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,40 @@
+package org.springframework.content.commons.renditions;
+
+import java.io.InputStream;
+
+/**
+ * Caches renditions so that each rendition of some content is only rendered once.
+ *
+ * When a cache bean is configured, renditions are looked up in the cache before they
+ * are rendered.  Cached renditions of an entity's content are evicted when that content
+ * is set or unset.
+ */
+public interface RenditionCache {
+
+	/**
+	 * Returns the cached rendition, or null if it has not been cached.
+	 */
+	InputStream get(RenditionKey key);
+
+	/**
+	 * Caches a rendition, consuming and closing the given stream.
+	 *
+	 * @return a stream of the cached rendition
+	 */
+	InputStream put(RenditionKey key, InputStream rendition);
+
+	/**
+	 * Evicts all cached renditions of the given content.
+	 */
+	void evict(String contentId);
+
+	/**
+	 * Returns the number of renditions found in the cache.
+	 */
+	long getHits();
+
+	/**
+	 * Returns the number of renditions not found in the cache.
+	 */
+	long getMisses();
+}
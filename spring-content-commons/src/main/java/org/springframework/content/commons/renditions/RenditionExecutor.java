@@ -0,0 +1,345 @@
+package org.springframework.content.commons.renditions;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.content.commons.io.DelegatingInputStream;
+import org.springframework.content.commons.io.FileBackedOutputStream;
+import org.springframework.content.commons.repository.StoreAccessException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+import static java.lang.String.format;
+
+/**
+ * Renders renditions so that concurrent requests for the same rendition share a single
+ * rendering.  A rendition requested once is handed straight to its requester.  Only when
+ * other requests have joined the rendering is the rendition spooled for each of them to
+ * read, unless it can be re-read from where it was cached.
+ *
+ * By default renditions are rendered on the first requesting thread.  Renditions can
+ * instead be rendered on a bounded pool of workers so that the number of renditions
+ * being rendered, and the number waiting to be, is limited.
+ */
+public class RenditionExecutor implements DisposableBean {
+
+	private static Log logger = LogFactory.getLog(RenditionExecutor.class);
+
+	// renditions are spooled in memory up to this size
+	private static final int SPOOL_THRESHOLD = 1024 * 1024;
+
+	private final ConcurrentMap<RenditionKey, Flight> flights = new ConcurrentHashMap<>();
+	private final ExecutorService workers;
+	private final long timeout;
+
+	/**
+	 * Renders renditions on the requesting thread.
+	 */
+	public RenditionExecutor() {
+		this.workers = null;
+		this.timeout = -1L;
+	}
+
+	/**
+	 * Renders renditions on a pool of workers.
+	 *
+	 * @param workers the number of renditions rendered at once
+	 * @param queueCapacity the number of renditions that may wait for a worker, beyond
+	 *                      which requests for new renditions are rejected
+	 * @param timeout milliseconds a request waits for its rendition, or a negative number
+	 *                to wait indefinitely
+	 */
+	public RenditionExecutor(int workers, int queueCapacity, long timeout) {
+		Assert.isTrue(workers > 0, "workers must be greater than zero");
+		Assert.isTrue(queueCapacity > 0, "queueCapacity must be greater than zero");
+
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("rendition-");
+		threadFactory.setDaemon(true);
+		this.workers = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), threadFactory);
+		this.timeout = timeout;
+	}
+
+	/**
+	 * Returns the rendition identified by the key, rendering it unless it is already
+	 * being rendered.
+	 *
+	 * @param key identifies the rendition
+	 * @param renderer renders the rendition, returning null if there is none
+	 * @return the rendition, or null if there is none
+	 */
+	public InputStream execute(RenditionKey key, Callable<InputStream> renderer) {
+		return execute(key, renderer, null);
+	}
+
+	/**
+	 * Returns the rendition identified by the key, rendering it unless it is already
+	 * being rendered.
+	 *
+	 * @param key identifies the rendition
+	 * @param renderer renders the rendition, returning null if there is none
+	 * @param reader re-reads the rendition once rendered, for example from a cache, so
+	 *               that requests joining the rendering need not be spooled; may be null
+	 * @return the rendition, or null if there is none
+	 */
+	public InputStream execute(RenditionKey key, Callable<InputStream> renderer, Callable<InputStream> reader) {
+		while (true) {
+			Flight candidate = new Flight(key);
+			Flight flight = flights.putIfAbsent(key, candidate);
+			if (flight == null) {
+				candidate.join();
+				start(candidate, renderer, reader);
+				return candidate.await();
+			}
+			// a flight that has landed is no longer shared, so start another
+			if (flight.join()) {
+				return flight.await();
+			}
+		}
+	}
+
+	@Override
+	public void destroy() {
+		if (workers != null) {
+			workers.shutdownNow();
+		}
+	}
+
+	private void start(Flight flight, Callable<InputStream> renderer, Callable<InputStream> reader) {
+		Runnable render = () -> {
+			try {
+				flight.render(renderer, reader);
+			}
+			finally {
+				flights.remove(flight.key, flight);
+				flight.land();
+			}
+		};
+
+		if (workers == null) {
+			render.run();
+			return;
+		}
+
+		try {
+			workers.execute(render);
+		}
+		catch (RejectedExecutionException e) {
+			flight.result.completeExceptionally(e);
+			flights.remove(flight.key, flight);
+			flight.land();
+		}
+	}
+
+	private class Flight {
+
+		private final RenditionKey key;
+		private final CompletableFuture<Rendition> result = new CompletableFuture<>();
+
+		private int readers = 0;
+		private boolean landed = false;
+
+		Flight(RenditionKey key) {
+			this.key = key;
+		}
+
+		void render(Callable<InputStream> renderer, Callable<InputStream> reader) {
+			FileBackedOutputStream spool = null;
+			try {
+				InputStream rendition = renderer.call();
+				if (rendition == null) {
+					result.complete(null);
+					return;
+				}
+				if (reader != null || alone()) {
+					result.complete(new Rendition(rendition, reader));
+					return;
+				}
+				spool = new FileBackedOutputStream(SPOOL_THRESHOLD);
+				try (InputStream in = rendition) {
+					byte[] buffer = new byte[8192];
+					int n;
+					while ((n = in.read(buffer)) != -1) {
+						spool.write(buffer, 0, n);
+					}
+				}
+				spool.close();
+				result.complete(new Rendition(spool));
+			}
+			catch (Exception e) {
+				if (spool != null) {
+					RenditionExecutor.discard(spool);
+				}
+				result.completeExceptionally(e);
+			}
+		}
+
+		synchronized boolean join() {
+			if (landed) {
+				return false;
+			}
+			readers++;
+			return true;
+		}
+
+		/**
+		 * Lands the flight early when no other request has joined it, so that the
+		 * rendition can be handed straight to the request that started it.
+		 */
+		private synchronized boolean alone() {
+			if (readers > 1) {
+				return false;
+			}
+			landed = true;
+			flights.remove(key, this);
+			return true;
+		}
+
+		InputStream await() {
+			Rendition rendition;
+			try {
+				rendition = timeout < 0 ? result.get() : result.get(timeout, TimeUnit.MILLISECONDS);
+			}
+			catch (TimeoutException e) {
+				release();
+				throw new StoreAccessException(format("Timed out waiting for rendition %s", key), e);
+			}
+			catch (InterruptedException e) {
+				release();
+				Thread.currentThread().interrupt();
+				throw new StoreAccessException(format("Interrupted waiting for rendition %s", key), e);
+			}
+			catch (ExecutionException e) {
+				release();
+				throw new StoreAccessException(format("Error rendering rendition %s", key), e.getCause());
+			}
+
+			InputStream stream;
+			try {
+				stream = rendition != null ? rendition.open() : null;
+			}
+			catch (Exception e) {
+				release();
+				throw new StoreAccessException(format("Error reading rendition %s", key), e);
+			}
+
+			if (stream == null) {
+				release();
+				return null;
+			}
+
+			return new DelegatingInputStream(stream) {
+				private boolean closed = false;
+
+				@Override
+				public void close() throws IOException {
+					try {
+						super.close();
+					}
+					finally {
+						if (!closed) {
+							closed = true;
+							release();
+						}
+					}
+				}
+			};
+		}
+
+		synchronized void land() {
+			landed = true;
+			if (readers == 0) {
+				discard();
+			}
+		}
+
+		synchronized void release() {
+			readers--;
+			if (landed && readers == 0) {
+				discard();
+			}
+		}
+
+		private void discard() {
+			if (result.isDone() && !result.isCompletedExceptionally()) {
+				Rendition rendition = result.getNow(null);
+				if (rendition != null) {
+					rendition.discard();
+				}
+			}
+		}
+	}
+
+	/**
+	 * A rendered rendition.  The rendered stream is handed to the first request to open
+	 * it; later requests read the spool or re-read the rendition.
+	 */
+	private static class Rendition {
+
+		private final FileBackedOutputStream spool;
+		private final Callable<InputStream> reader;
+		private InputStream rendered;
+
+		Rendition(InputStream rendered, Callable<InputStream> reader) {
+			this.spool = null;
+			this.rendered = rendered;
+			this.reader = reader;
+		}
+
+		Rendition(FileBackedOutputStream spool) {
+			this.spool = spool;
+			this.reader = null;
+		}
+
+		synchronized InputStream open() throws Exception {
+			if (spool != null) {
+				return spool.getInputStream();
+			}
+			if (rendered != null) {
+				InputStream stream = rendered;
+				rendered = null;
+				return stream;
+			}
+			return reader != null ? reader.call() : null;
+		}
+
+		synchronized void discard() {
+			if (spool != null) {
+				RenditionExecutor.discard(spool);
+			}
+			else if (rendered != null) {
+				try {
+					rendered.close();
+				}
+				catch (IOException e) {
+					logger.warn("Unable to close rendition", e);
+				}
+				rendered = null;
+			}
+		}
+	}
+
+	private static void discard(FileBackedOutputStream spool) {
+		try {
+			spool.reset();
+		}
+		catch (IOException e) {
+			logger.warn("Unable to discard rendition spool", e);
+		}
+	}
+}
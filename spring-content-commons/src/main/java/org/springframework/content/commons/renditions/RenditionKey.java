@@ -0,0 +1,88 @@
+package org.springframework.content.commons.renditions;
+
+import java.util.Objects;
+
+import org.springframework.content.commons.annotations.ContentId;
+import org.springframework.content.commons.utils.BeanUtils;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Version;
+
+/**
+ * Identifies a rendition of an entity's content in a {@link RenditionCache}.
+ */
+public final class RenditionKey {
+
+	private final String contentId;
+	private final String version;
+	private final String mimeType;
+
+	public RenditionKey(String contentId, String version, String mimeType) {
+		this.contentId = contentId;
+		this.version = version;
+		this.mimeType = mimeType;
+	}
+
+	/**
+	 * Returns the key of the given entity's rendition to the given mime type, or null if
+	 * the entity has no content.
+	 *
+	 * The entity's version, or failing that its last modified date, is part of the key so
+	 * that renditions of earlier content are never returned.
+	 */
+	public static RenditionKey of(Object entity, String mimeType) {
+		Object contentId = BeanUtils.getFieldWithAnnotation(entity, ContentId.class);
+		if (contentId == null) {
+			return null;
+		}
+
+		Object version = BeanUtils.getFieldWithAnnotation(entity, Version.class);
+		if (version == null) {
+			version = BeanUtils.getFieldWithAnnotation(entity, LastModifiedDate.class);
+		}
+
+		return new RenditionKey(contentId.toString(), version != null ? version.toString() : null, mimeType);
+	}
+
+	/**
+	 * Returns the key of this rendition of whichever version of the content is current.
+	 */
+	public RenditionKey withoutVersion() {
+		return version == null ? this : new RenditionKey(contentId, null, mimeType);
+	}
+
+	public String getContentId() {
+		return contentId;
+	}
+
+	public String getVersion() {
+		return version;
+	}
+
+	public String getMimeType() {
+		return mimeType;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (o == null || getClass() != o.getClass()) {
+			return false;
+		}
+		RenditionKey that = (RenditionKey) o;
+		return Objects.equals(contentId, that.contentId)
+				&& Objects.equals(version, that.version)
+				&& Objects.equals(mimeType, that.mimeType);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(contentId, version, mimeType);
+	}
+
+	@Override
+	public String toString() {
+		return "RenditionKey[contentId=" + contentId + ", version=" + version + ", mimeType=" + mimeType + "]";
+	}
+}
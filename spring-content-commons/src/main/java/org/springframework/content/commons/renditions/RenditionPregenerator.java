@@ -0,0 +1,230 @@
+package org.springframework.content.commons.renditions;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import internal.org.springframework.content.commons.renditions.RenditionServiceImpl;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.content.commons.annotations.ContentId;
+import org.springframework.content.commons.annotations.HandleAfterSetContent;
+import org.springframework.content.commons.annotations.MimeType;
+import org.springframework.content.commons.annotations.StoreEventHandler;
+import org.springframework.content.commons.repository.ContentStore;
+import org.springframework.content.commons.repository.events.AfterSetContentEvent;
+import org.springframework.content.commons.utils.BeanUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+import static java.lang.String.format;
+
+/**
+ * Renders renditions into a rendition cache in the background when content is set, so
+ * that the first request for a popular rendition does not wait for it to be rendered.
+ *
+ * The renditions to render are declared per store, for example:
+ *
+ * <pre>
+ * &#64;Bean
+ * public RenditionPregenerator pregenerator(RenditionCache cache) {
+ *     return new RenditionPregenerator(cache, 2, 100)
+ *             .pregenerate(DocumentStore.class, "image/jpeg");
+ * }
+ * </pre>
+ *
+ * Renditions are rendered on a bounded pool of workers.  When the pool's queue is full
+ * further renditions are not pre-generated and are instead rendered when first requested.
+ *
+ * Content is set before its entity is saved, so the entity's version is not yet known.
+ * Renditions are therefore cached by content id and mime type alone, which caches
+ * extending {@link AbstractRenditionCache} return for any version of the content.
+ * {@link StoreRenditionCache} does not cache such renditions, so pre-generate into a
+ * {@link FileSystemRenditionCache}.
+ */
+@StoreEventHandler
+public class RenditionPregenerator implements DisposableBean {
+
+	private static Log logger = LogFactory.getLog(RenditionPregenerator.class);
+
+	private final RenditionCache renditionCache;
+	private final ExecutorService workers;
+
+	private final RenditionServiceImpl renditionService = new RenditionServiceImpl();
+	private RenditionExecutor renditionExecutor = new RenditionExecutor();
+
+	private final Map<Class<?>, String[]> renditions = new LinkedHashMap<>();
+	private final ConcurrentMap<String, Generation> generations = new ConcurrentHashMap<>();
+
+	/**
+	 * @param renditionCache the cache to render renditions into
+	 * @param workers the number of renditions rendered at once
+	 * @param queueCapacity the number of renditions that may wait for a worker, beyond
+	 *                      which renditions are not pre-generated
+	 */
+	public RenditionPregenerator(RenditionCache renditionCache, int workers, int queueCapacity) {
+		Assert.notNull(renditionCache, "renditionCache must not be null");
+		Assert.isTrue(workers > 0, "workers must be greater than zero");
+		Assert.isTrue(queueCapacity > 0, "queueCapacity must be greater than zero");
+
+		this.renditionCache = renditionCache;
+
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("rendition-pregenerator-");
+		threadFactory.setDaemon(true);
+		this.workers = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), threadFactory);
+	}
+
+	/**
+	 * Pre-generates renditions to the given mime types of content set through stores of
+	 * the given type.
+	 */
+	public RenditionPregenerator pregenerate(Class<?> storeType, String... mimeTypes) {
+		Assert.notNull(storeType, "storeType must not be null");
+		renditions.put(storeType, mimeTypes);
+		return this;
+	}
+
+	@Autowired(required = false)
+	public void setProviders(RenditionProvider... providers) {
+		renditionService.setProviders(providers);
+	}
+
+	/**
+	 * Shares renditions being pre-generated with concurrent requests for them, when set
+	 * to the executor the stores render renditions with.
+	 */
+	@Autowired(required = false)
+	public void setRenditionExecutor(RenditionExecutor renditionExecutor) {
+		this.renditionExecutor = renditionExecutor;
+	}
+
+	@Override
+	public void destroy() {
+		workers.shutdownNow();
+	}
+
+	@HandleAfterSetContent
+	@Order(200)
+	protected void onAfterSetContent(AfterSetContentEvent event) {
+		Object entity = event.getSource();
+		ContentStore<Object, ?> store = event.getStore();
+		if (store == null) {
+			return;
+		}
+
+		Object contentId = BeanUtils.getFieldWithAnnotation(entity, ContentId.class);
+		String fromMimeType = (String) BeanUtils.getFieldWithAnnotation(entity, MimeType.class);
+		if (contentId == null || fromMimeType == null) {
+			return;
+		}
+
+		List<String> toMimeTypes = new ArrayList<>();
+		for (String toMimeType : mimeTypes(store)) {
+			if (renditionService.canConvert(fromMimeType, toMimeType)) {
+				toMimeTypes.add(toMimeType);
+			}
+		}
+		if (toMimeTypes.isEmpty()) {
+			return;
+		}
+
+		Generation generation = new Generation(contentId.toString(), toMimeTypes.size());
+		generations.put(generation.contentId, generation);
+
+		for (String toMimeType : toMimeTypes) {
+			// the entity's version is not yet known, so the rendition is cached for
+			// whichever version of the content is current
+			RenditionKey key = new RenditionKey(generation.contentId, null, toMimeType);
+			try {
+				workers.execute(() -> render(store, entity, fromMimeType, key, generation));
+			}
+			catch (RejectedExecutionException e) {
+				logger.debug(format("Not pre-generating rendition %s, too many renditions queued", key));
+				generation.done();
+			}
+		}
+	}
+
+	private List<String> mimeTypes(Object store) {
+		List<String> mimeTypes = new ArrayList<>();
+		for (Map.Entry<Class<?>, String[]> entry : renditions.entrySet()) {
+			if (entry.getKey().isInstance(store)) {
+				for (String mimeType : entry.getValue()) {
+					mimeTypes.add(mimeType);
+				}
+			}
+		}
+		return mimeTypes;
+	}
+
+	private void render(ContentStore<Object, ?> store, Object entity, String fromMimeType, RenditionKey key, Generation generation) {
+		try {
+			// content set again since this rendition was queued has its own renditions queued
+			if (!generation.isCurrent()) {
+				return;
+			}
+
+			Callable<InputStream> renderer = () -> {
+				InputStream content = store.getContent(entity);
+				if (content == null) {
+					return null;
+				}
+				InputStream rendition = renditionService.convert(fromMimeType, content, key.getMimeType());
+				if (rendition == null || !generation.isCurrent()) {
+					return rendition;
+				}
+				return renditionCache.put(key, rendition);
+			};
+
+			try (InputStream rendition = renditionExecutor.execute(key, renderer)) {
+				logger.debug(format("Pre-generated rendition %s", key));
+			}
+			catch (Exception e) {
+				logger.warn(format("Error pre-generating rendition %s", key), e);
+			}
+		}
+		finally {
+			generation.done();
+		}
+	}
+
+	/**
+	 * The renditions queued when content was last set.
+	 */
+	private class Generation {
+
+		private final String contentId;
+		private final AtomicInteger pending;
+
+		Generation(String contentId, int renditions) {
+			this.contentId = contentId;
+			this.pending = new AtomicInteger(renditions);
+		}
+
+		boolean isCurrent() {
+			return generations.get(contentId) == this;
+		}
+
+		void done() {
+			if (pending.decrementAndGet() == 0) {
+				generations.remove(contentId, this);
+			}
+		}
+	}
+}
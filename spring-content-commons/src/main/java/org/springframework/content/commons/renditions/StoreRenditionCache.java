@@ -0,0 +1,115 @@
+package org.springframework.content.commons.renditions;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.content.commons.io.DeletableResource;
+import org.springframework.content.commons.repository.Store;
+import org.springframework.content.commons.repository.StoreAccessException;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.WritableResource;
+import org.springframework.util.Assert;
+import org.springframework.util.StreamUtils;
+
+import static java.lang.String.format;
+
+/**
+ * A rendition cache that keeps renditions in another store, such as an S3 or filesystem
+ * store, so that it can be shared and survives restarts.
+ *
+ * Renditions are keyed by their content's version, so renditions of changed content are
+ * never returned.  Renditions of content whose entity has no version, including
+ * pre-generated renditions, are not cached.  The store cannot be searched for them, so
+ * they could not be evicted after a restart or by another node sharing the store.
+ * Renditions cached before a restart are not evicted when their content is set or unset,
+ * but are never returned once the content's version changes.
+ */
+public class StoreRenditionCache extends AbstractRenditionCache {
+
+	private static Log logger = LogFactory.getLog(StoreRenditionCache.class);
+
+	private final Store<String> store;
+
+	// the renditions cached for each content id since startup
+	private final Map<String, Set<String>> cached = new ConcurrentHashMap<>();
+
+	public StoreRenditionCache(Store<String> store) {
+		Assert.notNull(store, "store must not be null");
+		this.store = store;
+	}
+
+	@Override
+	protected InputStream doGet(RenditionKey key) {
+		if (key.getVersion() == null) {
+			return null;
+		}
+
+		Resource resource = store.getResource(id(key));
+		try {
+			if (resource == null || !resource.exists()) {
+				return null;
+			}
+			return resource.getInputStream();
+		}
+		catch (IOException e) {
+			logger.warn(format("Error reading cached rendition %s", key), e);
+			return null;
+		}
+	}
+
+	@Override
+	public InputStream put(RenditionKey key, InputStream rendition) {
+		if (key.getVersion() == null) {
+			return rendition;
+		}
+
+		String id = id(key);
+		Resource resource = store.getResource(id);
+		Assert.isInstanceOf(WritableResource.class, resource, "rendition cache store must return writable resources");
+
+		try {
+			try (OutputStream out = ((WritableResource) resource).getOutputStream()) {
+				StreamUtils.copy(rendition, out);
+			}
+			finally {
+				rendition.close();
+			}
+			cached.computeIfAbsent(key.getContentId(), k -> ConcurrentHashMap.newKeySet()).add(id);
+			return store.getResource(id).getInputStream();
+		}
+		catch (IOException e) {
+			throw new StoreAccessException(format("Error caching rendition %s", key), e);
+		}
+	}
+
+	@Override
+	public void evict(String contentId) {
+		Set<String> ids = cached.remove(contentId);
+		if (ids == null) {
+			return;
+		}
+		for (String id : ids) {
+			Resource resource = store.getResource(id);
+			if (resource instanceof DeletableResource) {
+				try {
+					((DeletableResource) resource).delete();
+				}
+				catch (IOException e) {
+					logger.warn(format("Error evicting cached rendition %s", id), e);
+				}
+			}
+		}
+	}
+
+	private static String id(RenditionKey key) {
+		return format("%s/%s/%s", key.getContentId(), key.getVersion(),
+				key.getMimeType().replace('/', '_'));
+	}
+}
@@ -0,0 +1,22 @@
+package org.springframework.content.commons.repository;
+
+import org.springframework.content.commons.repository.events.AfterSetContentEvent;
+
+/**
+ * Implemented by beans that read content as soon as it is set, typically from an
+ * {@link AfterSetContentEvent} handler.
+ *
+ * When a consumer consumes an entity's content, stores copy the content to a buffer as
+ * it is written so that {@link AfterSetContentEvent#getContent()} can read it back
+ * without reading it from the backing store again.
+ */
+public interface ContentConsumer {
+
+	/**
+	 * Returns true if this consumer will read the content being set on the given entity.
+	 *
+	 * @param entity the entity whose content is being set
+	 * @return true if the content should be buffered for this consumer
+	 */
+	boolean consumes(Object entity);
+}
@@ -1,17 +1,64 @@
 package org.springframework.content.commons.repository.events;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.Serializable;
 
+import org.springframework.content.commons.io.FileBackedOutputStream;
 import org.springframework.content.commons.repository.AfterStoreEvent;
-import org.springframework.content.commons.repository.StoreEvent;
 import org.springframework.content.commons.repository.ContentStore;
+import org.springframework.content.commons.repository.StoreAccessException;
+
+import static java.lang.String.format;
 
 public class AfterSetContentEvent extends AfterStoreEvent {
 
 	private static final long serialVersionUID = -4974444274997145136L;
 
+	private transient FileBackedOutputStream content;
+
 	public AfterSetContentEvent(Object source, ContentStore<Object, Serializable> store) {
 		super(source, store);
 	}
 
+	/**
+	 * @param content a copy of the content that was set, made as it was written, or null
+	 */
+	public AfterSetContentEvent(Object source, ContentStore<Object, Serializable> store, FileBackedOutputStream content) {
+		super(source, store);
+		this.content = content;
+	}
+
+	/**
+	 * Returns a new stream of the content that was set.  The content is read from the copy
+	 * made as it was written when there is one, and from the store otherwise.
+	 *
+	 * The copy is only available while the event is being handled.  Handlers that run
+	 * after that, such as asynchronous handlers, are given {@link #withoutContentCopy()}.
+	 */
+	public InputStream getContent() {
+		if (content == null) {
+			return getStore().getContent(getSource());
+		}
+
+		try {
+			return content.getInputStream();
+		}
+		catch (IOException e) {
+			throw new StoreAccessException(format("Error reading content copy for entity %s", getSource()), e);
+		}
+	}
+
+	/**
+	 * Returns this event reading its content from the store rather than the copy, for
+	 * handlers that run after the copy has been discarded.
+	 */
+	public AfterSetContentEvent withoutContentCopy() {
+		if (content == null) {
+			return this;
+		}
+		AfterSetContentEvent event = new AfterSetContentEvent(getSource(), getStore());
+		event.setResult(getResult());
+		return event;
+	}
 }
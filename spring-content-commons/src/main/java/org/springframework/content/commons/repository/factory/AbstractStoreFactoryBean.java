@@ -10,6 +10,7 @@ import java.util.Map;
 import java.util.Set;
 
 import internal.org.springframework.content.commons.config.StoreFragments;
+import internal.org.springframework.content.commons.repository.factory.ListenedStoreEvents;
 import internal.org.springframework.content.commons.repository.factory.StoreMethodInterceptor;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -20,18 +21,21 @@ import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.beans.factory.FactoryBean;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.content.commons.repository.AssociativeStore;
+import org.springframework.content.commons.repository.ContentConsumer;
 import org.springframework.content.commons.repository.ContentStore;
 import org.springframework.content.commons.repository.Store;
 import org.springframework.content.commons.repository.StoreExtension;
+import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.ApplicationEventPublisherAware;
 import org.springframework.util.Assert;
 
 public abstract class AbstractStoreFactoryBean
 		implements BeanFactoryAware, InitializingBean, FactoryBean<Store<? extends Serializable>>,
-		BeanClassLoaderAware, ApplicationEventPublisherAware, StoreFactory {
+		BeanClassLoaderAware, ApplicationEventPublisherAware, SmartInitializingSingleton, StoreFactory {
 
 	private static Log logger = LogFactory.getLog(AbstractStoreFactoryBean.class);
 
@@ -40,9 +44,12 @@ public abstract class AbstractStoreFactoryBean
 	private ApplicationEventPublisher publisher;
 
 	private Store<? extends Serializable> store;
+	private StoreMethodInterceptor intercepter;
 
 	@Autowired(required = false)
 	private Set<StoreExtension> extensions = Collections.emptySet();
+	@Autowired(required = false)
+	private Set<ContentConsumer> contentConsumers = Collections.emptySet();
 	private StoreFragments storeFragments;
 
 	private BeanFactory beanFactory;
@@ -142,6 +149,19 @@ public abstract class AbstractStoreFactoryBean
 		initAndReturn();
 	}
 
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.springframework.beans.factory.SmartInitializingSingleton#afterSingletonsInstantiated()
+	 */
+	@Override
+	public void afterSingletonsInstantiated() {
+		// stop publishing events nobody listens to, finding them again as listeners are added
+		if (intercepter != null && publisher instanceof ApplicationContext) {
+			intercepter.setListenedEvents(new ListenedStoreEvents((ApplicationContext) publisher));
+		}
+	}
+
 	private Store<? extends Serializable> initAndReturn() {
 		if (store == null) {
 			store = createContentStore();
@@ -172,12 +192,13 @@ public abstract class AbstractStoreFactoryBean
 
 		this.addProxyAdvice(result, beanFactory);
 
-		StoreMethodInterceptor intercepter = new StoreMethodInterceptor(
+		intercepter = new StoreMethodInterceptor(
 				(ContentStore<Object, Serializable>) target,
 				getDomainClass(storeInterface), getContentIdClass(storeInterface),
 				extensionsMap, publisher);
 
 		intercepter.setStoreFragments(storeFragments);
+		intercepter.setContentConsumers(contentConsumers);
 
 		result.addAdvice(intercepter);
 
@@ -1,9 +1,59 @@
 package org.springframework.content.commons.search;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
 public interface Searchable<T> {
 
 	Iterable<T> search(String queryString);
 
+	/**
+	 * Returns the requested page of the ids of content matching the query, in the order
+	 * the search engine ranked them, along with the total number of matches.
+	 *
+	 * Implementations should ask the search engine for just the requested page.  By
+	 * default all matches are fetched and the requested page taken from them.
+	 *
+	 * @param queryString the query
+	 * @param pageable the page to return
+	 * @return the page of content ids
+	 */
+	default Page<T> search(String queryString, Pageable pageable) {
+		List<T> ids = new ArrayList<>();
+		Iterable<T> results = search(queryString);
+		if (results != null) {
+			results.forEach(ids::add);
+		}
+
+		if (pageable == null || pageable.isUnpaged()) {
+			return new PageImpl<>(ids);
+		}
+
+		int from = (int) Math.min(pageable.getOffset(), ids.size());
+		int to = Math.min(from + pageable.getPageSize(), ids.size());
+		List<T> content = from < to ? ids.subList(from, to) : Collections.emptyList();
+		return new PageImpl<>(content, pageable, ids.size());
+	}
+
+	/**
+	 * Returns the ids of all content matching the query, in the order the search engine
+	 * ranked them.
+	 *
+	 * Implementations should fetch the ids from the search engine a batch at a time as
+	 * they are iterated so that deep result sets are never held in memory.
+	 *
+	 * @param queryString the query
+	 * @return the content ids
+	 */
+	default Iterable<T> searchAll(String queryString) {
+		return search(queryString);
+	}
+
 	@Deprecated
 	Iterable<T> findKeyword(String query);
 
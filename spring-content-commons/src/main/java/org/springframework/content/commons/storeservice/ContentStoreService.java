@@ -1,5 +1,7 @@
 package org.springframework.content.commons.storeservice;
 
+import java.util.function.Function;
+
 public interface ContentStoreService {
 
 	static final StoreFilter MATCH_ALL = new StoreFilter() {
@@ -13,6 +15,27 @@ public interface ContentStoreService {
 
 	public ContentStoreInfo[] getStores(Class<?> storeType, StoreFilter filter);
 
+	/**
+	 * Returns the store of the given type whose key, as computed by the given key
+	 * function, equals the given key.
+	 *
+	 * Implementations may index the stores by key function so the key function should be
+	 * a constant that always computes the same key for a store.
+	 *
+	 * @param storeType the type of store
+	 * @param keyFunction computes the key of a store
+	 * @param key the key of the store to return
+	 * @return the store, or null
+	 */
+	default ContentStoreInfo getStore(Class<?> storeType, Function<ContentStoreInfo, ?> keyFunction, Object key) {
+		for (ContentStoreInfo info : getStores(storeType)) {
+			if (key.equals(keyFunction.apply(info))) {
+				return info;
+			}
+		}
+		return null;
+	}
+
 	@Deprecated
 	public ContentStoreInfo[] getContentStores();
 }
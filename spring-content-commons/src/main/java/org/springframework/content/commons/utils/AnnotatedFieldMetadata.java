@@ -0,0 +1,221 @@
+package org.springframework.content.commons.utils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.SimpleTypeConverter;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Per-class cache of the fields carrying a given annotation together with precompiled
+ * accessors for them.
+ *
+ * Resolving an annotated field requires walking the class' property descriptors and
+ * its field hierarchy.  Because the result depends only on the domain class it is
+ * resolved once and re-used for every subsequent {@link BeanUtils} call.
+ */
+final class AnnotatedFieldMetadata {
+
+	private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+	private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+	private static final Map<Class<?>, AnnotatedFieldMetadata> cache = new ConcurrentReferenceHashMap<>();
+
+	private final Class<?> domainClass;
+	private final Map<Class<? extends Annotation>, Accessor> accessors = new ConcurrentReferenceHashMap<>();
+	private final Map<Class<? extends Annotation>, Field[]> fields = new ConcurrentReferenceHashMap<>();
+
+	private AnnotatedFieldMetadata(Class<?> domainClass) {
+		this.domainClass = domainClass;
+	}
+
+	static AnnotatedFieldMetadata forClass(Class<?> domainClass) {
+		AnnotatedFieldMetadata metadata = cache.get(domainClass);
+		if (metadata == null) {
+			metadata = new AnnotatedFieldMetadata(domainClass);
+			AnnotatedFieldMetadata existing = cache.putIfAbsent(domainClass, metadata);
+			if (existing != null) {
+				metadata = existing;
+			}
+		}
+		return metadata;
+	}
+
+	Accessor getAccessor(Class<? extends Annotation> annotationClass) {
+		Accessor accessor = accessors.get(annotationClass);
+		if (accessor == null) {
+			accessor = resolveAccessor(annotationClass);
+			accessors.put(annotationClass, accessor);
+		}
+		return accessor;
+	}
+
+	Field[] getFields(Class<? extends Annotation> annotationClass) {
+		Field[] result = fields.get(annotationClass);
+		if (result == null) {
+			result = resolveFields(annotationClass);
+			fields.put(annotationClass, result);
+		}
+		return result;
+	}
+
+	private Accessor resolveAccessor(Class<? extends Annotation> annotationClass) {
+		PropertyDescriptor[] descriptors = org.springframework.beans.BeanUtils.getPropertyDescriptors(domainClass);
+		for (PropertyDescriptor descriptor : descriptors) {
+			Field candidate = BeanUtils.getField(domainClass, descriptor.getName());
+			if (candidate != null && candidate.getAnnotation(annotationClass) != null) {
+				return new Accessor(candidate, descriptor);
+			}
+		}
+
+		for (Field field : BeanUtils.getAllFields(domainClass)) {
+			if (field.getAnnotation(annotationClass) != null) {
+				return new Accessor(field, org.springframework.beans.BeanUtils.getPropertyDescriptor(domainClass, field.getName()));
+			}
+		}
+		return Accessor.NONE;
+	}
+
+	private Field[] resolveFields(Class<? extends Annotation> annotationClass) {
+		List<Field> result = new ArrayList<>();
+
+		PropertyDescriptor[] descriptors = org.springframework.beans.BeanUtils.getPropertyDescriptors(domainClass);
+		for (PropertyDescriptor descriptor : descriptors) {
+			Field candidate = BeanUtils.getField(domainClass, descriptor.getName());
+			if (candidate != null && candidate.getAnnotation(annotationClass) != null) {
+				result.add(candidate);
+			}
+		}
+
+		for (Field field : BeanUtils.getAllFields(domainClass)) {
+			if (field.getAnnotation(annotationClass) != null && !result.contains(field)) {
+				result.add(field);
+			}
+		}
+		return result.toArray(new Field[] {});
+	}
+
+	/**
+	 * Pre-bound getter and setter for a single annotated field.  Property accessor
+	 * methods are preferred over direct field access, mirroring {@link org.springframework.beans.BeanWrapper}
+	 * semantics.
+	 */
+	static final class Accessor {
+
+		static final Accessor NONE = new Accessor();
+
+		private final Field field;
+		private final Class<?> type;
+		private final boolean hasProperty;
+		private final MethodHandle getter;
+		private final MethodHandle setter;
+
+		private Accessor() {
+			this.field = null;
+			this.type = null;
+			this.hasProperty = false;
+			this.getter = null;
+			this.setter = null;
+		}
+
+		private Accessor(Field field, PropertyDescriptor descriptor) {
+			Method readMethod = (descriptor != null ? descriptor.getReadMethod() : null);
+			Method writeMethod = (descriptor != null ? descriptor.getWriteMethod() : null);
+
+			this.field = field;
+			this.type = (writeMethod != null ? writeMethod.getParameterTypes()[0] : field.getType());
+			this.hasProperty = descriptor != null;
+
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			try {
+				if (readMethod != null) {
+					ReflectionUtils.makeAccessible(readMethod);
+					this.getter = lookup.unreflect(readMethod).asType(GETTER_TYPE);
+				}
+				else {
+					ReflectionUtils.makeAccessible(field);
+					this.getter = lookup.unreflectGetter(field).asType(GETTER_TYPE);
+				}
+
+				if (writeMethod != null) {
+					ReflectionUtils.makeAccessible(writeMethod);
+					this.setter = lookup.unreflect(writeMethod).asType(SETTER_TYPE);
+				}
+				else {
+					ReflectionUtils.makeAccessible(field);
+					this.setter = lookup.unreflectSetter(field).asType(SETTER_TYPE);
+				}
+			}
+			catch (IllegalAccessException iae) {
+				throw new IllegalStateException(String.format("Unable to access field %s", field), iae);
+			}
+		}
+
+		Field getField() {
+			return field;
+		}
+
+		boolean exists() {
+			return field != null;
+		}
+
+		Object get(Object domainObj) {
+			try {
+				return getter.invokeExact(domainObj);
+			}
+			catch (Throwable t) {
+				ReflectionUtils.rethrowRuntimeException(t);
+				return null;
+			}
+		}
+
+		void set(Object domainObj, Object value) {
+			if (!isAssignable(value)) {
+				// requires conversion
+				if (hasProperty) {
+					new BeanWrapperImpl(domainObj).setPropertyValue(field.getName(), value);
+					return;
+				}
+				value = convert(value);
+			}
+
+			try {
+				setter.invokeExact(domainObj, value);
+			}
+			catch (Throwable t) {
+				ReflectionUtils.rethrowRuntimeException(t);
+			}
+		}
+
+		private Object convert(Object value) {
+			if (value == null) {
+				throw new IllegalArgumentException(String.format("Unable to set primitive field %s to null", field));
+			}
+			try {
+				return new SimpleTypeConverter().convertIfNecessary(value, type);
+			}
+			catch (TypeMismatchException tme) {
+				throw new IllegalArgumentException(String.format("Unable to set field %s to %s", field, value), tme);
+			}
+		}
+
+		private boolean isAssignable(Object value) {
+			if (value == null) {
+				return !type.isPrimitive();
+			}
+			return ClassUtils.isAssignableValue(type, value);
+		}
+	}
+}
@@ -1,6 +1,5 @@
 package org.springframework.content.commons.utils;
 
-import java.beans.PropertyDescriptor;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
@@ -8,9 +7,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import org.springframework.beans.BeanWrapper;
-import org.springframework.beans.BeanWrapperImpl;
 import org.springframework.beans.BeansException;
-import org.springframework.util.ReflectionUtils;
 
 public final class BeanUtils {
 
@@ -39,68 +36,18 @@ public final class BeanUtils {
 	public static Field findFieldWithAnnotation(Object domainObj,
 			Class<? extends Annotation> annotationClass)
 			throws SecurityException, BeansException {
-		BeanWrapper wrapper = new BeanWrapperImpl(domainObj);
-		Field candidate = findFieldWithAnnotation(domainObj.getClass(), annotationClass,
-				wrapper);
-		if (candidate != null)
-			return candidate;
-		return null;
+		return findFieldWithAnnotation(domainObj.getClass(), annotationClass);
 	}
 
 	public static Field findFieldWithAnnotation(Class<?> domainObjClass,
 			Class<? extends Annotation> annotationClass)
 			throws SecurityException, BeansException {
-
-		BeanWrapper wrapper = new BeanWrapperImpl(domainObjClass);
-		Field candidate = findFieldWithAnnotation(domainObjClass, annotationClass,
-				wrapper);
-		if (candidate != null)
-			return candidate;
-		return null;
-	}
-
-	private static Field findFieldWithAnnotation(Class<?> domainObjClass,
-			Class<? extends Annotation> annotationClass, BeanWrapper wrapper) {
-		PropertyDescriptor[] descriptors = wrapper.getPropertyDescriptors();
-		for (PropertyDescriptor descriptor : descriptors) {
-			Field candidate = getField(domainObjClass, descriptor.getName());
-			if (candidate != null) {
-				if (candidate.getAnnotation(annotationClass) != null) {
-					return candidate;
-				}
-			}
-		}
-
-		for (Field field : getAllFields(domainObjClass)) {
-			if (field.getAnnotation(annotationClass) != null) {
-				return field;
-			}
-		}
-		return null;
+		return AnnotatedFieldMetadata.forClass(domainObjClass).getAccessor(annotationClass).getField();
 	}
 
 	public static Field[] findFieldsWithAnnotation(Class<?> domainObjClass,
 			Class<? extends Annotation> annotationClass, BeanWrapper wrapper) {
-		List<Field> fields = new ArrayList<>();
-
-		PropertyDescriptor[] descriptors = wrapper.getPropertyDescriptors();
-		for (PropertyDescriptor descriptor : descriptors) {
-			Field candidate = getField(domainObjClass, descriptor.getName());
-			if (candidate != null) {
-				if (candidate.getAnnotation(annotationClass) != null) {
-					fields.add(candidate);
-				}
-			}
-		}
-
-		for (Field field : getAllFields(domainObjClass)) {
-			if (field.getAnnotation(annotationClass) != null) {
-				if (fields.contains(field) == false) {
-					fields.add(field);
-				}
-			}
-		}
-		return fields.toArray(new Field[] {});
+		return AnnotatedFieldMetadata.forClass(domainObjClass).getFields(annotationClass).clone();
 	}
 
 	protected static List<Field> getAllFields(Class<?> type) {
@@ -148,58 +95,28 @@ public final class BeanUtils {
 
 	public static Object getFieldWithAnnotation(Object domainObj, Class<? extends Annotation> annotationClass)
 			throws SecurityException, BeansException {
-		Object value = null;
 
-		Field field = findFieldWithAnnotation(domainObj, annotationClass);
-		if (field != null && field.getAnnotation(annotationClass) != null) {
+		AnnotatedFieldMetadata.Accessor accessor = AnnotatedFieldMetadata.forClass(domainObj.getClass()).getAccessor(annotationClass);
+		if (accessor.exists()) {
 			try {
-				PropertyDescriptor descriptor = org.springframework.beans.BeanUtils
-						.getPropertyDescriptor(domainObj.getClass(), field.getName());
-				if (descriptor != null) {
-					BeanWrapper wrapper = new BeanWrapperImpl(domainObj);
-					value = wrapper.getPropertyValue(field.getName());
-				}
-				else {
-					value = ReflectionUtils.getField(field, domainObj);
-				}
-				return value;
+				return accessor.get(domainObj);
 			}
 			catch (IllegalArgumentException iae) {
 			}
 		}
 
-		return value;
+		return null;
 	}
 
 	public static Object[] getFieldsWithAnnotation(Object domainObj, Class<? extends Annotation> annotationClass) {
 
-		List<Field> fields = new ArrayList<>();
 		List<Object> values = new ArrayList<>();
 
-		PropertyDescriptor[] descriptors = new BeanWrapperImpl(domainObj).getPropertyDescriptors();
-		for (PropertyDescriptor descriptor : descriptors) {
-			Field candidate = getField(domainObj.getClass(), descriptor.getName());
-			if (candidate != null) {
-				if (candidate.getAnnotation(annotationClass) != null) {
-					try {
-						values.add(candidate.get(domainObj));
-						fields.add(candidate);
-					}
-					catch (IllegalAccessException e) {}
-				}
-			}
-		}
-
-		for (Field field : getAllFields(domainObj.getClass())) {
-			if (field.getAnnotation(annotationClass) != null) {
-				if (fields.contains(field) == false) {
-					try {
-						values.add(field.get(domainObj));
-						fields.add(field);
-					}
-					catch (IllegalAccessException e) {}
-				}
+		for (Field field : AnnotatedFieldMetadata.forClass(domainObj.getClass()).getFields(annotationClass)) {
+			try {
+				values.add(field.get(domainObj));
 			}
+			catch (IllegalAccessException e) {}
 		}
 		return values.toArray();
 	}
@@ -230,21 +147,10 @@ public final class BeanUtils {
 			Class<? extends Annotation> annotationClass, Object value,
 			Condition condition) {
 
-		Field field = findFieldWithAnnotation(domainObj, annotationClass);
-		if (field != null && field.getAnnotation(annotationClass) != null
-				&& condition.matches(field)) {
+		AnnotatedFieldMetadata.Accessor accessor = AnnotatedFieldMetadata.forClass(domainObj.getClass()).getAccessor(annotationClass);
+		if (accessor.exists() && condition.matches(accessor.getField())) {
 			try {
-				PropertyDescriptor descriptor = org.springframework.beans.BeanUtils
-						.getPropertyDescriptor(domainObj.getClass(), field.getName());
-				if (descriptor != null) {
-					BeanWrapper wrapper = new BeanWrapperImpl(domainObj);
-					wrapper.setPropertyValue(field.getName(), value);
-					return;
-				}
-				else {
-					ReflectionUtils.setField(field, domainObj, value);
-				}
-				return;
+				accessor.set(domainObj, value);
 			}
 			catch (IllegalArgumentException iae) {
 			}
@@ -0,0 +1,136 @@
+package internal.org.springframework.content.commons.renditions;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
+import static org.hamcrest.CoreMatchers.hasItems;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Matchers.anyObject;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.runner.RunWith;
+import org.springframework.content.commons.renditions.RenditionProvider;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class RenditionGraphTest {
+
+	private RenditionGraph graph;
+
+	private RenditionProvider docToPdf, pdfToJpeg, docToJpeg, textToHtml;
+	private InputStream doc, pdf, jpeg;
+
+	{
+		Describe("RenditionGraph", () -> {
+			BeforeEach(() -> {
+				docToPdf = provider("application/msword", "application/pdf");
+				pdfToJpeg = provider("application/pdf", "image/jpeg");
+				textToHtml = provider("text/plain", "text/html");
+
+				doc = new ByteArrayInputStream("doc".getBytes());
+				pdf = new ByteArrayInputStream("pdf".getBytes());
+				jpeg = new ByteArrayInputStream("jpeg".getBytes());
+			});
+			Context("given providers that convert in a single hop", () -> {
+				BeforeEach(() -> {
+					graph = new RenditionGraph(Arrays.asList(docToPdf, textToHtml));
+					when(docToPdf.convert(doc, "application/pdf")).thenReturn(pdf);
+				});
+				It("should convert with the provider", () -> {
+					assertThat(graph.canConvert("application/msword", "application/pdf"), is(true));
+					assertThat(graph.convert("application/msword", doc, "application/pdf"), is(sameInstance(pdf)));
+				});
+				It("should not convert between unrelated mime types", () -> {
+					assertThat(graph.canConvert("application/msword", "text/html"), is(false));
+					assertThat(graph.convert("application/msword", doc, "text/html"), is(nullValue()));
+					verify(textToHtml, never()).convert(anyObject(), anyString());
+				});
+				It("should remember the route", () -> {
+					assertThat(graph.route("application/msword", "application/pdf"),
+							is(sameInstance(graph.route("application/msword", "application/pdf"))));
+				});
+			});
+			Context("given providers that convert in several hops", () -> {
+				BeforeEach(() -> {
+					graph = new RenditionGraph(Arrays.asList(pdfToJpeg, docToPdf));
+					when(docToPdf.convert(doc, "application/pdf")).thenReturn(pdf);
+					when(pdfToJpeg.convert(pdf, "image/*")).thenReturn(jpeg);
+				});
+				It("should chain the providers", () -> {
+					assertThat(graph.canConvert("application/msword", "image/*"), is(true));
+					assertThat(graph.convert("application/msword", doc, "image/*"), is(sameInstance(jpeg)));
+				});
+				It("should include the chained conversions", () -> {
+					assertThat(Arrays.asList(graph.conversions("application/msword")),
+							hasItems("application/pdf", "image/jpeg"));
+				});
+				It("should not route backwards", () -> {
+					assertThat(graph.canConvert("application/pdf", "application/pdf"), is(false));
+				});
+				Context("given a provider that converts in a single hop", () -> {
+					BeforeEach(() -> {
+						docToJpeg = provider("application/msword", "image/jpeg");
+						graph = new RenditionGraph(Arrays.asList(pdfToJpeg, docToPdf, docToJpeg));
+					});
+					It("should prefer the shortest route", () -> {
+						List<RenditionGraph.Hop> route = graph.route("application/msword", "image/jpeg");
+						assertThat(route.size(), is(1));
+						assertThat(route.get(0).getProvider(), is(sameInstance(docToJpeg)));
+					});
+				});
+				Context("given the first provider renders nothing", () -> {
+					BeforeEach(() -> {
+						when(docToPdf.convert(doc, "application/pdf")).thenReturn(null);
+					});
+					It("should return null", () -> {
+						assertThat(graph.convert("application/msword", doc, "image/jpeg"), is(nullValue()));
+						verify(pdfToJpeg, never()).convert(anyObject(), anyString());
+					});
+				});
+			});
+			Context("given providers that convert in a cycle", () -> {
+				BeforeEach(() -> {
+					RenditionProvider pdfToDoc = provider("application/pdf", "application/msword");
+					graph = new RenditionGraph(Arrays.asList(docToPdf, pdfToDoc));
+				});
+				It("should find the routes that exist", () -> {
+					assertThat(graph.canConvert("application/msword", "application/pdf"), is(true));
+					assertThat(graph.canConvert("application/msword", "image/jpeg"), is(false));
+					assertThat(Arrays.asList(graph.conversions("application/msword")),
+							not(hasItems("image/jpeg")));
+				});
+			});
+			Context("given no providers", () -> {
+				BeforeEach(() -> {
+					graph = new RenditionGraph(Arrays.asList());
+				});
+				It("should not convert", () -> {
+					assertThat(graph.canConvert("application/msword", "application/pdf"), is(false));
+					assertThat(graph.conversions("application/msword").length, is(0));
+					assertThat(graph.convert("application/msword", doc, "application/pdf"), is(nullValue()));
+				});
+			});
+		});
+	}
+
+	private static RenditionProvider provider(String consumes, String produces) {
+		RenditionProvider provider = mock(RenditionProvider.class);
+		when(provider.consumes()).thenReturn(consumes);
+		when(provider.produces()).thenReturn(new String[] { produces });
+		return provider;
+	}
+}
@@ -14,18 +14,24 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.lang.reflect.Method;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
 import java.security.SecureRandom;
 import java.util.Set;
 
 import org.aopalliance.intercept.MethodInvocation;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.springframework.content.commons.annotations.ContentId;
 import org.springframework.content.commons.annotations.MimeType;
 import org.springframework.content.commons.renditions.Renderable;
+import org.springframework.content.commons.renditions.RenditionCache;
+import org.springframework.content.commons.renditions.RenditionKey;
 import org.springframework.content.commons.renditions.RenditionProvider;
 import org.springframework.content.commons.repository.StoreInvoker;
+import org.springframework.util.StreamUtils;
 
 import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
 import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
@@ -41,6 +47,8 @@ public class RenditionServiceImplTest {
 	private MethodInvocation invocation;
 	private StoreInvoker repoInvoker;
 	private RenditionProvider mockProvider = null;
+	private RenditionCache renditionCache;
+	private InputStream cached;
 
 	{
 		Describe("RenditionServiceImpl", () -> {
@@ -191,6 +199,46 @@ public class RenditionServiceImplTest {
 						});
 					});
 
+					Context("given a rendition cache", () -> {
+						BeforeEach(() -> {
+							Class<?> clazz = Renderable.class;
+							Method getRenditionMethod = clazz.getMethod("getRendition",
+									Object.class, String.class);
+
+							invocation = mock(MethodInvocation.class);
+							when(invocation.getMethod()).thenReturn(getRenditionMethod);
+							when(invocation.getArguments()).thenReturn(new Object[] {
+									new IdentifiedContentObject("some-id", "one/thing"), "something/else" });
+
+							repoInvoker = mock(StoreInvoker.class);
+							when(repoInvoker.invokeGetContent()).thenReturn(
+									new ByteArrayInputStream("some content".getBytes()));
+
+							cached = new ByteArrayInputStream("cached rendition".getBytes());
+							renditionCache = mock(RenditionCache.class);
+							renditionService.setRenditionCache(renditionCache);
+						});
+						Context("when the rendition is cached", () -> {
+							BeforeEach(() -> {
+								when(renditionCache.get(new RenditionKey("some-id", null, "something/else"))).thenReturn(cached);
+							});
+							It("should return the cached rendition without converting the content", () -> {
+								assertThat(rc, is(cached));
+								verify(mockProvider, never()).convert(anyObject(), anyString());
+							});
+						});
+						Context("when the rendition is not cached", () -> {
+							BeforeEach(() -> {
+								InputStream rendition = new ByteArrayInputStream("rendition".getBytes());
+								when(mockProvider.convert(anyObject(), eq("something/else"))).thenReturn(rendition);
+								when(renditionCache.put(new RenditionKey("some-id", null, "something/else"), rendition)).thenReturn(cached);
+							});
+							It("should cache the converted content", () -> {
+								assertThat(StreamUtils.copyToString((InputStream) rc, StandardCharsets.UTF_8), is("cached rendition"));
+							});
+						});
+					});
+
 					Context("given a ContentObject with no mime-type", () -> {
 						BeforeEach(() -> {
 							Class<?> clazz = Renderable.class;
@@ -269,6 +317,16 @@ public class RenditionServiceImplTest {
 		}
 	}
 
+	public static class IdentifiedContentObject extends ContentObject {
+		@ContentId
+		public String contentId;
+
+		public IdentifiedContentObject(String contentId, String mimeType) {
+			super(mimeType);
+			this.contentId = contentId;
+		}
+	}
+
 	public static class NoMimeTypeContentObject {
 	}
 }
@@ -1,7 +1,15 @@
 package internal.org.springframework.content.commons.repository;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.io.Serializable;
 import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
 import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
@@ -21,6 +29,7 @@ import org.springframework.content.commons.annotations.HandleBeforeSetContent;
 import org.springframework.content.commons.annotations.HandleBeforeUnassociate;
 import org.springframework.content.commons.annotations.HandleBeforeUnsetContent;
 import org.springframework.content.commons.annotations.StoreEventHandler;
+import org.springframework.content.commons.io.FileBackedOutputStream;
 import org.springframework.content.commons.repository.ContentStore;
 import org.springframework.content.commons.repository.StoreEvent;
 import org.springframework.content.commons.repository.events.AfterAssociateEvent;
@@ -39,22 +48,29 @@ import org.springframework.content.commons.utils.ReflectionService;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
 import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StreamUtils;
 
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.AfterEach;
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.JustBeforeEach;
+import static org.hamcrest.CoreMatchers.everyItem;
+import static org.hamcrest.CoreMatchers.hasItem;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.isA;
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.anyObject;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static org.mockito.hamcrest.MockitoHamcrest.argThat;
 
 @SuppressWarnings("unchecked")
@@ -72,6 +88,10 @@ public class AnnotatedStoreEventInvokerTest {
 
 	// event handlers
 	private HighestPriorityCustomEventHandler priorityHandler = new HighestPriorityCustomEventHandler();
+	private RecordingEventHandler recordingHandler;
+	private ContentReadingEventHandler contentHandler;
+
+	private Executor executor;
 
 	{
 		Describe("#postProcessAfterInitialization", () -> {
@@ -525,6 +545,153 @@ public class AnnotatedStoreEventInvokerTest {
 				});
 			});
 		});
+
+		Describe("#onApplicationEvent through method handles", () -> {
+			BeforeEach(() -> {
+				invoker = new AnnotatedStoreEventInvoker();
+				recordingHandler = new RecordingEventHandler();
+				invoker.postProcessAfterInitialization(recordingHandler, "recording-bean");
+			});
+			Context("given a BeforeSetContent event", () -> {
+				BeforeEach(() -> {
+					event = new BeforeSetContentEvent(new EventSource(), store);
+				});
+				It("should call the handler methods that accept the event or its source", () -> {
+					invoker.onApplicationEvent(event);
+
+					assertThat(recordingHandler.parameters, containsInAnyOrder(event, event.getSource()));
+					assertThat(recordingHandler.threads, everyItem(is(Thread.currentThread())));
+				});
+				It("should not call handler methods for other sources", () -> {
+					invoker.onApplicationEvent(new BeforeSetContentEvent(new Object(), store));
+
+					assertThat(recordingHandler.parameters.size(), is(1));
+				});
+				It("should propagate the handler's exceptions", () -> {
+					recordingHandler.error = new IllegalStateException("badness");
+					try {
+						invoker.onApplicationEvent(event);
+						fail("expected exception");
+					}
+					catch (IllegalStateException e) {
+						assertThat(e.getMessage(), is("badness"));
+					}
+				});
+			});
+			Context("given an AfterSetContent event", () -> {
+				BeforeEach(() -> {
+					event = new AfterSetContentEvent(new EventSource(), store);
+				});
+				It("should call the async handler method on another thread", () -> {
+					invoker.onApplicationEvent(event);
+
+					assertThat(recordingHandler.latch.await(5, TimeUnit.SECONDS), is(true));
+					assertThat(recordingHandler.parameters, contains(event.getSource()));
+					assertThat(recordingHandler.threads, not(hasItem(Thread.currentThread())));
+				});
+				It("should not propagate the async handler's exceptions", () -> {
+					recordingHandler.error = new IllegalStateException("badness");
+					invoker.onApplicationEvent(event);
+
+					assertThat(recordingHandler.latch.await(5, TimeUnit.SECONDS), is(true));
+				});
+				Context("given a store event executor", () -> {
+					BeforeEach(() -> {
+						executor = mock(Executor.class);
+						invoker.setEventExecutor(executor);
+					});
+					It("should call the async handler method on that executor", () -> {
+						invoker.onApplicationEvent(event);
+
+						verify(executor).execute(anyObject());
+						assertThat(recordingHandler.parameters.size(), is(0));
+					});
+				});
+			});
+			Context("given an async handler reading the content of an AfterSetContent event", () -> {
+				BeforeEach(() -> {
+					contentHandler = new ContentReadingEventHandler();
+					invoker.postProcessAfterInitialization(contentHandler, "content-bean");
+
+					store = mock(ContentStore.class);
+					when(store.getContent(anyObject())).thenAnswer(invocation -> new ByteArrayInputStream("stored".getBytes(StandardCharsets.UTF_8)));
+				});
+				It("should read the content from the store once the content copy is discarded", () -> {
+					FileBackedOutputStream copy = new FileBackedOutputStream(1024);
+					copy.write("copied".getBytes(StandardCharsets.UTF_8));
+					copy.close();
+
+					invoker.onApplicationEvent(new AfterSetContentEvent(new EventSource(), store, copy));
+					copy.reset();
+					contentHandler.handled.countDown();
+
+					assertThat(contentHandler.read.await(5, TimeUnit.SECONDS), is(true));
+					assertThat(contentHandler.content, is("stored"));
+				});
+			});
+			AfterEach(() -> {
+				invoker.destroy();
+			});
+		});
+	}
+
+	@StoreEventHandler
+	public class RecordingEventHandler {
+
+		private final List<Object> parameters = new CopyOnWriteArrayList<>();
+		private final List<Thread> threads = new CopyOnWriteArrayList<>();
+		private final CountDownLatch latch = new CountDownLatch(1);
+		private RuntimeException error;
+
+		@HandleBeforeSetContent
+		public void beforeSetContent(StoreEvent event) {
+			record(event);
+		}
+
+		@HandleBeforeSetContent
+		public void beforeSetContent(EventSource contentObject) {
+			record(contentObject);
+		}
+
+		@HandleAfterSetContent(async = true)
+		protected void afterSetContent(EventSource contentObject) {
+			try {
+				record(contentObject);
+			}
+			finally {
+				latch.countDown();
+			}
+		}
+
+		private void record(Object parameter) {
+			parameters.add(parameter);
+			threads.add(Thread.currentThread());
+			if (error != null) {
+				throw error;
+			}
+		}
+	}
+
+	@StoreEventHandler
+	public class ContentReadingEventHandler {
+
+		private final CountDownLatch handled = new CountDownLatch(1);
+		private final CountDownLatch read = new CountDownLatch(1);
+		private volatile String content;
+
+		@HandleAfterSetContent(async = true)
+		protected void afterSetContent(AfterSetContentEvent event) throws Exception {
+			try {
+				// read once the event has been handled
+				handled.await(5, TimeUnit.SECONDS);
+				try (InputStream in = event.getContent()) {
+					content = StreamUtils.copyToString(in, StandardCharsets.UTF_8);
+				}
+			}
+			finally {
+				read.countDown();
+			}
+		}
 	}
 
 	@StoreEventHandler
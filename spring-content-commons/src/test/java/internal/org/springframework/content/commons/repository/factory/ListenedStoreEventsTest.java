@@ -0,0 +1,68 @@
+package internal.org.springframework.content.commons.repository.factory;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import org.springframework.content.commons.repository.events.AfterSetContentEvent;
+import org.springframework.content.commons.repository.events.BeforeSetContentEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.support.GenericApplicationContext;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.AfterEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class ListenedStoreEventsTest {
+
+	private GenericApplicationContext context;
+	private ListenedStoreEvents listenedEvents;
+
+	{
+		Describe("ListenedStoreEvents", () -> {
+			BeforeEach(() -> {
+				context = new GenericApplicationContext();
+				context.refresh();
+				listenedEvents = new ListenedStoreEvents(context);
+			});
+			AfterEach(() -> {
+				context.close();
+			});
+			It("should not find events nobody listens to", () -> {
+				assertThat(listenedEvents.get(), not(hasItem(BeforeSetContentEvent.class)));
+			});
+			Context("given a listener is added after the events were found", () -> {
+				BeforeEach(() -> {
+					listenedEvents.get();
+					context.addApplicationListener(new BeforeSetContentListener());
+				});
+				It("should find the events the listener listens to", () -> {
+					assertThat(listenedEvents.get(), hasItem(BeforeSetContentEvent.class));
+				});
+				It("should not find events the listener does not listen to", () -> {
+					assertThat(listenedEvents.get().contains(AfterSetContentEvent.class), is(false));
+				});
+			});
+		});
+	}
+
+	@Test
+	public void noop() {
+	}
+
+	public static class BeforeSetContentListener implements ApplicationListener<BeforeSetContentEvent> {
+
+		@Override
+		public void onApplicationEvent(BeforeSetContentEvent event) {
+		}
+	}
+}
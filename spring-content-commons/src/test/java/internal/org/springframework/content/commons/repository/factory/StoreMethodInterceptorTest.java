@@ -13,18 +13,22 @@ import static org.hamcrest.CoreMatchers.startsWith;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Matchers.anyObject;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.hamcrest.MockitoHamcrest.argThat;
 
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.io.Serializable;
 import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 import org.aopalliance.intercept.MethodInvocation;
 import org.junit.runner.RunWith;
@@ -33,9 +37,11 @@ import org.mockito.InOrder;
 import org.mockito.Mockito;
 import org.springframework.content.commons.annotations.MimeType;
 import org.springframework.content.commons.repository.AssociativeStore;
+import org.springframework.content.commons.repository.ContentConsumer;
 import org.springframework.content.commons.repository.ContentStore;
 import org.springframework.content.commons.repository.Store;
 import org.springframework.content.commons.repository.StoreExtension;
+import org.springframework.content.commons.repository.StoreEvent;
 import org.springframework.content.commons.repository.events.AfterAssociateEvent;
 import org.springframework.content.commons.repository.events.AfterGetContentEvent;
 import org.springframework.content.commons.repository.events.AfterGetResourceEvent;
@@ -53,6 +59,7 @@ import org.springframework.context.ApplicationEventPublisher;
 import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
 import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
 import org.springframework.core.io.Resource;
+import org.springframework.util.StreamUtils;
 
 @SuppressWarnings("unchecked")
 @RunWith(Ginkgo4jRunner.class)
@@ -71,16 +78,27 @@ public class StoreMethodInterceptorTest {
 	private Exception e;
 
 	private Map<Method, StoreExtension> extensions = null;
+	private ContentConsumer consumer;
+	private String consumedContent;
+	private Set<Class<? extends StoreEvent>> listenedEvents;
 
 	{
 		Describe("#invoke", () -> {
 			BeforeEach(() -> {
 				store = mock(ContentStore.class);
 				publisher = mock(ApplicationEventPublisher.class);
+				consumer = null;
+				listenedEvents = null;
 			});
 			JustBeforeEach(() -> {
 				interceptor = new StoreMethodInterceptor(store, Object.class,
 						String.class, extensions, publisher);
+				if (consumer != null) {
+					interceptor.setContentConsumers(Collections.singleton(consumer));
+				}
+				if (listenedEvents != null) {
+					interceptor.setListenedEvents(listenedEvents);
+				}
 				try {
 					interceptor.invoke(invocation);
 				}
@@ -113,6 +131,15 @@ public class StoreMethodInterceptorTest {
 					inOrder.verify(publisher).publishEvent(captor.capture());
 					assertThat(captor.getValue().getResult(), is(result));
 				});
+				Context("given no listener listens for its events", () -> {
+					BeforeEach(() -> {
+						listenedEvents = Collections.singleton(AfterSetContentEvent.class);
+					});
+					It("should proceed without publishing events", () -> {
+						verify(invocation).proceed();
+						verify(publisher, never()).publishEvent(anyObject());
+					});
+				});
 			});
 			Context("when getContent is invoked with illegal arguments", () -> {
 				BeforeEach(() -> {
@@ -162,6 +189,41 @@ public class StoreMethodInterceptorTest {
 					inOrder.verify(publisher).publishEvent(captor.capture());
 					assertThat(captor.getValue().getResult(), is(result));
 				});
+				Context("given a content consumer", () -> {
+					BeforeEach(() -> {
+						consumer = mock(ContentConsumer.class);
+						when(consumer.consumes(anyObject())).thenReturn(true);
+
+						when(invocation.getArguments()).thenReturn(new Object[] { new ContentObject("plain/text"),
+								new ByteArrayInputStream("Hello Spring Content World!".getBytes(StandardCharsets.UTF_8)) });
+
+						consumedContent = null;
+						doAnswer(invocation -> {
+							consumedContent = StreamUtils.copyToString(((AfterSetContentEvent) invocation.getArgument(0)).getContent(), StandardCharsets.UTF_8);
+							return null;
+						}).when(publisher).publishEvent(argThat(isA(AfterSetContentEvent.class)));
+					});
+					Context("when the store reads all of the content", () -> {
+						BeforeEach(() -> {
+							when(invocation.proceed()).thenAnswer(proceed -> {
+								StreamUtils.drain((InputStream) invocation.getArguments()[1]);
+								return result;
+							});
+						});
+						It("should make the content available to the after event without reading it from the store", () -> {
+							assertThat(consumedContent, is("Hello Spring Content World!"));
+							verify(store, never()).getContent(anyObject());
+						});
+					});
+					Context("when the store does not read all of the content", () -> {
+						BeforeEach(() -> {
+							when(store.getContent(anyObject())).thenReturn(new ByteArrayInputStream("from the store".getBytes(StandardCharsets.UTF_8)));
+						});
+						It("should read the content from the store", () -> {
+							assertThat(consumedContent, is("from the store"));
+						});
+					});
+				});
 			});
 			Context("when setContent is invoked with illegal arguments", () -> {
 				BeforeEach(() -> {
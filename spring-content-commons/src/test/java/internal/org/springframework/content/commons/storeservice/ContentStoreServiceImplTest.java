@@ -4,13 +4,19 @@ import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.Matchers.hasItemInArray;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Function;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -179,10 +185,40 @@ public class ContentStoreServiceImplTest {
 							});
 					assertThat(infos.length, is(0));
 				});
+				It("should return the store with the given key", () -> {
+					ContentStoreInfo info = contentRepoService.getStore(AssociativeStore.class,
+							INTERFACE_NAME, OtherEntityStoreInterface.class.getSimpleName());
+					assertThat(info.getInterface(), is(equalTo(OtherEntityStoreInterface.class)));
+				});
+				It("should not return a store for an unknown key", () -> {
+					assertThat(contentRepoService.getStore(AssociativeStore.class,
+							INTERFACE_NAME, "unknown"), is(nullValue()));
+					assertThat(contentRepoService.getStore(ContentStore.class,
+							INTERFACE_NAME, EntityStoreInterface.class.getSimpleName()), is(nullValue()));
+				});
+				It("should not share the stores it returns", () -> {
+					ContentStoreInfo[] infos = contentRepoService.getStores(AssociativeStore.class);
+					infos[0] = null;
+					assertThat(contentRepoService.getStores(AssociativeStore.class), not(hasItemInArray(nullValue())));
+				});
+				Context("when the stores change", () -> {
+					BeforeEach(() -> {
+						contentRepoService.getStore(AssociativeStore.class,
+								INTERFACE_NAME, EntityStoreInterface.class.getSimpleName());
+						contentRepoService.setContentStoreInfos(Collections.emptySet());
+					});
+					It("should look up the changed stores", () -> {
+						assertThat(contentRepoService.getStores(AssociativeStore.class).length, is(0));
+						assertThat(contentRepoService.getStore(AssociativeStore.class,
+								INTERFACE_NAME, EntityStoreInterface.class.getSimpleName()), is(nullValue()));
+					});
+				});
 			});
 		});
 	}
 
+	private static final Function<ContentStoreInfo, String> INTERFACE_NAME = info -> info.getInterface().getSimpleName();
+
 	@Test
 	public void test() {
 	}
@@ -0,0 +1,156 @@
+package org.springframework.content.commons.io;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import org.junit.runner.RunWith;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class DelegatingStreamsTest {
+
+    private static final int CONTENT_SIZE = 1024 * 1024;
+
+    private byte[] content;
+
+    private CountingInputStream source;
+    private CountingOutputStream sink;
+
+    {
+        Describe("DelegatingInputStream", () -> {
+            BeforeEach(() -> {
+                content = new byte[CONTENT_SIZE];
+                for (int i = 0; i < content.length; i++) {
+                    content[i] = (byte) i;
+                }
+                source = new CountingInputStream(content);
+                sink = new CountingOutputStream();
+            });
+            Context("when an observable input stream is read in bulk", () -> {
+                It("should read the underlying input stream in bulk", () -> {
+                    try (InputStream in = new ObservableInputStream(source, () -> {})) {
+                        byte[] buffer = new byte[8192];
+                        while (in.read(buffer) != -1) {
+                        }
+                    }
+                    assertThat(source.singleReads, is(0));
+                    assertThat(source.bulkReads, is(lessThanOrEqualTo(CONTENT_SIZE / 8192 + 1)));
+                });
+            });
+            Context("when a tee is transferred", () -> {
+                It("should copy the content in bulk", () -> {
+                    ByteArrayOutputStream branch = new ByteArrayOutputStream();
+                    try (TeeInputStream tee = new TeeInputStream(source, branch)) {
+                        assertThat(tee.transferTo(sink), is((long) CONTENT_SIZE));
+                        assertThat(tee.isComplete(), is(true));
+                    }
+                    assertThat(Arrays.equals(sink.toByteArray(), content), is(true));
+                    assertThat(Arrays.equals(branch.toByteArray(), content), is(true));
+                    assertThat(source.singleReads, is(0));
+                    assertThat(sink.singleWrites, is(0));
+                });
+            });
+            Context("when a tee is skipped", () -> {
+                It("should still copy the skipped content", () -> {
+                    ByteArrayOutputStream branch = new ByteArrayOutputStream();
+                    try (TeeInputStream tee = new TeeInputStream(source, branch)) {
+                        assertThat(tee.skip(100), is(100L));
+                    }
+                    assertThat(branch.size(), is(100));
+                });
+            });
+            Context("when an input stream is read through its channel", () -> {
+                It("should read all the content", () -> {
+                    ByteBuffer buffer = ByteBuffer.allocate(CONTENT_SIZE);
+                    try (ReadableByteChannel channel = new DelegatingInputStream(source).getChannel()) {
+                        while (buffer.hasRemaining() && channel.read(buffer) != -1) {
+                        }
+                    }
+                    assertThat(Arrays.equals(buffer.array(), content), is(true));
+                });
+            });
+            Context("when an input stream is skipped", () -> {
+                It("should skip the underlying input stream", () -> {
+                    DelegatingInputStream in = new DelegatingInputStream(source);
+                    assertThat(in.skip(100), is(100L));
+                    assertThat(in.available(), is(CONTENT_SIZE - 100));
+                    assertThat(in.read(), is(100));
+                });
+            });
+        });
+
+        Describe("DelegatingOutputStream", () -> {
+            BeforeEach(() -> {
+                content = new byte[CONTENT_SIZE];
+                sink = new CountingOutputStream();
+            });
+            Context("when an observable output stream is written in bulk", () -> {
+                It("should write the underlying output stream in bulk", () -> {
+                    try (ObservableOutputStream out = new ObservableOutputStream(sink)) {
+                        assertThat(out.transferFrom(new ByteArrayInputStream(content)), is((long) CONTENT_SIZE));
+                    }
+                    assertThat(sink.size(), is(CONTENT_SIZE));
+                    assertThat(sink.singleWrites, is(0));
+                    assertThat(sink.bulkWrites, is(lessThanOrEqualTo(CONTENT_SIZE / 8192 + 1)));
+                });
+            });
+        });
+    }
+
+    private static class CountingInputStream extends ByteArrayInputStream {
+
+        private int singleReads = 0;
+        private int bulkReads = 0;
+
+        CountingInputStream(byte[] buf) {
+            super(buf);
+        }
+
+        @Override
+        public synchronized int read() {
+            singleReads++;
+            return super.read();
+        }
+
+        @Override
+        public synchronized int read(byte[] b, int off, int len) {
+            bulkReads++;
+            return super.read(b, off, len);
+        }
+    }
+
+    private static class CountingOutputStream extends ByteArrayOutputStream {
+
+        private int singleWrites = 0;
+        private int bulkWrites = 0;
+
+        @Override
+        public synchronized void write(int b) {
+            singleWrites++;
+            super.write(b);
+        }
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            bulkWrites++;
+            super.write(b, off, len);
+        }
+
+        @Override
+        public void write(byte[] b) throws IOException {
+            write(b, 0, b.length);
+        }
+    }
+}
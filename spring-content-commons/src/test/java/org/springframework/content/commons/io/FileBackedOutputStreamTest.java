@@ -0,0 +1,78 @@
+package org.springframework.content.commons.io;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import org.junit.runner.RunWith;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@RunWith(Ginkgo4jRunner.class)
+public class FileBackedOutputStreamTest {
+
+    private FileBackedOutputStream out;
+
+    {
+        Describe("FileBackedOutputStream", () -> {
+            BeforeEach(() -> {
+                out = new FileBackedOutputStream(16);
+            });
+            Context("when less than the threshold is written", () -> {
+                BeforeEach(() -> {
+                    out.write("Hello".getBytes(StandardCharsets.UTF_8));
+                });
+                It("should buffer the content in memory", () -> {
+                    assertThat(out.getFile(), is(nullValue()));
+                    assertThat(read(out.getInputStream()), is("Hello"));
+                });
+            });
+            Context("when more than the threshold is written", () -> {
+                BeforeEach(() -> {
+                    out.write("Hello Spring ".getBytes(StandardCharsets.UTF_8));
+                    out.write("Content World!".getBytes(StandardCharsets.UTF_8));
+                });
+                It("should spill the content to a file", () -> {
+                    assertThat(out.getFile(), is(not(nullValue())));
+                    assertThat(read(out.getInputStream()), is("Hello Spring Content World!"));
+                });
+                It("should be readable more than once", () -> {
+                    assertThat(read(out.getInputStream()), is("Hello Spring Content World!"));
+                    assertThat(read(out.getInputStream()), is("Hello Spring Content World!"));
+                });
+                Context("when it is reset", () -> {
+                    It("should delete the file", () -> {
+                        File file = out.getFile();
+                        out.reset();
+                        assertThat(file.exists(), is(false));
+                        assertThat(read(out.getInputStream()), is(""));
+                    });
+                });
+            });
+        });
+        Describe("TeeInputStream", () -> {
+            It("should copy everything read to the branch", () -> {
+                out = new FileBackedOutputStream(16);
+                TeeInputStream tee = new TeeInputStream(new ByteArrayInputStream("Hello Spring Content World!".getBytes(StandardCharsets.UTF_8)), out);
+                assertThat(tee.isComplete(), is(false));
+                assertThat(read(tee), is("Hello Spring Content World!"));
+                assertThat(tee.isComplete(), is(true));
+                assertThat(read(out.getInputStream()), is("Hello Spring Content World!"));
+                out.reset();
+            });
+        });
+    }
+
+    private static String read(InputStream in) throws Exception {
+        try (InputStream is = in) {
+            return StreamUtils.copyToString(is, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package org.springframework.content.commons.renditions;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import org.springframework.content.commons.annotations.ContentId;
+import org.springframework.content.commons.repository.ContentStore;
+import org.springframework.content.commons.repository.events.AfterSetContentEvent;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.StreamUtils;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.AfterEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class FileSystemRenditionCacheTest {
+
+	private static final RenditionKey ONE = new RenditionKey("one", "1", "image/jpeg");
+	private static final RenditionKey TWO = new RenditionKey("two", null, "image/jpeg");
+	private static final RenditionKey THREE = new RenditionKey("three", null, "image/png");
+
+	private File directory;
+	private FileSystemRenditionCache cache;
+
+	{
+		Describe("FileSystemRenditionCache", () -> {
+			BeforeEach(() -> {
+				directory = Files.createTempDirectory("renditions").toFile();
+				cache = new FileSystemRenditionCache(directory, 10);
+			});
+			AfterEach(() -> {
+				FileSystemUtils.deleteRecursively(directory);
+			});
+			Context("given a rendition is not cached", () -> {
+				It("should miss", () -> {
+					assertThat(cache.get(ONE), is(nullValue()));
+					assertThat(cache.getMisses(), is(1L));
+				});
+			});
+			Context("given a rendition is cached", () -> {
+				BeforeEach(() -> {
+					assertThat(read(cache.put(ONE, stream("1234"))), is("1234"));
+				});
+				It("should hit", () -> {
+					assertThat(read(cache.get(ONE)), is("1234"));
+					assertThat(cache.getHits(), is(1L));
+				});
+				It("should miss other versions of the content", () -> {
+					assertThat(cache.get(new RenditionKey("one", "2", "image/jpeg")), is(nullValue()));
+				});
+				It("should be cached after a restart", () -> {
+					FileSystemRenditionCache restarted = new FileSystemRenditionCache(directory, 10);
+					assertThat(read(restarted.get(ONE)), is("1234"));
+					assertThat(restarted.getSize(), is(4L));
+				});
+				Context("when the content is evicted", () -> {
+					BeforeEach(() -> {
+						cache.evict("one");
+					});
+					It("should miss", () -> {
+						assertThat(cache.get(ONE), is(nullValue()));
+						assertThat(cache.getSize(), is(0L));
+					});
+				});
+				Context("when the content is set", () -> {
+					BeforeEach(() -> {
+						cache.onApplicationEvent(new AfterSetContentEvent(new Entity("one"), mock(ContentStore.class)));
+					});
+					It("should miss", () -> {
+						assertThat(cache.get(ONE), is(nullValue()));
+					});
+				});
+				Context("given a rendition is cached without a version", () -> {
+					BeforeEach(() -> {
+						read(cache.put(TWO, stream("5678")));
+					});
+					It("should hit any version of the content", () -> {
+						assertThat(read(cache.get(new RenditionKey("two", "3", "image/jpeg"))), is("5678"));
+						assertThat(cache.getHits(), is(1L));
+						assertThat(cache.getMisses(), is(0L));
+					});
+				});
+				Context("when the cache exceeds its maximum size", () -> {
+					BeforeEach(() -> {
+						read(cache.put(TWO, stream("5678")));
+						// use one so that two is the least recently used
+						read(cache.get(ONE));
+						assertThat(read(cache.put(THREE, stream("9012"))), is("9012"));
+					});
+					It("should evict the least recently used rendition", () -> {
+						assertThat(cache.get(TWO), is(nullValue()));
+						assertThat(read(cache.get(ONE)), is("1234"));
+						assertThat(read(cache.get(THREE)), is("9012"));
+						assertThat(cache.getSize(), is(8L));
+					});
+				});
+			});
+		});
+	}
+
+	@Test
+	public void noop() {
+	}
+
+	private static InputStream stream(String content) {
+		return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static String read(InputStream in) throws Exception {
+		try (InputStream is = in) {
+			return StreamUtils.copyToString(is, StandardCharsets.UTF_8);
+		}
+	}
+
+	public static class Entity {
+
+		@ContentId
+		public String contentId;
+
+		public Entity(String contentId) {
+			this.contentId = contentId;
+		}
+	}
+}
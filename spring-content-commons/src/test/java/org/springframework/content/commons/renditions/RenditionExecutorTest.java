@@ -0,0 +1,186 @@
+package org.springframework.content.commons.renditions;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import org.springframework.content.commons.repository.StoreAccessException;
+import org.springframework.util.StreamUtils;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.AfterEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class RenditionExecutorTest {
+
+	private static final RenditionKey KEY = new RenditionKey("some-id", null, "image/jpeg");
+
+	private RenditionExecutor executor;
+	private ExecutorService callers;
+
+	private AtomicInteger renders;
+	private CountDownLatch rendering;
+	private CountDownLatch release;
+
+	private Exception e;
+
+	{
+		Describe("RenditionExecutor", () -> {
+			BeforeEach(() -> {
+				callers = Executors.newFixedThreadPool(4);
+				renders = new AtomicInteger();
+				rendering = new CountDownLatch(1);
+				release = new CountDownLatch(1);
+				e = null;
+			});
+			AfterEach(() -> {
+				release.countDown();
+				callers.shutdownNow();
+				executor.destroy();
+			});
+			Context("given renditions are rendered on the requesting thread", () -> {
+				BeforeEach(() -> {
+					executor = new RenditionExecutor();
+				});
+				It("should render the rendition once for concurrent requests", () -> {
+					List<Future<String>> results = new ArrayList<>();
+					results.add(callers.submit(() -> read(executor.execute(KEY, blockingRenderer()))));
+					rendering.await(5, TimeUnit.SECONDS);
+					for (int i = 0; i < 3; i++) {
+						results.add(callers.submit(() -> read(executor.execute(KEY, blockingRenderer()))));
+					}
+					// give the other requests time to join the rendering
+					Thread.sleep(200);
+					release.countDown();
+
+					for (Future<String> result : results) {
+						assertThat(result.get(5, TimeUnit.SECONDS), is("rendition"));
+					}
+					assertThat(renders.get(), is(1));
+				});
+				It("should hand a rendition requested once straight to its requester", () -> {
+					AtomicInteger reads = new AtomicInteger();
+					InputStream rendition = executor.execute(KEY, () -> new ByteArrayInputStream("rendition".getBytes(StandardCharsets.UTF_8)) {
+						@Override
+						public synchronized int read(byte[] b, int off, int len) {
+							reads.incrementAndGet();
+							return super.read(b, off, len);
+						}
+					});
+					assertThat(reads.get(), is(0));
+					assertThat(read(rendition), is("rendition"));
+				});
+				It("should re-read the rendition for requests that joined the rendering", () -> {
+					AtomicInteger rereads = new AtomicInteger();
+					Callable<InputStream> reader = () -> {
+						rereads.incrementAndGet();
+						return new ByteArrayInputStream("rendition".getBytes(StandardCharsets.UTF_8));
+					};
+					List<Future<String>> results = new ArrayList<>();
+					results.add(callers.submit(() -> read(executor.execute(KEY, blockingRenderer(), reader))));
+					rendering.await(5, TimeUnit.SECONDS);
+					for (int i = 0; i < 3; i++) {
+						results.add(callers.submit(() -> read(executor.execute(KEY, blockingRenderer(), reader))));
+					}
+					// give the other requests time to join the rendering
+					Thread.sleep(200);
+					release.countDown();
+
+					for (Future<String> result : results) {
+						assertThat(result.get(5, TimeUnit.SECONDS), is("rendition"));
+					}
+					assertThat(renders.get(), is(1));
+					assertThat(rereads.get(), is(3));
+				});
+				It("should render the rendition again once the rendering completes", () -> {
+					release.countDown();
+					assertThat(read(executor.execute(KEY, blockingRenderer())), is("rendition"));
+					assertThat(read(executor.execute(KEY, blockingRenderer())), is("rendition"));
+					assertThat(renders.get(), is(2));
+				});
+				It("should return null when there is no rendition", () -> {
+					assertThat(executor.execute(KEY, () -> null), is(nullValue()));
+				});
+				It("should throw a StoreAccessException when rendering fails", () -> {
+					try {
+						executor.execute(KEY, () -> {
+							throw new IllegalStateException("badness");
+						});
+					}
+					catch (Exception e) {
+						this.e = e;
+					}
+					assertThat(e, is(instanceOf(StoreAccessException.class)));
+				});
+			});
+			Context("given renditions are rendered by a pool of workers", () -> {
+				BeforeEach(() -> {
+					executor = new RenditionExecutor(1, 1, 100L);
+				});
+				It("should time out waiting for a rendition", () -> {
+					try {
+						executor.execute(KEY, blockingRenderer());
+					}
+					catch (Exception e) {
+						this.e = e;
+					}
+					assertThat(e, is(instanceOf(StoreAccessException.class)));
+				});
+				It("should reject renditions when the queue is full", () -> {
+					callers.submit(() -> executor.execute(KEY, blockingRenderer()));
+					rendering.await(5, TimeUnit.SECONDS);
+					callers.submit(() -> executor.execute(new RenditionKey("queued", null, "image/jpeg"), blockingRenderer()));
+					Thread.sleep(50);
+					try {
+						executor.execute(new RenditionKey("rejected", null, "image/jpeg"), blockingRenderer());
+					}
+					catch (Exception e) {
+						this.e = e;
+					}
+					assertThat(e, is(instanceOf(StoreAccessException.class)));
+				});
+			});
+		});
+	}
+
+	@Test
+	public void noop() {
+	}
+
+	private Callable<InputStream> blockingRenderer() {
+		return () -> {
+			renders.incrementAndGet();
+			rendering.countDown();
+			release.await(5, TimeUnit.SECONDS);
+			return new ByteArrayInputStream("rendition".getBytes(StandardCharsets.UTF_8));
+		};
+	}
+
+	private static String read(InputStream in) throws Exception {
+		try (InputStream is = in) {
+			return StreamUtils.copyToString(is, StandardCharsets.UTF_8);
+		}
+	}
+}
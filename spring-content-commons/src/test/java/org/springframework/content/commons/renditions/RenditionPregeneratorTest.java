@@ -0,0 +1,194 @@
+package org.springframework.content.commons.renditions;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import org.springframework.content.commons.annotations.ContentId;
+import org.springframework.content.commons.annotations.MimeType;
+import org.springframework.content.commons.repository.ContentStore;
+import org.springframework.content.commons.repository.events.AfterSetContentEvent;
+import org.springframework.data.annotation.Version;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.AfterEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class RenditionPregeneratorTest {
+
+	private RenditionPregenerator pregenerator;
+
+	// mocks
+	private RenditionCache cache;
+	private RenditionProvider provider;
+	private DocumentStore store;
+
+	private CountDownLatch release;
+
+	{
+		Describe("RenditionPregenerator", () -> {
+			BeforeEach(() -> {
+				cache = mock(RenditionCache.class);
+				provider = mock(RenditionProvider.class);
+				when(provider.consumes()).thenReturn("application/pdf");
+				when(provider.produces()).thenReturn(new String[] { "image/jpeg" });
+				when(provider.convert(any(), anyString())).thenAnswer(invocation -> rendition());
+
+				store = mock(DocumentStore.class);
+				when(store.getContent(any())).thenAnswer(invocation -> content());
+
+				release = new CountDownLatch(0);
+			});
+			AfterEach(() -> {
+				pregenerator.destroy();
+			});
+			Context("given renditions are declared for the store", () -> {
+				BeforeEach(() -> {
+					pregenerator = new RenditionPregenerator(cache, 1, 1)
+							.pregenerate(DocumentStore.class, "image/jpeg", "text/html");
+					pregenerator.setProviders(provider);
+				});
+				It("should render the renditions that can be rendered into the cache", () -> {
+					pregenerator.onAfterSetContent(event(new Document("some-id", "application/pdf")));
+
+					verify(cache, timeout(5000)).put(eq(new RenditionKey("some-id", null, "image/jpeg")), any());
+					verify(provider).convert(any(), eq("image/jpeg"));
+					verify(cache, after(200).never()).put(eq(new RenditionKey("some-id", null, "text/html")), any());
+				});
+				It("should not render renditions of content that cannot be rendered", () -> {
+					pregenerator.onAfterSetContent(event(new Document("some-id", "text/plain")));
+
+					verify(cache, after(200).never()).put(any(), any());
+				});
+				It("should not render renditions of entities without content", () -> {
+					pregenerator.onAfterSetContent(event(new Document(null, "application/pdf")));
+
+					verify(cache, after(200).never()).put(any(), any());
+				});
+				Context("given the entity is saved before its renditions are rendered", () -> {
+					BeforeEach(() -> {
+						release = new CountDownLatch(1);
+					});
+					It("should render the renditions for any version of the content", () -> {
+						// occupy the worker so that the document's rendition is queued
+						pregenerator.onAfterSetContent(event(new Document("other-id", "application/pdf")));
+						Document document = new Document("some-id", "application/pdf");
+						document.version = 1L;
+						pregenerator.onAfterSetContent(event(document));
+						document.version = 2L;
+						release.countDown();
+
+						verify(cache, timeout(5000)).put(eq(new RenditionKey("some-id", null, "image/jpeg")), any());
+					});
+				});
+				Context("given the content is set again before its renditions are rendered", () -> {
+					BeforeEach(() -> {
+						release = new CountDownLatch(1);
+						pregenerator = new RenditionPregenerator(cache, 1, 2)
+								.pregenerate(DocumentStore.class, "image/jpeg");
+						pregenerator.setProviders(provider);
+					});
+					It("should only render the renditions of the current content", () -> {
+						pregenerator.onAfterSetContent(event(new Document("other-id", "application/pdf")));
+						Document document = new Document("some-id", "application/pdf");
+						pregenerator.onAfterSetContent(event(document));
+						pregenerator.onAfterSetContent(event(document));
+						release.countDown();
+
+						verify(cache, timeout(5000)).put(eq(new RenditionKey("some-id", null, "image/jpeg")), any());
+						verify(cache, after(200).times(1)).put(eq(new RenditionKey("some-id", null, "image/jpeg")), any());
+					});
+				});
+				Context("given more renditions are queued than the workers can take", () -> {
+					BeforeEach(() -> {
+						release = new CountDownLatch(1);
+					});
+					It("should not pre-generate the renditions beyond the queue", () -> {
+						for (int i = 0; i < 5; i++) {
+							pregenerator.onAfterSetContent(event(new Document("id-" + i, "application/pdf")));
+						}
+						release.countDown();
+
+						verify(cache, timeout(5000).times(2)).put(any(), any());
+						verify(cache, after(200).times(2)).put(any(), any());
+					});
+				});
+			});
+			Context("given renditions are declared for another store", () -> {
+				BeforeEach(() -> {
+					pregenerator = new RenditionPregenerator(cache, 1, 1)
+							.pregenerate(OtherStore.class, "image/jpeg");
+					pregenerator.setProviders(provider);
+				});
+				It("should not render renditions", () -> {
+					pregenerator.onAfterSetContent(event(new Document("some-id", "application/pdf")));
+
+					verify(cache, after(200).never()).put(any(), any());
+				});
+			});
+		});
+	}
+
+	@Test
+	public void noop() {
+	}
+
+	@SuppressWarnings("unchecked")
+	private AfterSetContentEvent event(Document document) {
+		return new AfterSetContentEvent(document, (ContentStore<Object, Serializable>) (ContentStore<?, ?>) store);
+	}
+
+	private InputStream content() {
+		return new ByteArrayInputStream("content".getBytes(StandardCharsets.UTF_8));
+	}
+
+	private InputStream rendition() throws InterruptedException {
+		release.await(5, TimeUnit.SECONDS);
+		return new ByteArrayInputStream("rendition".getBytes(StandardCharsets.UTF_8));
+	}
+
+	public interface DocumentStore extends ContentStore<Document, String> {
+	}
+
+	public interface OtherStore extends ContentStore<Document, String> {
+	}
+
+	public static class Document {
+
+		@ContentId
+		private String contentId;
+
+		@MimeType
+		private String mimeType;
+
+		@Version
+		private Long version;
+
+		public Document(String contentId, String mimeType) {
+			this.contentId = contentId;
+			this.mimeType = mimeType;
+		}
+	}
+}
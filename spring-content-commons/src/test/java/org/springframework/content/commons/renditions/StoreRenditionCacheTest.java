@@ -0,0 +1,91 @@
+package org.springframework.content.commons.renditions;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import org.springframework.content.commons.repository.Store;
+import org.springframework.core.io.WritableResource;
+import org.springframework.util.StreamUtils;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class StoreRenditionCacheTest {
+
+	private StoreRenditionCache cache;
+
+	// mocks
+	private Store<String> store;
+	private WritableResource resource;
+
+	private ByteArrayOutputStream written;
+
+	{
+		Describe("StoreRenditionCache", () -> {
+			BeforeEach(() -> {
+				store = mock(Store.class);
+				resource = mock(WritableResource.class);
+				written = new ByteArrayOutputStream();
+				when(store.getResource(anyString())).thenReturn(resource);
+				when(resource.getOutputStream()).thenReturn(written);
+				when(resource.getInputStream()).thenAnswer(invocation -> new ByteArrayInputStream(written.toByteArray()));
+
+				cache = new StoreRenditionCache(store);
+			});
+			Context("given a rendition of versioned content", () -> {
+				It("should cache the rendition in the store", () -> {
+					assertThat(read(cache.put(new RenditionKey("some-id", "1", "image/jpeg"), stream("1234"))), is("1234"));
+
+					verify(store, atLeastOnce()).getResource("some-id/1/image_jpeg");
+					assertThat(new String(written.toByteArray(), StandardCharsets.UTF_8), is("1234"));
+				});
+			});
+			Context("given a rendition of unversioned content", () -> {
+				It("should not cache the rendition", () -> {
+					assertThat(read(cache.put(new RenditionKey("some-id", null, "image/jpeg"), stream("1234"))), is("1234"));
+
+					verify(store, never()).getResource(anyString());
+				});
+				It("should not look the rendition up", () -> {
+					assertThat(cache.get(new RenditionKey("some-id", null, "image/jpeg")), is(nullValue()));
+
+					verify(store, never()).getResource(anyString());
+				});
+			});
+		});
+	}
+
+	@Test
+	public void noop() {
+	}
+
+	private static InputStream stream(String content) {
+		return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static String read(InputStream in) throws Exception {
+		try (InputStream is = in) {
+			return StreamUtils.copyToString(is, StandardCharsets.UTF_8);
+		}
+	}
+}
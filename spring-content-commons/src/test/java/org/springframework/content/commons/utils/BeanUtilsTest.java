@@ -384,6 +384,49 @@ public class BeanUtilsTest {
 					assertThat(BeanUtils.getFieldsWithAnnotation(t, ContentId.class), is(new Object[]{"100", "200"}));
 				});
 			});
+
+			Context("given a value that requires conversion", () -> {
+				It("should convert the value via the property's setter", () -> {
+					TestEntity3 t = new TestEntity3();
+					BeanUtils.setFieldWithAnnotation(t, ContentLength.class, 0);
+					assertThat(t.getContentLen(), is(0L));
+
+					BeanUtils.setFieldWithAnnotation(t, ContentLength.class, 100L);
+					assertThat(t.getContentLen(), is(100L));
+					assertThat(BeanUtils.getFieldWithAnnotation(t, ContentLength.class), is(100L));
+				});
+			});
+
+			Context("given a private field without accessors", () -> {
+				It("should get and set the field directly", () -> {
+					TestEntity3 t = new TestEntity3();
+					BeanUtils.setFieldWithAnnotation(t, MimeType.class, "text/plain");
+					assertThat(t.mimeType, is("text/plain"));
+					assertThat(BeanUtils.getFieldWithAnnotation(t, MimeType.class), is("text/plain"));
+				});
+				It("should convert a value that requires conversion", () -> {
+					TestEntity4 t = new TestEntity4();
+					BeanUtils.setFieldWithAnnotation(t, ContentLength.class, 100);
+					assertThat(t.contentLen, is(100L));
+				});
+				It("should fail to set a value that cannot be converted", () -> {
+					TestEntity4 t = new TestEntity4();
+					try {
+						AnnotatedFieldMetadata.forClass(TestEntity4.class).getAccessor(ContentLength.class).set(t, new Object());
+						fail("expected IllegalArgumentException");
+					}
+					catch (IllegalArgumentException iae) {
+						assertThat(t.contentLen, is(0L));
+					}
+					try {
+						AnnotatedFieldMetadata.forClass(TestEntity4.class).getAccessor(ContentLength.class).set(t, null);
+						fail("expected IllegalArgumentException");
+					}
+					catch (IllegalArgumentException iae) {
+						assertThat(t.contentLen, is(0L));
+					}
+				});
+			});
 		});
 	}
 
@@ -456,6 +499,23 @@ public class BeanUtilsTest {
 		}
 	}
 
+	public static class TestEntity3 {
+		@ContentLength private long contentLen;
+		@MimeType private String mimeType;
+
+		public long getContentLen() {
+			return contentLen;
+		}
+
+		public void setContentLen(long contentLen) {
+			this.contentLen = contentLen;
+		}
+	}
+
+	public static class TestEntity4 {
+		@ContentLength private long contentLen;
+	}
+
 	public static class MatchingCondition implements Condition {
 		@Override
 		public boolean matches(Field field) {
@@ -0,0 +1,137 @@
+package internal.org.springframework.content.elasticsearch;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+
+import static java.lang.String.format;
+
+/**
+ * Streams content as the JSON document {@code {"data": "<base64>"}} expected by the
+ * attachment pipeline, encoding the content a chunk at a time so that only a bounded
+ * buffer is held in memory however large the content is.
+ */
+public class Base64JsonInputStream extends InputStream {
+
+	static final int CHUNK_SIZE = 3 * 1024;
+
+	private static final byte[] PREFIX = "{\"data\": \"".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] SUFFIX = "\"}".getBytes(StandardCharsets.US_ASCII);
+
+	private final InputStream content;
+	private final long maxContentLength;
+	private final Base64.Encoder encoder = Base64.getEncoder();
+
+	private final byte[] chunk = new byte[CHUNK_SIZE];
+	private byte[] buffer = PREFIX;
+	private int position = 0;
+
+	private long contentLength = 0;
+	private boolean eof = false;
+	private boolean closed = false;
+
+	/**
+	 * @param content the content to encode
+	 * @param maxContentLength the maximum number of content bytes to encode, or a
+	 *                         negative number for no maximum
+	 */
+	public Base64JsonInputStream(InputStream content, long maxContentLength) {
+		this.content = content;
+		this.maxContentLength = maxContentLength;
+	}
+
+	@Override
+	public int read() throws IOException {
+		if (fill() == false) {
+			return -1;
+		}
+		return buffer[position++] & 0xff;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		if (len == 0) {
+			return 0;
+		}
+		if (fill() == false) {
+			return -1;
+		}
+		int n = Math.min(len, buffer.length - position);
+		System.arraycopy(buffer, position, b, off, n);
+		position += n;
+		return n;
+	}
+
+	@Override
+	public int available() {
+		return buffer.length - position;
+	}
+
+	@Override
+	public void close() throws IOException {
+		closed = true;
+		content.close();
+	}
+
+	private boolean fill() throws IOException {
+		while (position == buffer.length) {
+			if (closed) {
+				return false;
+			}
+			if (eof) {
+				if (buffer == SUFFIX) {
+					return false;
+				}
+				next(SUFFIX);
+				continue;
+			}
+
+			int len = readChunk();
+			if (len < CHUNK_SIZE) {
+				eof = true;
+			}
+
+			contentLength += len;
+			if (maxContentLength >= 0 && contentLength > maxContentLength) {
+				throw new ContentTooLargeException(format("Content exceeds the maximum indexable size of %s bytes", maxContentLength));
+			}
+
+			if (len > 0) {
+				// chunks are a multiple of three bytes so only the last one is padded
+				next(len == CHUNK_SIZE ? encoder.encode(chunk) : encoder.encode(Arrays.copyOf(chunk, len)));
+			}
+		}
+		return true;
+	}
+
+	private int readChunk() throws IOException {
+		int len = 0;
+		while (len < CHUNK_SIZE) {
+			int n = content.read(chunk, len, CHUNK_SIZE - len);
+			if (n == -1) {
+				break;
+			}
+			len += n;
+		}
+		return len;
+	}
+
+	private void next(byte[] bytes) {
+		buffer = bytes;
+		position = 0;
+	}
+
+	/**
+	 * Thrown when content exceeds the maximum indexable size.
+	 */
+	public static class ContentTooLargeException extends IOException {
+
+		private static final long serialVersionUID = 1L;
+
+		public ContentTooLargeException(String message) {
+			super(message);
+		}
+	}
+}
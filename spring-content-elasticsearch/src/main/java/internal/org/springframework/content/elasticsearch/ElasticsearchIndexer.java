@@ -1,29 +1,43 @@
 package internal.org.springframework.content.elasticsearch;
 
-import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
-import java.util.Arrays;
-import java.util.Base64;
+import java.util.concurrent.TimeUnit;
 
+import internal.org.springframework.content.elasticsearch.Base64JsonInputStream.ContentTooLargeException;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.InputStreamEntity;
+import org.elasticsearch.action.bulk.BulkProcessor;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.delete.DeleteRequest;
 import org.elasticsearch.action.delete.DeleteResponse;
 import org.elasticsearch.action.index.IndexRequest;
-import org.elasticsearch.action.index.IndexResponse;
 import org.elasticsearch.action.ingest.GetPipelineRequest;
 import org.elasticsearch.action.ingest.GetPipelineResponse;
 import org.elasticsearch.action.ingest.PutPipelineRequest;
 import org.elasticsearch.action.ingest.WritePipelineResponse;
+import org.elasticsearch.client.Request;
 import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.Response;
 import org.elasticsearch.client.RestHighLevelClient;
 import org.elasticsearch.common.bytes.BytesArray;
+import org.elasticsearch.common.io.Streams;
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
+import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.common.unit.TimeValue;
 import org.elasticsearch.common.xcontent.XContentType;
 
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.content.commons.annotations.ContentId;
+import org.springframework.content.commons.annotations.ContentLength;
 import org.springframework.content.commons.annotations.StoreEventHandler;
+import org.springframework.content.commons.repository.ContentConsumer;
 import org.springframework.content.commons.repository.StoreAccessException;
 import org.springframework.content.commons.repository.events.AbstractStoreEventListener;
 import org.springframework.content.commons.repository.events.AfterSetContentEvent;
@@ -34,58 +48,92 @@ import org.springframework.util.Assert;
 import static java.lang.String.format;
 
 @StoreEventHandler
-public class ElasticsearchIndexer extends AbstractStoreEventListener<Object> {
+public class ElasticsearchIndexer extends AbstractStoreEventListener<Object> implements ContentConsumer, DisposableBean {
 
 	public static final String INDEX_NAME = "spring-content-fulltext-index";
 
 	private static final Log LOGGER = LogFactory.getLog(ElasticsearchIndexer.class);
 	private static final String SPRING_CONTENT_ATTACHMENT = "spring-content-attachment-pipeline";
-	private static final int BUFFER_SIZE = 3 * 1024;
+	private static final long CLOSE_TIMEOUT = 30L;
 
 	private RestHighLevelClient client;
 
+	private long maxIndexableSize = -1L;
+	private BulkProcessor bulkProcessor;
+
 	public ElasticsearchIndexer(RestHighLevelClient client) throws IOException {
 		this.client = client;
 		ensureAttachmentPipeline();
 	}
 
+	/**
+	 * Sets the size, in bytes, above which content is not indexed.  A negative size
+	 * indexes content of any size.
+	 */
+	public void setMaxIndexableSize(long maxIndexableSize) {
+		this.maxIndexableSize = maxIndexableSize;
+	}
+
+	/**
+	 * Indexes content asynchronously, in bulk requests of up to the given number of
+	 * actions or bytes that are flushed at least once per flush interval.
+	 */
+	public void setBulkIndexing(int bulkActions, long bulkSize, long flushInterval) {
+		this.bulkProcessor = BulkProcessor.builder(
+				(request, listener) -> client.bulkAsync(request, RequestOptions.DEFAULT, listener),
+				new BulkListener())
+				.setBulkActions(bulkActions)
+				.setBulkSize(new ByteSizeValue(bulkSize))
+				.setFlushInterval(TimeValue.timeValueMillis(flushInterval))
+				.build();
+	}
+
+	@Override
+	public boolean consumes(Object entity) {
+		return BeanUtils.hasFieldWithAnnotation(entity, ContentId.class);
+	}
+
+	@Override
+	public void destroy() throws InterruptedException {
+		if (bulkProcessor != null) {
+			bulkProcessor.awaitClose(CLOSE_TIMEOUT, TimeUnit.SECONDS);
+		}
+	}
+
 	@Override
 	protected void onAfterSetContent(AfterSetContentEvent event) {
 		String id = BeanUtils.getFieldWithAnnotation(event.getSource(), ContentId.class).toString();
-		InputStream stream = event.getStore().getContent(event.getSource());
+		String type = event.getSource().getClass().getName();
 
-		StringBuilder result = new StringBuilder();
-		try {
-			try (BufferedInputStream in = new BufferedInputStream(stream, BUFFER_SIZE); ) {
-				Base64.Encoder encoder = Base64.getEncoder();
-				byte[] chunk = new byte[BUFFER_SIZE];
-				int len = 0;
-				while ( (len = in.read(chunk)) == BUFFER_SIZE ) {
-					result.append( encoder.encodeToString(chunk) );
-				}
-				if ( len > 0 ) {
-					chunk = Arrays.copyOf(chunk,len);
-					result.append( encoder.encodeToString(chunk) );
-				}
-			}
-		}
-		catch (IOException e) {
-			throw new StoreAccessException(format("Error base64 encoding stream for content %s", id), e);
+		Object length = BeanUtils.getFieldWithAnnotation(event.getSource(), ContentLength.class);
+		if (maxIndexableSize >= 0 && length instanceof Number && ((Number) length).longValue() > maxIndexableSize) {
+			LOGGER.info(format("Content '%s' of %s bytes exceeds the maximum indexable size and was not indexed", id, length));
+			return;
 		}
 
-		IndexRequest req = new IndexRequest(INDEX_NAME, event.getSource().getClass().getName(), id);
-		req.setPipeline(SPRING_CONTENT_ATTACHMENT);
+		try (InputStream stream = new Base64JsonInputStream(event.getContent(), maxIndexableSize)) {
+			if (bulkProcessor != null) {
+				IndexRequest req = new IndexRequest(INDEX_NAME, type, id);
+				req.setPipeline(SPRING_CONTENT_ATTACHMENT);
+				BytesStreamOutput source = new BytesStreamOutput();
+				Streams.copy(stream, source);
+				req.source(source.bytes(), XContentType.JSON);
+				bulkProcessor.add(req);
+				return;
+			}
 
-		String source = "{" +
-				"\"data\": \"" + result.toString() + "\"" +
-				"}";
-		req.source(source, XContentType.JSON);
+			Request req = new Request("PUT", format("/%s/%s/%s", INDEX_NAME, encode(type), encode(id)));
+			req.addParameter("pipeline", SPRING_CONTENT_ATTACHMENT);
+			req.setEntity(new InputStreamEntity(stream, ContentType.APPLICATION_JSON));
 
-		try {
-			IndexResponse res = client.index(req, RequestOptions.DEFAULT);
-			LOGGER.info(format("Content '%s' indexed with result %s", id, res.getResult()));
+			Response res = client.getLowLevelClient().performRequest(req);
+			LOGGER.info(format("Content '%s' indexed with status %s", id, res.getStatusLine()));
 		}
 		catch (IOException e) {
+			if (isContentTooLarge(e)) {
+				LOGGER.info(format("Content '%s' exceeds the maximum indexable size and was not indexed", id));
+				return;
+			}
 			throw new StoreAccessException(format("Error indexing content %s", id), e);
 		}
 	}
@@ -97,6 +145,10 @@ public class ElasticsearchIndexer extends AbstractStoreEventListener<Object> {
 			return;
 		}
 		DeleteRequest req = new DeleteRequest(INDEX_NAME, event.getSource().getClass().getName(), id.toString());
+		if (bulkProcessor != null) {
+			bulkProcessor.add(req);
+			return;
+		}
 		try {
 			DeleteResponse res = client.delete(req, RequestOptions.DEFAULT);
 			LOGGER.info(format("Indexed content '%s' deleted with result %s", id, res.getResult()));
@@ -119,4 +171,40 @@ public class ElasticsearchIndexer extends AbstractStoreEventListener<Object> {
 			Assert.isTrue(wpr.isAcknowledged(), "Attachment pipeline not acknowledged by server");
 		}
 	}
+
+	private static String encode(String pathPart) throws UnsupportedEncodingException {
+		return URLEncoder.encode(pathPart, "UTF-8").replace("+", "%20");
+	}
+
+	private static boolean isContentTooLarge(Throwable e) {
+		// the rest client rethrows failures wrapped in an exception of its own
+		for (Throwable t = e; t != null; t = t.getCause()) {
+			if (t instanceof ContentTooLargeException) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static class BulkListener implements BulkProcessor.Listener {
+
+		@Override
+		public void beforeBulk(long executionId, BulkRequest request) {
+		}
+
+		@Override
+		public void afterBulk(long executionId, BulkRequest request, BulkResponse response) {
+			if (response.hasFailures()) {
+				LOGGER.error(format("Error indexing content in bulk: %s", response.buildFailureMessage()));
+			}
+			else {
+				LOGGER.info(format("Bulk indexed %s content changes in %s", request.numberOfActions(), response.getTook()));
+			}
+		}
+
+		@Override
+		public void afterBulk(long executionId, BulkRequest request, Throwable failure) {
+			LOGGER.error(format("Error indexing %s content changes in bulk", request.numberOfActions()), failure);
+		}
+	}
 }
\ No newline at end of file
@@ -3,7 +3,11 @@ package internal.org.springframework.content.fragments;
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchResponse;
@@ -13,16 +17,22 @@ import org.elasticsearch.index.query.QueryBuilders;
 import org.elasticsearch.search.SearchHit;
 import org.elasticsearch.search.SearchHits;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.sort.SortBuilders;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.content.commons.repository.StoreAccessException;
 import org.springframework.content.commons.search.Searchable;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 
 import static internal.org.springframework.content.elasticsearch.ElasticsearchIndexer.INDEX_NAME;
 import static java.lang.String.format;
 
 public class SearchableImpl implements Searchable<Serializable> {
 
+	private static final int SEARCH_AFTER_BATCH_SIZE = 100;
+
 	private final RestHighLevelClient client;
 	private Class<?> domainClass;
 
@@ -61,6 +71,31 @@ public class SearchableImpl implements Searchable<Serializable> {
 		return getIDs(res.getHits());
 	}
 
+	@Override
+	public Page<Serializable> search(String queryStr, Pageable pageable) {
+		if (pageable == null || pageable.isUnpaged()) {
+			return new PageImpl<>(getIDs(execute(queryStr, new SearchSourceBuilder()
+					.query(QueryBuilders.simpleQueryStringQuery(queryStr))).getHits()));
+		}
+
+		SearchSourceBuilder sourceBuilder = new SearchSourceBuilder();
+		sourceBuilder.query(QueryBuilders.simpleQueryStringQuery(queryStr));
+		sourceBuilder.from((int) pageable.getOffset());
+		sourceBuilder.size(pageable.getPageSize());
+
+		SearchHits hits = execute(queryStr, sourceBuilder).getHits();
+		return new PageImpl<>(getIDs(hits), pageable, hits.getTotalHits());
+	}
+
+	/**
+	 * Returns the ids of all matching content, fetching them from elasticsearch a batch
+	 * at a time with search_after as they are iterated.
+	 */
+	@Override
+	public Iterable<Serializable> searchAll(String queryStr) {
+		return () -> new SearchAfterIterator(queryStr);
+	}
+
 	@Override
 	public Iterable<Serializable> findKeyword(String query) {
 		SearchRequest searchRequest = new SearchRequest(INDEX_NAME);
@@ -123,4 +158,64 @@ public class SearchableImpl implements Searchable<Serializable> {
 
 		return contents;
 	}
+
+	private SearchResponse execute(String queryStr, SearchSourceBuilder sourceBuilder) {
+		SearchRequest searchRequest = new SearchRequest(INDEX_NAME);
+		searchRequest.types(domainClass.getName());
+		searchRequest.source(sourceBuilder);
+
+		try {
+			return client.search(searchRequest, RequestOptions.DEFAULT);
+		}
+		catch (IOException ioe) {
+			throw new StoreAccessException(format("Error searching indexed content for '%s'", queryStr), ioe);
+		}
+	}
+
+	private class SearchAfterIterator implements Iterator<Serializable> {
+
+		private final String queryStr;
+
+		private Object[] searchAfter = null;
+		private Iterator<SearchHit> batch = Collections.emptyIterator();
+		private boolean done = false;
+
+		SearchAfterIterator(String queryStr) {
+			this.queryStr = queryStr;
+		}
+
+		@Override
+		public boolean hasNext() {
+			while (batch.hasNext() == false && done == false) {
+				fetch();
+			}
+			return batch.hasNext();
+		}
+
+		@Override
+		public Serializable next() {
+			if (hasNext() == false) {
+				throw new NoSuchElementException();
+			}
+			SearchHit hit = batch.next();
+			searchAfter = hit.getSortValues();
+			return hit.getId();
+		}
+
+		private void fetch() {
+			SearchSourceBuilder sourceBuilder = new SearchSourceBuilder();
+			sourceBuilder.query(QueryBuilders.simpleQueryStringQuery(queryStr));
+			sourceBuilder.size(SEARCH_AFTER_BATCH_SIZE);
+			// search_after requires a sort that ends with a unique field
+			sourceBuilder.sort(SortBuilders.scoreSort());
+			sourceBuilder.sort(SortBuilders.fieldSort("_id"));
+			if (searchAfter != null) {
+				sourceBuilder.searchAfter(searchAfter);
+			}
+
+			SearchHit[] hits = execute(queryStr, sourceBuilder).getHits().getHits();
+			batch = Arrays.asList(hits).iterator();
+			done = hits.length < SEARCH_AFTER_BATCH_SIZE;
+		}
+	}
 }
@@ -6,6 +6,7 @@ import internal.org.springframework.content.elasticsearch.ElasticsearchIndexer;
 import org.elasticsearch.client.RestHighLevelClient;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
@@ -21,8 +22,28 @@ public class ElasticsearchFulltextIndexingConfig {
 //	@Autowired
 //	private ConversionService contentConversionService;
 
+	@Value("${spring.content.elasticsearch.maxIndexableSize:-1}")
+	private long maxIndexableSize;
+
+	@Value("${spring.content.elasticsearch.asyncIndexing:false}")
+	private boolean asyncIndexing;
+
+	@Value("${spring.content.elasticsearch.bulkActions:100}")
+	private int bulkActions;
+
+	@Value("${spring.content.elasticsearch.bulkSize:5242880}")
+	private long bulkSize;
+
+	@Value("${spring.content.elasticsearch.flushInterval:5000}")
+	private long flushInterval;
+
 	@Bean
 	public ElasticsearchIndexer elasticFulltextIndexerEventListener() throws IOException {
-		return new ElasticsearchIndexer(client);
+		ElasticsearchIndexer indexer = new ElasticsearchIndexer(client);
+		indexer.setMaxIndexableSize(maxIndexableSize);
+		if (asyncIndexing) {
+			indexer.setBulkIndexing(bulkActions, bulkSize, flushInterval);
+		}
+		return indexer;
 	}
 }
@@ -0,0 +1,94 @@
+package internal.org.springframework.content.elasticsearch;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Random;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import internal.org.springframework.content.elasticsearch.Base64JsonInputStream.ContentTooLargeException;
+import org.elasticsearch.common.io.Streams;
+import org.junit.runner.RunWith;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.JustBeforeEach;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+@RunWith(Ginkgo4jRunner.class)
+public class Base64JsonInputStreamTest {
+
+	private byte[] content;
+	private long maxContentLength;
+
+	private String json;
+	private Exception e;
+
+	{
+		Describe("Base64JsonInputStream", () -> {
+			BeforeEach(() -> {
+				maxContentLength = -1L;
+				json = null;
+				e = null;
+			});
+			JustBeforeEach(() -> {
+				try (InputStream in = new Base64JsonInputStream(new ByteArrayInputStream(content), maxContentLength)) {
+					json = Streams.copyToString(new InputStreamReader(in, StandardCharsets.US_ASCII));
+				} catch (Exception e) {
+					this.e = e;
+				}
+			});
+			Context("given some content", () -> {
+				BeforeEach(() -> {
+					content = "Hello world!".getBytes();
+				});
+				It("should encode the content as a data document", () -> {
+					assertThat(json, is("{\"data\": \"SGVsbG8gd29ybGQh\"}"));
+				});
+			});
+			Context("given no content", () -> {
+				BeforeEach(() -> {
+					content = new byte[0];
+				});
+				It("should encode an empty data document", () -> {
+					assertThat(json, is("{\"data\": \"\"}"));
+				});
+			});
+			Context("given content spanning several chunks", () -> {
+				BeforeEach(() -> {
+					content = new byte[Base64JsonInputStream.CHUNK_SIZE * 3 + 7];
+					new Random(1L).nextBytes(content);
+				});
+				It("should encode the content as though it were encoded at once", () -> {
+					assertThat(json, is("{\"data\": \"" + Base64.getEncoder().encodeToString(content) + "\"}"));
+				});
+			});
+			Context("given content larger than the maximum content length", () -> {
+				BeforeEach(() -> {
+					content = "Hello world!".getBytes();
+					maxContentLength = 11L;
+				});
+				It("should throw a ContentTooLargeException", () -> {
+					assertThat(json, is(nullValue()));
+					assertThat(e, is(instanceOf(ContentTooLargeException.class)));
+				});
+			});
+			Context("#close", () -> {
+				It("should close the content", () -> {
+					InputStream content = mock(InputStream.class);
+					new Base64JsonInputStream(content, -1L).close();
+					verify(content).close();
+				});
+			});
+		});
+	}
+}
@@ -1,9 +1,11 @@
 package internal.org.springframework.content.fs.config;
 
+import internal.org.springframework.content.fs.repository.ContentAddressedStorage;
 import internal.org.springframework.content.fs.repository.DefaultFilesystemStoreImpl;
 import org.springframework.aop.framework.ProxyFactory;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.content.commons.repository.factory.AbstractStoreFactoryBean;
 import org.springframework.content.commons.utils.FileServiceImpl;
 import org.springframework.content.commons.utils.PlacementService;
@@ -23,6 +25,9 @@ public class FilesystemStoreFactoryBean extends AbstractStoreFactoryBean {
 	@Autowired(required=false)
 	private LockingAndVersioningProxyFactory versioning;
 
+	@Value("${spring.content.fs.content-addressed:false}")
+	private boolean contentAddressed;
+
 	@Override
 	protected void addProxyAdvice(ProxyFactory result, BeanFactory beanFactory) {
 		if (versioning != null) {
@@ -40,6 +45,11 @@ public class FilesystemStoreFactoryBean extends AbstractStoreFactoryBean {
 
 	@Override
 	protected Object getContentStoreImpl() {
-		return new DefaultFilesystemStoreImpl(loader, filesystemStorePlacementService, new FileServiceImpl());
+		FileServiceImpl fileService = new FileServiceImpl();
+		DefaultFilesystemStoreImpl store = new DefaultFilesystemStoreImpl(loader, filesystemStorePlacementService, fileService);
+		if (contentAddressed) {
+			store.setContentAddressedStorage(new ContentAddressedStorage(loader, fileService));
+		}
+		return store;
 	}
 }
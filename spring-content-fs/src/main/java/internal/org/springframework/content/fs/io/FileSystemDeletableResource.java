@@ -6,6 +6,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URI;
 import java.net.URL;
+import java.nio.channels.ReadableByteChannel;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.logging.Log;
@@ -56,6 +57,10 @@ public class FileSystemDeletableResource implements WritableResource, DeletableR
 		return resource.getInputStream();
 	}
 
+	public ReadableByteChannel readableChannel() throws IOException {
+		return resource.readableChannel();
+	}
+
 	public boolean isWritable() {
 		return resource.isWritable();
 	}
@@ -79,6 +84,10 @@ public class FileSystemDeletableResource implements WritableResource, DeletableR
 		return resource.getURI();
 	}
 
+	public boolean isFile() {
+		return resource.isFile();
+	}
+
 	public File getFile() {
 		return resource.getFile();
 	}
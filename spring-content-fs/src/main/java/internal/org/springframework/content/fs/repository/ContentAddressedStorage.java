@@ -0,0 +1,246 @@
+package internal.org.springframework.content.fs.repository;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.MalformedURLException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.regex.Pattern;
+
+import org.apache.commons.io.IOUtils;
+import org.springframework.content.commons.utils.FileService;
+import org.springframework.content.fs.io.FileSystemResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.UrlResource;
+import org.springframework.util.Assert;
+
+import static java.lang.String.format;
+
+/**
+ * Stores content under the SHA-256 hash of its bytes so that identical content is held
+ * on disk once.
+ *
+ * Content is hashed while it is streamed to a temporary file beneath the filesystem root
+ * and then moved into a sharded location, {@code ab/cd/abcd...}, derived from the hash.
+ * Each blob has a reference count, held in a {@code .refs} file alongside it, so that
+ * the blob is only deleted when the last entity referencing it is unset.
+ *
+ * Reference counts are guarded by locks local to this instance and are therefore only
+ * consistent when a single application writes to the filesystem root.
+ */
+public class ContentAddressedStorage {
+
+	private static final Pattern HASH_PATTERN = Pattern.compile("[0-9a-f]{64}");
+
+	private static final String TEMP_DIRECTORY = ".tmp";
+	private static final String REFS_SUFFIX = ".refs";
+
+	private static final int LOCK_STRIPES = 64;
+
+	private final FileSystemResourceLoader loader;
+	private final FileService fileService;
+	private final Object[] locks = new Object[LOCK_STRIPES];
+
+	public ContentAddressedStorage(FileSystemResourceLoader loader, FileService fileService) {
+		Assert.notNull(loader, "loader must be specified");
+		Assert.notNull(fileService, "fileService must be specified");
+		this.loader = loader;
+		this.fileService = fileService;
+		for (int i = 0; i < locks.length; i++) {
+			locks[i] = new Object();
+		}
+	}
+
+	/**
+	 * Returns true if the given content id is a content hash produced by this storage.
+	 */
+	public static boolean isHash(Object contentId) {
+		return contentId instanceof String && HASH_PATTERN.matcher((String) contentId).matches();
+	}
+
+	/**
+	 * Returns the location, relative to the filesystem root, of the blob with the given hash.
+	 */
+	public String getLocation(String hash) {
+		return format("%s/%s/%s", hash.substring(0, 2), hash.substring(2, 4), hash);
+	}
+
+	/**
+	 * Returns the blob with the given hash as a read-only resource.  A blob is shared by
+	 * every entity with the same content, so it must not be written or deleted other than
+	 * through {@link #store(InputStream)} and {@link #release(String)}.
+	 */
+	public Resource getResource(String hash) {
+		File blob = new File(loader.getRootResource().getFile(), getLocation(hash));
+		try {
+			// unlike a file system resource, a url resource is neither writable nor deletable
+			return new UrlResource(blob.toURI());
+		}
+		catch (MalformedURLException e) {
+			throw new IllegalStateException(format("Invalid location for blob %s", hash), e);
+		}
+	}
+
+	/**
+	 * Stores the content, or adds a reference to the identical content already stored.
+	 *
+	 * @param content the content to store
+	 * @return the stored blob
+	 * @throws IOException if the content cannot be read or stored
+	 */
+	public Blob store(InputStream content) throws IOException {
+		File root = loader.getRootResource().getFile();
+		File tempDir = new File(root, TEMP_DIRECTORY);
+		fileService.mkdirs(tempDir);
+
+		Path temp = Files.createTempFile(tempDir.toPath(), "upload-", ".tmp");
+		try {
+			MessageDigest digest = newDigest();
+			long length;
+			try (OutputStream out = new DigestOutputStream(Files.newOutputStream(temp), digest)) {
+				length = IOUtils.copyLarge(content, out);
+			}
+			String hash = toHex(digest.digest());
+
+			File blob = getFile(hash);
+			synchronized (lockFor(hash)) {
+				if (blob.exists()) {
+					writeReferences(blob, readReferences(blob) + 1);
+				}
+				else {
+					fileService.mkdirs(blob.getParentFile());
+					move(temp, blob.toPath());
+					writeReferences(blob, 1L);
+				}
+			}
+			return new Blob(hash, length);
+		}
+		finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	/**
+	 * Removes a reference to the blob with the given hash, deleting the blob when no
+	 * references remain.
+	 *
+	 * @param hash the blob's hash
+	 * @throws IOException if the blob cannot be deleted
+	 */
+	public void release(String hash) throws IOException {
+		File blob = getFile(hash);
+		synchronized (lockFor(hash)) {
+			if (blob.exists() == false) {
+				return;
+			}
+
+			long references = readReferences(blob) - 1;
+			if (references > 0) {
+				writeReferences(blob, references);
+				return;
+			}
+
+			// shard directories are left in place as they are shared with other blobs
+			Files.deleteIfExists(blob.toPath());
+			Files.deleteIfExists(getReferencesFile(blob).toPath());
+		}
+	}
+
+	/**
+	 * Returns the number of references held on the blob with the given hash.
+	 */
+	public long getReferences(String hash) throws IOException {
+		File blob = getFile(hash);
+		synchronized (lockFor(hash)) {
+			return blob.exists() ? readReferences(blob) : 0L;
+		}
+	}
+
+	private File getFile(String hash) throws IOException {
+		return loader.getResource(getLocation(hash)).getFile();
+	}
+
+	private Object lockFor(String hash) {
+		return locks[(hash.hashCode() & 0x7fffffff) % LOCK_STRIPES];
+	}
+
+	private long readReferences(File blob) throws IOException {
+		File refs = getReferencesFile(blob);
+		if (refs.exists() == false) {
+			// the blob was moved into place but its first reference was never recorded
+			return blob.exists() ? 1L : 0L;
+		}
+		String count = new String(Files.readAllBytes(refs.toPath()), StandardCharsets.US_ASCII).trim();
+		return Long.parseLong(count);
+	}
+
+	private void writeReferences(File blob, long references) throws IOException {
+		File refs = getReferencesFile(blob);
+		Path temp = Files.createTempFile(blob.getParentFile().toPath(), blob.getName(), ".tmp");
+		try {
+			Files.write(temp, Long.toString(references).getBytes(StandardCharsets.US_ASCII));
+			move(temp, refs.toPath());
+		}
+		finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	private static File getReferencesFile(File blob) {
+		return new File(blob.getParentFile(), blob.getName() + REFS_SUFFIX);
+	}
+
+	private static void move(Path source, Path target) throws IOException {
+		try {
+			Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		}
+		catch (AtomicMoveNotSupportedException e) {
+			Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	private static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not supported", e);
+		}
+	}
+
+	private static String toHex(byte[] bytes) {
+		StringBuilder hex = new StringBuilder(bytes.length * 2);
+		for (byte b : bytes) {
+			hex.append(Character.forDigit((b >> 4) & 0xf, 16));
+			hex.append(Character.forDigit(b & 0xf, 16));
+		}
+		return hex.toString();
+	}
+
+	public static class Blob {
+
+		private final String hash;
+		private final long length;
+
+		Blob(String hash, long length) {
+			this.hash = hash;
+			this.length = length;
+		}
+
+		public String getHash() {
+			return hash;
+		}
+
+		public long getLength() {
+			return length;
+		}
+	}
+}
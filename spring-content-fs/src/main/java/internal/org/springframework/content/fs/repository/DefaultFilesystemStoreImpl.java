@@ -40,6 +40,7 @@ public class DefaultFilesystemStoreImpl<S, SID extends Serializable>
 	private FileSystemResourceLoader loader;
 	private PlacementService placer;
 	private FileService fileService;
+	private ContentAddressedStorage contentAddressedStorage;
 
 	public DefaultFilesystemStoreImpl(FileSystemResourceLoader loader, PlacementService conversion, FileService fileService) {
 		this.loader = loader;
@@ -47,8 +48,25 @@ public class DefaultFilesystemStoreImpl<S, SID extends Serializable>
 		this.fileService = fileService;
 	}
 
+	/**
+	 * Enables content-addressed storage.  Content set on an entity is stored under the
+	 * hash of its bytes, which becomes the entity's content id, and identical content is
+	 * stored once.  Content-addressed resources are read-only, their content is replaced
+	 * and removed through {@link #setContent(Object, InputStream)} and
+	 * {@link #unsetContent(Object)}.
+	 *
+	 * @param contentAddressedStorage the storage
+	 */
+	public void setContentAddressedStorage(ContentAddressedStorage contentAddressedStorage) {
+		this.contentAddressedStorage = contentAddressedStorage;
+	}
+
 	@Override
 	public Resource getResource(SID id) {
+		if (contentAddressedStorage != null && ContentAddressedStorage.isHash(id)) {
+			return contentAddressedStorage.getResource((String) id);
+		}
+
 		String location = placer.convert(id, String.class);
 		Resource resource = loader.getResource(location);
 		return resource;
@@ -56,6 +74,13 @@ public class DefaultFilesystemStoreImpl<S, SID extends Serializable>
 
 	@Override
 	public Resource getResource(S entity) {
+		if (contentAddressedStorage != null) {
+			Object contentId = BeanUtils.getFieldWithAnnotation(entity, ContentId.class);
+			if (ContentAddressedStorage.isHash(contentId)) {
+				return contentAddressedStorage.getResource((String) contentId);
+			}
+		}
+
 		Resource resource = null;
 		if (placer.canConvert(entity.getClass(), String.class)) {
 			String location = placer.convert(entity, String.class);
@@ -84,23 +109,32 @@ public class DefaultFilesystemStoreImpl<S, SID extends Serializable>
 				new Condition() {
 					@Override
 					public boolean matches(Field field) {
-						for (Annotation annotation : field.getAnnotations()) {
-							if ("javax.persistence.Id".equals(
-									annotation.annotationType().getCanonicalName())
-									|| "org.springframework.data.annotation.Id"
-									.equals(annotation.annotationType()
-											.getCanonicalName())) {
-								return false;
-							}
-						}
-						return true;
+						return isId(field) == false;
 					}
 				});
 	}
 
+	private static boolean isId(Field field) {
+		for (Annotation annotation : field.getAnnotations()) {
+			if ("javax.persistence.Id".equals(
+					annotation.annotationType().getCanonicalName())
+					|| "org.springframework.data.annotation.Id"
+					.equals(annotation.annotationType()
+							.getCanonicalName())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	@Override
 	@Transactional
 	public void setContent(S entity, InputStream content) {
+		if (contentAddressedStorage != null) {
+			setContentAddressed(entity, content);
+			return;
+		}
+
 		Resource resource = getResource(entity);
 		if (resource == null) {
 			UUID contentId = UUID.randomUUID();
@@ -141,6 +175,44 @@ public class DefaultFilesystemStoreImpl<S, SID extends Serializable>
 		}
 	}
 
+	private void setContentAddressed(S entity, InputStream content) {
+		Class<?> contentIdType = BeanUtils.getFieldWithAnnotationType(entity, ContentId.class);
+		if (contentIdType == null || contentIdType.isAssignableFrom(String.class) == false) {
+			throw new StoreAccessException(format("Content-addressed storage requires a String content id for entity %s", entity));
+		}
+		// the content id changes with the content, which an entity's id must not
+		if (isId(BeanUtils.findFieldWithAnnotation(entity, ContentId.class))) {
+			throw new StoreAccessException(format("Content-addressed storage requires a content id that is not also the id of entity %s", entity));
+		}
+
+		Object previousId = BeanUtils.getFieldWithAnnotation(entity, ContentId.class);
+		Resource previous = (previousId != null ? getResource(entity) : null);
+
+		ContentAddressedStorage.Blob blob;
+		try {
+			blob = contentAddressedStorage.store(content);
+		}
+		catch (Exception e) {
+			logger.error(format("Unexpected error setting content for entity %s", entity), e);
+			throw new StoreAccessException(format("Setting content for entity %s", entity), e);
+		}
+
+		try {
+			if (ContentAddressedStorage.isHash(previousId)) {
+				contentAddressedStorage.release((String) previousId);
+			}
+			else if (previous != null) {
+				deleteResource(previous);
+			}
+		}
+		catch (IOException e) {
+			logger.warn(format("Unable to release previous content %s for entity %s", previousId, entity), e);
+		}
+
+		BeanUtils.setFieldWithAnnotation(entity, ContentId.class, blob.getHash());
+		BeanUtils.setFieldWithAnnotation(entity, ContentLength.class, blob.getLength());
+	}
+
 	@Override
 	@Transactional
 	public InputStream getContent(S entity) {
@@ -168,8 +240,26 @@ public class DefaultFilesystemStoreImpl<S, SID extends Serializable>
 		if (entity == null)
 			return;
 
-		Resource resource = getResource(entity);
+		Object contentId = BeanUtils.getFieldWithAnnotation(entity, ContentId.class);
+		if (contentAddressedStorage != null && ContentAddressedStorage.isHash(contentId)) {
+			try {
+				contentAddressedStorage.release((String) contentId);
+			}
+			catch (IOException e) {
+				logger.error(format("Unexpected error unsetting content for entity %s", entity), e);
+				throw new StoreAccessException(format("Unsetting content for entity %s", entity), e);
+			}
+		}
+		else {
+			deleteResource(getResource(entity));
+		}
+
+		// reset content fields
+		unassociate(entity);
+		BeanUtils.setFieldWithAnnotation(entity, ContentLength.class, 0);
+	}
 
+	private void deleteResource(Resource resource) {
 		if (resource != null && resource.exists() && resource instanceof DeletableResource) {
 			File parent = null;
 			try {
@@ -188,10 +278,6 @@ public class DefaultFilesystemStoreImpl<S, SID extends Serializable>
 				}
 			}
 		}
-
-		// reset content fields
-		unassociate(entity);
-		BeanUtils.setFieldWithAnnotation(entity, ContentLength.class, 0);
 	}
 
 	private Object convertToExternalContentIdType(S property, Object contentId) {
@@ -43,6 +43,10 @@ public class FileSystemDeletableResourceTest {
 				resource.getInputStream();
 				verify(delegate).getInputStream();
 			});
+			It("should delegate readableChannel", () -> {
+				resource.readableChannel();
+				verify(delegate).readableChannel();
+			});
 			It("should delegate isWritable", () -> {
 				resource.isWritable();
 				verify(delegate).isWritable();
@@ -60,6 +64,10 @@ public class FileSystemDeletableResourceTest {
 				resource.getURI();
 				verify(delegate).getURI();
 			});
+			It("should delegate isFile", () -> {
+				resource.isFile();
+				verify(delegate).isFile();
+			});
 			It("should delegate getFile", () -> {
 				resource.getFile();
 				verify(delegate).getFile();
@@ -0,0 +1,219 @@
+package internal.org.springframework.content.fs.repository;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.file.Files;
+import java.util.UUID;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.runner.RunWith;
+import org.springframework.content.commons.annotations.ContentId;
+import org.springframework.content.commons.annotations.ContentLength;
+import org.springframework.content.commons.io.DeletableResource;
+import org.springframework.content.commons.repository.StoreAccessException;
+import org.springframework.content.commons.utils.FileServiceImpl;
+import org.springframework.content.commons.utils.PlacementServiceImpl;
+import org.springframework.content.fs.io.FileSystemResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.WritableResource;
+import org.springframework.data.annotation.Id;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.AfterEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.JustBeforeEach;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@RunWith(Ginkgo4jRunner.class)
+public class ContentAddressedStorageTest {
+
+	private static final String HELLO_HASH = "c0535e4be2b79ffd93291305436bf889314e4a3faec05ecffcbb7df31ad9e51a";
+
+	private DefaultFilesystemStoreImpl<Object, String> store;
+	private ContentAddressedStorage storage;
+
+	private File root;
+	private TestEntity entity, other;
+
+	private Exception e;
+
+	{
+		Describe("DefaultFilesystemStoreImpl with content-addressed storage", () -> {
+			BeforeEach(() -> {
+				root = Files.createTempDirectory("cas").toFile();
+				FileSystemResourceLoader loader = new FileSystemResourceLoader(root.getAbsolutePath());
+				FileServiceImpl fileService = new FileServiceImpl();
+
+				storage = new ContentAddressedStorage(loader, fileService);
+				store = new DefaultFilesystemStoreImpl<>(loader, new PlacementServiceImpl(), fileService);
+				store.setContentAddressedStorage(storage);
+
+				entity = new TestEntity();
+				other = new TestEntity();
+			});
+			AfterEach(() -> {
+				FileUtils.deleteQuietly(root);
+			});
+			Context("#setContent", () -> {
+				JustBeforeEach(() -> {
+					store.setContent(entity, new ByteArrayInputStream("Hello world!".getBytes()));
+				});
+				It("should use the content hash as the content id", () -> {
+					assertThat(entity.getContentId(), is(HELLO_HASH));
+					assertThat(entity.getContentLen(), is(12L));
+				});
+				It("should store the content in a sharded location", () -> {
+					File blob = new File(root, "c0/53/" + HELLO_HASH);
+					assertThat(blob.exists(), is(true));
+					assertThat(FileUtils.readFileToString(blob), is("Hello world!"));
+				});
+				It("should not leave temporary files behind", () -> {
+					assertThat(new File(root, ".tmp").list().length, is(0));
+				});
+				It("should serve the content", () -> {
+					assertThat(IOUtils.toString(store.getContent(entity)), is("Hello world!"));
+					assertThat(store.getResource(HELLO_HASH).exists(), is(true));
+				});
+				It("should serve the content through read-only resources", () -> {
+					for (Resource resource : new Resource[] { store.getResource(HELLO_HASH), store.getResource(entity) }) {
+						assertThat(resource, is(not(instanceOf(WritableResource.class))));
+						assertThat(resource, is(not(instanceOf(DeletableResource.class))));
+						assertThat(IOUtils.toString(resource.getInputStream()), is("Hello world!"));
+					}
+				});
+				Context("when the same content is set on another entity", () -> {
+					JustBeforeEach(() -> {
+						store.setContent(other, new ByteArrayInputStream("Hello world!".getBytes()));
+					});
+					It("should store the content once", () -> {
+						assertThat(other.getContentId(), is(HELLO_HASH));
+						assertThat(storage.getReferences(HELLO_HASH), is(2L));
+					});
+					Context("when content is unset from one entity", () -> {
+						JustBeforeEach(() -> {
+							store.unsetContent(entity);
+						});
+						It("should keep the content for the other entity", () -> {
+							assertThat(entity.getContentId(), is(nullValue()));
+							assertThat(storage.getReferences(HELLO_HASH), is(1L));
+							assertThat(IOUtils.toString(store.getContent(other)), is("Hello world!"));
+						});
+						Context("when content is unset from the last entity", () -> {
+							JustBeforeEach(() -> {
+								store.unsetContent(other);
+							});
+							It("should delete the content", () -> {
+								assertThat(storage.getReferences(HELLO_HASH), is(0L));
+								assertThat(new File(root, "c0/53/" + HELLO_HASH).exists(), is(false));
+							});
+						});
+					});
+				});
+				Context("when the entity's content is replaced", () -> {
+					JustBeforeEach(() -> {
+						store.setContent(entity, new ByteArrayInputStream("Goodbye world!".getBytes()));
+					});
+					It("should release the previous content", () -> {
+						assertThat(storage.getReferences(HELLO_HASH), is(0L));
+						assertThat(IOUtils.toString(store.getContent(entity)), is("Goodbye world!"));
+					});
+				});
+				Context("when the entity's content is set again with the same content", () -> {
+					JustBeforeEach(() -> {
+						store.setContent(entity, new ByteArrayInputStream("Hello world!".getBytes()));
+					});
+					It("should hold a single reference", () -> {
+						assertThat(storage.getReferences(HELLO_HASH), is(1L));
+					});
+				});
+			});
+			Context("given an entity whose content id is not a String", () -> {
+				JustBeforeEach(() -> {
+					try {
+						store.setContent(new UUIDEntity(), new ByteArrayInputStream("Hello world!".getBytes()));
+					} catch (Exception e) {
+						this.e = e;
+					}
+				});
+				It("should throw a StoreAccessException", () -> {
+					assertThat(e, is(instanceOf(StoreAccessException.class)));
+				});
+			});
+			Context("given an entity whose content id is also its id", () -> {
+				JustBeforeEach(() -> {
+					try {
+						store.setContent(new SharedIdEntity(), new ByteArrayInputStream("Hello world!".getBytes()));
+					} catch (Exception e) {
+						this.e = e;
+					}
+				});
+				It("should throw a StoreAccessException without storing the content", () -> {
+					assertThat(e, is(instanceOf(StoreAccessException.class)));
+					assertThat(new File(root, "c0").exists(), is(false));
+				});
+			});
+		});
+	}
+
+	public static class TestEntity {
+
+		@ContentId
+		private String contentId;
+
+		@ContentLength
+		private long contentLen;
+
+		public String getContentId() {
+			return contentId;
+		}
+
+		public void setContentId(String contentId) {
+			this.contentId = contentId;
+		}
+
+		public long getContentLen() {
+			return contentLen;
+		}
+
+		public void setContentLen(long contentLen) {
+			this.contentLen = contentLen;
+		}
+	}
+
+	public static class SharedIdEntity {
+
+		@Id
+		@ContentId
+		private String contentId;
+
+		public String getContentId() {
+			return contentId;
+		}
+
+		public void setContentId(String contentId) {
+			this.contentId = contentId;
+		}
+	}
+
+	public static class UUIDEntity {
+
+		@ContentId
+		private UUID contentId;
+
+		public UUID getContentId() {
+			return contentId;
+		}
+
+		public void setContentId(UUID contentId) {
+			this.contentId = contentId;
+		}
+	}
+}
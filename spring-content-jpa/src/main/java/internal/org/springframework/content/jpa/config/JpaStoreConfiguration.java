@@ -1,6 +1,8 @@
 package internal.org.springframework.content.jpa.config;
 
+import internal.org.springframework.content.jpa.io.H2BlobResource;
 import internal.org.springframework.content.jpa.io.MySQLBlobResource;
+import internal.org.springframework.content.jpa.io.PostgreSQLBlobResource;
 import internal.org.springframework.content.jpa.io.SQLServerBlobResource;
 import org.springframework.content.jpa.io.CustomizableBlobResourceLoader;
 import internal.org.springframework.content.jpa.io.DelegatingBlobResourceLoader;
@@ -37,6 +39,16 @@ public class JpaStoreConfiguration {
 		return new CustomizableBlobResourceLoader(new JdbcTemplate(ds), txnMgr, "MySQL", (l, t, txn) -> { return new MySQLBlobResource(l, t, txn); });
 	}
 
+	@Bean
+	public BlobResourceLoader h2BlobResourceLoader(DataSource ds, PlatformTransactionManager txnMgr) {
+		return new CustomizableBlobResourceLoader(new JdbcTemplate(ds), txnMgr, "H2", (l, t, txn) -> { return new H2BlobResource(l, t, txn); });
+	}
+
+	@Bean
+	public BlobResourceLoader postgresqlBlobResourceLoader(DataSource ds, PlatformTransactionManager txnMgr) {
+		return new CustomizableBlobResourceLoader(new JdbcTemplate(ds), txnMgr, "PostgreSQL", (l, t, txn) -> { return new PostgreSQLBlobResource(l, t, txn); });
+	}
+
 	@Bean
 	public BlobResourceLoader sqlServerBlobResourceLoader(DataSource ds, PlatformTransactionManager txnMgr) {
 		return new CustomizableBlobResourceLoader(new JdbcTemplate(ds), txnMgr, "Microsoft SQL Server", (l, t, txn) -> { return new SQLServerBlobResource(l, t, txn); });
@@ -0,0 +1,23 @@
+package internal.org.springframework.content.jpa.io;
+
+import org.springframework.content.jpa.io.AbstractBlobResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+public class H2BlobResource extends AbstractBlobResource {
+
+	public H2BlobResource(Object id, JdbcTemplate template, PlatformTransactionManager txnMgr) {
+		super(id, template, txnMgr);
+	}
+
+	@Override
+	protected String getUpsertSQL() {
+		return "MERGE INTO BLOBS (id,content) KEY (id) VALUES(?,?)";
+	}
+
+	@Override
+	protected String getUpsertWithMetadataSQL() {
+		return "MERGE INTO BLOBS (id,content,content_length,last_modified) KEY (id) "
+				+ "SELECT id, content, LENGTH(content), CURRENT_TIMESTAMP FROM (SELECT CAST(? AS VARCHAR) AS id, CAST(? AS BLOB) AS content)";
+	}
+}
@@ -11,7 +11,19 @@ public class MySQLBlobResource extends AbstractBlobResource {
 	}
 
 	@Override
-	protected String getSelectBlobSQL(Object id) {
-		return "SELECT id, 'content' as content FROM BLOBS WHERE id='" + id + "'";
+	protected String getSelectBlobSQL() {
+		return "SELECT id, 'content' as content FROM BLOBS WHERE id=?";
+	}
+
+	@Override
+	protected String getUpsertSQL() {
+		return "INSERT INTO BLOBS (id,content) VALUES(?,?) ON DUPLICATE KEY UPDATE content=VALUES(content)";
+	}
+
+	@Override
+	protected String getUpsertWithMetadataSQL() {
+		// a value may refer to a column set earlier in the same list
+		return "INSERT INTO BLOBS (id,content,content_length,last_modified) VALUES(?,?,OCTET_LENGTH(content),CURRENT_TIMESTAMP) "
+				+ "ON DUPLICATE KEY UPDATE content=VALUES(content), content_length=VALUES(content_length), last_modified=VALUES(last_modified)";
 	}
 }
@@ -0,0 +1,25 @@
+package internal.org.springframework.content.jpa.io;
+
+import org.springframework.content.jpa.io.AbstractBlobResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+public class PostgreSQLBlobResource extends AbstractBlobResource {
+
+	public PostgreSQLBlobResource(Object id, JdbcTemplate template, PlatformTransactionManager txnMgr) {
+		super(id, template, txnMgr);
+	}
+
+	@Override
+	protected String getUpsertSQL() {
+		return "INSERT INTO BLOBS (id,content) VALUES(?,?) ON CONFLICT (id) DO UPDATE SET content=EXCLUDED.content";
+	}
+
+	@Override
+	protected String getUpsertWithMetadataSQL() {
+		// the content is a large object whose size is the offset of its end, 262144 opens it for reading
+		return "INSERT INTO BLOBS (id,content,content_length,last_modified) "
+				+ "SELECT v.id, v.content, lo_lseek64(lo_open(v.content, 262144), 0, 2), CURRENT_TIMESTAMP FROM (VALUES(CAST(? AS VARCHAR), CAST(? AS OID))) AS v (id, content) "
+				+ "ON CONFLICT (id) DO UPDATE SET content=EXCLUDED.content, content_length=EXCLUDED.content_length, last_modified=EXCLUDED.last_modified";
+	}
+}
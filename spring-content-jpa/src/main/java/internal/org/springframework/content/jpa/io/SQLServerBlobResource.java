@@ -12,9 +12,9 @@ import javax.sql.DataSource;
 import java.io.IOException;
 import java.io.InputStream;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
 
 import static java.lang.String.format;
 
@@ -30,7 +30,7 @@ public class SQLServerBlobResource extends AbstractBlobResource {
 	public InputStream getInputStream() throws IOException {
 		final Object id = getId();
 
-		String sql = getSelectBlobSQL(getId());
+		String sql = getSelectBlobSQL();
 
 		DataSource ds = getTemplate().getDataSource();
 		Connection conn = DataSourceUtils.getConnection(ds);
@@ -40,16 +40,17 @@ public class SQLServerBlobResource extends AbstractBlobResource {
 			logger.error(format("setting autocommit to false whilst getting content %s", id), e);
 		}
 		InputStream is = null;
-		Statement stmt = null;
+		PreparedStatement stmt = null;
 		ResultSet rs = null;
 		try {
-			stmt = conn.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_UPDATABLE);
+			stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_UPDATABLE);
+			stmt.setString(1, id.toString());
 
 			if (stmt.isWrapperFor(com.microsoft.sqlserver.jdbc.SQLServerStatement.class)) {
 				SQLServerStatement SQLstmt = stmt.unwrap(com.microsoft.sqlserver.jdbc.SQLServerStatement.class);
 				SQLstmt.setResponseBuffering("adaptive");
 			}
-			rs = stmt.executeQuery(sql);
+			rs = stmt.executeQuery();
 
 			if (!rs.next())
 				return null;
@@ -60,4 +61,18 @@ public class SQLServerBlobResource extends AbstractBlobResource {
 		}
 		return new ClosingInputStream(id, is, rs, stmt, conn, ds);
 	}
+
+	@Override
+	protected String getUpsertSQL() {
+		return "MERGE INTO BLOBS AS target USING (SELECT ? AS id, ? AS content) AS source ON target.id = source.id "
+				+ "WHEN MATCHED THEN UPDATE SET target.content = source.content "
+				+ "WHEN NOT MATCHED THEN INSERT (id,content) VALUES(source.id, source.content);";
+	}
+
+	@Override
+	protected String getUpsertWithMetadataSQL() {
+		return "MERGE INTO BLOBS AS target USING (SELECT ? AS id, ? AS content) AS source ON target.id = source.id "
+				+ "WHEN MATCHED THEN UPDATE SET target.content = source.content, target.content_length = DATALENGTH(source.content), target.last_modified = SYSDATETIME() "
+				+ "WHEN NOT MATCHED THEN INSERT (id,content,content_length,last_modified) VALUES(source.id, source.content, DATALENGTH(source.content), SYSDATETIME());";
+	}
 }
@@ -12,6 +12,7 @@ import org.springframework.content.commons.repository.Store;
 import org.springframework.content.commons.repository.StoreAccessException;
 import org.springframework.content.commons.utils.BeanUtils;
 import org.springframework.content.commons.utils.Condition;
+import org.springframework.content.jpa.io.AbstractBlobResource;
 import org.springframework.content.jpa.io.BlobResource;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.convert.TypeDescriptor;
@@ -110,9 +111,15 @@ public class DefaultJpaStoreImpl<S, SID extends Serializable>
 		OutputStream os = null;
 		long contentLen = -1L;
 		try {
-			if (resource instanceof WritableResource) {
+			if (resource instanceof AbstractBlobResource) {
+				// stream straight into the database on this thread
+				contentLen = ((AbstractBlobResource) resource).write(content);
+			}
+			else if (resource instanceof WritableResource) {
 				os = ((WritableResource) resource).getOutputStream();
 				contentLen = IOUtils.copyLarge(content, os);
+				// closing waits for the content to be committed
+				os.close();
 			}
 		}
 		catch (IOException e) {
@@ -124,8 +131,6 @@ public class DefaultJpaStoreImpl<S, SID extends Serializable>
 			IOUtils.closeQuietly(os);
 		}
 
-		waitForCommit((BlobResource) resource);
-
 		BeanUtils.setFieldWithAnnotation(entity, ContentId.class,
 				((BlobResource) resource).getId());
 		BeanUtils.setFieldWithAnnotation(entity, ContentLength.class, contentLen);
@@ -133,12 +138,6 @@ public class DefaultJpaStoreImpl<S, SID extends Serializable>
 		return;
 	}
 
-	private void waitForCommit(BlobResource resource) {
-		synchronized (resource) {
-			return;
-		}
-	}
-
 	@Override
 	public void unsetContent(S metadata) {
 		Object id = BeanUtils.getFieldWithAnnotation(metadata, ContentId.class);
@@ -1,26 +1,38 @@
 package org.springframework.content.jpa.io;
 
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.CountingInputStream;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.springframework.content.commons.io.DelegatingInputStream;
+import org.springframework.content.commons.io.DelegatingOutputStream;
 import org.springframework.core.io.Resource;
 import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.core.PreparedStatementCallback;
-import org.springframework.jdbc.core.PreparedStatementCreator;
 import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.support.TransactionCallback;
 import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentReferenceHashMap;
 
 import javax.sql.DataSource;
 import java.io.*;
 import java.net.URI;
 import java.net.URL;
 import java.sql.*;
-import java.util.concurrent.CountDownLatch;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import static java.lang.String.format;
 
@@ -28,10 +40,34 @@ public abstract class AbstractBlobResource implements BlobResource {
 
 	private static Log logger = LogFactory.getLog(AbstractBlobResource.class);
 
+	public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+	// writes queued beyond this are rejected rather than each holding a pipe and the
+	// caller's stream open while they wait
+	private static final int DEFAULT_QUEUE_CAPACITY = 256;
+
+	private static final Executor DEFAULT_EXECUTOR = createDefaultExecutor();
+
+	private static final String EXISTS_SQL = "SELECT COUNT(id) FROM BLOBS WHERE id=?";
+	private static final String UPDATE_SQL = "UPDATE BLOBS SET content=? WHERE id=?";
+	private static final String INSERT_SQL = "INSERT INTO BLOBS (id,content) VALUES(?,?)";
+	private static final String DELETE_SQL = "DELETE FROM BLOBS WHERE id=?";
+
+	private static final String UPDATE_METADATA_SQL = "UPDATE BLOBS SET content_length=?, last_modified=? WHERE id=?";
+	private static final String SELECT_CONTENT_LENGTH_SQL = "SELECT content_length FROM BLOBS WHERE id=?";
+	private static final String SELECT_LAST_MODIFIED_SQL = "SELECT last_modified FROM BLOBS WHERE id=?";
+
+	// the data sources whose BLOBS table has the content_length and last_modified
+	// columns, which tables created by earlier versions do not
+	private static final Map<DataSource, Boolean> metadataColumns = new ConcurrentReferenceHashMap<>();
+
 	private Object id;
 	private JdbcTemplate template;
 	private PlatformTransactionManager txnMgr;
 
+	private int bufferSize = DEFAULT_BUFFER_SIZE;
+	private Executor executor = DEFAULT_EXECUTOR;
+
 	public AbstractBlobResource(Object id, JdbcTemplate template,
 			PlatformTransactionManager txnMgr) {
 		this.id = id;
@@ -60,132 +96,173 @@ public abstract class AbstractBlobResource implements BlobResource {
 		return true;
 	}
 
+	/**
+	 * Sets the size of the buffer used to hand content written to
+	 * {@link #getOutputStream()} to the database.
+	 *
+	 * @param bufferSize the buffer size in bytes
+	 */
+	public void setBufferSize(int bufferSize) {
+		Assert.isTrue(bufferSize > 0, "bufferSize must be greater than 0");
+		this.bufferSize = bufferSize;
+	}
+
+	/**
+	 * Sets the executor used to write content written to {@link #getOutputStream()}
+	 * to the database.  Defaults to a shared, bounded pool.  Writes the executor rejects
+	 * fail with an {@link IOException} from {@link #getOutputStream()}.
+	 *
+	 * @param executor the executor
+	 */
+	public void setExecutor(Executor executor) {
+		Assert.notNull(executor, "executor must not be null");
+		this.executor = executor;
+	}
+
+	/**
+	 * Writes the given content to the database on the calling thread.
+	 *
+	 * @param content the content to write
+	 * @return the number of bytes written
+	 * @throws IOException if the content could not be written
+	 */
+	public long write(InputStream content) throws IOException {
+		TransactionTemplate txn = new TransactionTemplate(txnMgr);
+		CountingInputStream counter = new CountingInputStream(content);
+		try {
+			Object rc = update(txn, counter, this.id, this);
+			if (rc != null && !rc.equals(-1)) {
+				this.setId(rc);
+			}
+		}
+		catch (SQLException | DataAccessException e) {
+			throw new IOException(format("updating resource %s", getFilename()), e);
+		}
+		return counter.getByteCount();
+	}
+
 	@Override
 	public OutputStream getOutputStream() throws IOException {
 		final Object id = this.id;
 		final AbstractBlobResource resource = this;
 		TransactionTemplate txn = new TransactionTemplate(txnMgr);
 
-		final PipedInputStream is = new PipedInputStream();
-		OutputStream synchronizedOutputStream = new PipedOutputStream(is) {
-			@Override
-			public void write(int b) throws IOException {
-				super.write(b);
-			}
+		final PipedInputStream is = new PipedInputStream(bufferSize);
+		final PipedOutputStream os = new PipedOutputStream(is);
 
-			@Override
-			public void close() throws IOException {
-				super.close();
-
-				synchronized (resource) {
-					return;
-				}
-			}
-		};
-
-		CountDownLatch latch = new CountDownLatch(1);
-		Thread t = new Thread(() -> {
-			synchronized (resource) {
-				latch.countDown();
+		CompletableFuture<Object> completion = new CompletableFuture<>();
+		try {
+			executor.execute(() -> {
 				try {
 					Object rc = update(txn, is, id, resource);
 					// TODO: remove - no longer required
 					if (rc != null && !rc.equals(-1)) {
 						resource.setId(rc);
 					}
+					completion.complete(rc);
 				}
-				catch (SQLException e) {
-					logger.error(
-							String.format("updating resource %s", resource.getFilename()),
-							e);
+				catch (Throwable t) {
+					logger.error(String.format("updating resource %s", resource.getFilename()), t);
+					completion.completeExceptionally(t);
 				}
-			}
-		});
-		t.start();
-
-		try {
-			latch.await();
+				finally {
+					// unblocks the writer should the update fail before consuming all content
+					IOUtils.closeQuietly(is);
+				}
+			});
 		}
-		catch (InterruptedException e) {
-			logger.warn(String.format("waiting for countdown latch for resource %s",
-					resource.getFilename()), e);
+		catch (RejectedExecutionException ree) {
+			IOUtils.closeQuietly(os);
+			IOUtils.closeQuietly(is);
+			throw new IOException(format("rejected update of resource %s", resource.getFilename()), ree);
 		}
 
-		return synchronizedOutputStream;
+		return new BlobOutputStream(os, completion);
 	}
 
 	private Object update(TransactionTemplate txn, InputStream fin, Object id,
 			AbstractBlobResource resource) throws SQLException {
-		final Object rid = this.id;
 		return txn.execute(new TransactionCallback<String>() {
 			@Override
 			public String doInTransaction(TransactionStatus transactionStatus) {
-				String rc = null;
-				if (exists()) {
-					String sql = "UPDATE BLOBS SET content=? WHERE id=?";
-					rc = template.execute(sql, new PreparedStatementCallback<String>() {
-						@Override
-						public String doInPreparedStatement(PreparedStatement ps)
-								throws SQLException, DataAccessException {
-							// mark the resource as being updated
-							resource.setId(-1);
-
-							ps.setBlob(1, fin);
+				CountingInputStream content = new CountingInputStream(fin);
+				boolean hasMetadataColumns = hasMetadataColumns();
+				boolean metadataWritten = false;
+				try {
+					String upsert = hasMetadataColumns ? getUpsertWithMetadataSQL() : null;
+					if (upsert != null) {
+						metadataWritten = true;
+					}
+					else {
+						upsert = getUpsertSQL();
+					}
+					if (upsert != null) {
+						template.update(upsert, ps -> {
+							ps.setString(1, id.toString());
+							ps.setBlob(2, content);
+						});
+					}
+					else if (exists()) {
+						template.update(UPDATE_SQL, ps -> {
+							ps.setBlob(1, content);
 							ps.setString(2, id.toString());
-							ps.executeUpdate();
-							IOUtils.closeQuietly(fin);
-							return id.toString();
-						}
-					});
+						});
+					}
+					else {
+						template.update(INSERT_SQL, ps -> {
+							ps.setString(1, id.toString());
+							ps.setBlob(2, content);
+						});
+					}
+				}
+				finally {
+					IOUtils.closeQuietly(content);
 				}
-				else {
-					String sql = "INSERT INTO BLOBS (id,content) VALUES(?,?)";
-					rc = template.execute(new PreparedStatementCreator() {
-						@Override
-						public PreparedStatement createPreparedStatement(Connection con)
-								throws SQLException {
-							return con.prepareStatement(sql,
-									Statement.RETURN_GENERATED_KEYS);
-						}
-					}, new PreparedStatementCallback<String>() {
-						@Override
-						public String doInPreparedStatement(PreparedStatement ps)
-								throws SQLException, DataAccessException {
-							ResultSet set = null;
-							try {
-								ps.setString(1, rid.toString());
-								ps.setBlob(2, fin);
-								ps.executeUpdate();
-								IOUtils.closeQuietly(fin);
-								return rid.toString();
-							}
-							catch (SQLException sqle) {
-								logger.error("inserting content", sqle);
-							}
-							finally {
-								if (set != null) {
-									try {
-										set.close();
-									}
-									catch (SQLException e) {
-										logger.error("closing insert content set", e);
-									}
-								}
-							}
-							return null;
-						}
 
-					});
+				// without a statement that derives the length from the content itself, the
+				// length is only known once the content has been streamed
+				if (hasMetadataColumns && !metadataWritten) {
+					template.update(UPDATE_METADATA_SQL, content.getByteCount(),
+							new Timestamp(System.currentTimeMillis()), id.toString());
 				}
-				return rc;
+				return id.toString();
 			}
 		});
 	}
 
+	/**
+	 * Returns the statement that inserts a blob, or replaces its content if it exists, in
+	 * one statement rather than a query followed by an insert or update.  The statement
+	 * takes the id as its first parameter and the content as its second.
+	 *
+	 * The statement only writes the content.  It is used for BLOBS tables without the
+	 * content_length and last_modified columns, or when the database has no
+	 * {@link #getUpsertWithMetadataSQL() statement} that also sets them.
+	 *
+	 * @return the statement, or null if the database has no such statement in which case
+	 * the blob is updated or inserted depending on whether it exists
+	 */
+	protected String getUpsertSQL() {
+		return null;
+	}
+
+	/**
+	 * Returns the statement that inserts a blob, or replaces its content if it exists, and
+	 * also sets its content_length, computed by the database from the content, and its
+	 * last_modified time.  The statement takes the id as its first parameter and the
+	 * content as its second.
+	 *
+	 * @return the statement, or null if the database has no such statement in which case
+	 * the content is written by {@link #getUpsertSQL()} and its metadata by a second
+	 * statement in the same transaction
+	 */
+	protected String getUpsertWithMetadataSQL() {
+		return null;
+	}
+
 	@Override
 	public boolean exists() {
-		String sql = "SELECT COUNT(id) FROM BLOBS WHERE id='" + this.id + "'";
-		return this.template.query(sql, new ResultSetExtractor<Boolean>() {
+		return this.template.query(EXISTS_SQL, new ResultSetExtractor<Boolean>() {
 			@Override
 			public Boolean extractData(ResultSet rs)
 					throws SQLException, DataAccessException {
@@ -197,7 +274,7 @@ public abstract class AbstractBlobResource implements BlobResource {
 					return false;
 				}
 			}
-		});
+		}, getId().toString());
 	}
 
 	@Override
@@ -227,12 +304,81 @@ public abstract class AbstractBlobResource implements BlobResource {
 
 	@Override
 	public long contentLength() throws IOException {
-		return 0;
+		if (!hasMetadataColumns()) {
+			return 0;
+		}
+		return this.template.query(SELECT_CONTENT_LENGTH_SQL,
+				(ResultSetExtractor<Long>) rs -> rs.next() ? rs.getLong(1) : 0L,
+				getId().toString());
 	}
 
 	@Override
 	public long lastModified() throws IOException {
-		return 0;
+		if (!hasMetadataColumns()) {
+			return 0;
+		}
+		return this.template.query(SELECT_LAST_MODIFIED_SQL, (ResultSetExtractor<Long>) rs -> {
+			Timestamp lastModified = rs.next() ? rs.getTimestamp(1) : null;
+			return lastModified != null ? lastModified.getTime() : 0L;
+		}, getId().toString());
+	}
+
+	/**
+	 * Returns true if the BLOBS table stores the length and last modified time of each
+	 * blob.  Only a table found to have the columns is remembered, so a table that is
+	 * migrated, or that could not be inspected, is probed again.
+	 */
+	protected boolean hasMetadataColumns() {
+		DataSource ds = this.template.getDataSource();
+		if (metadataColumns.containsKey(ds)) {
+			return true;
+		}
+
+		boolean hasColumns;
+		try {
+			hasColumns = this.template.execute((ConnectionCallback<Boolean>) con -> {
+				DatabaseMetaData metaData = con.getMetaData();
+				String catalog = con.getCatalog();
+				String schema = schema(con);
+				return hasColumn(metaData, catalog, schema, "CONTENT_LENGTH")
+						&& hasColumn(metaData, catalog, schema, "LAST_MODIFIED");
+			});
+		}
+		catch (DataAccessException e) {
+			logger.debug("Error fetching BLOBS table columns", e);
+			hasColumns = false;
+		}
+		if (hasColumns) {
+			metadataColumns.put(ds, Boolean.TRUE);
+		}
+		return hasColumns;
+	}
+
+	private static String schema(Connection con) {
+		try {
+			return con.getSchema();
+		}
+		catch (SQLException | AbstractMethodError e) {
+			// drivers that predate JDBC 4.1
+			return null;
+		}
+	}
+
+	private static boolean hasColumn(DatabaseMetaData metaData, String catalog, String schema, String column) throws SQLException {
+		if (metaData == null) {
+			return false;
+		}
+		// databases differ in the case they store unquoted identifiers in
+		for (String table : new String[] { "BLOBS", "blobs" }) {
+			for (String name : new String[] { column, column.toLowerCase() }) {
+				try (ResultSet rs = metaData.getColumns(catalog, schema, table, name)) {
+					if (rs != null && rs.next()) {
+						return true;
+					}
+				}
+			}
+		}
+		return false;
 	}
 
 	@Override
@@ -254,7 +400,7 @@ public abstract class AbstractBlobResource implements BlobResource {
 	public InputStream getInputStream() throws IOException {
 		final Object id = this.id;
 
-		String sql = getSelectBlobSQL(this.id);
+		String sql = getSelectBlobSQL();
 
 		DataSource ds = this.template.getDataSource();
 		Connection conn = DataSourceUtils.getConnection(ds);
@@ -264,11 +410,12 @@ public abstract class AbstractBlobResource implements BlobResource {
 			logger.error(format("getting content %s", id), e);
 		}
 		InputStream is = null;
-		Statement stmt = null;
+		PreparedStatement stmt = null;
 		ResultSet rs = null;
 		try {
-			stmt = conn.createStatement();
-			rs = stmt.executeQuery(sql);
+			stmt = conn.prepareStatement(sql);
+			stmt.setString(1, id.toString());
+			rs = stmt.executeQuery();
 			if (!rs.next())
 				return null;
 			Blob b = rs.getBlob(2);
@@ -282,20 +429,64 @@ public abstract class AbstractBlobResource implements BlobResource {
 
 	@Override
 	public void delete() throws IOException {
-		final Object id = this.id;
-		String sql = "DELETE FROM BLOBS WHERE id='" + this.id + "'";
-		this.template.update(sql);
+		this.template.update(DELETE_SQL, getId().toString());
 	}
 
+	/**
+	 * Returns the query that selects a blob's id and content, taking the id as its only
+	 * parameter.
+	 */
+	protected String getSelectBlobSQL() {
+		return "SELECT id, content FROM BLOBS WHERE id=?";
+	}
+
+	private static Executor createDefaultExecutor() {
+		int threads = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("blob-resource-writer-");
+		threadFactory.setDaemon(true);
+
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new ArrayBlockingQueue<>(DEFAULT_QUEUE_CAPACITY), threadFactory);
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	/**
+	 * Output stream handed out by {@link #getOutputStream()}.  Closing the stream waits
+	 * for the content to be committed to the database and reports any failure.
+	 */
+	private static class BlobOutputStream extends DelegatingOutputStream {
+
+		private final CompletableFuture<Object> completion;
+
+		BlobOutputStream(OutputStream out, CompletableFuture<Object> completion) {
+			super(out);
+			this.completion = completion;
+		}
 
-	protected String getSelectBlobSQL(Object id) {
-		return "SELECT id, content FROM BLOBS WHERE id='" + id + "'";
+		@Override
+		public void close() throws IOException {
+			try {
+				out.close();
+			}
+			finally {
+				try {
+					completion.get();
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new InterruptedIOException("interrupted waiting for content to be committed");
+				}
+				catch (ExecutionException e) {
+					throw new IOException("committing content", e.getCause());
+				}
+			}
+		}
 	}
 
-	public class ClosingInputStream extends InputStream {
+	public class ClosingInputStream extends DelegatingInputStream {
 
 		private Object id;
-		private InputStream actual;
 		private ResultSet rs;
 		private Statement stmt;
 		private Connection conn;
@@ -303,19 +494,14 @@ public abstract class AbstractBlobResource implements BlobResource {
 
 		public ClosingInputStream(Object id, InputStream actual, ResultSet rs,
 				Statement stmt, Connection conn, DataSource ds) {
+			super(actual);
 			this.id = id;
-			this.actual = actual;
 			this.rs = rs;
 			this.stmt = stmt;
 			this.conn = conn;
 			this.ds = ds;
 		}
 
-		@Override
-		public int read() throws IOException {
-			return actual.read();
-		}
-
 		@Override
 		public void close() {
 			try {
@@ -328,7 +514,7 @@ public abstract class AbstractBlobResource implements BlobResource {
 							}
 							finally {
 								try {
-									actual.close();
+									in.close();
 								}
 								catch (IOException e) {
 									logger.debug(format("closing content stream %s", id),
@@ -8,7 +8,7 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.util.ClassUtils;
 
-import java.util.function.Function;
+import java.util.concurrent.Executor;
 
 public class CustomizableBlobResourceLoader implements BlobResourceLoader {
 
@@ -17,6 +17,9 @@ public class CustomizableBlobResourceLoader implements BlobResourceLoader {
 	private String databaseName;
 	private ResourceProvider resourceProvider;
 
+	private int bufferSize = AbstractBlobResource.DEFAULT_BUFFER_SIZE;
+	private Executor executor;
+
 	public CustomizableBlobResourceLoader(JdbcTemplate template, PlatformTransactionManager txnMgr) {
 		this.template = template;
 		this.txnMgr = txnMgr;
@@ -36,9 +39,24 @@ public class CustomizableBlobResourceLoader implements BlobResourceLoader {
 		return databaseName;
 	}
 
+	public void setBufferSize(int bufferSize) {
+		this.bufferSize = bufferSize;
+	}
+
+	public void setExecutor(Executor executor) {
+		this.executor = executor;
+	}
+
 	@Override
 	public Resource getResource(String location) {
-		return resourceProvider.getResource(location, template, txnMgr);
+		Resource resource = resourceProvider.getResource(location, template, txnMgr);
+		if (resource instanceof AbstractBlobResource) {
+			((AbstractBlobResource) resource).setBufferSize(bufferSize);
+			if (executor != null) {
+				((AbstractBlobResource) resource).setExecutor(executor);
+			}
+		}
+		return resource;
 	}
 
 	@Override
@@ -1,2 +1,2 @@
-CREATE TABLE BLOBS (id INTEGER GENERATED BY DEFAULT AS IDENTITY (START WITH 1), content BLOB, PRIMARY KEY ( id ))
+CREATE TABLE BLOBS (id INTEGER GENERATED BY DEFAULT AS IDENTITY (START WITH 1), content BLOB, content_length BIGINT, last_modified TIMESTAMP, PRIMARY KEY ( id ))
 ALTER TABLE BLOBS ALTER COLUMN id VARCHAR(36)
\ No newline at end of file
@@ -1,5 +1,7 @@
 CREATE TABLE IF NOT EXISTS BLOBS (
 	id SERIAL PRIMARY KEY,
-	content oid
+	content oid,
+	content_length bigint,
+	last_modified timestamp
 );
 ALTER TABLE BLOBS ALTER COLUMN id TYPE VARCHAR(36)
@@ -1,2 +1,2 @@
-IF NOT EXISTS (SELECT * FROM sysobjects WHERE name='BLOBS' AND xtype='U') CREATE TABLE BLOBS ( id VARCHAR(36) NOT NULL, content varBinary(MAX) );
+IF NOT EXISTS (SELECT * FROM sysobjects WHERE name='BLOBS' AND xtype='U') CREATE TABLE BLOBS ( id VARCHAR(36) NOT NULL, content varBinary(MAX), content_length bigint, last_modified datetime2 );
 ALTER TABLE BLOBS ADD CONSTRAINT pk_id PRIMARY KEY (id);
@@ -5,31 +5,50 @@ import org.apache.commons.io.IOUtils;
 import org.junit.runner.RunWith;
 import org.springframework.content.jpa.io.AbstractBlobResource;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
 import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
 import org.springframework.transaction.PlatformTransactionManager;
 
 import javax.sql.DataSource;
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.sql.Blob;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
-import java.sql.Statement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.core.IsInstanceOf.instanceOf;
-import static org.mockito.ArgumentMatchers.anyInt;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Matchers.anyObject;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.hamcrest.MockitoHamcrest.argThat;
@@ -45,7 +64,6 @@ public class GenericBlobResourceTest {
 
 	private DataSource ds;
 	private Connection conn;
-	private Statement statement;
 	private PreparedStatement preparedStatement;
 	private ResultSet rs;
 
@@ -53,6 +71,8 @@ public class GenericBlobResourceTest {
 
 	private Object result;
 
+	private EmbeddedDatabase db;
+
 	{
 		Describe("GenericBlobResource", () -> {
 			BeforeEach(() -> {
@@ -63,14 +83,15 @@ public class GenericBlobResourceTest {
 			Context("#exists", () -> {
 				BeforeEach(() -> {
 					conn = mock(Connection.class);
-					statement = mock(Statement.class);
+					preparedStatement = mock(PreparedStatement.class);
 					rs = mock(ResultSet.class);
 
 					when(ds.getConnection()).thenReturn(conn);
-					when(conn.createStatement()).thenReturn(statement);
-					when(statement.executeQuery(anyObject())).thenReturn(rs);
+					when(conn.prepareStatement(anyString())).thenReturn(preparedStatement);
+					when(preparedStatement.executeQuery()).thenReturn(rs);
 				});
 				JustBeforeEach(() -> {
+					id = "999";
 					resource = new GenericBlobResource(id, template, txnMgr);
 					result = resource.exists();
 				});
@@ -82,6 +103,10 @@ public class GenericBlobResourceTest {
 					It("should return true", () -> {
 						assertThat(result, is(true));
 					});
+					It("should query the blob by parameter", () -> {
+						verify(conn).prepareStatement("SELECT COUNT(id) FROM BLOBS WHERE id=?");
+						verify(preparedStatement).setString(1, "999");
+					});
 				});
 				Context("given the blob does not exist in the database", () -> {
 					BeforeEach(() -> {
@@ -104,14 +129,15 @@ public class GenericBlobResourceTest {
 			Context("#getInputStream", () -> {
 				BeforeEach(() -> {
 					conn = mock(Connection.class);
-					statement = mock(Statement.class);
+					preparedStatement = mock(PreparedStatement.class);
 					rs = mock(ResultSet.class);
 
 					when(ds.getConnection()).thenReturn(conn);
-					when(conn.createStatement()).thenReturn(statement);
-					when(statement.executeQuery(anyObject())).thenReturn(rs);
+					when(conn.prepareStatement(anyString())).thenReturn(preparedStatement);
+					when(preparedStatement.executeQuery()).thenReturn(rs);
 				});
 				JustBeforeEach(() -> {
+					id = "999";
 					resource = new GenericBlobResource(id, template, txnMgr);
 					result = resource.getInputStream();
 				});
@@ -152,15 +178,66 @@ public class GenericBlobResourceTest {
 					});
 				});
 			});
+			Context("#write", () -> {
+				BeforeEach(() -> {
+					conn = mock(Connection.class);
+					preparedStatement = mock(PreparedStatement.class);
+					rs = mock(ResultSet.class);
+
+					when(ds.getConnection()).thenReturn(conn);
+					when(conn.prepareStatement(anyString())).thenReturn(preparedStatement);
+					when(preparedStatement.executeQuery()).thenReturn(rs);
+
+					// exists
+					when(rs.next()).thenReturn(true);
+					when(rs.getInt(1)).thenReturn(1);
+
+					// update
+					doAnswer((invocation) -> {
+						IOUtils.toByteArray((InputStream) invocation.getArgument(1));
+						return null;
+					}).when(preparedStatement).setBlob(eq(1), any(InputStream.class));
+				});
+				JustBeforeEach(() -> {
+					id = "999";
+					resource = new GenericBlobResource(id, template, txnMgr);
+					result = resource.write(new ByteArrayInputStream("Hello Spring Content JPA World!".getBytes()));
+				});
+				It("should update the content on the calling thread", () -> {
+					verify(conn).prepareStatement(argThat(containsString("UPDATE BLOBS")));
+					verify(preparedStatement).setString(2, "999");
+					verify(preparedStatement).executeUpdate();
+				});
+				It("should return the number of bytes written", () -> {
+					assertThat(result, is(31L));
+				});
+			});
+			Context("given the executor rejects the update", () -> {
+				BeforeEach(() -> {
+					resource = new GenericBlobResource("999", template, txnMgr);
+					resource.setExecutor(command -> {
+						throw new RejectedExecutionException("saturated");
+					});
+				});
+				It("should fail to get an output stream", () -> {
+					try {
+						resource.getOutputStream();
+						fail("expected IOException");
+					}
+					catch (IOException ioe) {
+						assertThat(ioe.getMessage(), containsString("rejected"));
+					}
+				});
+			});
 			Context("#getOutputStream", () -> {
 				BeforeEach(() -> {
 					conn = mock(Connection.class);
-					statement = mock(Statement.class);
+					preparedStatement = mock(PreparedStatement.class);
 					rs = mock(ResultSet.class);
 
 					when(ds.getConnection()).thenReturn(conn);
-					when(conn.createStatement()).thenReturn(statement);
-					when(statement.executeQuery(anyObject())).thenReturn(rs);
+					when(conn.prepareStatement(anyString())).thenReturn(preparedStatement);
+					when(preparedStatement.executeQuery()).thenReturn(rs);
 				});
 				JustBeforeEach(() -> {
 					id = "999";
@@ -176,10 +253,6 @@ public class GenericBlobResourceTest {
 						in = new ByteArrayInputStream(
 								"Hello Spring Content JPA PostreSQL World!".getBytes());
 
-						// update
-						preparedStatement = mock(PreparedStatement.class);
-						when(conn.prepareStatement(anyString()))
-								.thenReturn(preparedStatement);
 					});
 					JustBeforeEach(() -> {
 						IOUtils.copy(in, (OutputStream) result);
@@ -205,15 +278,6 @@ public class GenericBlobResourceTest {
 						in = new ByteArrayInputStream(
 								"Hello Spring Content JPA PostgreSQL World!".getBytes());
 
-						// insert
-						preparedStatement = mock(PreparedStatement.class);
-						when(conn.prepareStatement(anyString(), anyInt()))
-								.thenReturn(preparedStatement);
-
-						// generated keys
-						ResultSet generatedKeys = mock(ResultSet.class);
-						when(preparedStatement.getGeneratedKeys())
-								.thenReturn(generatedKeys);
 					});
 					JustBeforeEach(() -> {
 						IOUtils.copy(in, (OutputStream) result);
@@ -223,9 +287,8 @@ public class GenericBlobResourceTest {
 					});
 					It("should use insert to add the content", () -> {
 						verify(conn, timeout(100)).prepareStatement(
-								argThat(containsString("INSERT INTO BLOBS")),
-								eq(Statement.RETURN_GENERATED_KEYS));
-						verify(preparedStatement, timeout(100)).setString(eq(1),argThat(is("999")));
+								argThat(containsString("INSERT INTO BLOBS")));
+						verify(preparedStatement, timeout(100).times(2)).setString(eq(1),argThat(is("999")));
 						verify(preparedStatement, timeout(100)).setBlob(eq(2),(InputStream)argThat(is(instanceOf(InputStream.class))));
 						verify(preparedStatement, timeout(100)).executeUpdate();
 
@@ -239,7 +302,223 @@ public class GenericBlobResourceTest {
 								assertThat(resource.getId(), is("999"));
 							});
 				});
+				Context("given the update fails", () -> {
+					BeforeEach(() -> {
+						// exists
+						when(rs.next()).thenReturn(true);
+						when(rs.getInt(1)).thenReturn(1);
+
+						// update
+						when(preparedStatement.executeUpdate()).thenThrow(new SQLException("update-failed"));
+					});
+					It("should report the failure when the stream is closed", () -> {
+						OutputStream out = (OutputStream) result;
+						IOUtils.write("Hello Spring Content JPA World!".getBytes(), out);
+						try {
+							out.close();
+							fail("expected IOException");
+						}
+						catch (IOException ioe) {
+							assertThat(ioe.getMessage(), containsString("committing content"));
+						}
+					});
+				});
+			});
+		});
+
+		Describe("GenericBlobResource against an embedded database", () -> {
+			BeforeEach(() -> {
+				db = new EmbeddedDatabaseBuilder()
+						.setType(EmbeddedDatabaseType.HSQL)
+						.generateUniqueName(true)
+						.addScript("org/springframework/content/jpa/schema-hsqldb.sql")
+						.build();
+				template = new JdbcTemplate(db);
+				txnMgr = new DataSourceTransactionManager(db);
+			});
+			AfterEach(() -> {
+				db.shutdown();
+			});
+			Context("given concurrent writers", () -> {
+				It("should store each writer's content", () -> {
+					int writers = 32;
+					ExecutorService pool = Executors.newFixedThreadPool(8);
+					try {
+						List<Future<?>> futures = new ArrayList<>();
+						for (int i = 0; i < writers; i++) {
+							final String blobId = "blob-" + i;
+							final byte[] content = content(i);
+							final boolean direct = (i % 2 == 0);
+							futures.add(pool.submit(() -> {
+								GenericBlobResource r = new GenericBlobResource(blobId, template, txnMgr);
+								if (direct) {
+									assertThat(r.write(new ByteArrayInputStream(content)), is((long) content.length));
+								}
+								else {
+									try (OutputStream out = r.getOutputStream()) {
+										out.write(content);
+									}
+								}
+								return null;
+							}));
+						}
+						for (Future<?> future : futures) {
+							future.get(30, TimeUnit.SECONDS);
+						}
+					}
+					finally {
+						pool.shutdownNow();
+					}
+
+					for (int i = 0; i < writers; i++) {
+						GenericBlobResource r = new GenericBlobResource("blob-" + i, template, txnMgr);
+						assertThat(r.exists(), is(true));
+						try (InputStream actual = r.getInputStream()) {
+							assertThat(IOUtils.toByteArray(actual), is(content(i)));
+						}
+					}
+				});
+			});
+		});
+
+		Describe("BlobResources against an embedded H2 database", () -> {
+			BeforeEach(() -> {
+				db = new EmbeddedDatabaseBuilder()
+						.setType(EmbeddedDatabaseType.H2)
+						.generateUniqueName(true)
+						.addScript("org/springframework/content/jpa/schema-h2.sql")
+						.build();
+				template = new JdbcTemplate(db);
+				txnMgr = new DataSourceTransactionManager(db);
+			});
+			AfterEach(() -> {
+				db.shutdown();
+			});
+			Context("given a blob written through the H2 upsert", () -> {
+				BeforeEach(() -> {
+					id = "some-id";
+					new H2BlobResource(id, template, txnMgr).write(bytes("Hello Spring Content JPA World!"));
+				});
+				It("should store the content and its metadata", () -> {
+					H2BlobResource r = new H2BlobResource(id, template, txnMgr);
+					assertThat(r.exists(), is(true));
+					assertThat(r.contentLength(), is(31L));
+					assertThat(r.lastModified(), is(greaterThan(0L)));
+					try (InputStream actual = r.getInputStream()) {
+						assertThat(IOUtils.toString(actual, StandardCharsets.UTF_8), is("Hello Spring Content JPA World!"));
+					}
+				});
+				It("should write the content and its metadata in one statement", () -> {
+					JdbcTemplate spy = spy(template);
+					new H2BlobResource("binary-id", spy, txnMgr).write(new ByteArrayInputStream(content(200)));
+
+					verify(spy, times(1)).update(anyString(), any(PreparedStatementSetter.class));
+					verify(spy, never()).update(anyString(), (Object[]) any());
+					assertThat(new H2BlobResource("binary-id", template, txnMgr).contentLength(), is(256L * 1024 + 200));
+				});
+				Context("when the blob is overwritten", () -> {
+					BeforeEach(() -> {
+						new H2BlobResource(id, template, txnMgr).write(bytes("Hello again!"));
+					});
+					It("should replace the content and its metadata in place", () -> {
+						H2BlobResource r = new H2BlobResource(id, template, txnMgr);
+						assertThat(r.contentLength(), is(12L));
+						try (InputStream actual = r.getInputStream()) {
+							assertThat(IOUtils.toString(actual, StandardCharsets.UTF_8), is("Hello again!"));
+						}
+						assertThat(template.queryForObject("SELECT COUNT(*) FROM BLOBS", Integer.class), is(1));
+					});
+				});
+				Context("when the blob is deleted", () -> {
+					BeforeEach(() -> {
+						new H2BlobResource(id, template, txnMgr).delete();
+					});
+					It("should no longer exist", () -> {
+						H2BlobResource r = new H2BlobResource(id, template, txnMgr);
+						assertThat(r.exists(), is(false));
+						assertThat(r.contentLength(), is(0L));
+						assertThat(r.lastModified(), is(0L));
+						assertThat(r.getInputStream(), is(nullValue()));
+					});
+				});
+			});
+			Context("given a blob written without an upsert", () -> {
+				BeforeEach(() -> {
+					id = "some-id";
+					new GenericBlobResource(id, template, txnMgr).write(bytes("Hello Spring Content JPA World!"));
+					try (OutputStream out = new GenericBlobResource(id, template, txnMgr).getOutputStream()) {
+						out.write("Hello again!".getBytes(StandardCharsets.UTF_8));
+					}
+				});
+				It("should insert and then update the blob", () -> {
+					GenericBlobResource r = new GenericBlobResource(id, template, txnMgr);
+					assertThat(r.contentLength(), is(12L));
+					try (InputStream actual = r.getInputStream()) {
+						assertThat(IOUtils.toString(actual, StandardCharsets.UTF_8), is("Hello again!"));
+					}
+					assertThat(template.queryForObject("SELECT COUNT(*) FROM BLOBS", Integer.class), is(1));
+				});
+			});
+			Context("given an id that would break out of a literal", () -> {
+				It("should treat the id as a value", () -> {
+					id = "x' OR '1'='1";
+					new H2BlobResource("other-id", template, txnMgr).write(bytes("other"));
+
+					H2BlobResource r = new H2BlobResource(id, template, txnMgr);
+					assertThat(r.exists(), is(false));
+					r.delete();
+					assertThat(new H2BlobResource("other-id", template, txnMgr).exists(), is(true));
+				});
 			});
 		});
+
+		Describe("BlobResources against a BLOBS table without metadata columns", () -> {
+			BeforeEach(() -> {
+				db = new EmbeddedDatabaseBuilder()
+						.setType(EmbeddedDatabaseType.H2)
+						.generateUniqueName(true)
+						.build();
+				template = new JdbcTemplate(db);
+				template.execute("CREATE TABLE BLOBS (id VARCHAR(36) NOT NULL, content BLOB, PRIMARY KEY (id))");
+				txnMgr = new DataSourceTransactionManager(db);
+			});
+			AfterEach(() -> {
+				db.shutdown();
+			});
+			It("should store the content without its metadata", () -> {
+				id = "some-id";
+				H2BlobResource r = new H2BlobResource(id, template, txnMgr);
+				assertThat(r.write(bytes("Hello Spring Content JPA World!")), is(31L));
+				assertThat(r.contentLength(), is(0L));
+				assertThat(r.lastModified(), is(0L));
+				try (InputStream actual = r.getInputStream()) {
+					assertThat(IOUtils.toString(actual, StandardCharsets.UTF_8), is("Hello Spring Content JPA World!"));
+				}
+			});
+			Context("when the metadata columns are added", () -> {
+				It("should store the metadata of content written afterwards", () -> {
+					id = "some-id";
+					new H2BlobResource(id, template, txnMgr).write(bytes("Hello Spring Content JPA World!"));
+
+					template.execute("ALTER TABLE BLOBS ADD COLUMN content_length BIGINT");
+					template.execute("ALTER TABLE BLOBS ADD COLUMN last_modified TIMESTAMP");
+
+					H2BlobResource r = new H2BlobResource(id, template, txnMgr);
+					r.write(bytes("Hello again!"));
+					assertThat(r.contentLength(), is(12L));
+					assertThat(r.lastModified(), is(greaterThan(0L)));
+				});
+			});
+		});
+	}
+
+	private static InputStream bytes(String content) {
+		return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static byte[] content(int i) {
+		byte[] content = new byte[256 * 1024 + i];
+		Arrays.fill(content, (byte) i);
+		return content;
 	}
 }
@@ -0,0 +1,195 @@
+package internal.org.springframework.content.fragments.lucene;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import internal.org.springframework.content.lucene.LuceneIndex;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.content.commons.repository.StoreAccessException;
+import org.springframework.content.commons.search.Searchable;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.util.Assert;
+
+public class SearchableImpl implements Searchable<Object> {
+
+	private static final int BATCH_SIZE = 100;
+
+	private LuceneIndex index;
+	private Class<?> domainClass;
+
+	@Autowired
+	public SearchableImpl(LuceneIndex index) {
+		this.index = index;
+	}
+
+	public void setDomainClass(Class<?> domainClass) {
+		this.domainClass = domainClass;
+	}
+
+	@Override
+	public List<Object> search(String queryStr) {
+		return executeQuery(queryStr);
+	}
+
+	@Override
+	public Page<Object> search(String queryStr, Pageable pageable) {
+		if (pageable == null || pageable.isUnpaged()) {
+			return new PageImpl<>(executeQuery(queryStr));
+		}
+
+		LuceneIndex.Hits hits = executeQuery(queryStr, null, (int) pageable.getOffset(), pageable.getPageSize());
+		return new PageImpl<>(new ArrayList<Object>(hits.getContentIds()), pageable, hits.getTotalHits());
+	}
+
+	@Override
+	public Iterable<Object> searchAll(String queryStr) {
+		return () -> new SearchAfterIterator(queryStr);
+	}
+
+	@Override
+	public List<Object> findKeyword(String queryStr) {
+		return executeQuery(queryStr);
+	}
+
+	@Override
+	public List<Object> findAllKeywords(String... terms) {
+		return executeQuery(parseTerms("AND", terms));
+	}
+
+	@Override
+	public List<Object> findAnyKeywords(String... terms) {
+		return executeQuery(parseTerms("OR", terms));
+	}
+
+	@Override
+	public List<Object> findKeywordsNear(int proximity, String... terms) {
+		String termStr = parseTerms("NONE", terms);
+		return executeQuery("\"" + termStr + "\"~" + Integer.toString(proximity));
+	}
+
+	@Override
+	public List<Object> findKeywordStartsWith(String term) {
+		return executeQuery(term + "*");
+	}
+
+	@Override
+	public List<Object> findKeywordStartsWithAndEndsWith(String a, String b) {
+		return executeQuery(a + "*" + b);
+	}
+
+	@Override
+	public List<Object> findAllKeywordsWithWeights(String[] terms, double[] weights) {
+		return executeQuery(parseTermsAndWeights("AND", terms, weights));
+	}
+
+	/* package */ String parseTermsAndWeights(String operator, String[] terms,
+			double[] weights) {
+		Assert.state(terms.length == weights.length, "all terms must have a weight");
+
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < terms.length - 1; i++) {
+			builder.append("(");
+			builder.append(terms[i]);
+			builder.append(")^");
+			builder.append(weights[i]);
+			builder.append(" " + operator + " ");
+		}
+		builder.append("(");
+		builder.append(terms[terms.length - 1]);
+		builder.append(")^");
+		builder.append(weights[weights.length - 1]);
+
+		return builder.toString();
+	}
+
+	/* package */ String parseTerms(String operator, String... terms) {
+		String separator;
+
+		if ("NONE".equals(operator)) {
+			separator = " ";
+		}
+		else {
+			separator = " " + operator + " ";
+		}
+		StringBuilder builder = new StringBuilder();
+
+		for (int i = 0; i < terms.length - 1; i++) {
+			builder.append(terms[i]);
+			builder.append(separator);
+		}
+		builder.append(terms[terms.length - 1]);
+		return builder.toString();
+	}
+
+	/* package */ List<Object> executeQuery(String queryString) {
+		List<Object> ids = new ArrayList<>();
+		searchAll(queryString).forEach(ids::add);
+		return ids;
+	}
+
+	/* package */ LuceneIndex.Hits executeQuery(String queryString, ScoreDoc after, int offset, int size) {
+		try {
+			Query query = new QueryParser(LuceneIndex.CONTENT, index.getAnalyzer()).parse(queryString);
+			return index.search(getDomainClass().getCanonicalName(), query, after, offset, size);
+		}
+		catch (ParseException e) {
+			throw new StoreAccessException(
+					String.format("Error parsing query %s", queryString), e);
+		}
+		catch (IOException e) {
+			throw new StoreAccessException(
+					String.format("Error running query %s against lucene index", queryString), e);
+		}
+	}
+
+	protected Class<?> getDomainClass() {
+		return domainClass;
+	}
+
+	private class SearchAfterIterator implements Iterator<Object> {
+
+		private final String queryString;
+
+		private ScoreDoc after = null;
+		private Iterator<String> batch = Collections.emptyIterator();
+		private boolean done = false;
+
+		SearchAfterIterator(String queryString) {
+			this.queryString = queryString;
+		}
+
+		@Override
+		public boolean hasNext() {
+			while (batch.hasNext() == false && done == false) {
+				fetch();
+			}
+			return batch.hasNext();
+		}
+
+		@Override
+		public Object next() {
+			if (hasNext() == false) {
+				throw new NoSuchElementException();
+			}
+			return batch.next();
+		}
+
+		private void fetch() {
+			LuceneIndex.Hits hits = executeQuery(queryString, after, 0, BATCH_SIZE);
+			batch = hits.getContentIds().iterator();
+			done = hits.getContentIds().size() < BATCH_SIZE;
+			after = hits.getLast();
+		}
+	}
+}
@@ -0,0 +1,223 @@
+package internal.org.springframework.content.lucene;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.content.lucene.LuceneProperties;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+/**
+ * An on-disk Lucene index of content.
+ *
+ * Searches use near-real-time readers obtained from the index writer so that updates
+ * become searchable without being committed.  Readers are refreshed, and updates
+ * committed to disk, on a background thread.
+ */
+public class LuceneIndex implements Closeable {
+
+	public static final String ID = "id";
+	public static final String TYPE = "type";
+	public static final String CONTENT_ID = "contentId";
+	public static final String CONTENT = "content";
+
+	private static Log logger = LogFactory.getLog(LuceneIndex.class);
+
+	private final Analyzer analyzer = new StandardAnalyzer();
+	private final Directory directory;
+	private final IndexWriter writer;
+	private final SearcherManager searcherManager;
+	private final ScheduledExecutorService scheduler;
+
+	public LuceneIndex(LuceneProperties properties) throws IOException {
+		Assert.notNull(properties, "properties must not be null");
+		Assert.hasText(properties.getIndexDirectory(), "indexDirectory must be specified");
+
+		this.directory = FSDirectory.open(Paths.get(properties.getIndexDirectory()));
+		this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+				.setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+		this.searcherManager = new SearcherManager(writer, null);
+
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("lucene-index-");
+		threadFactory.setDaemon(true);
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+		this.scheduler.scheduleWithFixedDelay(this::refreshQuietly,
+				properties.getRefreshInterval(), properties.getRefreshInterval(), TimeUnit.MILLISECONDS);
+		this.scheduler.scheduleWithFixedDelay(this::commitQuietly,
+				properties.getCommitInterval(), properties.getCommitInterval(), TimeUnit.MILLISECONDS);
+	}
+
+	public Analyzer getAnalyzer() {
+		return analyzer;
+	}
+
+	/**
+	 * Indexes, or re-indexes, the text of the given content.
+	 *
+	 * @param type the content's entity type
+	 * @param contentId the content's id
+	 * @param text the content's text, consumed while indexing
+	 * @throws IOException if the content cannot be indexed
+	 */
+	public void index(String type, String contentId, Reader text) throws IOException {
+		Document doc = new Document();
+		doc.add(new StringField(ID, id(type, contentId), Field.Store.YES));
+		doc.add(new StringField(TYPE, type, Field.Store.NO));
+		doc.add(new StoredField(CONTENT_ID, contentId));
+		doc.add(new TextField(CONTENT, text));
+
+		writer.updateDocument(new Term(ID, id(type, contentId)), doc);
+	}
+
+	/**
+	 * Removes the given content from the index.
+	 */
+	public void delete(String type, String contentId) throws IOException {
+		writer.deleteDocuments(new Term(ID, id(type, contentId)));
+	}
+
+	/**
+	 * Returns the content ids, and the total number of matches, of the given page of
+	 * content of the given type matching the query.
+	 *
+	 * @param after the last hit of the previous page, or null to start from the given offset
+	 */
+	public Hits search(String type, Query query, ScoreDoc after, int offset, int size) throws IOException {
+		Query typed = new BooleanQuery.Builder()
+				.add(query, BooleanClause.Occur.MUST)
+				.add(new TermQuery(new Term(TYPE, type)), BooleanClause.Occur.FILTER)
+				.build();
+
+		IndexSearcher searcher = searcherManager.acquire();
+		try {
+			TopDocs topDocs = after != null
+					? searcher.searchAfter(after, typed, Math.max(1, size))
+					: searcher.search(typed, Math.max(1, offset + size));
+
+			List<String> contentIds = new ArrayList<>();
+			ScoreDoc last = null;
+			for (int i = after != null ? 0 : offset; i < topDocs.scoreDocs.length && contentIds.size() < size; i++) {
+				last = topDocs.scoreDocs[i];
+				contentIds.add(searcher.doc(last.doc).get(CONTENT_ID));
+			}
+			return new Hits(contentIds, topDocs.totalHits, last);
+		}
+		finally {
+			searcherManager.release(searcher);
+		}
+	}
+
+	/**
+	 * Makes all index updates searchable.
+	 */
+	public void refresh() throws IOException {
+		searcherManager.maybeRefreshBlocking();
+	}
+
+	/**
+	 * Commits all index updates to disk.
+	 */
+	public void commit() throws IOException {
+		if (writer.hasUncommittedChanges()) {
+			writer.commit();
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		scheduler.shutdown();
+		try {
+			scheduler.awaitTermination(30, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		try {
+			searcherManager.close();
+		}
+		finally {
+			writer.close();
+			directory.close();
+		}
+	}
+
+	private void refreshQuietly() {
+		try {
+			searcherManager.maybeRefresh();
+		}
+		catch (Exception e) {
+			logger.error("Error refreshing lucene index searcher", e);
+		}
+	}
+
+	private void commitQuietly() {
+		try {
+			commit();
+		}
+		catch (Exception e) {
+			logger.error("Error committing lucene index", e);
+		}
+	}
+
+	private static String id(String type, String contentId) {
+		return type + ":" + contentId;
+	}
+
+	public static class Hits {
+
+		private final List<String> contentIds;
+		private final long totalHits;
+		private final ScoreDoc last;
+
+		Hits(List<String> contentIds, long totalHits, ScoreDoc last) {
+			this.contentIds = contentIds;
+			this.totalHits = totalHits;
+			this.last = last;
+		}
+
+		public List<String> getContentIds() {
+			return contentIds;
+		}
+
+		public long getTotalHits() {
+			return totalHits;
+		}
+
+		/**
+		 * Returns the last hit, from which the next page of hits can be searched, or null
+		 * if there were no hits.
+		 */
+		public ScoreDoc getLast() {
+			return last;
+		}
+	}
+}
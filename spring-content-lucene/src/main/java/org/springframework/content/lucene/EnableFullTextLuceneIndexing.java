@@ -0,0 +1,14 @@
+package org.springframework.content.lucene;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.springframework.context.annotation.Import;
+
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@Import({ LuceneConfig.class, FullTextLuceneIndexingConfig.class })
+public @interface EnableFullTextLuceneIndexing {
+}
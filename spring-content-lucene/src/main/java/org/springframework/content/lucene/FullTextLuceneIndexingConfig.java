@@ -0,0 +1,26 @@
+package org.springframework.content.lucene;
+
+import java.io.IOException;
+
+import internal.org.springframework.content.lucene.LuceneIndex;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class FullTextLuceneIndexingConfig {
+
+	@Autowired
+	private LuceneProperties props;
+
+	@Bean
+	public LuceneIndex luceneIndex() throws IOException {
+		return new LuceneIndex(props);
+	}
+
+	@Bean
+	public LuceneIndexer luceneFulltextEventListener(LuceneIndex luceneIndex) {
+		return new LuceneIndexer(luceneIndex);
+	}
+}
@@ -0,0 +1,53 @@
+package org.springframework.content.lucene;
+
+import java.io.File;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "lucene")
+public class LuceneConfig {
+
+	private String indexDirectory;
+	private long commitInterval = 1000L;
+	private long refreshInterval = 100L;
+
+	public String getIndexDirectory() {
+		return indexDirectory;
+	}
+
+	public void setIndexDirectory(String indexDirectory) {
+		this.indexDirectory = indexDirectory;
+	}
+
+	public long getCommitInterval() {
+		return commitInterval;
+	}
+
+	public void setCommitInterval(long commitInterval) {
+		this.commitInterval = commitInterval;
+	}
+
+	public long getRefreshInterval() {
+		return refreshInterval;
+	}
+
+	public void setRefreshInterval(long refreshInterval) {
+		this.refreshInterval = refreshInterval;
+	}
+
+	@Bean
+	public LuceneProperties luceneProperties() {
+
+		LuceneProperties props = new LuceneProperties();
+		if (indexDirectory == null) {
+			this.indexDirectory = new File(System.getProperty("java.io.tmpdir"), "spring-content-lucene-index").getAbsolutePath();
+		}
+		props.setIndexDirectory(indexDirectory);
+		props.setCommitInterval(commitInterval);
+		props.setRefreshInterval(refreshInterval);
+		return props;
+	}
+}
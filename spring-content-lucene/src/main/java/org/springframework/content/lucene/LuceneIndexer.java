@@ -0,0 +1,113 @@
+package org.springframework.content.lucene;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+
+import internal.org.springframework.content.lucene.LuceneIndex;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.content.commons.annotations.ContentId;
+import org.springframework.content.commons.annotations.HandleAfterSetContent;
+import org.springframework.content.commons.annotations.HandleBeforeUnsetContent;
+import org.springframework.content.commons.annotations.MimeType;
+import org.springframework.content.commons.annotations.StoreEventHandler;
+import org.springframework.content.commons.repository.ContentConsumer;
+import org.springframework.content.commons.repository.StoreAccessException;
+import org.springframework.content.commons.repository.events.AfterSetContentEvent;
+import org.springframework.content.commons.repository.events.BeforeUnsetContentEvent;
+import org.springframework.content.commons.utils.BeanUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.util.Assert;
+
+@StoreEventHandler
+public class LuceneIndexer implements ContentConsumer {
+
+	private static Log logger = LogFactory.getLog(LuceneIndexer.class);
+
+	private LuceneIndex index;
+	private TextExtractor textExtractor = new PlainTextExtractor();
+
+	@Autowired
+	public LuceneIndexer(LuceneIndex index) {
+		Assert.notNull(index, "index must not be null");
+		this.index = index;
+	}
+
+	/**
+	 * Sets the extractor of the text to index.  Defaults to a {@link PlainTextExtractor},
+	 * which indexes textual content only.
+	 */
+	@Autowired(required = false)
+	public void setTextExtractor(TextExtractor textExtractor) {
+		Assert.notNull(textExtractor, "textExtractor must not be null");
+		this.textExtractor = textExtractor;
+	}
+
+	@Override
+	public boolean consumes(Object entity) {
+		return BeanUtils.hasFieldWithAnnotation(entity, ContentId.class);
+	}
+
+	@HandleAfterSetContent
+	@Order(100)
+	protected void onAfterSetContent(AfterSetContentEvent event) {
+		Object contentEntity = event.getSource();
+		if (BeanUtils.hasFieldWithAnnotation(contentEntity, ContentId.class) == false) {
+			return;
+		}
+
+		Object id = BeanUtils.getFieldWithAnnotation(contentEntity, ContentId.class);
+		if (id == null) {
+			return;
+		}
+
+		InputStream content = event.getContent();
+		if (content == null) {
+			return;
+		}
+
+		Object mimeType = BeanUtils.getFieldWithAnnotation(contentEntity, MimeType.class);
+
+		try (InputStream in = content) {
+			Reader text = textExtractor.extract(mimeType != null ? mimeType.toString() : null, in);
+			if (text == null) {
+				logger.debug(String.format("Not indexing content %s of type %s", id, mimeType));
+				// text of the content this replaced must not stay searchable
+				index.delete(contentEntity.getClass().getCanonicalName(), id.toString());
+				return;
+			}
+			try (Reader reader = text) {
+				index.index(contentEntity.getClass().getCanonicalName(), id.toString(), reader);
+			}
+		}
+		catch (IOException e) {
+			throw new StoreAccessException(
+					String.format("Error updating entry in lucene index %s", id), e);
+		}
+	}
+
+	@HandleBeforeUnsetContent
+	@Order(100)
+	protected void onBeforeUnsetContent(BeforeUnsetContentEvent event) {
+		Object contentEntity = event.getSource();
+		if (BeanUtils.hasFieldWithAnnotation(contentEntity, ContentId.class) == false) {
+			return;
+		}
+
+		Object id = BeanUtils.getFieldWithAnnotation(contentEntity, ContentId.class);
+		if (id == null) {
+			return;
+		}
+
+		try {
+			index.delete(contentEntity.getClass().getCanonicalName(), id.toString());
+		}
+		catch (IOException e) {
+			throw new StoreAccessException(
+					String.format("Error deleting entry from lucene index %s", id), e);
+		}
+	}
+}
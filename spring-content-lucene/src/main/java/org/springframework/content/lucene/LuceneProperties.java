@@ -0,0 +1,42 @@
+package org.springframework.content.lucene;
+
+public class LuceneProperties {
+
+	private String indexDirectory = null;
+	private long commitInterval = 1000L;
+	private long refreshInterval = 100L;
+
+	/**
+	 * Directory holding the Lucene index.
+	 */
+	public String getIndexDirectory() {
+		return indexDirectory;
+	}
+
+	public void setIndexDirectory(String indexDirectory) {
+		this.indexDirectory = indexDirectory;
+	}
+
+	/**
+	 * Milliseconds between commits of index updates to disk.
+	 */
+	public long getCommitInterval() {
+		return commitInterval;
+	}
+
+	public void setCommitInterval(long commitInterval) {
+		this.commitInterval = commitInterval;
+	}
+
+	/**
+	 * Milliseconds between refreshes of the near-real-time searcher, bounding how long
+	 * index updates take to become searchable.
+	 */
+	public long getRefreshInterval() {
+		return refreshInterval;
+	}
+
+	public void setRefreshInterval(long refreshInterval) {
+		this.refreshInterval = refreshInterval;
+	}
+}
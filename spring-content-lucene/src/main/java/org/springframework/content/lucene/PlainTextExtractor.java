@@ -0,0 +1,51 @@
+package org.springframework.content.lucene;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.util.InvalidMimeTypeException;
+import org.springframework.util.MimeType;
+
+/**
+ * Reads textual content as text, in the charset of its mime type or UTF-8 when it has
+ * none.
+ *
+ * Content is textual when its mime type is {@code text/*}, JSON or XML.  Content without
+ * a mime type is assumed to be textual.  Other content is not indexed.
+ */
+public class PlainTextExtractor implements TextExtractor {
+
+	@Override
+	public Reader extract(String mimeType, InputStream content) {
+		if (mimeType == null) {
+			return new InputStreamReader(content, StandardCharsets.UTF_8);
+		}
+
+		MimeType type;
+		try {
+			type = MimeType.valueOf(mimeType);
+		}
+		catch (InvalidMimeTypeException e) {
+			return null;
+		}
+		if (!isText(type)) {
+			return null;
+		}
+
+		Charset charset = type.getCharset();
+		return new InputStreamReader(content, charset != null ? charset : StandardCharsets.UTF_8);
+	}
+
+	private static boolean isText(MimeType type) {
+		if ("text".equals(type.getType())) {
+			return true;
+		}
+		String subtype = type.getSubtype();
+		return "application".equals(type.getType())
+				&& ("json".equals(subtype) || "xml".equals(subtype)
+						|| subtype.endsWith("+json") || subtype.endsWith("+xml"));
+	}
+}
@@ -0,0 +1,26 @@
+package org.springframework.content.lucene;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+
+/**
+ * Extracts the text to index from content.
+ *
+ * By default only textual content is indexed, see {@link PlainTextExtractor}.  Register a
+ * bean of this type, for example one backed by Apache Tika, to also index PDF, Office
+ * and other binary content.
+ */
+public interface TextExtractor {
+
+	/**
+	 * Returns the text of the given content.
+	 *
+	 * @param mimeType the content's mime type, or null if it is not known
+	 * @param content the content
+	 * @return a reader over the content's text, or null if content of this mime type is
+	 * not indexed
+	 * @throws IOException if the text could not be extracted
+	 */
+	Reader extract(String mimeType, InputStream content) throws IOException;
+}
@@ -0,0 +1,81 @@
+package internal.org.springframework.content.lucene;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.file.Files;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jSpringRunner;
+import internal.org.springframework.content.fragments.lucene.SearchableImpl;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.content.commons.repository.ContentStore;
+import org.springframework.content.commons.search.Searchable;
+import org.springframework.content.fs.config.EnableFilesystemStores;
+import org.springframework.content.fs.io.FileSystemResourceLoader;
+import org.springframework.content.lucene.EnableFullTextLuceneIndexing;
+import org.springframework.content.lucene.LuceneIndexer;
+import org.springframework.content.lucene.LuceneProperties;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.test.context.ContextConfiguration;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+
+@RunWith(Ginkgo4jSpringRunner.class)
+@ContextConfiguration(classes = EnableFullTextLuceneIndexingTest.TestConfiguration.class)
+public class EnableFullTextLuceneIndexingTest {
+
+	@Autowired
+	private ApplicationContext context;
+
+	{
+		Describe("EnableFullTextLuceneIndexing", () -> {
+			It("should have a LuceneProperties bean", () -> {
+				assertThat(context.getBean(LuceneProperties.class), is(not(nullValue())));
+			});
+			It("should have a LuceneIndex bean", () -> {
+				assertThat(context.getBean(LuceneIndex.class), is(not(nullValue())));
+			});
+			It("should have a LuceneIndexer bean", () -> {
+				assertThat(context.getBean(LuceneIndexer.class), is(not(nullValue())));
+			});
+			It("should have a Searchable implementation bean", () -> {
+				assertThat(context.getBean(SearchableImpl.class), is(not(nullValue())));
+			});
+		});
+	}
+
+	@Configuration
+	@EnableFilesystemStores
+	@EnableFullTextLuceneIndexing
+	public static class TestConfiguration {
+
+		@Bean
+		FileSystemResourceLoader fileSystemResourceLoader() throws IOException {
+			return new FileSystemResourceLoader(Files.createTempDirectory("").toFile().getAbsolutePath());
+		}
+
+		// Developer bean - would usually be supplied by app developer
+		@Bean
+		public ConversionService contentConversionService() {
+			return mock(ConversionService.class);
+		}
+	}
+
+	public interface TContentStore extends ContentStore<Object, Serializable>, Searchable<Serializable> {}
+
+	@Test
+	public void noop() {
+	}
+
+}
@@ -0,0 +1,246 @@
+package org.springframework.content.lucene;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.Serializable;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import internal.org.springframework.content.fragments.lucene.SearchableImpl;
+import internal.org.springframework.content.lucene.LuceneIndex;
+import org.apache.commons.io.FileUtils;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import org.springframework.content.commons.annotations.ContentId;
+import org.springframework.content.commons.annotations.MimeType;
+import org.springframework.content.commons.repository.ContentStore;
+import org.springframework.content.commons.repository.StoreAccessException;
+import org.springframework.content.commons.repository.events.AfterSetContentEvent;
+import org.springframework.content.commons.repository.events.BeforeUnsetContentEvent;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.AfterEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.CoreMatchers.hasItems;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SuppressWarnings("unchecked")
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class LuceneIndexerTest {
+
+	private File directory;
+	private LuceneIndex index;
+	private LuceneIndexer indexer;
+	private SearchableImpl searchable;
+
+	// mocks
+	private ContentStore<Object, Serializable> store;
+
+	private Exception e;
+
+	{
+		Describe("LuceneIndexer", () -> {
+			BeforeEach(() -> {
+				directory = Files.createTempDirectory("lucene").toFile();
+
+				LuceneProperties props = new LuceneProperties();
+				props.setIndexDirectory(directory.getAbsolutePath());
+				index = new LuceneIndex(props);
+
+				indexer = new LuceneIndexer(index);
+				searchable = new SearchableImpl(index);
+				searchable.setDomainClass(ContentEntity.class);
+
+				store = mock(ContentStore.class);
+				when(store.getContent(any())).thenAnswer(invocation -> {
+					ContentEntity entity = invocation.getArgument(0);
+					return new ByteArrayInputStream(entity.text.getBytes(entity.charset));
+				});
+				e = null;
+			});
+			AfterEach(() -> {
+				index.close();
+				FileUtils.deleteDirectory(directory);
+			});
+			Context("given content has been set", () -> {
+				BeforeEach(() -> {
+					setContent(new ContentEntity("one", "a quick brown fox animal"));
+					setContent(new ContentEntity("two", "a lazy dog animal"));
+					setContent(new ContentEntity("three", "a quick dog animal"));
+					index.refresh();
+				});
+				It("should find the content matching a query", () -> {
+					assertThat(searchable.search("quick"), hasItems("one", "three"));
+					assertThat(searchable.search("quick").size(), is(2));
+				});
+				It("should find the content matching all keywords", () -> {
+					assertThat(searchable.findAllKeywords("quick", "dog"), is(ids("three")));
+				});
+				It("should find the content matching any keyword", () -> {
+					assertThat(searchable.findAnyKeywords("fox", "lazy"), hasItems("one", "two"));
+				});
+				It("should find the content starting with a keyword", () -> {
+					assertThat(searchable.findKeywordStartsWith("qui"), hasItems("one", "three"));
+				});
+				It("should only find content of the searchable's type", () -> {
+					setContent(new OtherContentEntity("four", "a quick cat animal"));
+					index.refresh();
+					assertThat(searchable.search("quick"), hasItems("one", "three"));
+					assertThat(searchable.search("quick").size(), is(2));
+				});
+				It("should return the requested page of content with the total number of matches", () -> {
+					Page<Object> page = searchable.search("animal", PageRequest.of(1, 2));
+					assertThat(page.getContent().size(), is(1));
+					assertThat(page.getTotalElements(), is(3L));
+				});
+				It("should iterate all matching content", () -> {
+					List<Object> ids = new ArrayList<>();
+					searchable.searchAll("animal").forEach(ids::add);
+					assertThat(ids, hasItems("one", "two", "three"));
+					assertThat(ids.size(), is(3));
+				});
+				Context("when the content is replaced", () -> {
+					BeforeEach(() -> {
+						setContent(new ContentEntity("one", "a slow red fox animal"));
+						index.refresh();
+					});
+					It("should re-index the content", () -> {
+						assertThat(searchable.search("quick"), is(ids("three")));
+						assertThat(searchable.search("slow"), is(ids("one")));
+					});
+				});
+				Context("when the content is unset", () -> {
+					BeforeEach(() -> {
+						indexer.onBeforeUnsetContent(new BeforeUnsetContentEvent(new ContentEntity("one", null), store));
+						index.refresh();
+					});
+					It("should remove the content from the index", () -> {
+						assertThat(searchable.search("quick"), is(ids("three")));
+					});
+				});
+			});
+			Context("given content with a mime type", () -> {
+				BeforeEach(() -> {
+					searchable.setDomainClass(TypedContentEntity.class);
+				});
+				It("should index textual content in its charset", () -> {
+					setContent(new TypedContentEntity("one", "text/plain; charset=UTF-16", "a quick brown fox"));
+					index.refresh();
+					assertThat(searchable.search("quick"), is(ids("one")));
+				});
+				It("should not index binary content", () -> {
+					setContent(new TypedContentEntity("one", "application/pdf", "a quick brown fox"));
+					index.refresh();
+					assertThat(searchable.search("quick"), is(ids()));
+				});
+				It("should remove text of replaced content that cannot be indexed", () -> {
+					setContent(new TypedContentEntity("one", "text/plain", "a quick brown fox"));
+					setContent(new TypedContentEntity("one", "application/pdf", "a quick brown fox"));
+					index.refresh();
+					assertThat(searchable.search("quick"), is(ids()));
+				});
+				Context("given a text extractor", () -> {
+					BeforeEach(() -> {
+						indexer.setTextExtractor((mimeType, content) -> "application/pdf".equals(mimeType)
+								? new StringReader("extracted text") : null);
+					});
+					It("should index the extracted text", () -> {
+						setContent(new TypedContentEntity("one", "application/pdf", "a quick brown fox"));
+						index.refresh();
+						assertThat(searchable.search("extracted"), is(ids("one")));
+						assertThat(searchable.search("quick"), is(ids()));
+					});
+				});
+			});
+			Context("given content without a content id", () -> {
+				It("should not index the content", () -> {
+					setContent(new ContentEntity(null, "a quick brown fox animal"));
+					index.refresh();
+					assertThat(searchable.search("quick"), is(ids()));
+				});
+			});
+			Context("given an invalid query", () -> {
+				It("should throw a StoreAccessException", () -> {
+					try {
+						searchable.search("\"unbalanced");
+					}
+					catch (Exception e) {
+						this.e = e;
+					}
+					assertThat(e, is(instanceOf(StoreAccessException.class)));
+				});
+			});
+		});
+	}
+
+	private void setContent(Object entity) {
+		indexer.onAfterSetContent(new AfterSetContentEvent(entity, store));
+	}
+
+	private static List<Object> ids(Object... ids) {
+		List<Object> list = new ArrayList<>();
+		for (Object id : ids) {
+			list.add(id);
+		}
+		return list;
+	}
+
+	@Test
+	public void noop() {
+	}
+
+	public static class ContentEntity {
+
+		@ContentId
+		public String contentId;
+
+		public String text;
+
+		public Charset charset = StandardCharsets.UTF_8;
+
+		public ContentEntity(String contentId, String text) {
+			this.contentId = contentId;
+			this.text = text;
+		}
+	}
+
+	public static class TypedContentEntity extends ContentEntity {
+
+		@MimeType
+		public String mimeType;
+
+		public TypedContentEntity(String contentId, String mimeType, String text) {
+			super(contentId, text);
+			this.mimeType = mimeType;
+			Charset charset = org.springframework.util.MimeType.valueOf(mimeType).getCharset();
+			if (charset != null) {
+				this.charset = charset;
+			}
+		}
+	}
+
+	public static class OtherContentEntity extends ContentEntity {
+
+		public OtherContentEntity(String contentId, String text) {
+			super(contentId, text);
+		}
+	}
+}
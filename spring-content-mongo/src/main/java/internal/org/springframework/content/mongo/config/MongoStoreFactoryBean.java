@@ -1,17 +1,35 @@
 package internal.org.springframework.content.mongo.config;
 
+import java.util.concurrent.Executor;
+
+import com.mongodb.client.gridfs.GridFSBucket;
+import internal.org.springframework.content.mongo.io.GridFsFileCache;
 import internal.org.springframework.content.mongo.repository.DefaultMongoStoreImpl;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.content.commons.repository.factory.AbstractStoreFactoryBean;
 import org.springframework.content.commons.utils.PlacementService;
 import org.springframework.data.mongodb.gridfs.GridFsTemplate;
 
 public class MongoStoreFactoryBean extends AbstractStoreFactoryBean {
 
+	/**
+	 * Name of an optional {@link Executor} bean used to store content written to GridFS
+	 * resources.
+	 */
+	public static final String GRIDFS_STORE_EXECUTOR = "gridFsStoreExecutor";
+
 	@Autowired
 	private GridFsTemplate gridFs;
 	@Autowired
 	private PlacementService mongoStorePlacementService;
+	@Autowired(required = false)
+	private GridFSBucket gridFsBucket;
+	@Autowired(required = false)
+	@Qualifier(GRIDFS_STORE_EXECUTOR)
+	private Executor gridFsStoreExecutor;
+	@Autowired(required = false)
+	private GridFsFileCache gridFsFileCache;
 
 	@Override
 	public void afterPropertiesSet() throws Exception {
@@ -20,6 +38,10 @@ public class MongoStoreFactoryBean extends AbstractStoreFactoryBean {
 
 	@Override
 	protected Object getContentStoreImpl() {
-		return new DefaultMongoStoreImpl(gridFs, mongoStorePlacementService);
+		DefaultMongoStoreImpl store = new DefaultMongoStoreImpl(gridFs, mongoStorePlacementService);
+		store.setBucket(gridFsBucket);
+		store.setExecutor(gridFsStoreExecutor);
+		store.setFileCache(gridFsFileCache);
+		return store;
 	}
 }
@@ -0,0 +1,88 @@
+package internal.org.springframework.content.mongo.io;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.mongodb.client.gridfs.model.GridFSFile;
+import org.springframework.util.Assert;
+
+/**
+ * Short-lived cache of {@link GridFSFile} metadata keyed by filename, shared by
+ * {@link GridFsStoreResource}s so that consecutive requests for the same content do not
+ * each query the files collection.
+ *
+ * Only files that exist are cached.  Entries are evicted when the content is written or
+ * deleted through a resource sharing this cache and otherwise expire after the
+ * configured time-to-live, which bounds how stale metadata can be when content is
+ * changed by another process.  Once the cache holds its maximum number of entries the
+ * least recently used entry is evicted to make room for a new one.
+ */
+public class GridFsFileCache {
+
+	public static final int DEFAULT_MAX_ENTRIES = 10000;
+
+	private final Map<String, Entry> entries;
+
+	private final long ttlNanos;
+
+	public GridFsFileCache(Duration ttl) {
+		this(ttl, DEFAULT_MAX_ENTRIES);
+	}
+
+	public GridFsFileCache(Duration ttl, int maxEntries) {
+		Assert.notNull(ttl, "ttl must not be null");
+		Assert.isTrue(!ttl.isNegative() && !ttl.isZero(), "ttl must be positive");
+		Assert.isTrue(maxEntries > 0, "maxEntries must be greater than 0");
+		this.ttlNanos = ttl.toNanos();
+		this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+				return size() > maxEntries;
+			}
+		};
+	}
+
+	public synchronized GridFSFile get(String filename) {
+		Entry entry = entries.get(filename);
+		if (entry == null) {
+			return null;
+		}
+		if (entry.isExpired(System.nanoTime())) {
+			entries.remove(filename);
+			return null;
+		}
+		return entry.file;
+	}
+
+	public synchronized void put(String filename, GridFSFile file) {
+		if (file == null) {
+			entries.remove(filename);
+			return;
+		}
+		entries.put(filename, new Entry(file, System.nanoTime() + ttlNanos));
+	}
+
+	public synchronized void evict(String filename) {
+		entries.remove(filename);
+	}
+
+	public synchronized void clear() {
+		entries.clear();
+	}
+
+	private static class Entry {
+
+		private final GridFSFile file;
+		private final long expiresAt;
+
+		Entry(GridFSFile file, long expiresAt) {
+			this.file = file;
+			this.expiresAt = expiresAt;
+		}
+
+		boolean isExpired(long now) {
+			return now - expiresAt >= 0;
+		}
+	}
+}
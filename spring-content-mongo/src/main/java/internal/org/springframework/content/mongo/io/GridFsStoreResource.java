@@ -1,25 +1,40 @@
 package internal.org.springframework.content.mongo.io;
 
+import com.mongodb.MongoGridFSException;
+import com.mongodb.client.gridfs.GridFSBucket;
+import com.mongodb.client.gridfs.GridFSUploadStream;
 import com.mongodb.client.gridfs.model.GridFSFile;
+import org.bson.types.ObjectId;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.springframework.content.commons.io.DelegatingOutputStream;
 import org.springframework.content.commons.io.DeletableResource;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.WritableResource;
 import org.springframework.data.mongodb.gridfs.GridFsResource;
 import org.springframework.data.mongodb.gridfs.GridFsTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.util.Assert;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
 import java.io.PipedInputStream;
 import java.io.PipedOutputStream;
 import java.net.URI;
 import java.net.URL;
-import java.util.concurrent.CountDownLatch;
-
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
 import static org.springframework.data.mongodb.core.query.Query.query;
 import static org.springframework.data.mongodb.gridfs.GridFsCriteria.whereFilename;
 
@@ -28,10 +43,26 @@ public class GridFsStoreResource
 
 	private static Log logger = LogFactory.getLog(GridFsStoreResource.class);
 
+	public static final int DEFAULT_BUFFER_SIZE = 256 * 1024;
+
+	// stores queued beyond this are rejected rather than each holding a pipe and the
+	// caller's stream open while they wait
+	private static final int DEFAULT_QUEUE_CAPACITY = 256;
+
+	private static final Executor DEFAULT_EXECUTOR = createDefaultExecutor();
+
 	private GridFsResource delegate;
 	private String location;
 	private GridFsTemplate gridfs;
 
+	private int bufferSize = DEFAULT_BUFFER_SIZE;
+	private Executor executor = DEFAULT_EXECUTOR;
+	private GridFSBucket bucket;
+	private GridFsFileCache fileCache;
+
+	private GridFSFile file;
+	private boolean resolved;
+
 	public GridFsStoreResource(Resource delegate, GridFsTemplate gridfs) {
 		Assert.isInstanceOf(GridFsResource.class,
 				"delegate must be an instance of GridFsResource");
@@ -47,7 +78,7 @@ public class GridFsStoreResource
 	}
 
 	public long contentLength() throws IOException {
-		GridFSFile file = gridfs.findOne(query(whereFilename().is(location)));
+		GridFSFile file = getGridFSFile();
 		if (file == null) {
 			return 0L;
 		}
@@ -59,7 +90,7 @@ public class GridFsStoreResource
 	}
 
 	public long lastModified() throws IOException {
-		GridFSFile file = gridfs.findOne(query(whereFilename().is(location)));
+		GridFSFile file = getGridFSFile();
 		if (file == null) {
 			return -1L;
 		}
@@ -67,7 +98,7 @@ public class GridFsStoreResource
 	}
 
 	public Object getId() {
-		GridFSFile file = gridfs.findOne(query(whereFilename().is(location)));
+		GridFSFile file = getGridFSFile();
 		if (file == null) {
 			return null;
 		}
@@ -75,7 +106,7 @@ public class GridFsStoreResource
 	}
 
 	public String getContentType() {
-		GridFSFile file = gridfs.findOne(query(whereFilename().is(location)));
+		GridFSFile file = getGridFSFile();
 		if (file == null) {
 			return null;
 		}
@@ -83,7 +114,7 @@ public class GridFsStoreResource
 	}
 
 	public boolean exists() {
-		return gridfs.findOne(query(whereFilename().is(location))) != null;
+		return getGridFSFile() != null;
 	}
 
 	public boolean isOpen() {
@@ -91,11 +122,22 @@ public class GridFsStoreResource
 	}
 
 	public InputStream getInputStream() throws IOException, IllegalStateException {
-		GridFSFile file = gridfs.findOne(query(whereFilename().is(location)));
+		GridFSFile file = getGridFSFile();
 		if (file == null) {
 			return null;
 		}
-		return gridfs.getResource(location).getInputStream();
+		try {
+			return gridfs.getResource(file).getInputStream();
+		}
+		catch (MongoGridFSException e) {
+			// the file was replaced since its metadata was loaded
+			invalidate();
+			file = getGridFSFile();
+			if (file == null) {
+				return null;
+			}
+			return gridfs.getResource(file).getInputStream();
+		}
 	}
 
 	public String getDescription() {
@@ -132,78 +174,284 @@ public class GridFsStoreResource
 		return true;
 	}
 
+	/**
+	 * Sets the size of the buffer used to hand content written to
+	 * {@link #getOutputStream()} to GridFS.  Ignored when a bucket is set.
+	 *
+	 * @param bufferSize the buffer size in bytes
+	 */
+	public void setBufferSize(int bufferSize) {
+		Assert.isTrue(bufferSize > 0, "bufferSize must be greater than 0");
+		this.bufferSize = bufferSize;
+	}
+
+	/**
+	 * Sets the executor used to store content written to {@link #getOutputStream()}.
+	 * Defaults to a shared, bounded pool.  Ignored when a bucket is set.
+	 *
+	 * @param executor the executor
+	 */
+	public void setExecutor(Executor executor) {
+		Assert.notNull(executor, "executor must not be null");
+		this.executor = executor;
+	}
+
+	/**
+	 * Sets the bucket used to upload content.  When set, content written to
+	 * {@link #getOutputStream()} is uploaded directly on the calling thread.
+	 *
+	 * @param bucket the GridFS bucket backing the GridFsTemplate
+	 */
+	public void setBucket(GridFSBucket bucket) {
+		this.bucket = bucket;
+	}
+
+	/**
+	 * Sets a cache used to share file metadata between resources for the same location.
+	 *
+	 * @param fileCache the cache
+	 */
+	public void setFileCache(GridFsFileCache fileCache) {
+		this.fileCache = fileCache;
+	}
+
+	/**
+	 * Returns the metadata of the file stored at this resource's location, or null if
+	 * there is none.  The metadata is loaded at most once per resource, until the
+	 * resource is written to or deleted.
+	 */
+	GridFSFile getGridFSFile() {
+		if (!resolved) {
+			GridFSFile found = (fileCache != null ? fileCache.get(location) : null);
+			if (found == null) {
+				found = gridfs.findOne(query(whereFilename().is(location)));
+				if (fileCache != null) {
+					fileCache.put(location, found);
+				}
+			}
+			file = found;
+			resolved = true;
+		}
+		return file;
+	}
+
+	void invalidate() {
+		file = null;
+		resolved = false;
+		if (fileCache != null) {
+			fileCache.evict(location);
+		}
+	}
+
 	@Override
 	public OutputStream getOutputStream() throws IOException {
+		if (bucket != null) {
+			return new UploadOutputStream(bucket.openUploadStream(location));
+		}
+
 		final GridFsStoreResource resource = this;
 
-		final PipedInputStream is = new PipedInputStream();
-		final OutputStream synchronizedOutputStream = new PipedOutputStream(is) {
-			private boolean firstWrite = true;
+		final PipedInputStream is = new PipedInputStream(bufferSize);
+		final PipedOutputStream os = new PipedOutputStream(is);
 
-			@Override
-			public void write(byte[] b, int off, int len) throws IOException {
-				deleteOnFirstWrite();
-				super.write(b, off, len);
+		CompletableFuture<Object> completion = new CompletableFuture<>();
+		try {
+			executor.execute(() -> {
+				try {
+					ObjectId id = gridfs.store(is, resource.getFilename());
+					completion.complete(id);
+				}
+				catch (Throwable t) {
+					logger.error(String.format("storing resource %s", resource.getFilename()), t);
+					completion.completeExceptionally(t);
+				}
+				finally {
+					// unblocks the writer should the store fail before consuming all content
+					IOUtils.closeQuietly(is);
+				}
+			});
+		}
+		catch (RejectedExecutionException ree) {
+			IOUtils.closeQuietly(os);
+			IOUtils.closeQuietly(is);
+			throw new IOException(String.format("rejected store of resource %s", resource.getFilename()), ree);
+		}
+
+		return new PipedUploadOutputStream(os, completion);
+	}
+
+	/**
+	 * Removes all previous files stored under this resource's location, leaving only the
+	 * file with the given id.  Content is therefore replaced only once the new upload has
+	 * completed, and only when all of it was written.
+	 *
+	 * @param id the id of the file to keep
+	 */
+	void replaceExisting(Object id) {
+		invalidate();
+		if (id == null) {
+			return;
+		}
+		gridfs.delete(query(whereFilename().is(location).and("_id").ne(id)));
+	}
+
+	/**
+	 * Removes the file with the given id, stored from a write that did not complete,
+	 * leaving any previous content in place.
+	 */
+	void discard(Object id) {
+		if (id == null) {
+			return;
+		}
+		gridfs.delete(query(where("_id").is(id)));
+	}
+
+	private static Executor createDefaultExecutor() {
+		int threads = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("gridfs-store-writer-");
+		threadFactory.setDaemon(true);
+
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new ArrayBlockingQueue<>(DEFAULT_QUEUE_CAPACITY), threadFactory);
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	/**
+	 * Output stream that records whether any write to it failed, so that content is only
+	 * committed once it is known to be complete.
+	 */
+	private abstract static class CommittingOutputStream extends DelegatingOutputStream {
+
+		protected boolean failed;
+
+		CommittingOutputStream(OutputStream out) {
+			super(out);
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			try {
+				out.write(b);
 			}
+			catch (IOException | RuntimeException e) {
+				failed = true;
+				throw e;
+			}
+		}
 
-			@Override
-			public void write(byte[] b) throws IOException {
-				deleteOnFirstWrite();
-				super.write(b);
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			try {
+				out.write(b, off, len);
+			}
+			catch (IOException | RuntimeException e) {
+				failed = true;
+				throw e;
 			}
+		}
 
-			@Override
-			public void write(int b) throws IOException {
-				deleteOnFirstWrite();
-				super.write(b);
+		@Override
+		public long transferFrom(InputStream in) throws IOException {
+			try {
+				return super.transferFrom(in);
+			}
+			catch (IOException | RuntimeException e) {
+				// also covers failures reading the content being transferred
+				failed = true;
+				throw e;
 			}
+		}
 
-			protected void deleteOnFirstWrite() {
-				if (firstWrite) {
-					try {
-						gridfs.delete(query(whereFilename().is(resource.getFilename())));
-					}
-					finally {
-						firstWrite = false;
-					}
-				}
+		@Override
+		public void flush() throws IOException {
+			try {
+				out.flush();
+			}
+			catch (IOException | RuntimeException e) {
+				failed = true;
+				throw e;
 			}
+		}
+	}
 
-			@Override
-			public void close() throws IOException {
-				super.close();
+	/**
+	 * Output stream that uploads directly to the GridFS bucket and replaces any existing
+	 * content once closed.  Should a write fail the upload is aborted instead.
+	 */
+	private class UploadOutputStream extends CommittingOutputStream {
 
-				synchronized (resource) {
-					return;
-				}
-			}
-		};
+		private final GridFSUploadStream upload;
 
-		CountDownLatch latch = new CountDownLatch(1);
-		Thread t = new Thread(() -> {
-			synchronized (resource) {
-				latch.countDown();
-				gridfs.store(is, resource.getFilename());
-			}
-		});
-		t.start();
+		UploadOutputStream(GridFSUploadStream upload) {
+			super(upload);
+			this.upload = upload;
+		}
 
-		try {
-			latch.await();
+		@Override
+		public void close() throws IOException {
+			if (failed) {
+				upload.abort();
+				return;
+			}
+			upload.close();
+			replaceExisting(upload.getObjectId());
 		}
-		catch (InterruptedException e) {
-			logger.warn(String.format("waiting for countdown latch for resource %s",
-					resource.getFilename()), e);
+	}
+
+	/**
+	 * Output stream that pipes content to a store running on the executor.  Closing the
+	 * stream waits for the store to complete and reports any failure.  Existing content is
+	 * replaced once the store completes, unless a write failed in which case the stored
+	 * file is discarded.
+	 */
+	private class PipedUploadOutputStream extends CommittingOutputStream {
+
+		private final CompletableFuture<Object> completion;
+
+		PipedUploadOutputStream(OutputStream out, CompletableFuture<Object> completion) {
+			super(out);
+			this.completion = completion;
 		}
 
-		return synchronizedOutputStream;
+		@Override
+		public void close() throws IOException {
+			try {
+				out.close();
+			}
+			catch (IOException | RuntimeException e) {
+				failed = true;
+				throw e;
+			}
+			finally {
+				Object id;
+				try {
+					id = completion.get();
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new InterruptedIOException("interrupted waiting for content to be stored");
+				}
+				catch (ExecutionException e) {
+					throw new IOException("storing content", e.getCause());
+				}
+
+				if (failed) {
+					discard(id);
+				}
+				else {
+					replaceExisting(id);
+				}
+			}
+		}
 	}
 
 	@Override
 	public void delete() {
-		if (gridfs.findOne(query(whereFilename().is(location))) == null) {
+		if (getGridFSFile() == null) {
 			return;
 		}
 		gridfs.delete(query(whereFilename().is(location)));
+		invalidate();
 	}
 }
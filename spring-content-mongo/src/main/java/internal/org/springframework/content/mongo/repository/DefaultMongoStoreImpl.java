@@ -1,8 +1,11 @@
 package internal.org.springframework.content.mongo.repository;
 
+import com.mongodb.client.gridfs.GridFSBucket;
+import internal.org.springframework.content.mongo.io.GridFsFileCache;
 import internal.org.springframework.content.mongo.io.GridFsStoreResource;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.bson.types.ObjectId;
 import org.springframework.content.commons.annotations.ContentId;
 import org.springframework.content.commons.annotations.ContentLength;
 import org.springframework.content.commons.repository.AssociativeStore;
@@ -23,6 +26,7 @@ import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.util.UUID;
+import java.util.concurrent.Executor;
 
 import static java.lang.String.format;
 import static org.springframework.data.mongodb.core.query.Query.query;
@@ -35,6 +39,9 @@ public class DefaultMongoStoreImpl<S, SID extends Serializable>
 
 	private GridFsTemplate gridFs;
 	private PlacementService placer;
+	private GridFSBucket bucket;
+	private Executor executor;
+	private GridFsFileCache fileCache;
 
 	public DefaultMongoStoreImpl(GridFsTemplate gridFs, PlacementService placer) {
 		Assert.notNull(gridFs, "gridFs cannot be null");
@@ -44,10 +51,39 @@ public class DefaultMongoStoreImpl<S, SID extends Serializable>
 		this.placer = placer;
 	}
 
+	/**
+	 * Sets the bucket that store resources upload content to directly, without piping
+	 * content through a separate thread.
+	 *
+	 * @param bucket the GridFS bucket backing the GridFsTemplate
+	 */
+	public void setBucket(GridFSBucket bucket) {
+		this.bucket = bucket;
+	}
+
+	/**
+	 * Sets the executor that store resources use to store content written to their
+	 * output streams.
+	 *
+	 * @param executor the executor
+	 */
+	public void setExecutor(Executor executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * Sets the cache that store resources use to share file metadata.
+	 *
+	 * @param fileCache the cache
+	 */
+	public void setFileCache(GridFsFileCache fileCache) {
+		this.fileCache = fileCache;
+	}
+
 	@Override
 	public Resource getResource(SID id) {
 		String location = placer.convert(id, String.class);
-		return new GridFsStoreResource(location, gridFs);
+		return createResource(location);
 	}
 
 	@Override
@@ -61,7 +97,21 @@ public class DefaultMongoStoreImpl<S, SID extends Serializable>
 		}
 
 		String location = placer.convert(contentId, String.class);
-		return new GridFsStoreResource(location, gridFs);
+		return createResource(location);
+	}
+
+	private Resource createResource(String location) {
+		GridFsStoreResource resource = new GridFsStoreResource(location, gridFs);
+		if (bucket != null) {
+			resource.setBucket(bucket);
+		}
+		if (executor != null) {
+			resource.setExecutor(executor);
+		}
+		if (fileCache != null) {
+			resource.setFileCache(fileCache);
+		}
+		return resource;
 	}
 
 	@Override
@@ -103,12 +153,15 @@ public class DefaultMongoStoreImpl<S, SID extends Serializable>
 
 		String location = placer.convert(contentId, String.class);
 		Resource resource = gridFs.getResource(location);
-		if (resource != null && resource.exists()) {
-			gridFs.delete(query(whereFilename().is(resource.getFilename())));
-		}
+		boolean exists = resource != null && resource.exists();
 
 		try {
-			gridFs.store(content, location);
+			ObjectId id = gridFs.store(content, location);
+			if (exists && id != null) {
+				// replace the previous content only once the new content is stored
+				gridFs.delete(query(whereFilename().is(location).and("_id").ne(id)));
+			}
+			evict(location);
 			resource = gridFs.getResource(location);
 		} catch (Exception e) {
 			logger.error(format("Unexpected error setting content for entity  %s", property), e);
@@ -160,6 +213,7 @@ public class DefaultMongoStoreImpl<S, SID extends Serializable>
 			Resource resource = gridFs.getResource(location);
 			if (resource != null && resource.exists()) {
 				gridFs.delete(query(whereFilename().is(resource.getFilename())));
+				evict(location);
 
 				// reset content fields
 				BeanUtils.setFieldWithAnnotationConditionally(property, ContentId.class,
@@ -188,6 +242,12 @@ public class DefaultMongoStoreImpl<S, SID extends Serializable>
 		}
 	}
 
+	private void evict(String location) {
+		if (fileCache != null) {
+			fileCache.evict(location);
+		}
+	}
+
 	protected Object convertToExternalContentIdType(S property, Object contentId) {
 		if (placer.canConvert(TypeDescriptor.forObject(contentId),
 				TypeDescriptor.valueOf(BeanUtils.getFieldWithAnnotationType(property,
@@ -1,20 +1,30 @@
 package internal.org.springframework.content.mongo.io;
 
 import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import com.mongodb.MongoGridFSException;
+import com.mongodb.client.gridfs.GridFSBucket;
+import com.mongodb.client.gridfs.GridFSUploadStream;
 import com.mongodb.client.gridfs.model.GridFSFile;
 import com.mongodb.gridfs.GridFSDBFile;
 import org.apache.commons.io.IOUtils;
+import org.bson.types.ObjectId;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 import org.powermock.modules.junit4.PowerMockRunnerDelegate;
+import org.springframework.content.commons.io.DelegatingOutputStream;
 import org.springframework.core.io.Resource;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.gridfs.GridFsResource;
 import org.springframework.data.mongodb.gridfs.GridFsTemplate;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.time.Duration;
 import java.util.Date;
 
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
@@ -28,10 +38,13 @@ import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyObject;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -46,17 +59,26 @@ public class GridFSResourceTest {
 	private GridFsTemplate gridfs;
 
 	private GridFSFile file;
+	private GridFSBucket bucket;
+	private GridFSUploadStream upload;
+	private GridFsFileCache cache;
 
 	private Object rc;
+	private Exception e;
 
 	{
 		Describe("GridFsStoreResource", () -> {
 			BeforeEach(() -> {
 				location = "some-location";
 				gridfs = mock(GridFsTemplate.class);
+				bucket = null;
+				e = null;
 			});
 			JustBeforeEach(() -> {
 				r = new GridFsStoreResource(location, gridfs);
+				if (bucket != null) {
+					r.setBucket(bucket);
+				}
 			});
 			Describe("Resource", () -> {
 				Context("#contentLength", () -> {
@@ -173,16 +195,16 @@ public class GridFSResourceTest {
 						BeforeEach(() -> {
 							file = mock(GridFSFile.class);
 							when(gridfs.findOne(anyObject())).thenReturn(file);
-							when(gridfs.getResource(location))
+							when(gridfs.getResource(file))
 									.thenReturn(mock(GridFsResource.class));
 						});
 						It("should return the file's input stream", () -> {
-							verify(gridfs).getResource(location);
+							verify(gridfs).getResource(file);
 						});
 					});
 					Context("given the file doesn't exist", () -> {
 						It("should return null", () -> {
-							verify(gridfs, never()).getResource(location);
+							verify(gridfs, never()).getResource(any(GridFSFile.class));
 							assertThat(rc, is(nullValue()));
 						});
 					});
@@ -242,6 +264,9 @@ public class GridFSResourceTest {
 						rc = r.getOutputStream();
 					});
 					Context("when content is written", () -> {
+						BeforeEach(() -> {
+							when(gridfs.store(any(InputStream.class), eq(location))).thenReturn(new ObjectId());
+						});
 						JustBeforeEach(() -> {
 							((OutputStream) rc).write(new byte[] { 32 }, 0, 1);
 							IOUtils.closeQuietly((OutputStream) rc);
@@ -249,8 +274,143 @@ public class GridFSResourceTest {
 						It("should store the content", () -> {
 							verify(gridfs).store(any(InputStream.class), eq(location));
 						});
-						It("should delete existing content", () -> {
-							verify(gridfs).delete(anyObject());
+						It("should delete existing content once the content is stored", () -> {
+							InOrder inOrder = Mockito.inOrder(gridfs);
+							inOrder.verify(gridfs).store(any(InputStream.class), eq(location));
+							inOrder.verify(gridfs).delete(anyObject());
+						});
+					});
+					Context("when the store fails", () -> {
+						BeforeEach(() -> {
+							when(gridfs.store(any(InputStream.class), eq(location))).thenThrow(new IllegalStateException("store-failure"));
+						});
+						JustBeforeEach(() -> {
+							try {
+								((OutputStream) rc).write(new byte[] { 32 }, 0, 1);
+								((OutputStream) rc).close();
+							} catch (IOException ioe) {
+								e = ioe;
+							}
+						});
+						It("should report the failure when the stream is closed", () -> {
+							assertThat(e, is(not(nullValue())));
+							assertThat(e.getCause().getMessage(), is("store-failure"));
+						});
+						It("should not delete existing content", () -> {
+							verify(gridfs, never()).delete(anyObject());
+						});
+					});
+					Context("when writing the content fails", () -> {
+						BeforeEach(() -> {
+							when(gridfs.store(any(InputStream.class), eq(location))).thenReturn(new ObjectId());
+						});
+						JustBeforeEach(() -> {
+							try {
+								((DelegatingOutputStream) rc).transferFrom(failingContent());
+							} catch (IOException ioe) {
+								e = ioe;
+							}
+							((OutputStream) rc).close();
+						});
+						It("should discard the stored content and keep the existing content", () -> {
+							assertThat(e, is(not(nullValue())));
+							ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+							verify(gridfs).delete(query.capture());
+							assertThat(query.getValue().getQueryObject().containsKey("_id"), is(true));
+							assertThat(query.getValue().getQueryObject().containsKey("filename"), is(false));
+						});
+					});
+					Context("given a bucket", () -> {
+						BeforeEach(() -> {
+							bucket = mock(GridFSBucket.class);
+							upload = mock(GridFSUploadStream.class);
+							when(bucket.openUploadStream(location)).thenReturn(upload);
+							when(upload.getObjectId()).thenReturn(new ObjectId());
+						});
+						JustBeforeEach(() -> {
+							try {
+								((OutputStream) rc).write(new byte[] { 32 }, 0, 1);
+							} catch (MongoGridFSException mgfe) {
+								e = mgfe;
+							}
+							((OutputStream) rc).close();
+						});
+						It("should upload the content directly to the bucket", () -> {
+							verify(upload).write(any(byte[].class), eq(0), eq(1));
+							verify(upload).close();
+							verify(gridfs, never()).store(any(InputStream.class), eq(location));
+						});
+						It("should delete existing content once the upload is complete", () -> {
+							InOrder inOrder = Mockito.inOrder(upload, gridfs);
+							inOrder.verify(upload).close();
+							inOrder.verify(gridfs).delete(anyObject());
+						});
+						Context("when writing the content fails", () -> {
+							BeforeEach(() -> {
+								doThrow(new MongoGridFSException("write-failure")).when(upload).write(any(byte[].class), anyInt(), anyInt());
+							});
+							It("should abort the upload and keep the existing content", () -> {
+								assertThat(e.getMessage(), is("write-failure"));
+								verify(upload).abort();
+								verify(upload, never()).close();
+								verify(gridfs, never()).delete(anyObject());
+							});
+						});
+					});
+				});
+			});
+			Describe("GridFSFile metadata", () -> {
+				BeforeEach(() -> {
+					file = mock(GridFSFile.class);
+					when(file.getUploadDate()).thenReturn(new Date());
+					when(gridfs.findOne(anyObject())).thenReturn(file);
+				});
+				Context("when the resource is queried more than once", () -> {
+					JustBeforeEach(() -> {
+						r.exists();
+						r.contentLength();
+						r.lastModified();
+						r.getContentType();
+						r.getId();
+					});
+					It("should look up the file once", () -> {
+						verify(gridfs, times(1)).findOne(anyObject());
+					});
+				});
+				Context("when the content has been replaced since the file was looked up", () -> {
+					JustBeforeEach(() -> {
+						when(gridfs.getResource(file))
+								.thenThrow(new MongoGridFSException("file not found"))
+								.thenReturn(mock(GridFsResource.class));
+						rc = r.getInputStream();
+					});
+					It("should look up the file again", () -> {
+						verify(gridfs, times(2)).findOne(anyObject());
+						verify(gridfs, times(2)).getResource(file);
+					});
+				});
+				Context("given a file cache", () -> {
+					BeforeEach(() -> {
+						cache = new GridFsFileCache(Duration.ofMinutes(1));
+					});
+					JustBeforeEach(() -> {
+						r.setFileCache(cache);
+						r.contentLength();
+
+						GridFsStoreResource other = new GridFsStoreResource(location, gridfs);
+						other.setFileCache(cache);
+						other.contentLength();
+					});
+					It("should share the file between resources", () -> {
+						verify(gridfs, times(1)).findOne(anyObject());
+						assertThat(cache.get(location), is(file));
+					});
+					Context("when the content is deleted", () -> {
+						JustBeforeEach(() -> {
+							r.delete();
+						});
+						It("should evict the file from the cache", () -> {
+							assertThat(cache.get(location), is(nullValue()));
 						});
 					});
 				});
@@ -282,4 +442,13 @@ public class GridFSResourceTest {
 			});
 		});
 	}
+
+	private static InputStream failingContent() {
+		return new InputStream() {
+			@Override
+			public int read() throws IOException {
+				throw new IOException("read-failure");
+			}
+		};
+	}
 }
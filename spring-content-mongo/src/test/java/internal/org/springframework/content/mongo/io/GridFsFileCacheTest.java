@@ -0,0 +1,84 @@
+package internal.org.springframework.content.mongo.io;
+
+import java.time.Duration;
+import java.util.Date;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import com.mongodb.client.gridfs.model.GridFSFile;
+import org.bson.BsonObjectId;
+import org.bson.types.ObjectId;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class GridFsFileCacheTest {
+
+	private GridFsFileCache cache;
+
+	private GridFSFile file1;
+	private GridFSFile file2;
+	private GridFSFile file3;
+
+	{
+		Describe("GridFsFileCache", () -> {
+			BeforeEach(() -> {
+				file1 = file("file1");
+				file2 = file("file2");
+				file3 = file("file3");
+			});
+			Context("given a full cache", () -> {
+				BeforeEach(() -> {
+					cache = new GridFsFileCache(Duration.ofMinutes(1), 2);
+					cache.put("file1", file1);
+					cache.put("file2", file2);
+				});
+				It("should evict the least recently used file to cache a new one", () -> {
+					cache.get("file1");
+					cache.put("file3", file3);
+
+					assertThat(cache.get("file1"), is(file1));
+					assertThat(cache.get("file2"), is(nullValue()));
+					assertThat(cache.get("file3"), is(file3));
+				});
+			});
+			Context("given an expired file", () -> {
+				BeforeEach(() -> {
+					cache = new GridFsFileCache(Duration.ofNanos(1));
+					cache.put("file1", file1);
+				});
+				It("should not return the file", () -> {
+					Thread.sleep(1);
+					assertThat(cache.get("file1"), is(nullValue()));
+				});
+			});
+			Context("when a file is put as null", () -> {
+				BeforeEach(() -> {
+					cache = new GridFsFileCache(Duration.ofMinutes(1));
+					cache.put("file1", file1);
+					cache.put("file1", null);
+				});
+				It("should evict the file", () -> {
+					assertThat(cache.get("file1"), is(nullValue()));
+				});
+			});
+		});
+	}
+
+	@Test
+	public void noop() {
+	}
+
+	private static GridFSFile file(String filename) {
+		return new GridFSFile(new BsonObjectId(new ObjectId()), filename, 0L, 255 * 1024, new Date(), null, null);
+	}
+}
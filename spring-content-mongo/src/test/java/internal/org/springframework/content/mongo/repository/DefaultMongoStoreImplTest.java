@@ -5,6 +5,7 @@ import com.mongodb.gridfs.GridFSFile;
 import org.bson.types.ObjectId;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.InOrder;
 import org.springframework.content.commons.annotations.ContentId;
 import org.springframework.content.commons.annotations.ContentLength;
 import org.springframework.content.commons.repository.StoreAccessException;
@@ -34,6 +35,7 @@ import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Matchers.isA;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -248,8 +250,7 @@ public class DefaultMongoStoreImplTest {
 							when(placer.convert(eq("abcd-efghi"), eq(String.class)))
 									.thenReturn("abcd-efghi");
 							when(gridFsTemplate.getResource("abcd-efghi")).thenReturn(resource);
-							// when(gridFsTemplate.store(anyObject(),
-							// anyString())).thenReturn(gridFSFile);
+							when(gridFsTemplate.store(anyObject(), anyString())).thenReturn(new ObjectId());
 							when(resource.exists()).thenReturn(true);
 							when(resource.contentLength()).thenReturn(1L);
 						});
@@ -268,6 +269,12 @@ public class DefaultMongoStoreImplTest {
 							verify(gridFsTemplate).store(eq(content), eq("abcd-efghi"));
 						});
 
+						It("should store the new content before deleting the existing resource", () -> {
+							InOrder inOrder = inOrder(gridFsTemplate);
+							inOrder.verify(gridFsTemplate).store(eq(content), eq("abcd-efghi"));
+							inOrder.verify(gridFsTemplate).delete(anyObject());
+						});
+
 						It("should update the content length", () -> {
 							assertThat(property.getContentLen(), is(1L));
 						});
@@ -1,5 +1,6 @@
 package internal.org.springframework.renditions.pdf;
 
+import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.rendering.PDFRenderer;
 import org.apache.pdfbox.tools.imageio.ImageIOUtil;
@@ -12,9 +13,22 @@ import java.io.OutputStream;
 
 public class PDFServiceImpl implements PDFService {
 
+    // documents beyond this size are buffered in a scratch file rather than on the heap
+    private static final long DEFAULT_MAX_MAIN_MEMORY = 16 * 1024 * 1024;
+
+    private final MemoryUsageSetting memoryUsageSetting;
+
+    public PDFServiceImpl() {
+        this(MemoryUsageSetting.setupMixed(DEFAULT_MAX_MAIN_MEMORY));
+    }
+
+    public PDFServiceImpl(MemoryUsageSetting memoryUsageSetting) {
+        this.memoryUsageSetting = memoryUsageSetting;
+    }
+
     @Override
     public PDDocument load(InputStream stream) throws IOException {
-        return PDDocument.load(stream);
+        return PDDocument.load(stream, memoryUsageSetting);
     }
 
     @Override
@@ -26,4 +40,9 @@ public class PDFServiceImpl implements PDFService {
     public void writeImage(BufferedImage bim, String format, OutputStream out) throws IOException {
         ImageIOUtil.writeImage(bim, "jpeg", out);
     }
+
+    @Override
+    public void writeImage(BufferedImage bim, String format, OutputStream out, int dpi, float quality) throws IOException {
+        ImageIOUtil.writeImage(bim, format, out, dpi, quality);
+    }
 }
@@ -4,41 +4,116 @@ import internal.org.springframework.renditions.pdf.PDFServiceImpl;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
-import org.apache.pdfbox.io.ScratchFile;
 import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
 import org.apache.pdfbox.rendering.ImageType;
 import org.apache.pdfbox.rendering.PDFRenderer;
-import org.apache.pdfbox.tools.imageio.ImageIOUtil;
-import org.springframework.content.commons.io.FileRemover;
-import org.springframework.content.commons.io.ObservableInputStream;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.content.commons.io.DelegatingInputStream;
 import org.springframework.content.commons.renditions.RenditionProvider;
 import org.springframework.content.renditions.RenditionException;
 import org.springframework.renditions.poi.PDFService;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
+import org.springframework.util.MimeType;
 
 import java.awt.image.BufferedImage;
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.PipedInputStream;
 import java.io.PipedOutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Renders a page of a PDF as a JPEG.
+ *
+ * The page, size and quality of the JPEG can be requested with parameters of the
+ * requested mime type, for example {@code image/jpg;page=0;width=200;height=200;quality=0.8}.
+ * The page is rendered at the lowest resolution that fills the requested size, up to the
+ * renderer's maximum DPI, and the JPEG is streamed to the reader as it is encoded.
+ *
+ * JPEGs are encoded on a bounded pool of encoders, each held until its JPEG has been
+ * read or the stream closed.  Renditions are rejected when every encoder is busy and
+ * the pool's queue is full.
+ */
 @Service
-public class PdfToJpegRenderer implements RenditionProvider {
+public class PdfToJpegRenderer implements RenditionProvider, DisposableBean {
 
 	private static Log logger = LogFactory.getLog(PdfToJpegRenderer.class);
 
+	private static final int PIPE_SIZE = 64 * 1024;
+	private static final float POINTS_PER_INCH = 72f;
+
+	private static final int DEFAULT_QUEUE_CAPACITY = 64;
+
+	private final ExecutorService encoders;
+
 	private PDFService pdfService;
 
+	private int page = 0;
+	private int maxDpi = 300;
+	private float quality = 1.0f;
+
 	public PdfToJpegRenderer() {
-		this.pdfService = new PDFServiceImpl();
+		this(new PDFServiceImpl());
 	};
 
 	public PdfToJpegRenderer(PDFService pdfService) {
+		this(pdfService, Runtime.getRuntime().availableProcessors(), DEFAULT_QUEUE_CAPACITY);
+	}
+
+	/**
+	 * @param pdfService loads and renders PDFs
+	 * @param encoders the number of JPEGs encoded at once
+	 * @param queueCapacity the number of JPEGs that may wait for an encoder, beyond which
+	 *                      renditions are rejected
+	 */
+	public PdfToJpegRenderer(PDFService pdfService, int encoders, int queueCapacity) {
+		Assert.isTrue(encoders > 0, "encoders must be greater than zero");
+		Assert.isTrue(queueCapacity > 0, "queueCapacity must be greater than zero");
+
 		this.pdfService = pdfService;
+
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("pdftojpegrenderer-");
+		threadFactory.setDaemon(true);
+		this.encoders = new ThreadPoolExecutor(encoders, encoders, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), threadFactory);
+	}
+
+	/**
+	 * Sets the page rendered when no page is requested, zero being the first page.
+	 */
+	public void setPage(int page) {
+		this.page = page;
+	}
+
+	/**
+	 * Sets the resolution pages are rendered at when no size is requested, and the
+	 * maximum resolution they are rendered at when one is.
+	 */
+	public void setMaxDpi(int maxDpi) {
+		this.maxDpi = maxDpi;
+	}
+
+	/**
+	 * Sets the JPEG quality, between 0 and 1, used when no quality is requested.
+	 */
+	public void setQuality(float quality) {
+		this.quality = quality;
+	}
+
+	/**
+	 * Stops encoding, failing the renditions still being read.
+	 */
+	@Override
+	public void destroy() {
+		encoders.shutdownNow();
 	}
 
 	@Override
@@ -51,31 +126,28 @@ public class PdfToJpegRenderer implements RenditionProvider {
 		return new String[] { "image/jpg" };
 	}
 
-	@SuppressWarnings("resource")
 	@Override
 	public InputStream convert(InputStream fromInputSource, String toMimeType) {
 
 		Assert.notNull(fromInputSource, "input source must not be null");
 
+		MimeType mimeType = MimeType.valueOf(toMimeType);
+		int page = intParameter(mimeType, "page", this.page);
+		int width = intParameter(mimeType, "width", 0);
+		int height = intParameter(mimeType, "height", 0);
+		float quality = floatParameter(mimeType, "quality", this.quality);
+
+		BufferedImage bim = null;
+		int dpi = maxDpi;
 		PDDocument document = null;
 		try {
 			document = pdfService.load(fromInputSource);
-			PDFRenderer pdfRenderer = pdfService.renderer(document);
-			if (document.getNumberOfPages() > 0) {
-  				BufferedImage bim = pdfRenderer.renderImageWithDPI(0, 300, ImageType.RGB);
-  				File tmp = File.createTempFile("pdftojpegrenderer", ".tmp");
-  				tmp.deleteOnExit();
-				FileOutputStream out = new FileOutputStream(tmp);
-				try {
-					pdfService.writeImage(bim, "jpeg", out);
-				} catch (IOException e) {
-					logger.error("Error writing buffered image to output stream");
-					throw new RenditionException("Error writing buffered image to output stream", e);
-				} finally {
-					IOUtils.closeQuietly(out);
-				}
-				return new ObservableInputStream(new FileInputStream(tmp), new FileRemover(tmp));
+			if (page < 0 || page >= document.getNumberOfPages()) {
+				return null;
 			}
+			dpi = dpi(document.getPage(page), width, height);
+			PDFRenderer pdfRenderer = pdfService.renderer(document);
+			bim = pdfRenderer.renderImageWithDPI(page, dpi, ImageType.RGB);
 		} catch (IOException e) {
 			logger.error("Error rendering application/pdf to image/jpeg");
 			throw new RenditionException("Error rendering application/pdf to image/jpeg", e);
@@ -89,6 +161,115 @@ public class PdfToJpegRenderer implements RenditionProvider {
 			}
 		}
 
-		return null;
+		return encode(bim, dpi, quality);
+	}
+
+	// the lowest resolution at which the page fills the requested width and height
+	private int dpi(PDPage page, int width, int height) {
+		if ((width <= 0 && height <= 0) || page == null) {
+			return maxDpi;
+		}
+
+		PDRectangle box = page.getCropBox();
+		float pageWidth = box.getWidth();
+		float pageHeight = box.getHeight();
+		if (page.getRotation() % 180 != 0) {
+			pageWidth = box.getHeight();
+			pageHeight = box.getWidth();
+		}
+
+		float scale = 0f;
+		if (width > 0) {
+			scale = Math.max(scale, width / pageWidth);
+		}
+		if (height > 0) {
+			scale = Math.max(scale, height / pageHeight);
+		}
+		int dpi = (int) Math.ceil(scale * POINTS_PER_INCH);
+		return Math.max(1, Math.min(dpi, maxDpi));
+	}
+
+	@SuppressWarnings("resource")
+	private InputStream encode(BufferedImage bim, int dpi, float quality) {
+		PipedInputStream in = new PipedInputStream(PIPE_SIZE);
+		PipedOutputStream out;
+		try {
+			out = new PipedOutputStream(in);
+		} catch (IOException e) {
+			throw new RenditionException("Error writing buffered image to output stream", e);
+		}
+
+		EncodedInputStream encoded = new EncodedInputStream(in);
+		try {
+			// an encoder is held until the jpeg is read or the stream is closed
+			encoders.execute(() -> {
+				try {
+					pdfService.writeImage(bim, "jpeg", out, dpi, quality);
+				} catch (Throwable e) {
+					logger.error("Error writing buffered image to output stream", e);
+					encoded.error = e;
+				} finally {
+					IOUtils.closeQuietly(out);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			IOUtils.closeQuietly(out);
+			IOUtils.closeQuietly(in);
+			throw new RenditionException("Too many images being encoded", e);
+		}
+		return encoded;
+	}
+
+	private static int intParameter(MimeType mimeType, String name, int defaultValue) {
+		String value = mimeType.getParameter(name);
+		if (value == null) {
+			return defaultValue;
+		}
+		try {
+			return Integer.parseInt(value);
+		} catch (NumberFormatException e) {
+			throw new RenditionException(String.format("Invalid %s %s", name, value), e);
+		}
+	}
+
+	private static float floatParameter(MimeType mimeType, String name, float defaultValue) {
+		String value = mimeType.getParameter(name);
+		if (value == null) {
+			return defaultValue;
+		}
+		try {
+			return Float.parseFloat(value);
+		} catch (NumberFormatException e) {
+			throw new RenditionException(String.format("Invalid %s %s", name, value), e);
+		}
+	}
+
+	/**
+	 * Reads the JPEG as it is encoded, failing rather than ending if the encoding fails.
+	 */
+	private static class EncodedInputStream extends DelegatingInputStream {
+
+		private volatile Throwable error;
+
+		EncodedInputStream(PipedInputStream in) {
+			super(in);
+		}
+
+		@Override
+		public int read() throws IOException {
+			return checked(in.read());
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			return checked(in.read(b, off, len));
+		}
+
+		private int checked(int n) throws IOException {
+			if (n == -1 && error != null) {
+				throw new IOException("Error writing buffered image to output stream", error);
+			}
+			return n;
+		}
 	}
 }
@@ -16,4 +16,12 @@ public interface PDFService {
 	PDFRenderer renderer(PDDocument doc);
 
 	void writeImage(BufferedImage bim, String format, OutputStream out) throws IOException;
+
+	/**
+	 * Writes the image at the given resolution and quality.  By default the image is
+	 * written at the format's default resolution and quality.
+	 */
+	default void writeImage(BufferedImage bim, String format, OutputStream out, int dpi, float quality) throws IOException {
+		writeImage(bim, format, out);
+	}
 }
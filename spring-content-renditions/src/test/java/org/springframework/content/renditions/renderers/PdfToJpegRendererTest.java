@@ -3,6 +3,8 @@ package org.springframework.content.renditions.renderers;
 import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
 import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
 import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
 import org.apache.pdfbox.rendering.ImageType;
 import org.apache.pdfbox.rendering.PDFRenderer;
 import org.apache.poi.POIXMLProperties;
@@ -13,11 +15,17 @@ import org.springframework.content.commons.renditions.RenditionProvider;
 import org.springframework.content.renditions.RenditionException;
 import org.springframework.renditions.poi.PDFService;
 
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.AfterEach;
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
@@ -30,11 +38,18 @@ import static org.hamcrest.Matchers.hasItemInArray;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.core.IsInstanceOf.instanceOf;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyFloat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isA;
 import static org.mockito.Matchers.anyObject;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -50,14 +65,18 @@ public class PdfToJpegRendererTest {
 
 	private InputStream input;
 	private String mimeType;
+	private InputStream result;
 
 	private Exception e;
 
+	private CountDownLatch release;
+
 	{
 		Describe("WordToJpegRenderer", () -> {
 			BeforeEach(() -> {
 				pdf = mock(PDFService.class);
 				renderer = new PdfToJpegRenderer(pdf);
+				e = null;
 			});
 			Context("#consumes", () -> {
 				It("should return word ml mimetype", () -> {
@@ -73,7 +92,7 @@ public class PdfToJpegRendererTest {
 			Context("#convert", () -> {
 				JustBeforeEach(() -> {
 					try {
-						renderer.convert(input, mimeType);
+						result = renderer.convert(input, mimeType);
 					}
 					catch (Exception e) {
 						this.e = e;
@@ -87,6 +106,7 @@ public class PdfToJpegRendererTest {
 						when(pdf.renderer(doc)).thenReturn(pdfRenderer);
 
 						input = new ByteArrayInputStream("".getBytes());
+						mimeType = "image/jpg";
 					});
 					Context("when the pdf has more than one page", () -> {
 						BeforeEach(() -> {
@@ -96,7 +116,54 @@ public class PdfToJpegRendererTest {
 							verify(pdfRenderer).renderImageWithDPI(0, 300, ImageType.RGB);
 						});
 						It("should output the rendered image", () -> {
-							verify(pdf).writeImage(anyObject(), eq("jpeg"), isA(OutputStream.class));
+							verify(pdf, timeout(1000)).writeImage(anyObject(), eq("jpeg"), isA(OutputStream.class), eq(300), eq(1.0f));
+						});
+						Context("given a size, page and quality are requested", () -> {
+							BeforeEach(() -> {
+								when(doc.getNumberOfPages()).thenReturn(2);
+								PDPage page = mock(PDPage.class);
+								when(page.getCropBox()).thenReturn(PDRectangle.LETTER);
+								when(doc.getPage(1)).thenReturn(page);
+
+								mimeType = "image/jpg;page=1;width=200;quality=0.5";
+							});
+							It("should render the page at the lowest resolution filling the size", () -> {
+								// 200 pixels across a 612 point wide page
+								verify(pdfRenderer).renderImageWithDPI(1, 24, ImageType.RGB);
+							});
+							It("should output the rendered image at the requested quality", () -> {
+								verify(pdf, timeout(1000)).writeImage(anyObject(), eq("jpeg"), isA(OutputStream.class), eq(24), eq(0.5f));
+							});
+						});
+						Context("given every encoder is busy", () -> {
+							BeforeEach(() -> {
+								release = new CountDownLatch(1);
+								doAnswer(invocation -> release.await(5, TimeUnit.SECONDS))
+										.when(pdf).writeImage(any(), anyString(), any(), anyInt(), anyFloat());
+
+								renderer = new PdfToJpegRenderer(pdf, 1, 1);
+								// one image being encoded and one waiting
+								renderer.convert(new ByteArrayInputStream("".getBytes()), mimeType);
+								renderer.convert(new ByteArrayInputStream("".getBytes()), mimeType);
+							});
+							AfterEach(() -> {
+								release.countDown();
+								((PdfToJpegRenderer) renderer).destroy();
+							});
+							It("should throw a RenditionException", () -> {
+								assertThat(e, is(instanceOf(RenditionException.class)));
+							});
+						});
+						Context("given a page the pdf does not have is requested", () -> {
+							BeforeEach(() -> {
+								mimeType = "image/jpg;page=1";
+							});
+							It("should not render the page", () -> {
+								verify(pdfRenderer, never()).renderImageWithDPI(anyInt(), anyFloat(), any());
+							});
+							It("should close the document", () -> {
+								verify(doc).close();
+							});
 						});
 						Context("when the pdf document fails to return a thumbnail", () -> {
 							BeforeEach(() -> {
@@ -121,6 +188,24 @@ public class PdfToJpegRendererTest {
 						});
 					});
 				});
+				Context("given a pdf", () -> {
+					BeforeEach(() -> {
+						renderer = new PdfToJpegRenderer();
+
+						ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+						try (PDDocument pdf = new PDDocument()) {
+							pdf.addPage(new PDPage(PDRectangle.LETTER));
+							pdf.save(bytes);
+						}
+						input = new ByteArrayInputStream(bytes.toByteArray());
+						mimeType = "image/jpg;width=100";
+					});
+					It("should stream a jpeg of the requested size", () -> {
+						BufferedImage image = ImageIO.read(result);
+						assertThat(image.getWidth() >= 100, is(true));
+						assertThat(image.getWidth() < 120, is(true));
+					});
+				});
 				Context("given a null input stream", () -> {
 					It("should get the embedded thumbnail from the XWPFDocument's properties",
 							() -> {
@@ -75,7 +75,7 @@ public class ContentEntityRestController extends AbstractContentPropertyControll
 											   @RequestHeader(value = "Accept", required = false) String mimeType)
 			throws HttpRequestMethodNotSupportedException {
 
-		ContentStoreInfo info = ContentStoreUtils.findStore(storeService, store);
+		ContentStoreInfo info = ContentStoreUtils.findStore(storeService, store, request);
 		if (info == null) {
 			throw new IllegalArgumentException(
 					String.format("Store for path %s not found", store));
@@ -151,12 +151,12 @@ public class ContentEntityRestController extends AbstractContentPropertyControll
 
 	@StoreType("contentstore")
 	@RequestMapping(value = BASE_MAPPING, method = RequestMethod.DELETE, headers = "accept!=application/hal+json")
-	public void deleteContent(@RequestHeader HttpHeaders headers, HttpServletResponse response,
+	public void deleteContent(HttpServletRequest request, @RequestHeader HttpHeaders headers, HttpServletResponse response,
 							  @PathVariable String store,
 							  @PathVariable String id)
 			throws HttpRequestMethodNotSupportedException, IOException {
 
-		ContentStoreInfo info = ContentStoreUtils.findContentStore(storeService, store);
+		ContentStoreInfo info = ContentStoreUtils.findContentStore(storeService, store, request);
 		if (info == null) {
 			throw new IllegalArgumentException(
 					String.format("Store for path %s not found", store));
@@ -194,7 +194,7 @@ public class ContentEntityRestController extends AbstractContentPropertyControll
 	protected void handleMultipart(HttpServletRequest request, HttpServletResponse response, HttpHeaders headers, String store, String id, InputStream content, MediaType mimeType, String originalFilename)
 			throws HttpRequestMethodNotSupportedException, IOException {
 
-		ContentStoreInfo info = ContentStoreUtils.findContentStore(storeService, store);
+		ContentStoreInfo info = ContentStoreUtils.findContentStore(storeService, store, request);
 
 		if (info == null) {
 			throw new IllegalArgumentException(
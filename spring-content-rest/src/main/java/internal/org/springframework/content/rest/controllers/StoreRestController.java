@@ -14,6 +14,7 @@ import internal.org.springframework.content.rest.mappings.ContentHandlerMapping.
 import internal.org.springframework.content.rest.mappings.StoreByteRangeHttpRequestHandler;
 import internal.org.springframework.content.rest.utils.ContentStoreUtils;
 import internal.org.springframework.content.rest.utils.HeaderUtils;
+import internal.org.springframework.content.rest.utils.StoreRoute;
 import org.apache.commons.io.IOUtils;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -55,13 +56,12 @@ public class StoreRestController extends AbstractContentPropertyController {
 	public void getContent(HttpServletRequest request, HttpServletResponse response,
 			@PathVariable String store) throws ServletException, IOException {
 
-		ContentStoreInfo info = ContentStoreUtils.findStore(storeService, store);
+		ContentStoreInfo info = ContentStoreUtils.findStore(storeService, store, request);
 		if (info == null) {
 			throw new IllegalArgumentException("Entity not a content repository");
 		}
 
-		String path = new UrlPathHelper().getPathWithinApplication(request);
-		String pathToUse = path.substring(ContentStoreUtils.storePath(info).length() + 1);
+		String pathToUse = contentPath(request, info);
 
 		Resource r = ((Store) info.getImpementation()).getResource(pathToUse);
 		if (r == null || r.exists() == false) {
@@ -84,8 +84,7 @@ public class StoreRestController extends AbstractContentPropertyController {
 							@PathVariable String store)
 			throws IOException {
 
-		String path = new UrlPathHelper().getPathWithinApplication(request);
-		handleUpdate(headers, store, path, request.getInputStream());
+		handleUpdate(request, headers, store, request.getInputStream());
 	}
 
 	@StoreType("store")
@@ -97,8 +96,7 @@ public class StoreRestController extends AbstractContentPropertyController {
 			@RequestParam("file") MultipartFile multiPart)
 			throws IOException {
 
-		String path = new UrlPathHelper().getPathWithinApplication(request);
-		handleUpdate(headers, store, path, multiPart.getInputStream());
+		handleUpdate(request, headers, store, multiPart.getInputStream());
 	}
 
 	@StoreType("store")
@@ -110,8 +108,7 @@ public class StoreRestController extends AbstractContentPropertyController {
 			@RequestParam("file") MultipartFile multiPart)
 			throws IOException {
 
-		String path = new UrlPathHelper().getPathWithinApplication(request);
-		handleUpdate(headers, store, path, multiPart.getInputStream());
+		handleUpdate(request, headers, store, multiPart.getInputStream());
 	}
 
 	@StoreType("store")
@@ -121,13 +118,12 @@ public class StoreRestController extends AbstractContentPropertyController {
 							  @PathVariable String store)
 			throws IOException {
 
-		ContentStoreInfo info = ContentStoreUtils.findStore(storeService, store);
+		ContentStoreInfo info = ContentStoreUtils.findStore(storeService, store, request);
 		if (info == null) {
 			throw new IllegalArgumentException("Not a Store");
 		}
 
-		String path = new UrlPathHelper().getPathWithinApplication(request);
-		String pathToUse = path.substring(ContentStoreUtils.storePath(info).length() + 1);
+		String pathToUse = contentPath(request, info);
 
 		Resource r = ((Store) info.getImpementation()).getResource(pathToUse);
 		if (r == null || r.exists() == false) {
@@ -144,15 +140,15 @@ public class StoreRestController extends AbstractContentPropertyController {
 		response.setStatus(HttpStatus.NO_CONTENT.value());
 	}
 
-	protected void handleUpdate(HttpHeaders headers, String store, String path, InputStream content)
+	protected void handleUpdate(HttpServletRequest request, HttpHeaders headers, String store, InputStream content)
 			throws IOException {
 
-		ContentStoreInfo info = ContentStoreUtils.findStore(storeService, store);
+		ContentStoreInfo info = ContentStoreUtils.findStore(storeService, store, request);
 		if (info == null) {
 			throw new IllegalArgumentException("Not a Store");
 		}
 
-		String pathToUse = path.substring(store.length() + 1);
+		String pathToUse = contentPath(request, info);
 		Resource r = ((Store) info.getImpementation()).getResource(pathToUse);
 		if (r == null) {
 			throw new ResourceNotFoundException();
@@ -171,4 +167,14 @@ public class StoreRestController extends AbstractContentPropertyController {
 		IOUtils.closeQuietly(out);
 		IOUtils.closeQuietly(in);
 	}
+
+	private String contentPath(HttpServletRequest request, ContentStoreInfo info) {
+		StoreRoute route = StoreRoute.of(request);
+		if (route != null && info.equals(route.getStore())) {
+			return route.getContentPath();
+		}
+
+		String path = new UrlPathHelper().getPathWithinApplication(request);
+		return path.substring(ContentStoreUtils.storePath(info).length() + 1);
+	}
 }
@@ -49,6 +49,13 @@ public class AssociatedResource implements HttpResource {
         this.original = original;
     }
 
+    /**
+     * Returns the store's resource that this resource is associated with.
+     */
+    public Resource getOriginal() {
+        return original;
+    }
+
     @Override
     public long contentLength() throws IOException {
         Long contentLength = (Long) BeanUtils.getFieldWithAnnotation(entity, ContentLength.class);
@@ -9,7 +9,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.net.URL;
-import java.nio.channels.ReadableByteChannel;
 import java.time.ZonedDateTime;
 
 /**
@@ -55,7 +54,8 @@ public class RenderedResource extends InputStreamResource {
 
     @Override
     public boolean isFile() {
-        return original.isFile();
+        // the rendition is not the content of the original's file
+        return false;
     }
 
     @Override
@@ -73,11 +73,6 @@ public class RenderedResource extends InputStreamResource {
         return original.getFile();
     }
 
-    @Override
-    public ReadableByteChannel readableChannel() throws IOException {
-        return original.readableChannel();
-    }
-
     @Override
     public Resource createRelative(String relativePath) throws IOException {
         return original.createRelative(relativePath);
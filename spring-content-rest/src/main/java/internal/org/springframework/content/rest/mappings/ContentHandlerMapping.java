@@ -2,7 +2,7 @@ package internal.org.springframework.content.rest.mappings;
 
 import internal.org.springframework.content.rest.annotations.ContentRestController;
 import internal.org.springframework.content.rest.utils.ContentStoreUtils;
-import org.apache.commons.io.FilenameUtils;
+import internal.org.springframework.content.rest.utils.StoreRoute;
 import org.springframework.content.commons.repository.ContentStore;
 import org.springframework.content.commons.repository.Store;
 import org.springframework.content.commons.storeservice.ContentStoreInfo;
@@ -15,7 +15,6 @@ import org.springframework.http.MediaType;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.mvc.condition.RequestCondition;
-import org.springframework.web.util.UrlPathHelper;
 
 import javax.servlet.http.HttpServletRequest;
 import java.lang.annotation.Documented;
@@ -72,6 +71,8 @@ public class ContentHandlerMapping extends StoreAwareHandlerMapping {
 
 			ContentStoreInfo info2 = ContentStoreUtils.findStore(contentStores, path[1]);
 			if (info2 != null && isHalOrJsonRequest(request) == false) {
+				// parsed once here for the store conditions and controllers
+				StoreRoute.resolve(request, contentStores, this.getConfiguration().getBaseUri());
 				return super.lookupHandlerMethod(lookupPath, request);
 			}
 		}
@@ -80,19 +81,14 @@ public class ContentHandlerMapping extends StoreAwareHandlerMapping {
 
 	@Override
 	protected CorsConfiguration getCorsConfiguration(Object handler, HttpServletRequest request) {
-		String lookupPath = getUrlPathHelper().getLookupPathForRequest(request);
-		String storeLookupPath = ContentStoreUtils.storeLookupPath(lookupPath, this.getConfiguration().getBaseUri());
 		CorsConfiguration corsConfiguration = super.getCorsConfiguration(handler, request);
 
-		if (storeLookupPath == null) {
+		StoreRoute route = StoreRoute.of(request, contentStores, this.getConfiguration().getBaseUri());
+		if (!route.isContentRoute()) {
 			return corsConfiguration;
 		}
 
-		String[] path = storeLookupPath.split("/");
-		if (path.length < 3)
-			return corsConfiguration;
-
-		ContentStoreInfo info2 = ContentStoreUtils.findStore(contentStores, path[1]);
+		ContentStoreInfo info2 = route.getStore();
 		if (info2 == null) {
 			return corsConfiguration;
 		}
@@ -189,15 +185,11 @@ public class ContentHandlerMapping extends StoreAwareHandlerMapping {
 
 		@Override
 		public StoreCondition getMatchingCondition(HttpServletRequest request) {
-			String path = new UrlPathHelper().getPathWithinApplication(request);
-
-			String storeLookupPath = ContentStoreUtils.storeLookupPath(path, baseUri);
-
-			String[] segments = storeLookupPath.split("/");
-			if (segments.length < 3) {
+			StoreRoute route = StoreRoute.of(request, stores, baseUri);
+			if (!route.isContentRoute()) {
 				return null;
 			}
-			ContentStoreInfo info = ContentStoreUtils.findStore(stores, segments[1]);
+			ContentStoreInfo info = route.getStore();
 			if (info != null
 					&& ((Store.class.isAssignableFrom(info.getInterface())
 							&& "store".equals(storeType))
@@ -219,11 +211,7 @@ public class ContentHandlerMapping extends StoreAwareHandlerMapping {
 					&& other.isMappingForRequest(request))
 				return -1;
 			else {
-				String path = new UrlPathHelper().getPathWithinApplication(request);
-				String storeLookupPath = ContentStoreUtils.storeLookupPath(path, baseUri);
-
-				String filename = FilenameUtils.getName(storeLookupPath);
-				String extension = FilenameUtils.getExtension(filename);
+				String extension = StoreRoute.of(request, stores, baseUri).getExtension();
 				if (extension != null && "store".equals(storeType)) {
 					return -1;
 				}
@@ -235,14 +223,11 @@ public class ContentHandlerMapping extends StoreAwareHandlerMapping {
 		}
 
 		public boolean isMappingForRequest(HttpServletRequest request) {
-			String path = new UrlPathHelper().getPathWithinApplication(request);
-			String storeLookupPath = ContentStoreUtils.storeLookupPath(path, baseUri);
-
-			String[] segments = storeLookupPath.split("/");
-			if (segments.length < 3) {
+			StoreRoute route = StoreRoute.of(request, stores, baseUri);
+			if (!route.isContentRoute()) {
 				return false;
 			}
-			ContentStoreInfo info = ContentStoreUtils.findStore(stores, segments[1]);
+			ContentStoreInfo info = route.getStore();
 			if (info != null
 					&& (Store.class.isAssignableFrom(info.getInterface())
 							&& "store".equals(storeType))
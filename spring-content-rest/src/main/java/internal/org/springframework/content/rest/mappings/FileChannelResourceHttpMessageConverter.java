@@ -0,0 +1,42 @@
+package internal.org.springframework.content.rest.mappings;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.ResourceHttpMessageConverter;
+
+/**
+ * {@link ResourceHttpMessageConverter} that writes file-backed resources using the
+ * container's sendfile support or {@link FileChannel#transferTo}, falling back to the
+ * default stream copy for all other resources.
+ */
+public class FileChannelResourceHttpMessageConverter extends ResourceHttpMessageConverter {
+
+	@Override
+	protected void writeContent(Resource resource, HttpOutputMessage outputMessage)
+			throws IOException, HttpMessageNotWritableException {
+
+		File file = FileChannelTransfers.getFile(resource);
+		if (file == null) {
+			super.writeContent(resource, outputMessage);
+			return;
+		}
+
+		long length = file.length();
+		if (length == 0) {
+			return;
+		}
+
+		if (FileChannelTransfers.sendfile(file, 0, length - 1)) {
+			return;
+		}
+
+		try (FileChannel channel = FileChannelTransfers.open(file)) {
+			FileChannelTransfers.transfer(channel, 0, length - 1, outputMessage.getBody());
+		}
+	}
+}
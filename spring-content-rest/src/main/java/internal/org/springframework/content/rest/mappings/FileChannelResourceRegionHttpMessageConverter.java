@@ -0,0 +1,167 @@
+package internal.org.springframework.content.rest.mappings;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+import internal.org.springframework.content.rest.io.AssociatedResource;
+
+import org.springframework.content.commons.io.RangeableResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourceRegion;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.ResourceRegionHttpMessageConverter;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.util.StreamUtils;
+
+/**
+ * {@link ResourceRegionHttpMessageConverter} that writes regions of file-backed
+ * resources using the container's sendfile support (single ranges) or
+ * {@link FileChannel#transferTo} (single and multi-part ranges).
+ *
+ * Regions of {@link RangeableResource}s, including those associated with an entity, are
+ * read with ranged reads so that only the requested bytes are fetched from the store.  All other resources fall back to the
+ * default stream copy.
+ */
+public class FileChannelResourceRegionHttpMessageConverter extends ResourceRegionHttpMessageConverter {
+
+	@Override
+	@SuppressWarnings("unchecked")
+	protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+			throws IOException, HttpMessageNotWritableException {
+
+		if (object instanceof Collection && ((Collection<ResourceRegion>) object).size() > 1) {
+			Collection<ResourceRegion> regions = (Collection<ResourceRegion>) object;
+			Resource resource = getResource(regions);
+			File file = FileChannelTransfers.getFile(resource);
+			if (file != null) {
+				try (FileChannel channel = FileChannelTransfers.open(file)) {
+					writeRegions(regions, outputMessage, (start, end, out) -> FileChannelTransfers.transfer(channel, start, end, out));
+				}
+				return;
+			}
+			RangeableResource rangeable = rangeable(resource);
+			if (rangeable != null) {
+				writeRegions(regions, outputMessage, (start, end, out) -> copyRange(rangeable, start, end, out));
+				return;
+			}
+		}
+		super.writeInternal(object, type, outputMessage);
+	}
+
+	@Override
+	protected void writeResourceRegion(ResourceRegion region, HttpOutputMessage outputMessage)
+			throws IOException {
+
+		File file = FileChannelTransfers.getFile(region.getResource());
+		RangeableResource rangeable = rangeable(region.getResource());
+		if (file == null && rangeable == null) {
+			super.writeResourceRegion(region, outputMessage);
+			return;
+		}
+
+		long resourceLength = region.getResource().contentLength();
+		long start = region.getPosition();
+		long end = Math.min(start + region.getCount() - 1, resourceLength - 1);
+
+		HttpHeaders responseHeaders = outputMessage.getHeaders();
+		responseHeaders.add("Content-Range", "bytes " + start + '-' + end + '/' + resourceLength);
+		responseHeaders.setContentLength(end - start + 1);
+
+		if (file == null) {
+			copyRange(rangeable, start, end, outputMessage.getBody());
+			return;
+		}
+
+		if (FileChannelTransfers.sendfile(file, start, end)) {
+			return;
+		}
+
+		try (FileChannel channel = FileChannelTransfers.open(file)) {
+			FileChannelTransfers.transfer(channel, start, end, outputMessage.getBody());
+		}
+	}
+
+	// entity and property content is wrapped so that it reports the entity's metadata,
+	// but ranges are still read from the store's resource
+	private static RangeableResource rangeable(Resource resource) {
+		if (resource instanceof AssociatedResource) {
+			resource = ((AssociatedResource) resource).getOriginal();
+		}
+		return resource instanceof RangeableResource ? (RangeableResource) resource : null;
+	}
+
+		private void writeRegions(Collection<ResourceRegion> regions, HttpOutputMessage outputMessage, RangeWriter writer)
+			throws IOException {
+
+		HttpHeaders responseHeaders = outputMessage.getHeaders();
+		MediaType contentType = responseHeaders.getContentType();
+		String boundaryString = MimeTypeUtils.generateMultipartBoundaryString();
+		responseHeaders.set(HttpHeaders.CONTENT_TYPE, "multipart/byteranges; boundary=" + boundaryString);
+		OutputStream out = outputMessage.getBody();
+
+		for (ResourceRegion region : regions) {
+			long resourceLength = region.getResource().contentLength();
+			long start = region.getPosition();
+			long end = Math.min(start + region.getCount() - 1, resourceLength - 1);
+
+			println(out);
+			print(out, "--" + boundaryString);
+			println(out);
+			if (contentType != null) {
+				print(out, "Content-Type: " + contentType.toString());
+				println(out);
+			}
+			print(out, "Content-Range: bytes " + start + '-' + end + '/' + resourceLength);
+			println(out);
+			println(out);
+
+			writer.write(start, end, out);
+		}
+
+		println(out);
+		print(out, "--" + boundaryString + "--");
+	}
+
+	private void copyRange(RangeableResource resource, long start, long end, OutputStream out) throws IOException {
+		try (InputStream in = resource.getInputStream(start, end)) {
+			StreamUtils.copy(in, out);
+		}
+	}
+
+	private Resource getResource(Collection<ResourceRegion> regions) {
+		Resource resource = null;
+		for (ResourceRegion region : regions) {
+			if (resource == null) {
+				resource = region.getResource();
+			}
+			else if (resource != region.getResource()) {
+				return null;
+			}
+		}
+		return resource;
+	}
+
+	@FunctionalInterface
+	private interface RangeWriter {
+
+		void write(long start, long end, OutputStream out) throws IOException;
+	}
+
+	private static void println(OutputStream os) throws IOException {
+		os.write('\r');
+		os.write('\n');
+	}
+
+	private static void print(OutputStream os, String buf) throws IOException {
+		os.write(buf.getBytes(StandardCharsets.US_ASCII));
+	}
+}
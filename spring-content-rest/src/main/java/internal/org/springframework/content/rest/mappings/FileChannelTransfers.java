@@ -0,0 +1,97 @@
+package internal.org.springframework.content.rest.mappings;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+
+import org.springframework.core.io.Resource;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Helpers for writing file-backed resources to the response without copying them
+ * through user-space buffers.
+ *
+ * Where the servlet container supports sendfile (Tomcat advertises this with the
+ * {@value #SENDFILE_SUPPORTED_ATTR} request attribute) the container is asked to send
+ * the file itself.  Otherwise the file is transferred with {@link FileChannel#transferTo}.
+ */
+final class FileChannelTransfers {
+
+	static final String SENDFILE_SUPPORTED_ATTR = "org.apache.tomcat.sendfile.support";
+	static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+	static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+	static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+	private FileChannelTransfers() {
+	}
+
+	/**
+	 * Returns the file backing the given resource or null if the resource is not
+	 * file-backed.
+	 */
+	static File getFile(Resource resource) {
+		if (resource == null || !resource.isFile()) {
+			return null;
+		}
+		try {
+			File file = resource.getFile();
+			return (file.isFile() ? file : null);
+		}
+		catch (IOException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Hands the given byte range of the file to the servlet container's sendfile
+	 * support, if available.
+	 *
+	 * @param file the file to send
+	 * @param start the position of the first byte to send
+	 * @param end the position of the last byte to send (inclusive)
+	 * @return true if the container will send the file, false if the caller must write it
+	 */
+	static boolean sendfile(File file, long start, long end) throws IOException {
+		RequestAttributes attrs = RequestContextHolder.getRequestAttributes();
+		if (attrs == null || !Boolean.TRUE.equals(attrs.getAttribute(SENDFILE_SUPPORTED_ATTR, RequestAttributes.SCOPE_REQUEST))) {
+			return false;
+		}
+
+		attrs.setAttribute(SENDFILE_FILENAME_ATTR, file.getCanonicalPath(), RequestAttributes.SCOPE_REQUEST);
+		attrs.setAttribute(SENDFILE_START_ATTR, start, RequestAttributes.SCOPE_REQUEST);
+		attrs.setAttribute(SENDFILE_END_ATTR, end + 1, RequestAttributes.SCOPE_REQUEST);
+		return true;
+	}
+
+	static FileChannel open(File file) throws IOException {
+		return FileChannel.open(file.toPath(), StandardOpenOption.READ);
+	}
+
+	/**
+	 * Transfers the given byte range of the file channel to the output stream.
+	 *
+	 * @param channel the channel to read from
+	 * @param start the position of the first byte to send
+	 * @param end the position of the last byte to send (inclusive)
+	 * @param out the stream to write to
+	 */
+	static void transfer(FileChannel channel, long start, long end, OutputStream out) throws IOException {
+		WritableByteChannel target = Channels.newChannel(out);
+
+		long position = start;
+		long remaining = end - start + 1;
+		while (remaining > 0) {
+			long transferred = channel.transferTo(position, remaining, target);
+			if (transferred <= 0) {
+				break;
+			}
+			position += transferred;
+			remaining -= transferred;
+		}
+	}
+}
@@ -6,8 +6,6 @@ import javax.servlet.http.HttpServletRequest;
 
 import org.springframework.core.io.Resource;
 import org.springframework.http.MediaType;
-import org.springframework.http.converter.ResourceHttpMessageConverter;
-import org.springframework.http.converter.ResourceRegionHttpMessageConverter;
 import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
 
 public class StoreByteRangeHttpRequestHandler extends ResourceHttpRequestHandler {
@@ -30,7 +28,7 @@ public class StoreByteRangeHttpRequestHandler extends ResourceHttpRequestHandler
 
 	@Override
 	public void afterPropertiesSet() throws Exception {
-		this.setResourceHttpMessageConverter(new ResourceHttpMessageConverter());
-		this.setResourceRegionHttpMessageConverter(new ResourceRegionHttpMessageConverter());
+		this.setResourceHttpMessageConverter(new FileChannelResourceHttpMessageConverter());
+		this.setResourceRegionHttpMessageConverter(new FileChannelResourceRegionHttpMessageConverter());
 	}
 }
@@ -4,6 +4,10 @@ import java.io.InputStream;
 import java.io.Serializable;
 import java.net.URI;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import javax.servlet.http.HttpServletRequest;
 
 import internal.org.springframework.content.rest.annotations.ContentStoreRestResource;
 import internal.org.springframework.content.rest.io.AssociatedResource;
@@ -22,6 +26,7 @@ import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.core.io.Resource;
 import org.springframework.http.MediaType;
 import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.MimeType;
 import org.springframework.util.StringUtils;
 
@@ -29,6 +34,12 @@ import static org.springframework.util.StringUtils.trimTrailingCharacter;
 
 public final class ContentStoreUtils {
 
+	// the store path of each store interface, the path being derived from the interface
+	private static final Map<Class<?>, String> storePaths = new ConcurrentReferenceHashMap<>();
+
+	private static final Function<ContentStoreInfo, String> STORE_PATH = ContentStoreUtils::storePath;
+	private static final Function<ContentStoreInfo, Class<?>> DOMAIN_OBJECT_CLASS = ContentStoreInfo::getDomainObjectClass;
+
 	private ContentStoreUtils() {
 	}
 
@@ -87,34 +98,54 @@ public final class ContentStoreUtils {
 	public static ContentStoreInfo findContentStore(ContentStoreService stores,
 			Class<?> contentEntityClass) {
 
-		for (ContentStoreInfo info : stores.getStores(ContentStore.class)) {
-			if (contentEntityClass.equals(info.getDomainObjectClass()))
-				return info;
-		}
-		return null;
+		return stores.getStore(ContentStore.class, DOMAIN_OBJECT_CLASS, contentEntityClass);
 	}
 
 	public static ContentStoreInfo findContentStore(ContentStoreService stores,
 			String store) {
 
-		for (ContentStoreInfo info : stores.getStores(ContentStore.class)) {
-			if (store.equals(storePath(info))) {
-				return info;
-			}
-		}
-		return null;
+		return stores.getStore(ContentStore.class, STORE_PATH, store);
 	}
 
 	public static ContentStoreInfo findStore(ContentStoreService stores, String store) {
-		for (ContentStoreInfo info : stores.getStores(Store.class)) {
-			if (store.equals(storePath(info))) {
-				return info;
-			}
+		return stores.getStore(Store.class, STORE_PATH, store);
+	}
+
+	/**
+	 * Returns the store at the given path, taking it from the request's route when the
+	 * route is for that store.
+	 */
+	public static ContentStoreInfo findStore(ContentStoreService stores, String store, HttpServletRequest request) {
+		StoreRoute route = StoreRoute.of(request);
+		if (route != null && route.getStore() != null && store.equals(route.getStorePath())) {
+			return route.getStore();
 		}
-		return null;
+		return findStore(stores, store);
+	}
+
+	/**
+	 * Returns the content store at the given path, taking it from the request's route
+	 * when the route is for that store.
+	 */
+	public static ContentStoreInfo findContentStore(ContentStoreService stores, String store, HttpServletRequest request) {
+		ContentStoreInfo info = findStore(stores, store, request);
+		if (info != null && info.getImplementation(ContentStore.class) != null) {
+			return info;
+		}
+		return findContentStore(stores, store);
 	}
 
 	public static String storePath(ContentStoreInfo info) {
+		Class<?> clazz = info.getInterface();
+		String path = storePaths.get(clazz);
+		if (path == null) {
+			path = computeStorePath(info);
+			storePaths.put(clazz, path);
+		}
+		return path;
+	}
+
+	private static String computeStorePath(ContentStoreInfo info) {
 		Class<?> clazz = info.getInterface();
 		String path = null;
 
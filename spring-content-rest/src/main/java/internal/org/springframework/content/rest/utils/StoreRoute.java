@@ -0,0 +1,129 @@
+package internal.org.springframework.content.rest.utils;
+
+import java.net.URI;
+import java.util.Arrays;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.apache.commons.io.FilenameUtils;
+
+import org.springframework.content.commons.storeservice.ContentStoreInfo;
+import org.springframework.content.commons.storeservice.ContentStoreService;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.UrlPathHelper;
+
+/**
+ * The store a request is for and the content within the store, parsed from the request's
+ * path.
+ *
+ * The route is parsed once per request, when the request is mapped to a handler, and
+ * kept as a request attribute for the request conditions and controllers that need it.
+ */
+public final class StoreRoute {
+
+	private static final String ROUTE_ATTRIBUTE = StoreRoute.class.getName();
+
+	private static final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+	private static final String[] NO_SEGMENTS = new String[0];
+
+	private final String storeLookupPath;
+	private final String[] segments;
+	private final ContentStoreInfo store;
+
+	private StoreRoute(String storeLookupPath, String[] segments, ContentStoreInfo store) {
+		this.storeLookupPath = storeLookupPath;
+		this.segments = segments;
+		this.store = store;
+	}
+
+	/**
+	 * Parses the route of the request, replacing any route parsed earlier in the request.
+	 */
+	public static StoreRoute resolve(HttpServletRequest request, ContentStoreService stores, URI baseUri) {
+		String path = urlPathHelper.getPathWithinApplication(request);
+		String storeLookupPath = ContentStoreUtils.storeLookupPath(path, baseUri);
+
+		String[] segments = storeLookupPath != null ? storeLookupPath.split("/") : NO_SEGMENTS;
+		ContentStoreInfo store = segments.length > 1 ? ContentStoreUtils.findStore(stores, segments[1]) : null;
+
+		StoreRoute route = new StoreRoute(storeLookupPath, segments, store);
+		request.setAttribute(ROUTE_ATTRIBUTE, route);
+		return route;
+	}
+
+	/**
+	 * Returns the route of the request, parsing it if it has not been parsed yet.
+	 */
+	public static StoreRoute of(HttpServletRequest request, ContentStoreService stores, URI baseUri) {
+		StoreRoute route = of(request);
+		return route != null ? route : resolve(request, stores, baseUri);
+	}
+
+	/**
+	 * Returns the route of the request, or null if it has not been parsed.
+	 */
+	public static StoreRoute of(HttpServletRequest request) {
+		Object route = request.getAttribute(ROUTE_ATTRIBUTE);
+		return route instanceof StoreRoute ? (StoreRoute) route : null;
+	}
+
+	/**
+	 * Returns the request's path relative to the base uri, or null if the request is not
+	 * under the base uri.
+	 */
+	public String getStoreLookupPath() {
+		return storeLookupPath;
+	}
+
+	/**
+	 * Returns true if the request is for content within a store, rather than for the
+	 * store itself.
+	 */
+	public boolean isContentRoute() {
+		return segments.length >= 3;
+	}
+
+	public String getStorePath() {
+		return segments.length > 1 ? segments[1] : null;
+	}
+
+	/**
+	 * Returns the store the request is for, or null if there is no store at the store path.
+	 */
+	public ContentStoreInfo getStore() {
+		return store;
+	}
+
+	public String getEntityId() {
+		return segments.length > 2 ? segments[2] : null;
+	}
+
+	/**
+	 * Returns the path of the content property of the entity, or null if the request is
+	 * for the entity's content.
+	 */
+	public String getPropertyPath() {
+		if (segments.length <= 3) {
+			return null;
+		}
+		return StringUtils.arrayToDelimitedString(Arrays.copyOfRange(segments, 3, segments.length), "/");
+	}
+
+	/**
+	 * Returns the path of the content within the store, including its leading slash.
+	 */
+	public String getContentPath() {
+		if (segments.length < 3) {
+			return null;
+		}
+		return storeLookupPath.substring(segments[1].length() + 1);
+	}
+
+	/**
+	 * Returns the extension of the last path segment, or an empty string if it has none.
+	 */
+	public String getExtension() {
+		return storeLookupPath != null ? FilenameUtils.getExtension(FilenameUtils.getName(storeLookupPath)) : null;
+	}
+}
@@ -6,9 +6,11 @@ import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import internal.org.springframework.content.rest.controllers.BadRequestException;
 import internal.org.springframework.content.rest.mappings.ContentHandlerMapping.StoreType;
@@ -23,11 +25,18 @@ import org.springframework.content.commons.storeservice.StoreFilter;
 import org.springframework.content.commons.utils.BeanUtils;
 import org.springframework.content.commons.utils.ReflectionService;
 import org.springframework.content.commons.utils.ReflectionServiceImpl;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.core.EntityInformation;
 import org.springframework.data.repository.support.Repositories;
-import org.springframework.data.repository.support.RepositoryInvoker;
 import org.springframework.data.rest.webmvc.ControllerUtils;
 import org.springframework.data.rest.webmvc.PersistentEntityResourceAssembler;
 import org.springframework.data.rest.webmvc.RepositoryRestController;
@@ -41,6 +50,7 @@ import org.springframework.hateoas.Resources;
 import org.springframework.hateoas.core.EmbeddedWrappers;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -58,7 +68,11 @@ public class ContentSearchRestController /* extends AbstractRepositoryRestContro
 	private static final String ENTITY_SEARCHMETHOD_MAPPING = "/{repository}/searchContent/findKeyword";
 	private static final String PROPERTY_SEARCHMETHOD_MAPPING = "/{repository}/searchContent/{contentProperty}/{searchMethod}";
 
+	private static final int HYDRATION_BATCH_SIZE = 100;
+	private static final int CANDIDATE_PAGE_SIZE = 500;
+
 	private static Map<String, Method> searchMethods = new HashMap<>();
+	private static Map<String, Method> pagedSearchMethods = new HashMap<>();
 
 	private Repositories repositories;
 	private ContentStoreService stores;
@@ -69,6 +83,7 @@ public class ContentSearchRestController /* extends AbstractRepositoryRestContro
 	static {
 		searchMethods.put("search", ReflectionUtils.findMethod(Searchable.class,"search", new Class<?>[] { String.class }));
 		searchMethods.put("findKeyword", ReflectionUtils.findMethod(Searchable.class,"findKeyword", new Class<?>[] { String.class }));
+		pagedSearchMethods.put("search", ReflectionUtils.findMethod(Searchable.class,"search", new Class<?>[] { String.class, Pageable.class }));
 	}
 
 	@Autowired
@@ -158,7 +173,18 @@ public class ContentSearchRestController /* extends AbstractRepositoryRestContro
 			throw new BadRequestException();
 		}
 
-		List contentIds = (List) reflectionService.invokeMethod(method, store, keywords[0]);
+		Page<?> hits = null;
+		List contentIds;
+
+		Method pagedMethod = pagedSearchMethods.get(searchMethod);
+		if (pagedMethod != null && pageable.getPageable() != null && pageable.getPageable().isPaged()) {
+			// let the search engine page the hits
+			hits = (Page<?>) reflectionService.invokeMethod(pagedMethod, store, keywords[0], pageable.getPageable());
+			contentIds = hits != null ? hits.getContent() : null;
+		}
+		else {
+			contentIds = (List) reflectionService.invokeMethod(method, store, keywords[0]);
+		}
 
 		if (contentIds != null && contentIds.size() > 0) {
 
@@ -173,30 +199,20 @@ public class ContentSearchRestController /* extends AbstractRepositoryRestContro
 			Field contentIdField = BeanUtils.findFieldWithAnnotation(entityType,
 					ContentId.class);
 
-			List<Object> results = new ArrayList<>();
+			int batchSize = pageable.getPageable() != null && pageable.getPageable().isPaged()
+					? pageable.getPageable().getPageSize() : HYDRATION_BATCH_SIZE;
+
+			List<Object> results;
 			if (idField.equals(contentIdField)) {
-				for (Object contentId : contentIds) {
-					Optional<Object> entity = repoInfo.getInvoker()
-							.invokeFindById(contentId.toString());
-					if (entity.isPresent()) {
-						results.add(entity.get());
-					}
-				}
+				results = findAllById(repoInfo, entityType, idField, contentIds, batchSize);
 			}
 			else {
-				RepositoryInvoker invoker = repoInfo.getInvoker();
-				Iterable<?> entities = pageable.getPageable() != null ? invoker.invokeFindAll(pageable.getPageable()) : invoker.invokeFindAll(sort);
-
-				for (Object entity : entities) {
-					for (Object contentId : contentIds) {
+				results = findAllByContentId(repoInfo, sort, entityType, idField, contentIdField, contentIds, batchSize);
+			}
 
-						Object candidate = BeanUtils.getFieldWithAnnotation(entity,
-								ContentId.class);
-						if (contentId.equals(candidate)) {
-							results.add(entity);
-						}
-					}
-				}
+			if (hits != null) {
+				Page<Object> page = new PageImpl<>(results, pageable.getPageable(), hits.getTotalElements());
+				return ResponseEntity.ok(toResources(page, assembler, pagedResourcesAssembler, entityType, null));
 			}
 			return ResponseEntity.ok(toResources(results, assembler, pagedResourcesAssembler, entityType, null));
 		}
@@ -204,6 +220,154 @@ public class ContentSearchRestController /* extends AbstractRepositoryRestContro
 		return ResponseEntity.ok(new Resources(ControllerUtils.EMPTY_RESOURCE_LIST));
 	}
 
+	/**
+	 * Loads the entities whose ids are the given content ids, a batch at a time, in the
+	 * order in which the search ranked them.
+	 */
+	@SuppressWarnings("unchecked")
+	private List<Object> findAllById(RootResourceInformation repoInfo, Class<?> entityType, Field idField, List<?> contentIds, int batchSize) {
+
+		Object repository = repositories.getRepositoryFor(entityType).orElse(null);
+		if (repository instanceof CrudRepository == false) {
+			List<Object> results = new ArrayList<>();
+			for (Object contentId : contentIds) {
+				Optional<Object> entity = repoInfo.getInvoker()
+						.invokeFindById(contentId.toString());
+				if (entity.isPresent()) {
+					results.add(entity.get());
+				}
+			}
+			return results;
+		}
+
+		EntityInformation<Object, ?> entityInfo = repositories.getEntityInformationFor(entityType);
+
+		Map<String, Object> entities = new HashMap<>();
+		for (List<Object> batch : batches(contentIds, idField.getType(), batchSize)) {
+			for (Object entity : ((CrudRepository<Object, Object>) repository).findAllById(batch)) {
+				entities.put(String.valueOf(entityInfo.getId(entity)), entity);
+			}
+		}
+		return inRankedOrder(contentIds, entities);
+	}
+
+	/**
+	 * Loads the entities with the given content ids, in the order in which the search
+	 * ranked them.
+	 *
+	 * The entities are loaded a batch at a time with the repository's
+	 * {@code findAllBy<ContentId>In} or {@code findBy<ContentId>In} query method.  When the
+	 * repository has no such method its entities are scanned, a page at a time when it is a
+	 * {@link PagingAndSortingRepository}, until every hit has been found.
+	 */
+	@SuppressWarnings("unchecked")
+	private List<Object> findAllByContentId(RootResourceInformation repoInfo, Sort sort, Class<?> entityType, Field idField, Field contentIdField, List<?> contentIds, int batchSize) {
+
+		Map<String, Object> entities = new HashMap<>();
+
+		Object repository = repositories.getRepositoryFor(entityType).orElse(null);
+		Method finder = repository != null ? findByContentIdInMethod(repository.getClass(), contentIdField) : null;
+		if (finder != null) {
+			for (List<Object> batch : batches(contentIds, contentIdField.getType(), batchSize)) {
+				Iterable<?> batchEntities = (Iterable<?>) ReflectionUtils.invokeMethod(finder, repository, batch);
+				if (batchEntities == null) {
+					continue;
+				}
+				for (Object entity : batchEntities) {
+					entities.put(String.valueOf(BeanUtils.getFieldWithAnnotation(entity, ContentId.class)), entity);
+				}
+			}
+			return inRankedOrder(contentIds, entities);
+		}
+
+		Set<String> missing = new HashSet<>();
+		for (Object contentId : contentIds) {
+			missing.add(String.valueOf(contentId));
+		}
+
+		if (repository instanceof PagingAndSortingRepository) {
+			// sorted by id so that the pages are stable
+			Pageable candidates = PageRequest.of(0, CANDIDATE_PAGE_SIZE, Sort.by(idField.getName()));
+			Page<Object> page;
+			do {
+				page = ((PagingAndSortingRepository<Object, ?>) repository).findAll(candidates);
+				collect(page, missing, entities);
+				candidates = page.nextPageable();
+			}
+			while (missing.isEmpty() == false && page.hasNext());
+		}
+		else {
+			collect(repoInfo.getInvoker().invokeFindAll(sort), missing, entities);
+		}
+
+		return inRankedOrder(contentIds, entities);
+	}
+
+	/**
+	 * Collects the candidates whose content ids are missing, stopping as soon as none are.
+	 */
+	private static void collect(Iterable<?> candidates, Set<String> missing, Map<String, Object> entities) {
+		for (Object entity : candidates) {
+			if (missing.isEmpty()) {
+				return;
+			}
+			String candidate = String.valueOf(BeanUtils.getFieldWithAnnotation(entity, ContentId.class));
+			if (missing.remove(candidate)) {
+				entities.put(candidate, entity);
+			}
+		}
+	}
+
+	private static Method findByContentIdInMethod(Class<?> repositoryClass, Field contentIdField) {
+		String property = StringUtils.capitalize(contentIdField.getName());
+		Set<String> names = new HashSet<>(Arrays.asList("findAllBy" + property + "In", "findBy" + property + "In"));
+
+		for (Method method : repositoryClass.getMethods()) {
+			if (names.contains(method.getName())
+					&& method.getParameterCount() == 1
+					&& method.getParameterTypes()[0].isAssignableFrom(List.class)
+					&& Iterable.class.isAssignableFrom(method.getReturnType())) {
+				return method;
+			}
+		}
+		return null;
+	}
+
+	private static List<List<Object>> batches(List<?> ids, Class<?> idType, int batchSize) {
+		ConversionService conversionService = DefaultConversionService.getSharedInstance();
+
+		List<List<Object>> batches = new ArrayList<>();
+		List<Object> batch = new ArrayList<>(batchSize);
+		for (Object id : ids) {
+			if (id == null) {
+				continue;
+			}
+			if (idType.isInstance(id) == false && conversionService.canConvert(id.getClass(), idType)) {
+				id = conversionService.convert(id, idType);
+			}
+			batch.add(id);
+			if (batch.size() == batchSize) {
+				batches.add(batch);
+				batch = new ArrayList<>(batchSize);
+			}
+		}
+		if (batch.isEmpty() == false) {
+			batches.add(batch);
+		}
+		return batches;
+	}
+
+	private static List<Object> inRankedOrder(List<?> contentIds, Map<String, Object> entities) {
+		List<Object> results = new ArrayList<>(entities.size());
+		for (Object contentId : contentIds) {
+			Object entity = entities.remove(String.valueOf(contentId));
+			if (entity != null) {
+				results.add(entity);
+			}
+		}
+		return results;
+	}
+
 	public static Resources<?> toResources(Iterable<?> source,
 										   PersistentEntityResourceAssembler assembler,
 										   PagedResourcesAssembler resourcesAssembler,
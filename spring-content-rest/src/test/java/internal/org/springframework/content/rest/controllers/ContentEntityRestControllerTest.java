@@ -0,0 +1,174 @@
+package internal.org.springframework.content.rest.controllers;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import internal.org.springframework.content.rest.mappings.StoreByteRangeHttpRequestHandler;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import org.springframework.content.commons.annotations.ContentId;
+import org.springframework.content.commons.annotations.ContentLength;
+import org.springframework.content.commons.annotations.MimeType;
+import org.springframework.content.commons.io.RangeableResource;
+import org.springframework.content.commons.repository.ContentStore;
+import org.springframework.content.commons.repository.Store;
+import org.springframework.content.commons.storeservice.ContentStoreInfo;
+import org.springframework.content.commons.storeservice.ContentStoreService;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.core.CrudMethods;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.AfterEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.JustBeforeEach;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class ContentEntityRestControllerTest {
+
+	private ContentEntityRestController controller;
+
+	private MockHttpServletRequest request;
+	private MockHttpServletResponse response;
+
+	private RangeableContent resource;
+
+	{
+		Describe("ContentEntityRestController", () -> {
+			BeforeEach(() -> {
+				Video video = new Video();
+				video.contentId = "some-id";
+				video.contentLen = 27L;
+				video.mimeType = "video/mp4";
+
+				CrudRepository<Video, Long> repository = mock(CrudRepository.class);
+				when(repository.findById(1L)).thenReturn(Optional.of(video));
+
+				CrudMethods crudMethods = mock(CrudMethods.class);
+				Method findById = ReflectionUtils.findMethod(CrudRepository.class, "findById", Object.class);
+				when(crudMethods.getFindOneMethod()).thenReturn(Optional.of(findById));
+
+				RepositoryInformation information = mock(RepositoryInformation.class);
+				when(information.getDomainType()).thenReturn((Class) Video.class);
+				when(information.getIdType()).thenReturn((Class) Long.class);
+				when(information.getCrudMethods()).thenReturn(crudMethods);
+
+				Repositories repositories = mock(Repositories.class);
+				when(repositories.iterator()).thenAnswer(invocation -> Collections.<Class<?>>singletonList(Video.class).iterator());
+				when(repositories.getRepositoryInformationFor(Video.class)).thenReturn(Optional.of(information));
+				when(repositories.getRepositoryFor(Video.class)).thenReturn(Optional.of(repository));
+
+				ApplicationContext context = mock(ApplicationContext.class);
+				when(context.getBean(Repositories.class)).thenReturn(repositories);
+
+				resource = new RangeableContent("Hello Spring Content World!");
+				ContentStore<Object, Serializable> store = mock(ContentStore.class, withSettings().extraInterfaces(Store.class));
+				when(((Store<Serializable>) store).getResource("some-id")).thenReturn(resource);
+
+				ContentStoreInfo info = mock(ContentStoreInfo.class);
+				when(info.getDomainObjectClass()).thenReturn((Class) Video.class);
+				when(info.getImpementation()).thenReturn(store);
+
+				ContentStoreService stores = mock(ContentStoreService.class);
+				when(stores.getStore(eq(Store.class), any(), eq("videos"))).thenReturn(info);
+
+				StoreByteRangeHttpRequestHandler handler = new StoreByteRangeHttpRequestHandler();
+				handler.afterPropertiesSet();
+
+				controller = new ContentEntityRestController(context, stores, handler);
+
+				request = new MockHttpServletRequest("GET", "/videos/1");
+				response = new MockHttpServletResponse();
+				RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+			});
+			JustBeforeEach(() -> {
+				controller.getContent(request, response, "videos", "1", null);
+			});
+			AfterEach(() -> {
+				RequestContextHolder.resetRequestAttributes();
+			});
+			Context("given a range request for content in a rangeable store", () -> {
+				BeforeEach(() -> {
+					request.addHeader("Range", "bytes=6-19");
+				});
+				It("should read only the requested range from the store", () -> {
+					assertThat(response.getStatus(), is(206));
+					assertThat(response.getHeader("Content-Range"), is("bytes 6-19/27"));
+					assertThat(response.getContentAsString(), is("Spring Content"));
+					assertThat(resource.ranges, is(Collections.singletonList("6-19")));
+				});
+			});
+		});
+	}
+
+	@Test
+	public void noop() {
+	}
+
+	public static class Video {
+
+		@ContentId
+		private String contentId;
+
+		@ContentLength
+		private Long contentLen;
+
+		@MimeType
+		private String mimeType;
+	}
+
+	private static class RangeableContent extends ByteArrayResource implements RangeableResource {
+
+		private final List<String> ranges = new ArrayList<>();
+
+		RangeableContent(String content) {
+			super(content.getBytes());
+		}
+
+		@Override
+		public InputStream getInputStream() throws IOException {
+			throw new IllegalStateException("ranges should not be read from the start of the content");
+		}
+
+		@Override
+		public InputStream getInputStream(long start, long end) throws IOException {
+			ranges.add(start + "-" + end);
+			return new ByteArrayInputStream(getByteArray(), (int) start, (int) (end - start + 1));
+		}
+
+		@Override
+		public long lastModified() {
+			return 0L;
+		}
+	}
+}
@@ -4,6 +4,7 @@ import java.io.File;
 import java.io.StringReader;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
@@ -32,6 +33,9 @@ import org.springframework.content.rest.config.RestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.rest.extensions.contentsearch.ContentSearchRestController;
@@ -83,6 +87,8 @@ public class ContentSearchRestControllerIntegrationTest {
 	TestEntityWithSharedIdsRepository repository;
 	@Autowired
 	TestEntityWithSeparateIdsRepository entityWithSeparateRepository;
+	@Autowired
+	TestEntityWithContentIdFindersRepository finderRepository;
 
 	@Autowired
 	private WebApplicationContext context;
@@ -98,6 +104,9 @@ public class ContentSearchRestControllerIntegrationTest {
 	private TestEntityWithSeparateId entity4;
 	private List<UUID> contentIds;
 
+	private TestEntityWithContentIdFinder entity5;
+	private TestEntityWithContentIdFinder entity6;
+
 	// mocks
 	private static ReflectionService reflectionService;
 
@@ -222,6 +231,41 @@ public class ContentSearchRestControllerIntegrationTest {
 					});
 				});
 
+				Context("given results are ranked", () -> {
+
+					BeforeEach(() -> {
+						entity = new TestEntityWithSharedId();
+						repository.save((TestEntityWithSharedId) entity);
+
+						entity2 = new TestEntityWithSharedId();
+						repository.save((TestEntityWithSharedId) entity2);
+
+						sharedIds = new ArrayList<>();
+						sharedIds.add(entity2.getId());
+						sharedIds.add(entity.getId());
+
+						when(reflectionService.invokeMethod(anyObject(), anyObject(),
+								eq("ranked"))).thenReturn(sharedIds);
+					});
+
+					It("should return the entities in the order they were ranked", () -> {
+						MvcResult result = mvc.perform(get(
+								"/testEntityWithSharedIds/searchContent/findKeyword?keyword=ranked")
+										.accept("application/hal+json"))
+								.andExpect(status().isOk()).andReturn();
+
+						ReadableRepresentation halResponse = representationFactory
+								.readRepresentation("application/hal+json",
+										new StringReader(result.getResponse()
+												.getContentAsString()));
+						List<? extends ReadableRepresentation> resources = halResponse
+								.getResourcesByRel("testEntityWithSharedIds");
+						assertThat(resources.size(), is(2));
+						assertThat(resources.get(0).getValue("contentId").toString(), is(entity2.getId().toString()));
+						assertThat(resources.get(1).getValue("contentId").toString(), is(entity.getId().toString()));
+					});
+				});
+
 				Context("given results contain invalid IDs", () -> {
 
 					BeforeEach(() -> {
@@ -258,16 +302,45 @@ public class ContentSearchRestControllerIntegrationTest {
 
 				Context("given a request to /searchContent endpoint", () -> {
 
-					It("should invoke the Searchable.search", () -> {
+					It("should invoke the Searchable.search with the requested page", () -> {
 						mvc.perform(get(
-								"/testEntityWithSharedIds/searchContent?queryString=something")
+								"/testEntityWithSharedIds/searchContent?queryString=something&page=1&size=5")
 								.accept("application/hal+json"))
 								.andExpect(status().isOk());
 
-						Method method = ReflectionUtils.findMethod(Searchable.class,"search", new Class<?>[] { String.class });
+						Method method = ReflectionUtils.findMethod(Searchable.class,"search", new Class<?>[] { String.class, Pageable.class });
 						assertThat(method, is(not(nullValue())));
 
-						verify(reflectionService).invokeMethod(eq(method), anyObject(), eq("something"));
+						verify(reflectionService).invokeMethod(eq(method), anyObject(), eq("something"), eq(PageRequest.of(1, 5)));
+					});
+
+					Context("given a page of results is found", () -> {
+
+						BeforeEach(() -> {
+							entity = new TestEntityWithSharedId();
+							repository.save((TestEntityWithSharedId) entity);
+
+							Method method = ReflectionUtils.findMethod(Searchable.class,"search", new Class<?>[] { String.class, Pageable.class });
+							when(reflectionService.invokeMethod(eq(method), anyObject(), eq("paged"), anyObject()))
+									.thenReturn(new PageImpl<>(Collections.singletonList(entity.getId()), PageRequest.of(1, 1), 3));
+						});
+
+						It("should return the page with the total number of hits", () -> {
+							MvcResult result = mvc.perform(get(
+									"/testEntityWithSharedIds/searchContent?queryString=paged&page=1&size=1")
+											.accept("application/hal+json"))
+									.andExpect(status().isOk()).andReturn();
+
+							ReadableRepresentation halResponse = representationFactory
+									.readRepresentation("application/hal+json",
+											new StringReader(result.getResponse()
+													.getContentAsString()));
+							List<? extends ReadableRepresentation> resources = halResponse
+									.getResourcesByRel("testEntityWithSharedIds");
+							assertThat(resources.size(), is(1));
+							assertThat(resources.get(0).getValue("contentId").toString(), is(entity.getId().toString()));
+							assertThat(result.getResponse().getContentAsString(), containsString("\"totalElements\" : 3"));
+						});
 					});
 				});
 			});
@@ -377,6 +450,78 @@ public class ContentSearchRestControllerIntegrationTest {
 						assertThat(contentIds, hasItem(UUID.fromString(id1)));
 					});
 				});
+
+				Context("given a page of results is found", () -> {
+
+					BeforeEach(() -> {
+						entity3 = new TestEntityWithSeparateId();
+						entityWithSeparateRepository.save(entity3);
+
+						entity4 = new TestEntityWithSeparateId();
+						entityWithSeparateRepository.save(entity4);
+
+						Method method = ReflectionUtils.findMethod(Searchable.class,"search", new Class<?>[] { String.class, Pageable.class });
+						when(reflectionService.invokeMethod(eq(method), anyObject(), eq("paged"), anyObject()))
+								.thenReturn(new PageImpl<>(Collections.singletonList(entity4.getContentId()), PageRequest.of(5, 1), 6));
+					});
+
+					It("should find the entities of the page among the repository's entities", () -> {
+						MvcResult result = mvc.perform(get(
+								"/testEntityWithSeparateIds/searchContent?queryString=paged&page=5&size=1")
+										.accept("application/hal+json"))
+								.andExpect(status().isOk()).andReturn();
+
+						ReadableRepresentation halResponse = representationFactory
+								.readRepresentation("application/hal+json",
+										new StringReader(result.getResponse()
+												.getContentAsString()));
+						List<? extends ReadableRepresentation> resources = halResponse
+								.getResourcesByRel("testEntityWithSeparateIds");
+						assertThat(resources.size(), is(1));
+						assertThat(resources.get(0).getValue("contentId").toString(), is(entity4.getContentId().toString()));
+						assertThat(result.getResponse().getContentAsString(), containsString("\"totalElements\" : 6"));
+					});
+				});
+			});
+			Context("given an entity whose repository can find entities by content id", () -> {
+
+				BeforeEach(() -> {
+					reflectionService = mock(ReflectionService.class);
+					ContentSearchRestController controller = context
+							.getBean(ContentSearchRestController.class);
+					controller.setReflectionService(reflectionService);
+
+					entity5 = new TestEntityWithContentIdFinder();
+					finderRepository.save(entity5);
+
+					entity6 = new TestEntityWithContentIdFinder();
+					finderRepository.save(entity6);
+
+					contentIds = new ArrayList<>();
+					contentIds.add(entity6.getContentId());
+					contentIds.add(UUID.randomUUID()); // invalid id
+					contentIds.add(entity5.getContentId());
+
+					when(reflectionService.invokeMethod(anyObject(), anyObject(),
+							eq("found"))).thenReturn(contentIds);
+				});
+
+				It("should return the found entities in the order they were ranked", () -> {
+					MvcResult result = mvc.perform(get(
+							"/testEntityWithContentIdFinders/searchContent/findKeyword?keyword=found")
+									.accept("application/hal+json"))
+							.andExpect(status().isOk()).andReturn();
+
+					ReadableRepresentation halResponse = representationFactory
+							.readRepresentation("application/hal+json",
+									new StringReader(result.getResponse()
+											.getContentAsString()));
+					List<? extends ReadableRepresentation> resources = halResponse
+							.getResourcesByRel("testEntityWithContentIdFinders");
+					assertThat(resources.size(), is(2));
+					assertThat(resources.get(0).getValue("contentId").toString(), is(entity6.getContentId().toString()));
+					assertThat(resources.get(1).getValue("contentId").toString(), is(entity5.getContentId().toString()));
+				});
 			});
 			// Context("given an entity with a content property", () -> {});
 		});
@@ -544,4 +689,38 @@ public class ContentSearchRestControllerIntegrationTest {
 	public interface TestEntityWithSeparateIdsSearchableStore
 			extends ContentStore<TestEntityWithSeparateId, UUID>, Searchable<UUID> {
 	}
+
+	@Entity(name = "testentitycontentidfinder")
+	public static class TestEntityWithContentIdFinder {
+		@Id
+		private UUID id = UUID.randomUUID();
+		@ContentId
+		private UUID contentId = UUID.randomUUID();
+
+		public UUID getId() {
+			return id;
+		}
+
+		public void setId(UUID id) {
+			this.id = id;
+		}
+
+		public UUID getContentId() {
+			return contentId;
+		}
+
+		public void setContentId(UUID id) {
+			this.contentId = id;
+		}
+	}
+
+	public interface TestEntityWithContentIdFindersRepository
+			extends CrudRepository<TestEntityWithContentIdFinder, UUID> {
+
+		List<TestEntityWithContentIdFinder> findAllByContentIdIn(Collection<UUID> contentIds);
+	}
+
+	public interface TestEntityWithContentIdFindersSearchableStore
+			extends ContentStore<TestEntityWithContentIdFinder, UUID>, Searchable<UUID> {
+	}
 }
@@ -0,0 +1,204 @@
+package internal.org.springframework.content.rest.mappings;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.runner.RunWith;
+import org.springframework.content.commons.io.RangeableResource;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.AfterEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.JustBeforeEach;
+
+@RunWith(Ginkgo4jRunner.class)
+public class StoreByteRangeHttpRequestHandlerTest {
+
+	private StoreByteRangeHttpRequestHandler handler;
+
+	private MockHttpServletRequest request;
+	private MockHttpServletResponse response;
+
+	private File file;
+	private Resource resource;
+
+	{
+		Describe("StoreByteRangeHttpRequestHandler", () -> {
+			BeforeEach(() -> {
+				handler = new StoreByteRangeHttpRequestHandler();
+				handler.afterPropertiesSet();
+
+				request = new MockHttpServletRequest("GET", "/content");
+				response = new MockHttpServletResponse();
+				RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+
+				file = File.createTempFile("byte-range", ".txt");
+				FileUtils.writeStringToFile(file, "Hello Spring Content World!", StandardCharsets.UTF_8);
+			});
+			JustBeforeEach(() -> {
+				request.setAttribute("SPRING_CONTENT_RESOURCE", resource);
+				request.setAttribute("SPRING_CONTENT_CONTENTTYPE", MediaType.TEXT_PLAIN);
+				handler.handleRequest(request, response);
+			});
+			AfterEach(() -> {
+				RequestContextHolder.resetRequestAttributes();
+				FileUtils.deleteQuietly(file);
+			});
+			Context("given a file-backed resource", () -> {
+				BeforeEach(() -> {
+					resource = new FileSystemResource(file);
+				});
+				It("should transfer the whole file", () -> {
+					assertThat(response.getStatus(), is(200));
+					assertThat(response.getContentAsString(), is("Hello Spring Content World!"));
+				});
+				Context("given a range request", () -> {
+					BeforeEach(() -> {
+						request.addHeader("Range", "bytes=6-19");
+					});
+					It("should transfer the requested range", () -> {
+						assertThat(response.getStatus(), is(206));
+						assertThat(response.getHeader("Content-Range"), is("bytes 6-19/27"));
+						assertThat(response.getContentAsString(), is("Spring Content"));
+					});
+				});
+				Context("given a multi-range request", () -> {
+					BeforeEach(() -> {
+						request.addHeader("Range", "bytes=0-4,6-11");
+					});
+					It("should transfer each range as a multipart response", () -> {
+						assertThat(response.getStatus(), is(206));
+						assertThat(response.getContentType(), containsString("multipart/byteranges"));
+						assertThat(response.getContentAsString(), containsString("Content-Range: bytes 0-4/27\r\n\r\nHello"));
+						assertThat(response.getContentAsString(), containsString("Content-Range: bytes 6-11/27\r\n\r\nSpring"));
+					});
+				});
+				Context("given a container that supports sendfile", () -> {
+					BeforeEach(() -> {
+						request.setAttribute(FileChannelTransfers.SENDFILE_SUPPORTED_ATTR, Boolean.TRUE);
+					});
+					It("should delegate the whole file to the container", () -> {
+						assertThat(response.getStatus(), is(200));
+						assertThat(response.getContentAsString(), is(""));
+						assertThat(request.getAttribute(FileChannelTransfers.SENDFILE_FILENAME_ATTR), is(file.getCanonicalPath()));
+						assertThat(request.getAttribute(FileChannelTransfers.SENDFILE_START_ATTR), is(0L));
+						assertThat(request.getAttribute(FileChannelTransfers.SENDFILE_END_ATTR), is(27L));
+					});
+					Context("given a range request", () -> {
+						BeforeEach(() -> {
+							request.addHeader("Range", "bytes=6-19");
+						});
+						It("should delegate the range to the container", () -> {
+							assertThat(response.getStatus(), is(206));
+							assertThat(response.getHeader("Content-Range"), is("bytes 6-19/27"));
+							assertThat(response.getContentAsString(), is(""));
+							assertThat(request.getAttribute(FileChannelTransfers.SENDFILE_START_ATTR), is(6L));
+							assertThat(request.getAttribute(FileChannelTransfers.SENDFILE_END_ATTR), is(20L));
+						});
+					});
+				});
+			});
+			Context("given a rangeable resource", () -> {
+				BeforeEach(() -> {
+					resource = new InMemoryRangeableResource("Hello Spring Content World!");
+				});
+				Context("given a range request", () -> {
+					BeforeEach(() -> {
+						request.addHeader("Range", "bytes=6-19");
+					});
+					It("should read only the requested range", () -> {
+						assertThat(response.getStatus(), is(206));
+						assertThat(response.getHeader("Content-Range"), is("bytes 6-19/27"));
+						assertThat(response.getContentAsString(), is("Spring Content"));
+						assertThat(((InMemoryRangeableResource) resource).ranges, is(Collections.singletonList("6-19")));
+					});
+				});
+				Context("given a multi-range request", () -> {
+					BeforeEach(() -> {
+						request.addHeader("Range", "bytes=0-4,6-11");
+					});
+					It("should read each requested range", () -> {
+						assertThat(response.getStatus(), is(206));
+						assertThat(response.getContentAsString(), containsString("Content-Range: bytes 0-4/27\r\n\r\nHello"));
+						assertThat(response.getContentAsString(), containsString("Content-Range: bytes 6-11/27\r\n\r\nSpring"));
+						assertThat(((InMemoryRangeableResource) resource).ranges, is(Arrays.asList("0-4", "6-11")));
+					});
+				});
+			});
+			Context("given a resource that is not file-backed", () -> {
+				BeforeEach(() -> {
+					resource = new ByteArrayResource("Hello Spring Content World!".getBytes()) {
+						@Override
+						public long lastModified() {
+							return 0L;
+						}
+					};
+					request.setAttribute(FileChannelTransfers.SENDFILE_SUPPORTED_ATTR, Boolean.TRUE);
+				});
+				It("should copy the content", () -> {
+					assertThat(response.getContentAsString(), is("Hello Spring Content World!"));
+					assertThat(request.getAttribute(FileChannelTransfers.SENDFILE_FILENAME_ATTR), is(nullValue()));
+				});
+				Context("given a range request", () -> {
+					BeforeEach(() -> {
+						request.addHeader("Range", "bytes=6-19");
+					});
+					It("should copy the requested range", () -> {
+						assertThat(response.getStatus(), is(206));
+						assertThat(response.getContentAsString(), is("Spring Content"));
+					});
+				});
+			});
+		});
+	}
+
+	private static class InMemoryRangeableResource extends ByteArrayResource implements RangeableResource {
+
+		private final List<String> ranges = new ArrayList<>();
+
+		InMemoryRangeableResource(String content) {
+			super(content.getBytes());
+		}
+
+		@Override
+		public InputStream getInputStream() throws IOException {
+			throw new IllegalStateException("ranges should not be read from the start of the content");
+		}
+
+		@Override
+		public InputStream getInputStream(long start, long end) throws IOException {
+			ranges.add(start + "-" + end);
+			return new ByteArrayInputStream(getByteArray(), (int) start, (int) (end - start + 1));
+		}
+
+		@Override
+		public long lastModified() {
+			return 0L;
+		}
+	}
+}
@@ -1,5 +1,6 @@
 package internal.org.springframework.content.rest.utils;
 
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
 import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
 import internal.org.springframework.content.commons.storeservice.ContentStoreInfoImpl;
 import internal.org.springframework.content.rest.annotations.ContentStoreRestResource;
@@ -14,9 +15,11 @@ import org.springframework.content.commons.storeservice.ContentStoreService;
 import org.springframework.content.rest.StoreRestResource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
 
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.net.URI;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
@@ -27,7 +30,9 @@ import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.JustBeforeEach;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyObject;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.inOrder;
@@ -39,6 +44,7 @@ import static org.mockito.Mockito.when;
 
 @SuppressWarnings({ "deprecation", "rawtypes", "unchecked" })
 @RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
 public class ContentStoreUtilsTest {
 
 	private ContentStoreService stores;
@@ -55,12 +61,15 @@ public class ContentStoreUtilsTest {
 
 	private ContentStoreUtils.ResourcePlan plan;
 
+	private MockHttpServletRequest request;
+
 	{
 		Describe("ContentStoreUtilsTest", () -> {
 			Context("#findContentStore by entity class", () -> {
 				BeforeEach(() -> {
 					stores = mock(ContentStoreService.class);
 					entityClass = TestEntity.class;
+					when(stores.getStore(any(), any(), any())).thenCallRealMethod();
 				});
 				JustBeforeEach(() -> {
 					result = ContentStoreUtils.findContentStore(stores, entityClass);
@@ -98,6 +107,7 @@ public class ContentStoreUtilsTest {
 				BeforeEach(() -> {
 					stores = mock(ContentStoreService.class);
 					storePath = "testEntities";
+					when(stores.getStore(any(), any(), any())).thenCallRealMethod();
 				});
 				JustBeforeEach(() -> {
 					result = ContentStoreUtils.findContentStore(stores, storePath);
@@ -199,6 +209,34 @@ public class ContentStoreUtilsTest {
 					});
 				});
 			});
+			Context("#findStore for a request", () -> {
+				BeforeEach(() -> {
+					stores = mock(ContentStoreService.class);
+					Store storeImpl = mock(TestStore.class);
+					info = new ContentStoreInfoImpl(TestStore.class, null, storeImpl);
+					when(stores.getStore(eq(Store.class), any(), eq("tests"))).thenReturn(info);
+					request = new MockHttpServletRequest("GET", "/tests/some/content");
+				});
+				Context("given the request's route has been resolved", () -> {
+					BeforeEach(() -> {
+						StoreRoute.resolve(request, stores, URI.create(""));
+					});
+					It("should take the store from the route", () -> {
+						assertThat(ContentStoreUtils.findStore(stores, "tests", request), is(info));
+						verify(stores, times(1)).getStore(eq(Store.class), any(), eq("tests"));
+					});
+					It("should look up a different store", () -> {
+						assertThat(ContentStoreUtils.findStore(stores, "others", request), is(nullValue()));
+						verify(stores).getStore(eq(Store.class), any(), eq("others"));
+					});
+				});
+				Context("given the request's route has not been resolved", () -> {
+					It("should look the store up", () -> {
+						assertThat(ContentStoreUtils.findStore(stores, "tests", request), is(info));
+						verify(stores).getStore(eq(Store.class), any(), eq("tests"));
+					});
+				});
+			});
 			Context("#resolveResource", () -> {
 				JustBeforeEach(() -> {
 					headers = new HttpHeaders();
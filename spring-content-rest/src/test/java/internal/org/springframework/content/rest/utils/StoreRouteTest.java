@@ -0,0 +1,137 @@
+package internal.org.springframework.content.rest.utils;
+
+import java.net.URI;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import internal.org.springframework.content.commons.storeservice.ContentStoreInfoImpl;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import org.springframework.content.commons.repository.Store;
+import org.springframework.content.commons.storeservice.ContentStoreInfo;
+import org.springframework.content.commons.storeservice.ContentStoreService;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.JustBeforeEach;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SuppressWarnings({ "rawtypes", "unchecked" })
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class StoreRouteTest {
+
+	private StoreRoute route;
+
+	private MockHttpServletRequest request;
+	private URI baseUri;
+
+	// mocks
+	private ContentStoreService stores;
+	private ContentStoreInfo info;
+
+	{
+		Describe("StoreRoute", () -> {
+			BeforeEach(() -> {
+				stores = mock(ContentStoreService.class);
+				Store storeImpl = mock(TestStore.class);
+				info = new ContentStoreInfoImpl(TestStore.class, null, storeImpl);
+				when(stores.getStore(eq(Store.class), any(), eq("tests"))).thenReturn(info);
+				baseUri = URI.create("");
+			});
+			JustBeforeEach(() -> {
+				route = StoreRoute.of(request, stores, baseUri);
+			});
+			Context("given a request for content in a store", () -> {
+				BeforeEach(() -> {
+					request = new MockHttpServletRequest("GET", "/tests/some-id/some/content.txt");
+				});
+				It("should parse the route", () -> {
+					assertThat(route.isContentRoute(), is(true));
+					assertThat(route.getStorePath(), is("tests"));
+					assertThat(route.getStore(), is(info));
+					assertThat(route.getEntityId(), is("some-id"));
+					assertThat(route.getPropertyPath(), is("some/content.txt"));
+					assertThat(route.getContentPath(), is("/some-id/some/content.txt"));
+					assertThat(route.getExtension(), is("txt"));
+				});
+				It("should parse the route once per request", () -> {
+					assertThat(StoreRoute.of(request, stores, baseUri), is(sameInstance(route)));
+					assertThat(StoreRoute.of(request), is(sameInstance(route)));
+					verify(stores, times(1)).getStore(eq(Store.class), any(), eq("tests"));
+				});
+				It("should parse the route again when resolved", () -> {
+					StoreRoute resolved = StoreRoute.resolve(request, stores, baseUri);
+					assertThat(resolved, is(not(sameInstance(route))));
+					assertThat(StoreRoute.of(request), is(sameInstance(resolved)));
+				});
+				Context("given a base uri", () -> {
+					BeforeEach(() -> {
+						request = new MockHttpServletRequest("GET", "/api/tests/some-id");
+						baseUri = URI.create("/api");
+					});
+					It("should parse the route relative to the base uri", () -> {
+						assertThat(route.getStorePath(), is("tests"));
+						assertThat(route.getStore(), is(info));
+						assertThat(route.getEntityId(), is("some-id"));
+						assertThat(route.getPropertyPath(), is(nullValue()));
+						assertThat(route.getContentPath(), is("/some-id"));
+						assertThat(route.getExtension(), is(""));
+					});
+				});
+			});
+			Context("given a request for a store", () -> {
+				BeforeEach(() -> {
+					request = new MockHttpServletRequest("GET", "/tests");
+				});
+				It("should not be a content route", () -> {
+					assertThat(route.isContentRoute(), is(false));
+					assertThat(route.getEntityId(), is(nullValue()));
+					assertThat(route.getContentPath(), is(nullValue()));
+				});
+			});
+			Context("given a request for an unknown store", () -> {
+				BeforeEach(() -> {
+					request = new MockHttpServletRequest("GET", "/others/some-id");
+				});
+				It("should not have a store", () -> {
+					assertThat(route.isContentRoute(), is(true));
+					assertThat(route.getStore(), is(nullValue()));
+				});
+			});
+			Context("given a request outside the base uri", () -> {
+				BeforeEach(() -> {
+					request = new MockHttpServletRequest("GET", "/tests/some-id");
+					baseUri = URI.create("/api");
+				});
+				It("should not be a content route", () -> {
+					assertThat(route.getStoreLookupPath(), is(nullValue()));
+					assertThat(route.isContentRoute(), is(false));
+					assertThat(route.getStore(), is(nullValue()));
+					assertThat(route.getExtension(), is(nullValue()));
+				});
+			});
+		});
+	}
+
+	@Test
+	public void noop() {
+	}
+
+	public interface TestStore extends Store<String> {
+	}
+}
@@ -1,6 +1,7 @@
 package internal.org.springframework.content.s3.config;
 
 import com.amazonaws.services.s3.AmazonS3;
+import internal.org.springframework.content.s3.io.S3MultipartUploader;
 import internal.org.springframework.content.s3.store.DefaultS3StoreImpl;
 import org.springframework.aop.framework.ProxyFactory;
 import org.springframework.beans.factory.BeanFactory;
@@ -29,6 +30,9 @@ public class S3StoreFactoryBean extends AbstractStoreFactoryBean {
 	@Autowired(required=false)
 	private LockingAndVersioningProxyFactory versioning;
 
+	@Autowired(required=false)
+	private S3MultipartUploader uploader;
+
 	@Value("${spring.content.s3.bucket:#{environment.AWS_BUCKET}}")
 	private String bucket;
 
@@ -59,6 +63,10 @@ public class S3StoreFactoryBean extends AbstractStoreFactoryBean {
 		DefaultResourceLoader loader = new DefaultResourceLoader();
 		loader.addProtocolResolver(s3Protocol);
 
-		return new DefaultS3StoreImpl(loader, s3StorePlacementService, client);
+		DefaultS3StoreImpl store = new DefaultS3StoreImpl(loader, s3StorePlacementService, client);
+		if (uploader != null) {
+			store.setUploader(uploader);
+		}
+		return store;
 	}
 }
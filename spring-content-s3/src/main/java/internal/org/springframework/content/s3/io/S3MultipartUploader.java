@@ -0,0 +1,235 @@
+package internal.org.springframework.content.s3.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PartETag;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+import static java.lang.String.format;
+
+/**
+ * Uploads content to S3, splitting it into parts that are uploaded in parallel.
+ *
+ * Content that fits into a single part is uploaded with a single put.  Larger content is
+ * uploaded with a multipart upload whose parts are read from the stream on the calling
+ * thread and uploaded on the executor.  At most {@code maxConcurrentParts} parts are
+ * buffered at any one time, bounding the memory used by an upload.  The default executor
+ * has a bounded queue and uploads parts beyond it on the calling thread, so concurrent
+ * uploads cannot queue an unbounded number of parts.  Should any part fail the multipart
+ * upload is aborted.
+ */
+public class S3MultipartUploader {
+
+	private static Log logger = LogFactory.getLog(S3MultipartUploader.class);
+
+	/** The smallest part size accepted by S3 for all but the last part of an upload. */
+	public static final int MIN_PART_SIZE = 5 * 1024 * 1024;
+
+	public static final int DEFAULT_PART_SIZE = 8 * 1024 * 1024;
+	public static final int DEFAULT_MAX_CONCURRENT_PARTS = 4;
+
+	private static final Executor DEFAULT_EXECUTOR = createDefaultExecutor();
+
+	private final AmazonS3 client;
+
+	private int partSize = DEFAULT_PART_SIZE;
+	private int maxConcurrentParts = DEFAULT_MAX_CONCURRENT_PARTS;
+	private Executor executor = DEFAULT_EXECUTOR;
+
+	public S3MultipartUploader(AmazonS3 client) {
+		Assert.notNull(client, "client must be specified");
+		this.client = client;
+	}
+
+	public void setPartSize(int partSize) {
+		Assert.isTrue(partSize >= MIN_PART_SIZE, format("partSize must be at least %s bytes", MIN_PART_SIZE));
+		this.partSize = partSize;
+	}
+
+	public void setMaxConcurrentParts(int maxConcurrentParts) {
+		Assert.isTrue(maxConcurrentParts > 0, "maxConcurrentParts must be greater than 0");
+		this.maxConcurrentParts = maxConcurrentParts;
+	}
+
+	public void setExecutor(Executor executor) {
+		Assert.notNull(executor, "executor must be specified");
+		this.executor = executor;
+	}
+
+	/**
+	 * Uploads the content to the given object, replacing any existing content.
+	 *
+	 * @param bucket the bucket
+	 * @param key the object key
+	 * @param content the content to upload
+	 * @return the number of bytes uploaded
+	 * @throws IOException if the content cannot be read or uploaded
+	 */
+	public long upload(String bucket, String key, InputStream content) throws IOException {
+		byte[] buffer = new byte[partSize];
+		int read = fill(content, buffer);
+
+		if (read < partSize) {
+			ObjectMetadata metadata = new ObjectMetadata();
+			metadata.setContentLength(read);
+			try {
+				client.putObject(bucket, key, new ByteArrayInputStream(buffer, 0, read), metadata);
+			}
+			catch (AmazonClientException ace) {
+				throw new IOException(format("Uploading %s/%s", bucket, key), ace);
+			}
+			return read;
+		}
+
+		String uploadId;
+		try {
+			uploadId = client.initiateMultipartUpload(new InitiateMultipartUploadRequest(bucket, key)).getUploadId();
+		}
+		catch (AmazonClientException ace) {
+			throw new IOException(format("Initiating multipart upload of %s/%s", bucket, key), ace);
+		}
+
+		List<CompletableFuture<PartETag>> parts = new ArrayList<>();
+		Semaphore permits = new Semaphore(maxConcurrentParts);
+		long total = 0;
+		try {
+			int partNumber = 1;
+			while (read > 0) {
+				permits.acquire();
+				throwIfFailed(parts);
+
+				parts.add(uploadPart(bucket, key, uploadId, partNumber++, buffer, read, permits));
+				total += read;
+
+				buffer = new byte[partSize];
+				read = fill(content, buffer);
+			}
+
+			List<PartETag> etags = new ArrayList<>(parts.size());
+			for (CompletableFuture<PartETag> part : parts) {
+				etags.add(part.join());
+			}
+			client.completeMultipartUpload(new CompleteMultipartUploadRequest(bucket, key, uploadId, etags));
+			return total;
+		}
+		catch (InterruptedException ie) {
+			Thread.currentThread().interrupt();
+			abort(bucket, key, uploadId, parts);
+			throw new InterruptedIOException(format("Interrupted uploading %s/%s", bucket, key));
+		}
+		catch (CompletionException ce) {
+			abort(bucket, key, uploadId, parts);
+			throw new IOException(format("Uploading part of %s/%s", bucket, key), ce.getCause());
+		}
+		catch (IOException | RuntimeException e) {
+			abort(bucket, key, uploadId, parts);
+			throw (e instanceof IOException ? (IOException) e : new IOException(format("Uploading %s/%s", bucket, key), e));
+		}
+	}
+
+	private CompletableFuture<PartETag> uploadPart(String bucket, String key, String uploadId, int partNumber, byte[] buffer, int length, Semaphore permits) {
+		UploadPartRequest request = new UploadPartRequest()
+				.withBucketName(bucket)
+				.withKey(key)
+				.withUploadId(uploadId)
+				.withPartNumber(partNumber)
+				.withInputStream(new ByteArrayInputStream(buffer, 0, length))
+				.withPartSize(length);
+
+		CompletableFuture<PartETag> part = new CompletableFuture<>();
+		try {
+			executor.execute(() -> {
+				try {
+					part.complete(client.uploadPart(request).getPartETag());
+				}
+				catch (Throwable t) {
+					part.completeExceptionally(t);
+				}
+				finally {
+					permits.release();
+				}
+			});
+		}
+		catch (RejectedExecutionException ree) {
+			permits.release();
+			part.completeExceptionally(ree);
+		}
+		return part;
+	}
+
+	private void throwIfFailed(List<CompletableFuture<PartETag>> parts) {
+		for (CompletableFuture<PartETag> part : parts) {
+			if (part.isCompletedExceptionally()) {
+				part.join();
+			}
+		}
+	}
+
+	private void abort(String bucket, String key, String uploadId, List<CompletableFuture<PartETag>> parts) {
+		// let in-flight parts settle so that none are stored after the abort
+		for (CompletableFuture<PartETag> part : parts) {
+			try {
+				part.join();
+			}
+			catch (CompletionException e) {
+				// reported by the caller
+			}
+		}
+
+		try {
+			client.abortMultipartUpload(new AbortMultipartUploadRequest(bucket, key, uploadId));
+		}
+		catch (AmazonClientException ace) {
+			logger.error(format("Unable to abort multipart upload %s of %s/%s", uploadId, bucket, key), ace);
+		}
+	}
+
+	private static int fill(InputStream in, byte[] buffer) throws IOException {
+		int total = 0;
+		while (total < buffer.length) {
+			int read = in.read(buffer, total, buffer.length - total);
+			if (read == -1) {
+				break;
+			}
+			total += read;
+		}
+		return total;
+	}
+
+	private static Executor createDefaultExecutor() {
+		int threads = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("s3-part-uploader-");
+		threadFactory.setDaemon(true);
+
+		// parts queued beyond this are uploaded on the thread reading the content, bounding
+		// the parts buffered across all uploads and not just within each
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<>(threads), threadFactory, new ThreadPoolExecutor.CallerRunsPolicy());
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+}
@@ -1,8 +1,12 @@
 package internal.org.springframework.content.s3.io;
 
+import com.amazonaws.AmazonClientException;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.model.DeleteObjectRequest;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.S3Object;
 import org.springframework.content.commons.io.DeletableResource;
+import org.springframework.content.commons.io.RangeableResource;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.WritableResource;
 import org.springframework.util.Assert;
@@ -14,19 +18,26 @@ import java.io.OutputStream;
 import java.net.URI;
 import java.net.URL;
 
-public class S3StoreResource implements WritableResource, DeletableResource {
+public class S3StoreResource implements WritableResource, DeletableResource, RangeableResource {
 
 	private AmazonS3 client;
 	private Resource delegate;
 	private String bucket;
+	private S3MultipartUploader uploader;
 
 	public S3StoreResource(AmazonS3 client, String bucket, Resource delegate) {
+		this(client, bucket, delegate, new S3MultipartUploader(client));
+	}
+
+	public S3StoreResource(AmazonS3 client, String bucket, Resource delegate, S3MultipartUploader uploader) {
 		Assert.notNull(client, "client must be specified");
 		Assert.hasText(bucket, "bucket must be specified");
 		Assert.isInstanceOf(WritableResource.class, delegate);
+		Assert.notNull(uploader, "uploader must be specified");
 		this.client = client;
 		this.bucket = bucket;
 		this.delegate = delegate;
+		this.uploader = uploader;
 	}
 
 	@Override
@@ -89,6 +100,17 @@ public class S3StoreResource implements WritableResource, DeletableResource {
 		return delegate.getInputStream();
 	}
 
+	@Override
+	public InputStream getInputStream(long start, long end) throws IOException {
+		try {
+			S3Object object = client.getObject(new GetObjectRequest(bucket, delegate.getFilename()).withRange(start, end));
+			return object.getObjectContent();
+		}
+		catch (AmazonClientException ace) {
+			throw new IOException(String.format("Getting range %s-%s of %s", start, end, getDescription()), ace);
+		}
+	}
+
 	@Override
 	public void delete() {
 		if (delegate.exists()) {
@@ -105,4 +127,16 @@ public class S3StoreResource implements WritableResource, DeletableResource {
 	public OutputStream getOutputStream() throws IOException {
 		return ((WritableResource) delegate).getOutputStream();
 	}
+
+	/**
+	 * Uploads the given content to this resource, in parallel parts where the content is
+	 * large enough.
+	 *
+	 * @param content the content to upload
+	 * @return the number of bytes uploaded
+	 * @throws IOException if the content cannot be read or uploaded
+	 */
+	public long write(InputStream content) throws IOException {
+		return uploader.upload(bucket, delegate.getFilename(), content);
+	}
 }
@@ -2,6 +2,7 @@ package internal.org.springframework.content.s3.store;
 
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.model.S3ObjectId;
+import internal.org.springframework.content.s3.io.S3MultipartUploader;
 import internal.org.springframework.content.s3.io.S3StoreResource;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.logging.Log;
@@ -42,6 +43,7 @@ public class DefaultS3StoreImpl<S, SID extends Serializable>
 	private ResourceLoader loader;
 	private PlacementService placementService;
 	private AmazonS3 client;
+	private S3MultipartUploader uploader;
 
 	public DefaultS3StoreImpl(ResourceLoader loader, PlacementService placementService,
 			AmazonS3 client/*, S3ObjectIdResolver idResolver, String defaultBucket*/) {
@@ -51,6 +53,17 @@ public class DefaultS3StoreImpl<S, SID extends Serializable>
 		this.loader = loader;
 		this.placementService = placementService;
 		this.client = client;
+		this.uploader = new S3MultipartUploader(client);
+	}
+
+	/**
+	 * Sets the uploader used to upload content set with {@link #setContent(Object, InputStream)}.
+	 *
+	 * @param uploader the uploader
+	 */
+	public void setUploader(S3MultipartUploader uploader) {
+		Assert.notNull(uploader, "uploader must be specified");
+		this.uploader = uploader;
 	}
 
 	@Override
@@ -102,7 +115,7 @@ public class DefaultS3StoreImpl<S, SID extends Serializable>
             location = absolutify(bucket, location);
         }
 		Resource resource = loader.getResource(location);
-		return new S3StoreResource(client, bucket, resource);
+		return new S3StoreResource(client, bucket, resource, uploader);
 	}
 
 	@Override
@@ -150,6 +163,18 @@ public class DefaultS3StoreImpl<S, SID extends Serializable>
 			return;
 		}
 
+		if (resource instanceof S3StoreResource) {
+			try {
+				long contentLen = ((S3StoreResource) resource).write(content);
+				BeanUtils.setFieldWithAnnotation(entity, ContentLength.class, contentLen);
+			}
+			catch (IOException e) {
+				logger.error(format("Unexpected error setting content for entity %s", resource.toString()), e);
+				throw new StoreAccessException(format("Setting content for entity %s", entity), e);
+			}
+			return;
+		}
+
 		OutputStream os = null;
 		try {
 			if (resource instanceof WritableResource) {
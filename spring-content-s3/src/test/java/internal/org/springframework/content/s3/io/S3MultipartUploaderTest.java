@@ -0,0 +1,129 @@
+package internal.org.springframework.content.s3.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadResult;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import com.amazonaws.services.s3.model.UploadPartResult;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.JustBeforeEach;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(Ginkgo4jRunner.class)
+public class S3MultipartUploaderTest {
+
+	private S3MultipartUploader uploader;
+
+	private AmazonS3 client;
+	private InputStream content;
+
+	private long result;
+	private Exception e;
+
+	{
+		Describe("S3MultipartUploader", () -> {
+			BeforeEach(() -> {
+				client = mock(AmazonS3.class);
+				uploader = new S3MultipartUploader(client);
+				uploader.setPartSize(S3MultipartUploader.MIN_PART_SIZE);
+				e = null;
+			});
+			JustBeforeEach(() -> {
+				try {
+					result = uploader.upload("some-bucket", "some-key", content);
+				} catch (Exception e) {
+					this.e = e;
+				}
+			});
+			Context("given content smaller than a part", () -> {
+				BeforeEach(() -> {
+					content = new ByteArrayInputStream("Hello content world!".getBytes());
+				});
+				It("should put the content in a single request", () -> {
+					ArgumentCaptor<ObjectMetadata> metadata = ArgumentCaptor.forClass(ObjectMetadata.class);
+					verify(client).putObject(eq("some-bucket"), eq("some-key"), any(InputStream.class), metadata.capture());
+					assertThat(metadata.getValue().getContentLength(), is(20L));
+					verify(client, never()).initiateMultipartUpload(any(InitiateMultipartUploadRequest.class));
+				});
+				It("should return the content length", () -> {
+					assertThat(result, is(20L));
+				});
+			});
+			Context("given content larger than a part", () -> {
+				BeforeEach(() -> {
+					content = new ByteArrayInputStream(new byte[S3MultipartUploader.MIN_PART_SIZE * 2 + 10]);
+
+					InitiateMultipartUploadResult initiated = new InitiateMultipartUploadResult();
+					initiated.setUploadId("some-upload-id");
+					when(client.initiateMultipartUpload(any(InitiateMultipartUploadRequest.class))).thenReturn(initiated);
+					when(client.uploadPart(any(UploadPartRequest.class))).thenAnswer(invocation -> {
+						UploadPartRequest request = invocation.getArgument(0);
+						UploadPartResult part = new UploadPartResult();
+						part.setPartNumber(request.getPartNumber());
+						part.setETag("etag-" + request.getPartNumber());
+						return part;
+					});
+				});
+				It("should upload each part", () -> {
+					ArgumentCaptor<UploadPartRequest> parts = ArgumentCaptor.forClass(UploadPartRequest.class);
+					verify(client, times(3)).uploadPart(parts.capture());
+					long size = 0;
+					for (UploadPartRequest part : parts.getAllValues()) {
+						assertThat(part.getUploadId(), is("some-upload-id"));
+						size += part.getPartSize();
+					}
+					assertThat(size, is(S3MultipartUploader.MIN_PART_SIZE * 2 + 10L));
+				});
+				It("should complete the upload with the parts in order", () -> {
+					ArgumentCaptor<CompleteMultipartUploadRequest> complete = ArgumentCaptor.forClass(CompleteMultipartUploadRequest.class);
+					verify(client).completeMultipartUpload(complete.capture());
+					assertThat(complete.getValue().getPartETags().size(), is(3));
+					for (int i = 0; i < 3; i++) {
+						assertThat(complete.getValue().getPartETags().get(i).getPartNumber(), is(i + 1));
+					}
+				});
+				It("should return the content length", () -> {
+					assertThat(e, is(nullValue()));
+					assertThat(result, is(S3MultipartUploader.MIN_PART_SIZE * 2 + 10L));
+				});
+				Context("when a part fails to upload", () -> {
+					BeforeEach(() -> {
+						when(client.uploadPart(any(UploadPartRequest.class))).thenThrow(new AmazonClientException("part-failure"));
+					});
+					It("should abort the upload", () -> {
+						verify(client).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+						verify(client, never()).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+					});
+					It("should throw the failure", () -> {
+						assertThat(e.getCause(), is(instanceOf(AmazonClientException.class)));
+						assertThat(e.getCause().getMessage(), is("part-failure"));
+					});
+				});
+			});
+		});
+	}
+}
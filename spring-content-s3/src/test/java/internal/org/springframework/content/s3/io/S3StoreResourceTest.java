@@ -0,0 +1,93 @@
+package internal.org.springframework.content.s3.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.S3Object;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import org.apache.commons.io.IOUtils;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.springframework.core.io.WritableResource;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.JustBeforeEach;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(Ginkgo4jRunner.class)
+public class S3StoreResourceTest {
+
+	private S3StoreResource resource;
+
+	private AmazonS3 client;
+	private WritableResource delegate;
+
+	private InputStream result;
+	private Exception e;
+
+	{
+		Describe("S3StoreResource", () -> {
+			BeforeEach(() -> {
+				client = mock(AmazonS3.class);
+				delegate = mock(WritableResource.class);
+				when(delegate.getFilename()).thenReturn("some-key");
+			});
+			JustBeforeEach(() -> {
+				resource = new S3StoreResource(client, "some-bucket", delegate);
+			});
+			Context("#getInputStream(start, end)", () -> {
+				JustBeforeEach(() -> {
+					try {
+						result = resource.getInputStream(6, 19);
+					} catch (Exception e) {
+						this.e = e;
+					}
+				});
+				Context("given the object exists", () -> {
+					BeforeEach(() -> {
+						S3Object object = new S3Object();
+						object.setObjectContent(new ByteArrayInputStream("Spring Content".getBytes()));
+						when(client.getObject(any(GetObjectRequest.class))).thenReturn(object);
+					});
+					It("should request only the given range of the object", () -> {
+						ArgumentCaptor<GetObjectRequest> request = ArgumentCaptor.forClass(GetObjectRequest.class);
+						verify(client).getObject(request.capture());
+						assertThat(request.getValue().getBucketName(), is("some-bucket"));
+						assertThat(request.getValue().getKey(), is("some-key"));
+						assertThat(request.getValue().getRange()[0], is(6L));
+						assertThat(request.getValue().getRange()[1], is(19L));
+					});
+					It("should return the range's content", () -> {
+						assertThat(IOUtils.toString(result), is("Spring Content"));
+					});
+					It("should not read the whole object", () -> {
+						verify(delegate, never()).getInputStream();
+					});
+				});
+				Context("given the request fails", () -> {
+					BeforeEach(() -> {
+						when(client.getObject(any(GetObjectRequest.class))).thenThrow(new AmazonClientException("get-exception"));
+					});
+					It("should throw an IOException", () -> {
+						assertThat(e, is(instanceOf(IOException.class)));
+						assertThat(e.getCause().getMessage(), is("get-exception"));
+					});
+				});
+			});
+		});
+	}
+}
@@ -2,13 +2,13 @@ package internal.org.springframework.content.s3.store;
 
 import com.amazonaws.AmazonClientException;
 import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.S3ObjectId;
 import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
 import internal.org.springframework.content.s3.config.DefaultAssociativeStoreS3ObjectIdResolver;
 import internal.org.springframework.content.s3.config.S3ObjectIdResolverConverter;
 import internal.org.springframework.content.s3.config.S3StoreConfiguration;
 import org.junit.runner.RunWith;
-import org.mockito.Matchers;
 import org.springframework.content.commons.annotations.ContentId;
 import org.springframework.content.commons.annotations.ContentLength;
 import org.springframework.content.commons.repository.StoreAccessException;
@@ -27,7 +27,6 @@ import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.io.Serializable;
 
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
@@ -40,6 +39,7 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.matches;
 import static org.mockito.Matchers.anyObject;
@@ -74,7 +74,6 @@ public class DefaultS3StoreImplTest {
 	private WritableResource resource;
 	private Resource r, nonExistentResource;
 	private InputStream content;
-	private OutputStream output;
 	private File parent;
 	private InputStream result;
 	private Exception e;
@@ -408,31 +407,28 @@ public class DefaultS3StoreImplTest {
                                     S3StoreConfiguration.addDefaultS3ObjectIdConverters(placementService, defaultBucket);
 
 									when(loader.getResource(endsWith("abcd-efgh"))).thenReturn(resource);
-									output = mock(OutputStream.class);
-									when(resource.getOutputStream()).thenReturn(output);
-
-									when(resource.contentLength()).thenReturn(20L);
+									when(resource.getFilename()).thenReturn("abcd-efgh");
 
 									when(resource.exists()).thenReturn(true);
 								});
 								It("should fetch the resource", () -> {
 									verify(loader).getResource(eq("s3://default-defaultBucket/abcd-efgh"));
 								});
-								It("should change the content length", () -> {
+								It("should set the content length from the uploaded content", () -> {
 									assertThat(entity.getContentLen(), is(20L));
+									verify(resource, never()).contentLength();
 								});
-								It("should write to the resource's outputstream", () -> {
-									verify(resource).getOutputStream();
-									verify(output, times(1)).write(Matchers.<byte[]>any(),
-											eq(0), eq(20));
+								It("should upload the content to the resource's object", () -> {
+									verify(client).putObject(eq("default-defaultBucket"), eq("abcd-efgh"), any(InputStream.class), any(ObjectMetadata.class));
+									verify(resource, never()).getOutputStream();
 								});
-								Context("when the resource output stream throws an IOException", () -> {
+								Context("when the upload fails", () -> {
 									BeforeEach(() -> {
-										when(resource.getOutputStream()).thenThrow(new IOException("set-ioexception"));
+										when(client.putObject(anyString(), anyString(), any(InputStream.class), any(ObjectMetadata.class))).thenThrow(new AmazonClientException("set-exception"));
 									});
 									It("should throw a StoreAccessException", () -> {
 										assertThat(e, is(instanceOf(StoreAccessException.class)));
-										assertThat(e.getCause().getMessage(), is("set-ioexception"));
+										assertThat(e.getCause().getCause().getMessage(), is("set-exception"));
 									});
 								});
 							});
@@ -444,10 +440,7 @@ public class DefaultS3StoreImplTest {
                                     S3StoreConfiguration.addDefaultS3ObjectIdConverters(placementService, defaultBucket);
 
                                     when(loader.getResource(matches("^s3://.*[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}$"))).thenReturn(resource);
-									output = mock(OutputStream.class);
-									when(resource.getOutputStream()).thenReturn(output);
-
-									when(resource.contentLength()).thenReturn(20L);
+									when(resource.getFilename()).thenReturn("new-object");
 
 									File resourceFile = mock(File.class);
 									parent = mock(File.class);
@@ -461,10 +454,9 @@ public class DefaultS3StoreImplTest {
 								It("should create a new resource", () -> {
 									verify(loader).getResource(matches("^s3://.*[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}$"));
 								});
-								It("should write to the resource's outputstream", () -> {
-									verify(resource).getOutputStream();
-									verify(output, times(1)).write(Matchers.<byte[]>any(),
-											eq(0), eq(20));
+								It("should upload the content", () -> {
+									verify(client).putObject(eq("default-defaultBucket"), eq("new-object"), any(InputStream.class), any(ObjectMetadata.class));
+									assertThat(entity.getContentLen(), is(20L));
 								});
 							});
 						});
@@ -0,0 +1,352 @@
+package internal.org.springframework.content.solr;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.request.AbstractUpdateRequest;
+import org.springframework.content.commons.repository.StoreAccessException;
+import org.springframework.content.solr.SolrProperties;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+import static java.lang.String.format;
+
+/**
+ * Indexes content in Solr on background workers.
+ *
+ * Updates are partitioned across workers by document id so that updates to the same
+ * document are applied in the order they were submitted.  Each worker has a bounded
+ * queue; when it is full submitters block until the worker catches up.  Workers drain
+ * their queue in batches, sending consecutive deletes as a single request and, unless
+ * Solr is configured to commit within a given time, soft committing once per batch.
+ * Failed updates are retried with exponential backoff.
+ */
+public class SolrIndexingPipeline {
+
+	private static Log logger = LogFactory.getLog(SolrIndexingPipeline.class);
+
+	private static final long SHUTDOWN_TIMEOUT = TimeUnit.SECONDS.toMillis(30);
+
+	private final SolrClient client;
+	private final SolrProperties properties;
+	private final Worker[] workers;
+	private final Metrics metrics = new Metrics();
+
+	private volatile boolean running = true;
+
+	public SolrIndexingPipeline(SolrClient client, SolrProperties properties) {
+		Assert.notNull(client, "client must not be null");
+		Assert.notNull(properties, "properties must not be null");
+		this.client = client;
+		this.properties = properties;
+
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("solr-indexer-");
+		threadFactory.setDaemon(true);
+
+		this.workers = new Worker[Math.max(1, properties.getIndexingWorkers())];
+		for (int i = 0; i < workers.length; i++) {
+			workers[i] = new Worker(Math.max(1, properties.getIndexingQueueCapacity()));
+			workers[i].thread = threadFactory.newThread(workers[i]);
+			workers[i].thread.start();
+		}
+	}
+
+	/**
+	 * Queues the content for indexing under the given id.
+	 *
+	 * @param id the Solr document id
+	 * @param content supplies the content when it is indexed, or null if there is no
+	 *                longer content to index
+	 */
+	public void index(String id, Supplier<InputStream> content) {
+		submit(new Operation(id, content));
+	}
+
+	/**
+	 * Queues the deletion of the document with the given id.
+	 *
+	 * @param id the Solr document id
+	 */
+	public void delete(String id) {
+		submit(new Operation(id, null));
+	}
+
+	public Metrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * Stops accepting updates and waits for queued updates to be indexed.
+	 */
+	public void shutdown() {
+		running = false;
+		long deadline = System.currentTimeMillis() + SHUTDOWN_TIMEOUT;
+		for (Worker worker : workers) {
+			try {
+				worker.thread.join(Math.max(1, deadline - System.currentTimeMillis()));
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+
+	private void submit(Operation operation) {
+		metrics.submitted.incrementAndGet();
+
+		if (running == false) {
+			// indexed on the caller's thread once the workers have stopped
+			if (process(operation) == false) {
+				throw new StoreAccessException(format("Error updating entry in solr index %s", operation.id));
+			}
+			commit();
+			return;
+		}
+
+		Worker worker = workers[(operation.id.hashCode() & 0x7fffffff) % workers.length];
+		try {
+			worker.queue.put(operation);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new StoreAccessException(format("Interrupted queueing entry %s for solr indexing", operation.id), e);
+		}
+	}
+
+	void process(List<Operation> batch) {
+		List<String> deletes = new ArrayList<>();
+		for (Operation operation : batch) {
+			if (operation.isDelete()) {
+				deletes.add(operation.id);
+				continue;
+			}
+			flushDeletes(deletes);
+			process(operation);
+		}
+		flushDeletes(deletes);
+		commit();
+	}
+
+	private boolean process(Operation operation) {
+		if (operation.isDelete()) {
+			return send(format("deleting %s", operation.id), () -> {
+				AbstractUpdateRequest up = SolrRequests.delete(Collections.singletonList(operation.id), properties);
+				SolrRequests.commitWithin(up, properties);
+				client.request(up, null);
+				return true;
+			}, metrics.deleted, 1);
+		}
+
+		return send(format("indexing %s", operation.id), () -> {
+			InputStream content = operation.content.get();
+			if (content == null) {
+				return false;
+			}
+			try {
+				AbstractUpdateRequest up = SolrRequests.extract(operation.id, content, properties);
+				SolrRequests.commitWithin(up, properties);
+				client.request(up, null);
+				return true;
+			}
+			finally {
+				IOUtils.closeQuietly(content);
+			}
+		}, metrics.indexed, 1);
+	}
+
+	private void flushDeletes(List<String> deletes) {
+		if (deletes.isEmpty()) {
+			return;
+		}
+
+		List<String> ids = new ArrayList<>(deletes);
+		deletes.clear();
+		send(format("deleting %s", ids), () -> {
+			AbstractUpdateRequest up = SolrRequests.delete(ids, properties);
+			SolrRequests.commitWithin(up, properties);
+			client.request(up, null);
+			return true;
+		}, metrics.deleted, ids.size());
+	}
+
+	private void commit() {
+		if (properties.getCommitWithin() > 0) {
+			return;
+		}
+		send("committing", () -> {
+			client.request(SolrRequests.softCommit(properties), null);
+			return true;
+		}, metrics.commits, 1);
+	}
+
+	/**
+	 * Sends an update, retrying with exponential backoff should it fail.
+	 *
+	 * @return false if the update failed after exhausting its retries
+	 */
+	private boolean send(String description, Update update, AtomicLong counter, int count) {
+		long backoff = Math.max(0L, properties.getIndexingRetryBackoff());
+		int maxRetries = Math.max(0, properties.getIndexingMaxRetries());
+
+		for (int attempt = 0; ; attempt++) {
+			try {
+				if (update.send()) {
+					counter.addAndGet(count);
+				}
+				return true;
+			}
+			catch (SolrServerException | IOException | RuntimeException e) {
+				if (attempt >= maxRetries) {
+					metrics.failed.addAndGet(count);
+					logger.error(format("Error %s in solr index", description), e);
+					return false;
+				}
+				metrics.retried.incrementAndGet();
+				logger.debug(format("Retrying %s in solr index", description), e);
+			}
+
+			try {
+				Thread.sleep(backoff << Math.min(attempt, 16));
+			}
+			catch (InterruptedException ie) {
+				Thread.currentThread().interrupt();
+				metrics.failed.addAndGet(count);
+				return false;
+			}
+		}
+	}
+
+	@FunctionalInterface
+	private interface Update {
+
+		/**
+		 * @return false if there was nothing to send
+		 */
+		boolean send() throws SolrServerException, IOException;
+	}
+
+	static class Operation {
+
+		private final String id;
+		private final Supplier<InputStream> content;
+
+		Operation(String id, Supplier<InputStream> content) {
+			this.id = id;
+			this.content = content;
+		}
+
+		boolean isDelete() {
+			return content == null;
+		}
+	}
+
+	private class Worker implements Runnable {
+
+		private final BlockingQueue<Operation> queue;
+		private Thread thread;
+
+		Worker(int capacity) {
+			this.queue = new LinkedBlockingQueue<>(capacity);
+		}
+
+		@Override
+		public void run() {
+			int batchSize = Math.max(1, properties.getIndexingBatchSize());
+			while (running || queue.isEmpty() == false) {
+				try {
+					Operation first = queue.poll(100, TimeUnit.MILLISECONDS);
+					if (first == null) {
+						continue;
+					}
+
+					List<Operation> batch = new ArrayList<>(batchSize);
+					batch.add(first);
+					queue.drainTo(batch, batchSize - 1);
+					process(batch);
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+				catch (RuntimeException e) {
+					logger.error("Unexpected error indexing content in solr", e);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Counters describing the pipeline's throughput and back-pressure.
+	 */
+	public class Metrics {
+
+		private final AtomicLong submitted = new AtomicLong();
+		private final AtomicLong indexed = new AtomicLong();
+		private final AtomicLong deleted = new AtomicLong();
+		private final AtomicLong commits = new AtomicLong();
+		private final AtomicLong retried = new AtomicLong();
+		private final AtomicLong failed = new AtomicLong();
+
+		/** Updates submitted to the pipeline. */
+		public long getSubmitted() {
+			return submitted.get();
+		}
+
+		/** Documents indexed. */
+		public long getIndexed() {
+			return indexed.get();
+		}
+
+		/** Documents deleted. */
+		public long getDeleted() {
+			return deleted.get();
+		}
+
+		/** Soft commits sent. */
+		public long getCommits() {
+			return commits.get();
+		}
+
+		/** Requests retried after a failure. */
+		public long getRetried() {
+			return retried.get();
+		}
+
+		/** Updates abandoned after exhausting their retries. */
+		public long getFailed() {
+			return failed.get();
+		}
+
+		/** Updates waiting to be indexed. */
+		public long getQueued() {
+			long queued = 0;
+			for (Worker worker : workers) {
+				queued += worker.queue.size();
+			}
+			return queued;
+		}
+
+		/** Remaining capacity before submitters are blocked. */
+		public long getRemainingCapacity() {
+			long remaining = 0;
+			for (Worker worker : workers) {
+				remaining += worker.queue.remainingCapacity();
+			}
+			return remaining;
+		}
+	}
+}
@@ -0,0 +1,94 @@
+package internal.org.springframework.content.solr;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+
+import org.apache.solr.client.solrj.request.AbstractUpdateRequest;
+import org.apache.solr.client.solrj.request.ContentStreamUpdateRequest;
+import org.apache.solr.client.solrj.request.UpdateRequest;
+import org.apache.solr.common.util.ContentStreamBase;
+import org.springframework.content.solr.SolrProperties;
+
+/**
+ * Builds the update requests used to index content in Solr.
+ */
+public final class SolrRequests {
+
+	private SolrRequests() {
+	}
+
+	/**
+	 * Returns a request extracting and indexing the given content under the given id.
+	 */
+	public static ContentStreamUpdateRequest extract(String id, InputStream content, SolrProperties properties) {
+		ContentStreamUpdateRequest up = new ContentStreamUpdateRequest("/update/extract");
+		authenticate(up, properties);
+		up.addContentStream(new InputStreamContentStream(content));
+		up.setParam("literal.id", id);
+		return up;
+	}
+
+	/**
+	 * Returns a request deleting the documents with the given ids.
+	 */
+	public static UpdateRequest delete(Collection<String> ids, SolrProperties properties) {
+		UpdateRequest up = new UpdateRequest();
+		up.deleteById(new ArrayList<>(ids));
+		authenticate(up, properties);
+		return up;
+	}
+
+	/**
+	 * Returns a request soft committing pending updates.
+	 */
+	public static UpdateRequest softCommit(SolrProperties properties) {
+		UpdateRequest up = new UpdateRequest();
+		up.setAction(AbstractUpdateRequest.ACTION.COMMIT, false, false, true);
+		authenticate(up, properties);
+		return up;
+	}
+
+	/**
+	 * Makes the request commit within the configured time or, when none is configured,
+	 * hard commit and wait for a new searcher.
+	 */
+	public static void commit(AbstractUpdateRequest up, SolrProperties properties) {
+		if (properties.getCommitWithin() > 0) {
+			up.setCommitWithin(properties.getCommitWithin());
+		}
+		else {
+			up.setAction(AbstractUpdateRequest.ACTION.COMMIT, true, true);
+		}
+	}
+
+	/**
+	 * Makes the request commit within the configured time, if any.
+	 */
+	public static void commitWithin(AbstractUpdateRequest up, SolrProperties properties) {
+		if (properties.getCommitWithin() > 0) {
+			up.setCommitWithin(properties.getCommitWithin());
+		}
+	}
+
+	private static void authenticate(AbstractUpdateRequest up, SolrProperties properties) {
+		if (properties.getUser() != null) {
+			up.setBasicAuthCredentials(properties.getUser(), properties.getPassword());
+		}
+	}
+
+	private static class InputStreamContentStream extends ContentStreamBase {
+
+		private final InputStream stream;
+
+		InputStreamContentStream(InputStream stream) {
+			this.stream = stream;
+		}
+
+		@Override
+		public InputStream getStream() throws IOException {
+			return stream;
+		}
+	}
+}
@@ -2,23 +2,31 @@ package internal.org.springframework.content.solr;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 import org.apache.solr.client.solrj.SolrClient;
 import org.apache.solr.client.solrj.SolrQuery;
 import org.apache.solr.client.solrj.SolrServerException;
 import org.apache.solr.client.solrj.request.QueryRequest;
 import org.apache.solr.common.SolrDocumentList;
+import org.apache.solr.common.params.CursorMarkParams;
 import org.apache.solr.common.util.NamedList;
 
 import org.springframework.content.commons.repository.StoreAccessException;
 import org.springframework.content.commons.search.Searchable;
 import org.springframework.content.solr.SolrProperties;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 import org.springframework.util.Assert;
 
 public class SolrSearchService implements Searchable<Object> {
 
 	private static final String field = "id";
+	private static final int CURSOR_BATCH_SIZE = 100;
 
 	private SolrClient solr;
 	private SolrProperties solrProperties;
@@ -33,49 +41,82 @@ public class SolrSearchService implements Searchable<Object> {
 
 	@Override
 	public List<Object> search(String queryStr) {
-		return getIds(executeQuery(this.getDomainClass(), queryStr));
+		return findAll(queryStr);
+	}
+
+	@Override
+	public Page<Object> search(String queryStr, Pageable pageable) {
+		if (pageable == null || pageable.isUnpaged()) {
+			return new PageImpl<>(findAll(queryStr));
+		}
+
+		SolrQuery query = createQuery(this.getDomainClass(), queryStr);
+		query.setStart((int) pageable.getOffset());
+		query.setRows(pageable.getPageSize());
+
+		SolrDocumentList docs = (SolrDocumentList) executeQuery(query, queryStr).get("response");
+		return new PageImpl<>(getIds(docs), pageable, docs.getNumFound());
+	}
+
+	/**
+	 * Returns the ids of all matching content, fetching them from solr a batch at a time
+	 * with a cursor as they are iterated.
+	 */
+	@Override
+	public Iterable<Object> searchAll(String queryStr) {
+		return () -> new CursorIterator(queryStr);
 	}
 
 	@Override
 	public List<Object> findKeyword(String queryStr) {
-		return getIds(executeQuery(this.getDomainClass(), queryStr));
+		return findAll(queryStr);
 	}
 
 	@Override
 	public List<Object> findAllKeywords(String... terms) {
 		String queryStr = this.parseTerms("AND", terms);
-		return getIds(executeQuery(this.getDomainClass(), queryStr));
+		return findAll(queryStr);
 	}
 
 	@Override
 	public List<Object> findAnyKeywords(String... terms) {
 		String queryStr = this.parseTerms("OR", terms);
-		return getIds(executeQuery(this.getDomainClass(), queryStr));
+		return findAll(queryStr);
 	}
 
 	@Override
 	public List<Object> findKeywordsNear(int proximity, String... terms) {
 		String termStr = this.parseTerms("NONE", terms);
 		String queryStr = "\"" + termStr + "\"~" + Integer.toString(proximity);
-		return getIds(executeQuery(this.getDomainClass(), queryStr));
+		return findAll(queryStr);
 	}
 
 	@Override
 	public List<Object> findKeywordStartsWith(String term) {
 		String queryStr = term + "*";
-		return getIds(executeQuery(this.getDomainClass(), queryStr));
+		return findAll(queryStr);
 	}
 
 	@Override
 	public List<Object> findKeywordStartsWithAndEndsWith(String a, String b) {
 		String queryStr = a + "*" + b;
-		return getIds(executeQuery(this.getDomainClass(), queryStr));
+		return findAll(queryStr);
 	}
 
 	@Override
 	public List<Object> findAllKeywordsWithWeights(String[] terms, double[] weights) {
 		String queryStr = parseTermsAndWeights("AND", terms, weights);
-		return getIds(executeQuery(this.getDomainClass(), queryStr));
+		return findAll(queryStr);
+	}
+
+	/**
+	 * Returns the ids of all matching content.  Solr returns only its default number of
+	 * rows for a query, so the hits are fetched with a cursor.
+	 */
+	private List<Object> findAll(String queryStr) {
+		List<Object> ids = new ArrayList<>();
+		new CursorIterator(queryStr).forEachRemaining(ids::add);
+		return ids;
 	}
 
 	/* package */ String parseTermsAndWeights(String operator, String[] terms,
@@ -118,8 +159,11 @@ public class SolrSearchService implements Searchable<Object> {
 	}
 
 	/* package */ List<Object> getIds(NamedList response) {
+		return getIds((SolrDocumentList) response.get("response"));
+	}
+
+	/* package */ List<Object> getIds(SolrDocumentList list) {
 		List<Object> ids = new ArrayList<>();
-		SolrDocumentList list = (SolrDocumentList) response.get("response");
 		for (int j = 0; j < list.size(); ++j) {
 			String id = list.get(j).getFieldValue("id").toString();
 			id = id.substring(id.indexOf(':') + 1, id.length());
@@ -137,10 +181,18 @@ public class SolrSearchService implements Searchable<Object> {
 
 	/* package */ NamedList<Object> executeQuery(Class<?> domainClass,
 			String queryString) {
+		return executeQuery(createQuery(domainClass, queryString), queryString);
+	}
+
+	/* package */ SolrQuery createQuery(Class<?> domainClass, String queryString) {
 		SolrQuery query = new SolrQuery();
 		query.setQuery("(" + queryString + ") AND id:" + domainClass.getCanonicalName()
 				+ "\\:*");
 		query.setFields(field);
+		return query;
+	}
+
+	/* package */ NamedList<Object> executeQuery(SolrQuery query, String queryString) {
 		QueryRequest request = new QueryRequest(query);
 		if (solrProperties.getUser() != null) {
 			request = solrAuthenticate(request);
@@ -168,4 +220,49 @@ public class SolrSearchService implements Searchable<Object> {
 	protected Class<?> getDomainClass() {
 		return domainClass;
 	}
+
+	private class CursorIterator implements Iterator<Object> {
+
+		private final String queryString;
+
+		private String cursorMark = CursorMarkParams.CURSOR_MARK_START;
+		private Iterator<Object> batch = Collections.emptyIterator();
+		private boolean done = false;
+
+		CursorIterator(String queryString) {
+			this.queryString = queryString;
+		}
+
+		@Override
+		public boolean hasNext() {
+			while (batch.hasNext() == false && done == false) {
+				fetch();
+			}
+			return batch.hasNext();
+		}
+
+		@Override
+		public Object next() {
+			if (hasNext() == false) {
+				throw new NoSuchElementException();
+			}
+			return batch.next();
+		}
+
+		private void fetch() {
+			SolrQuery query = createQuery(getDomainClass(), queryString);
+			// a cursor requires a sort that ends with the unique key
+			query.addSort("score", SolrQuery.ORDER.desc);
+			query.addSort(field, SolrQuery.ORDER.asc);
+			query.setRows(CURSOR_BATCH_SIZE);
+			query.set(CursorMarkParams.CURSOR_MARK_PARAM, cursorMark);
+
+			NamedList<Object> response = executeQuery(query, queryString);
+			batch = getIds(response).iterator();
+
+			String nextCursorMark = (String) response.get(CursorMarkParams.CURSOR_MARK_NEXT);
+			done = nextCursorMark == null || nextCursorMark.equals(cursorMark);
+			cursorMark = nextCursorMark;
+		}
+	}
 }
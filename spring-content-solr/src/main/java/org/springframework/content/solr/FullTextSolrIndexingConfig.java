@@ -27,7 +27,7 @@ public class FullTextSolrIndexingConfig {
 //	}
 
 	@Bean
-	public Object solrFulltextEventListener() {
+	public SolrIndexer solrFulltextEventListener() {
 		return new SolrIndexer(solrClient, props);
 	}
 
@@ -1,51 +1,121 @@
-package org.springframework.content.solr;
-
-import org.springframework.boot.context.properties.ConfigurationProperties;
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-
-@Configuration
-@ConfigurationProperties(prefix = "solr")
-public class SolrConfig {
-
-	private String url;
-	private String username;
-	private String password;
-
-	public String getUrl() {
-		return url;
-	}
-
-	public void setUrl(String url) {
-		this.url = url;
-	}
-
-	public String getUsername() {
-		return username;
-	}
-
-	public void setUsername(String username) {
-		this.username = username;
-	}
-
-	public String getPassword() {
-		return password;
-	}
-
-	public void setPassword(String password) {
-		this.password = password;
-	}
-
-	@Bean
-	public SolrProperties solrProperties() {
-
-		SolrProperties props = new SolrProperties();
-		if (url == null) {
-			this.url = "http://localhost:8983/solr/solr";
-		}
-		props.setUrl(url);
-		props.setPassword(password);
-		props.setUser(username);
-		return props;
-	}
-}
+package org.springframework.content.solr;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "solr")
+public class SolrConfig {
+
+	private String url;
+	private String username;
+	private String password;
+	private boolean asyncIndexing = false;
+	private int commitWithin = -1;
+	private int indexingWorkers = 2;
+	private int indexingQueueCapacity = 1000;
+	private int indexingBatchSize = 50;
+	private int indexingMaxRetries = 3;
+	private long indexingRetryBackoff = 500L;
+
+	public String getUrl() {
+		return url;
+	}
+
+	public void setUrl(String url) {
+		this.url = url;
+	}
+
+	public String getUsername() {
+		return username;
+	}
+
+	public void setUsername(String username) {
+		this.username = username;
+	}
+
+	public String getPassword() {
+		return password;
+	}
+
+	public void setPassword(String password) {
+		this.password = password;
+	}
+
+	public boolean isAsyncIndexing() {
+		return asyncIndexing;
+	}
+
+	public void setAsyncIndexing(boolean asyncIndexing) {
+		this.asyncIndexing = asyncIndexing;
+	}
+
+	public int getCommitWithin() {
+		return commitWithin;
+	}
+
+	public void setCommitWithin(int commitWithin) {
+		this.commitWithin = commitWithin;
+	}
+
+	public int getIndexingWorkers() {
+		return indexingWorkers;
+	}
+
+	public void setIndexingWorkers(int indexingWorkers) {
+		this.indexingWorkers = indexingWorkers;
+	}
+
+	public int getIndexingQueueCapacity() {
+		return indexingQueueCapacity;
+	}
+
+	public void setIndexingQueueCapacity(int indexingQueueCapacity) {
+		this.indexingQueueCapacity = indexingQueueCapacity;
+	}
+
+	public int getIndexingBatchSize() {
+		return indexingBatchSize;
+	}
+
+	public void setIndexingBatchSize(int indexingBatchSize) {
+		this.indexingBatchSize = indexingBatchSize;
+	}
+
+	public int getIndexingMaxRetries() {
+		return indexingMaxRetries;
+	}
+
+	public void setIndexingMaxRetries(int indexingMaxRetries) {
+		this.indexingMaxRetries = indexingMaxRetries;
+	}
+
+	public long getIndexingRetryBackoff() {
+		return indexingRetryBackoff;
+	}
+
+	public void setIndexingRetryBackoff(long indexingRetryBackoff) {
+		this.indexingRetryBackoff = indexingRetryBackoff;
+	}
+
+	@Bean
+	public SolrProperties solrProperties() {
+
+		SolrProperties props = new SolrProperties();
+		if (url == null) {
+			this.url = "http://localhost:8983/solr/solr";
+		}
+		props.setUrl(url);
+		props.setPassword(password);
+		props.setUser(username);
+		props.setAsyncIndexing(asyncIndexing);
+		props.setCommitWithin(commitWithin);
+		props.setIndexingWorkers(indexingWorkers);
+		props.setIndexingQueueCapacity(indexingQueueCapacity);
+		props.setIndexingBatchSize(indexingBatchSize);
+		props.setIndexingMaxRetries(indexingMaxRetries);
+		props.setIndexingRetryBackoff(indexingRetryBackoff);
+		return props;
+	}
+}
@@ -2,17 +2,24 @@ package org.springframework.content.solr;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.Serializable;
+import java.util.Collections;
 
+import internal.org.springframework.content.solr.SolrIndexingPipeline;
+import internal.org.springframework.content.solr.SolrRequests;
 import org.apache.solr.client.solrj.SolrClient;
 import org.apache.solr.client.solrj.SolrServerException;
 import org.apache.solr.client.solrj.request.ContentStreamUpdateRequest;
 import org.apache.solr.client.solrj.request.UpdateRequest;
 import org.apache.solr.common.util.ContentStreamBase;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.content.commons.annotations.ContentId;
 import org.springframework.content.commons.annotations.HandleAfterSetContent;
 import org.springframework.content.commons.annotations.HandleBeforeUnsetContent;
 import org.springframework.content.commons.annotations.StoreEventHandler;
+import org.springframework.content.commons.repository.ContentConsumer;
+import org.springframework.content.commons.repository.ContentStore;
 import org.springframework.content.commons.repository.StoreAccessException;
 import org.springframework.content.commons.repository.events.AbstractStoreEventListener;
 import org.springframework.content.commons.repository.events.AfterSetContentEvent;
@@ -22,10 +29,11 @@ import org.springframework.core.annotation.Order;
 import org.springframework.util.Assert;
 
 @StoreEventHandler
-public class SolrIndexer {
+public class SolrIndexer implements ContentConsumer, DisposableBean {
 
 	private SolrClient solrClient;
 	private SolrProperties properties;
+	private SolrIndexingPipeline pipeline;
 
 	@Autowired
 	public SolrIndexer(SolrClient solrClient, SolrProperties properties) {
@@ -34,6 +42,31 @@ public class SolrIndexer {
 
 		this.solrClient = solrClient;
 		this.properties = properties;
+
+		if (properties.isAsyncIndexing()) {
+			this.pipeline = new SolrIndexingPipeline(solrClient, properties);
+		}
+	}
+
+	/**
+	 * Returns the asynchronous indexing pipeline's metrics, or null when content is
+	 * indexed synchronously.
+	 */
+	public SolrIndexingPipeline.Metrics getIndexingMetrics() {
+		return pipeline != null ? pipeline.getMetrics() : null;
+	}
+
+	@Override
+	public boolean consumes(Object entity) {
+		// the asynchronous pipeline reads content after the upload's copy is discarded
+		return pipeline == null && BeanUtils.hasFieldWithAnnotation(entity, ContentId.class);
+	}
+
+	@Override
+	public void destroy() {
+		if (pipeline != null) {
+			pipeline.shutdown();
+		}
 	}
 
 	@HandleAfterSetContent
@@ -48,18 +81,23 @@ public class SolrIndexer {
 			return;
 		}
 
-		ContentStreamUpdateRequest up = new ContentStreamUpdateRequest("/update/extract");
-		if (properties.getUser() != null) {
-			up.setBasicAuthCredentials(properties.getUser(), properties.getPassword());
-		}
-		up.addContentStream(
-				new ContentEntityStream(event.getStore().getContent(contentEntity)));
 		String id = BeanUtils.getFieldWithAnnotation(contentEntity, ContentId.class)
 				.toString();
-		up.setParam("literal.id", contentEntity.getClass().getCanonicalName() + ":" + id);
-		up.setAction(
-				org.apache.solr.client.solrj.request.AbstractUpdateRequest.ACTION.COMMIT,
-				true, true);
+		String solrId = contentEntity.getClass().getCanonicalName() + ":" + id;
+
+		if (pipeline != null) {
+			ContentStore<Object, Serializable> store = event.getStore();
+			pipeline.index(solrId, () -> {
+				// skip content that has since been replaced or unset
+				Object currentId = BeanUtils.getFieldWithAnnotation(contentEntity, ContentId.class);
+				return id.equals(String.valueOf(currentId)) ? store.getContent(contentEntity) : null;
+			});
+			return;
+		}
+
+		ContentStreamUpdateRequest up = SolrRequests.extract(solrId,
+				event.getContent(), properties);
+		SolrRequests.commit(up, properties);
 		try {
 			/* NamedList<Object> request = */solrClient.request(up, null);
 		}
@@ -86,14 +124,15 @@ public class SolrIndexer {
 			return;
 		}
 
-		UpdateRequest up = new UpdateRequest();
-		up.setAction(
-				org.apache.solr.client.solrj.request.AbstractUpdateRequest.ACTION.COMMIT,
-				true, true);
-		up.deleteById(contentEntity.getClass().getCanonicalName() + ":" + id.toString());
-		if (properties.getUser() != null) {
-			up.setBasicAuthCredentials(properties.getUser(), properties.getPassword());
+		String solrId = contentEntity.getClass().getCanonicalName() + ":" + id.toString();
+
+		if (pipeline != null) {
+			pipeline.delete(solrId);
+			return;
 		}
+
+		UpdateRequest up = SolrRequests.delete(Collections.singletonList(solrId), properties);
+		SolrRequests.commit(up, properties);
 		try {
 			solrClient.request(up, null);
 		}
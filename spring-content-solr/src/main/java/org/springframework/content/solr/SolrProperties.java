@@ -6,6 +6,14 @@ public class SolrProperties {
 	private String user = null;
 	private String password = null;
 
+	private boolean asyncIndexing = false;
+	private int commitWithin = -1;
+	private int indexingWorkers = 2;
+	private int indexingQueueCapacity = 1000;
+	private int indexingBatchSize = 50;
+	private int indexingMaxRetries = 3;
+	private long indexingRetryBackoff = 500L;
+
 	public String getUrl() {
 		return url;
 	}
@@ -29,4 +37,77 @@ public class SolrProperties {
 	public void setPassword(String password) {
 		this.password = password;
 	}
+
+	/**
+	 * Whether content is indexed on background workers rather than on the thread
+	 * setting the content.
+	 */
+	public boolean isAsyncIndexing() {
+		return asyncIndexing;
+	}
+
+	public void setAsyncIndexing(boolean asyncIndexing) {
+		this.asyncIndexing = asyncIndexing;
+	}
+
+	/**
+	 * Milliseconds within which Solr should commit index updates.  When not positive
+	 * synchronous updates are hard committed and asynchronous updates are soft committed
+	 * once per batch.
+	 */
+	public int getCommitWithin() {
+		return commitWithin;
+	}
+
+	public void setCommitWithin(int commitWithin) {
+		this.commitWithin = commitWithin;
+	}
+
+	public int getIndexingWorkers() {
+		return indexingWorkers;
+	}
+
+	public void setIndexingWorkers(int indexingWorkers) {
+		this.indexingWorkers = indexingWorkers;
+	}
+
+	/**
+	 * Number of pending index updates each worker holds before callers setting content
+	 * are blocked until it catches up.
+	 */
+	public int getIndexingQueueCapacity() {
+		return indexingQueueCapacity;
+	}
+
+	public void setIndexingQueueCapacity(int indexingQueueCapacity) {
+		this.indexingQueueCapacity = indexingQueueCapacity;
+	}
+
+	public int getIndexingBatchSize() {
+		return indexingBatchSize;
+	}
+
+	public void setIndexingBatchSize(int indexingBatchSize) {
+		this.indexingBatchSize = indexingBatchSize;
+	}
+
+	public int getIndexingMaxRetries() {
+		return indexingMaxRetries;
+	}
+
+	public void setIndexingMaxRetries(int indexingMaxRetries) {
+		this.indexingMaxRetries = indexingMaxRetries;
+	}
+
+	/**
+	 * Milliseconds to wait before the first retry of a failed index update, doubling
+	 * with each subsequent retry.
+	 */
+	public long getIndexingRetryBackoff() {
+		return indexingRetryBackoff;
+	}
+
+	public void setIndexingRetryBackoff(long indexingRetryBackoff) {
+		this.indexingRetryBackoff = indexingRetryBackoff;
+	}
 }
@@ -5,6 +5,7 @@ import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 
@@ -17,6 +18,7 @@ import org.springframework.content.commons.repository.StoreInvoker;
 import org.springframework.content.commons.search.Searchable;
 import org.springframework.content.commons.utils.ReflectionService;
 import org.springframework.core.convert.ConversionService;
+import org.springframework.data.domain.Page;
 
 public class SolrSearchContentRepositoryExtension implements StoreExtension {
 
@@ -43,21 +45,47 @@ public class SolrSearchContentRepositoryExtension implements StoreExtension {
 
 	@Override
 	public Object invoke(MethodInvocation invocation, StoreInvoker invoker) {
-		List newList = new ArrayList();
 		Class<? extends Serializable> clazz = invoker.getContentIdClass();
 		Class<?> domainClass = invoker.getDomainClass();
 
 		Object tgt = new SolrSearchService(solr, solrProperties, domainClass);
-		List<String> list = (List) reflectionService.invokeMethod(invocation.getMethod(), tgt, invocation.getArguments());
-		for (String item : list) {
-			if (conversionService.canConvert(item.getClass(), clazz) == false) {
-				throw new IllegalStateException(
-						String.format("Cannot convert item of type %s to %s",
-								item.getClass().getName(), clazz.getName()));
-			}
-			newList.add(conversionService.convert(item, clazz));
+		Object result = reflectionService.invokeMethod(invocation.getMethod(), tgt, invocation.getArguments());
+
+		if (result instanceof Page) {
+			return ((Page<?>) result).map((item) -> convert(item, clazz));
+		}
+		else if (result instanceof List == false && result instanceof Iterable) {
+			Iterable<?> items = (Iterable<?>) result;
+			return (Iterable<Object>) () -> {
+				Iterator<?> iterator = items.iterator();
+				return new Iterator<Object>() {
+					@Override
+					public boolean hasNext() {
+						return iterator.hasNext();
+					}
+
+					@Override
+					public Object next() {
+						return convert(iterator.next(), clazz);
+					}
+				};
+			};
+		}
+
+		List newList = new ArrayList();
+		for (Object item : (List) result) {
+			newList.add(convert(item, clazz));
 		}
 
 		return newList;
 	}
+
+	private Object convert(Object item, Class<?> clazz) {
+		if (conversionService.canConvert(item.getClass(), clazz) == false) {
+			throw new IllegalStateException(
+					String.format("Cannot convert item of type %s to %s",
+							item.getClass().getName(), clazz.getName()));
+		}
+		return conversionService.convert(item, clazz);
+	}
 }
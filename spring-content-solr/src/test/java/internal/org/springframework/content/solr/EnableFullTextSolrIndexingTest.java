@@ -12,6 +12,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.content.commons.repository.ContentStore;
 import org.springframework.content.commons.search.Searchable;
 import org.springframework.content.fs.config.EnableFilesystemStores;
@@ -24,6 +25,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
 
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
@@ -35,6 +37,14 @@ import static org.mockito.Mockito.mock;
 
 @RunWith(Ginkgo4jSpringRunner.class)
 @ContextConfiguration(classes = EnableFullTextSolrIndexingTest.TestConfiguration.class)
+@TestPropertySource(properties = {
+		"solr.async-indexing=true",
+		"solr.commit-within=1000",
+		"solr.indexing-workers=4",
+		"solr.indexing-queue-capacity=10",
+		"solr.indexing-batch-size=20",
+		"solr.indexing-max-retries=5",
+		"solr.indexing-retry-backoff=100" })
 public class EnableFullTextSolrIndexingTest {
 
 	@Autowired
@@ -45,6 +55,16 @@ public class EnableFullTextSolrIndexingTest {
 			It("should have a SolrProperties bean", () -> {
 				assertThat(context.getBean(SolrProperties.class), is(not(nullValue())));
 			});
+			It("should bind the SolrProperties from solr properties", () -> {
+				SolrProperties props = context.getBean(SolrProperties.class);
+				assertThat(props.isAsyncIndexing(), is(true));
+				assertThat(props.getCommitWithin(), is(1000));
+				assertThat(props.getIndexingWorkers(), is(4));
+				assertThat(props.getIndexingQueueCapacity(), is(10));
+				assertThat(props.getIndexingBatchSize(), is(20));
+				assertThat(props.getIndexingMaxRetries(), is(5));
+				assertThat(props.getIndexingRetryBackoff(), is(100L));
+			});
 			It("should have a SolrIndexer bean", () -> {
 				assertThat(context.getBean(SolrIndexer.class), is(not(nullValue())));
 			});
@@ -55,6 +75,7 @@ public class EnableFullTextSolrIndexingTest {
 	}
 
 	@Configuration
+	@EnableConfigurationProperties
 	@EnableFilesystemStores
 	@EnableFullTextSolrIndexing
 	public static class TestConfiguration {
@@ -0,0 +1,186 @@
+package internal.org.springframework.content.solr;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrRequest;
+import org.apache.solr.client.solrj.request.AbstractUpdateRequest;
+import org.apache.solr.client.solrj.request.ContentStreamUpdateRequest;
+import org.apache.solr.client.solrj.request.UpdateRequest;
+import org.apache.solr.common.util.NamedList;
+import org.junit.runner.RunWith;
+import org.springframework.content.commons.repository.StoreAccessException;
+import org.springframework.content.solr.SolrProperties;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.AfterEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.JustBeforeEach;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class SolrIndexingPipelineTest {
+
+	private SolrIndexingPipeline pipeline;
+
+	private SolrClient client;
+	private SolrProperties properties;
+
+	private List<SolrRequest> requests;
+	private List<String> threads;
+	private int failures;
+
+	private Exception e;
+
+	{
+		Describe("SolrIndexingPipeline", () -> {
+			BeforeEach(() -> {
+				client = mock(SolrClient.class);
+				properties = new SolrProperties();
+				properties.setAsyncIndexing(true);
+				properties.setIndexingRetryBackoff(1L);
+
+				requests = new ArrayList<>();
+				threads = new ArrayList<>();
+				failures = 0;
+				e = null;
+
+				doAnswer(invocation -> {
+					synchronized (requests) {
+						if (failures > 0) {
+							failures--;
+							throw new IOException("request-exception");
+						}
+						requests.add(invocation.getArgument(0));
+						threads.add(Thread.currentThread().getName());
+					}
+					return new NamedList<>();
+				}).when(client).request(any(SolrRequest.class), isNull());
+			});
+			JustBeforeEach(() -> {
+				pipeline = new SolrIndexingPipeline(client, properties);
+			});
+			AfterEach(() -> {
+				pipeline.shutdown();
+			});
+			Context("#index", () -> {
+				JustBeforeEach(() -> {
+					pipeline.index("some-id", () -> new ByteArrayInputStream("Hello world!".getBytes()));
+					pipeline.shutdown();
+				});
+				It("should index the content on a background worker", () -> {
+					assertThat(requests.get(0), is(instanceOf(ContentStreamUpdateRequest.class)));
+					assertThat(requests.get(0).getParams().get("literal.id"), is("some-id"));
+					assertThat(threads.get(0), is(not(Thread.currentThread().getName())));
+				});
+				It("should soft commit once the batch is indexed", () -> {
+					assertThat(requests.size(), is(2));
+					assertThat(requests.get(1).getParams().get("softCommit"), is("true"));
+					assertThat(pipeline.getMetrics().getIndexed(), is(1L));
+					assertThat(pipeline.getMetrics().getCommits(), is(1L));
+				});
+				Context("given a commit within time", () -> {
+					BeforeEach(() -> {
+						properties.setCommitWithin(1000);
+					});
+					It("should leave committing to solr", () -> {
+						assertThat(requests.size(), is(1));
+						assertThat(((AbstractUpdateRequest) requests.get(0)).getCommitWithin(), is(1000));
+					});
+				});
+				Context("given a request that fails once", () -> {
+					BeforeEach(() -> {
+						failures = 1;
+					});
+					It("should retry the request", () -> {
+						assertThat(pipeline.getMetrics().getRetried(), is(1L));
+						assertThat(pipeline.getMetrics().getIndexed(), is(1L));
+						assertThat(pipeline.getMetrics().getFailed(), is(0L));
+					});
+				});
+				Context("given requests that keep failing", () -> {
+					BeforeEach(() -> {
+						properties.setIndexingMaxRetries(2);
+						failures = 3;
+					});
+					It("should give up after exhausting its retries", () -> {
+						assertThat(pipeline.getMetrics().getRetried(), is(2L));
+						assertThat(pipeline.getMetrics().getIndexed(), is(0L));
+						assertThat(pipeline.getMetrics().getFailed(), is(1L));
+					});
+				});
+			});
+			Context("#index given content that no longer exists", () -> {
+				JustBeforeEach(() -> {
+					pipeline.index("some-id", () -> null);
+					pipeline.shutdown();
+				});
+				It("should not index anything", () -> {
+					assertThat(pipeline.getMetrics().getIndexed(), is(0L));
+					assertThat(requests.size(), is(1));
+					assertThat(requests.get(0).getParams().get("softCommit"), is("true"));
+				});
+			});
+			Context("#process", () -> {
+				JustBeforeEach(() -> {
+					pipeline.process(Arrays.asList(
+							new SolrIndexingPipeline.Operation("id-1", null),
+							new SolrIndexingPipeline.Operation("id-2", null),
+							new SolrIndexingPipeline.Operation("id-3", () -> new ByteArrayInputStream("Hello world!".getBytes())),
+							new SolrIndexingPipeline.Operation("id-4", null)));
+				});
+				It("should send consecutive deletes in a single request", () -> {
+					assertThat(requests.size(), is(4));
+					assertThat(((UpdateRequest) requests.get(0)).getDeleteById(), is(Arrays.asList("id-1", "id-2")));
+					assertThat(requests.get(1).getParams().get("literal.id"), is("id-3"));
+					assertThat(((UpdateRequest) requests.get(2)).getDeleteById(), is(Arrays.asList("id-4")));
+					assertThat(pipeline.getMetrics().getDeleted(), is(3L));
+				});
+				It("should commit once per batch", () -> {
+					assertThat(pipeline.getMetrics().getCommits(), is(1L));
+				});
+			});
+			Context("given the pipeline has been shutdown", () -> {
+				JustBeforeEach(() -> {
+					pipeline.shutdown();
+					try {
+						pipeline.delete("some-id");
+					} catch (Exception e) {
+						this.e = e;
+					}
+				});
+				It("should index on the calling thread", () -> {
+					assertThat(e, is(nullValue()));
+					assertThat(threads.get(0), is(Thread.currentThread().getName()));
+					assertThat(pipeline.getMetrics().getDeleted(), is(1L));
+				});
+				Context("given the request fails", () -> {
+					BeforeEach(() -> {
+						properties.setIndexingMaxRetries(0);
+						failures = 1;
+					});
+					It("should throw a StoreAccessException", () -> {
+						assertThat(e, is(instanceOf(StoreAccessException.class)));
+					});
+				});
+			});
+		});
+	}
+}
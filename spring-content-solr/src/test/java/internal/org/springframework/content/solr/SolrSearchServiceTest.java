@@ -16,8 +16,12 @@ import org.mockito.ArgumentCaptor;
 import org.springframework.content.commons.repository.StoreAccessException;
 import org.springframework.content.solr.SolrProperties;
 import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
@@ -38,6 +42,8 @@ public class SolrSearchServiceTest {
 	private String operator, starts, ends;
 	private int proximity;
 	private List<Object> result;
+	private Page<Object> page;
+	private Iterable<Object> results;
 	private Exception e;
 	private SolrProperties solrProperties;
 
@@ -58,6 +64,77 @@ public class SolrSearchServiceTest {
 				list.add("response", docs);
 				when(solr.request(anyObject(), anyObject())).thenReturn(list);
 			});
+			Context("#search with a pageable", () -> {
+				BeforeEach(() -> {
+					NamedList list = new NamedList();
+					SolrDocumentList docs = new SolrDocumentList();
+					docs.setNumFound(42L);
+					SolrDocument doc = new SolrDocument();
+					doc.addField("id", Document.class.getCanonicalName() + ":12345");
+					docs.add(doc);
+					list.add("response", docs);
+					when(solr.request(anyObject(), anyObject())).thenReturn(list);
+				});
+				JustBeforeEach(() -> {
+					search = new SolrSearchService(solr, solrProperties, Document.class);
+					page = search.search("something", PageRequest.of(2, 10));
+				});
+				It("should request only the given page", () -> {
+					ArgumentCaptor<SolrRequest> argument = forClass(SolrRequest.class);
+					verify(solr).request(argument.capture(), anyObject());
+					assertThat(argument.getValue().getParams().get("start"), is("20"));
+					assertThat(argument.getValue().getParams().get("rows"), is("10"));
+				});
+				It("should return the page with the total number of hits", () -> {
+					assertThat(page.getContent(), is(Arrays.<Object>asList("12345")));
+					assertThat(page.getTotalElements(), is(42L));
+					assertThat(page.getNumber(), is(2));
+				});
+			});
+			Context("#search", () -> {
+				BeforeEach(() -> {
+					when(solr.request(anyObject(), anyObject())).thenReturn(
+							cursorResponse("12345", "AoE1"),
+							cursorResponse("67890", "AoE1"));
+				});
+				JustBeforeEach(() -> {
+					search = new SolrSearchService(solr, solrProperties, Document.class);
+					result = search.search("something");
+				});
+				It("should return every hit rather than solr's default number of rows", () -> {
+					assertThat(result, is(Arrays.<Object>asList("12345", "67890")));
+
+					ArgumentCaptor<SolrRequest> argument = forClass(SolrRequest.class);
+					verify(solr, times(2)).request(argument.capture(), anyObject());
+					assertThat(argument.getAllValues().get(0).getParams().get("rows"), is("100"));
+					assertThat(argument.getAllValues().get(1).getParams().get("cursorMark"), is("AoE1"));
+				});
+			});
+			Context("#searchAll", () -> {
+				BeforeEach(() -> {
+					when(solr.request(anyObject(), anyObject())).thenReturn(
+							cursorResponse("12345", "AoE1"),
+							cursorResponse("67890", "AoE1"));
+				});
+				JustBeforeEach(() -> {
+					search = new SolrSearchService(solr, solrProperties, Document.class);
+					results = search.searchAll("something");
+				});
+				It("should not query solr until iterated", () -> {
+					verify(solr, never()).request(anyObject(), anyObject());
+				});
+				It("should page through the results with a cursor", () -> {
+					List<Object> ids = new ArrayList<>();
+					results.forEach(ids::add);
+					assertThat(ids, is(Arrays.<Object>asList("12345", "67890")));
+
+					ArgumentCaptor<SolrRequest> argument = forClass(SolrRequest.class);
+					verify(solr, times(2)).request(argument.capture(), anyObject());
+					assertThat(argument.getAllValues().get(0).getParams().get("cursorMark"), is("*"));
+					assertThat(argument.getAllValues().get(0).getParams().get("sort"), is("score desc,id asc"));
+					assertThat(argument.getAllValues().get(1).getParams().get("cursorMark"), is("AoE1"));
+				});
+			});
 			Context("#findKeyword", () -> {
 				Context("given a keyword", () -> {
 					BeforeEach(() -> {
@@ -517,6 +594,17 @@ public class SolrSearchServiceTest {
 	public void noop() {
 	}
 
+	private static NamedList cursorResponse(String id, String nextCursorMark) {
+		NamedList list = new NamedList();
+		SolrDocumentList docs = new SolrDocumentList();
+		SolrDocument doc = new SolrDocument();
+		doc.addField("id", Document.class.getCanonicalName() + ":" + id);
+		docs.add(doc);
+		list.add("response", docs);
+		list.add("nextCursorMark", nextCursorMark);
+		return list;
+	}
+
 	static class StringToInteger implements Converter<String, Integer> {
 		public Integer convert(String source) {
 			return Integer.valueOf(source);